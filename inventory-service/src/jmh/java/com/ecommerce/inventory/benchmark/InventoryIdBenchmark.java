@@ -0,0 +1,132 @@
+package com.ecommerce.inventory.benchmark;
+
+import com.ecommerce.common.id.IdChars;
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.entity.InventoryPO;
+import com.ecommerce.inventory.infrastructure.mapper.InventoryDataMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 库存标识符与行映射基准
+ * 1. 校验：一行的库存ID、SKU、仓库ID，改造前每次编译正则的 String.matches 与当前 IdChars 扫描
+ * 2. 构造：InventoryId/SkuId/WarehouseId.of，热点行全部命中 IdCache；大结果集的库存ID与SKU超出缓存容量（4096），基本未命中
+ * 3. 映射：InventoryPO 经 InventoryDataMapperImpl 还原为聚合（仓库读路径上每行的开销），同样分热点行与大结果集
+ * 仓库数量很少，两种结果集的仓库ID都命中缓存。查看每行的分配字节数：
+ * mvn -P jmh test-compile exec:java -Dexec.args="InventoryIdBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryIdBenchmark {
+
+    private static final int HOT_ROWS = 64;
+    private static final int COLD_ROWS = 16_384;
+    private static final int WAREHOUSES = 8;
+
+    private InventoryDataMapperImpl dataMapper;
+    private InventoryPO[] hotRows;
+    private InventoryPO[] coldRows;
+    private int hotIndex;
+    private int coldIndex;
+
+    @Setup
+    public void setUp() {
+        dataMapper = new InventoryDataMapperImpl();
+        hotRows = rows("HOT", HOT_ROWS);
+        coldRows = rows("COLD", COLD_ROWS);
+    }
+
+    @Benchmark
+    public boolean validateLegacyRegex() {
+        InventoryPO row = nextHotRow();
+        return row.getInventoryId().matches("^[a-zA-Z0-9-]+$")
+                & row.getSkuId().matches("^[a-zA-Z0-9_-]+$")
+                & row.getWarehouseId().matches("^[a-zA-Z0-9_-]+$");
+    }
+
+    @Benchmark
+    public boolean validateIdChars() {
+        InventoryPO row = nextHotRow();
+        return IdChars.isAlphanumericDash(row.getInventoryId())
+                & IdChars.isIdentifier(row.getSkuId())
+                & IdChars.isIdentifier(row.getWarehouseId());
+    }
+
+    @Benchmark
+    public void idsHotRows(Blackhole blackhole) {
+        consumeIds(nextHotRow(), blackhole);
+    }
+
+    @Benchmark
+    public void idsColdRows(Blackhole blackhole) {
+        consumeIds(nextColdRow(), blackhole);
+    }
+
+    @Benchmark
+    public Inventory mapHotRow() {
+        return dataMapper.inventoryPOToInventory(nextHotRow());
+    }
+
+    @Benchmark
+    public Inventory mapColdRow() {
+        return dataMapper.inventoryPOToInventory(nextColdRow());
+    }
+
+    private static void consumeIds(InventoryPO row, Blackhole blackhole) {
+        blackhole.consume(InventoryId.of(row.getInventoryId()));
+        blackhole.consume(SkuId.of(row.getSkuId()));
+        blackhole.consume(WarehouseId.of(row.getWarehouseId()));
+    }
+
+    private InventoryPO nextHotRow() {
+        hotIndex = (hotIndex + 1) & (HOT_ROWS - 1);
+        return hotRows[hotIndex];
+    }
+
+    private InventoryPO nextColdRow() {
+        coldIndex = (coldIndex + 1) & (COLD_ROWS - 1);
+        return coldRows[coldIndex];
+    }
+
+    private static InventoryPO[] rows(String prefix, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        InventoryPO[] rows = new InventoryPO[count];
+        for (int i = 0; i < count; i++) {
+            String warehouseId = "WH-" + (i % WAREHOUSES);
+            InventoryPO row = new InventoryPO();
+            row.setInventoryId("INV-" + prefix + "-" + i + "-" + warehouseId);
+            row.setSkuId("SKU-" + prefix + "-" + i);
+            row.setWarehouseId(warehouseId);
+            row.setTotalQuantity(100);
+            row.setAvailableQuantity(80);
+            row.setReservedQuantity(20);
+            row.setFrozenQuantity(0);
+            row.setSafetyStockQuantity(10);
+            row.setStatus("ACTIVE");
+            row.setVersion(1L);
+            row.setCreatedAt(now);
+            row.setUpdatedAt(now);
+            rows[i] = row;
+        }
+        return rows;
+    }
+}
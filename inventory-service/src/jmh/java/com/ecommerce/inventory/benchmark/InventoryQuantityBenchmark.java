@@ -0,0 +1,120 @@
+package com.ecommerce.inventory.benchmark;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.entity.InventoryCounters;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 库存数量运算基准
+ * 对比一次 预留 + 释放 + 读取可用库存 在四种实现下的耗时与分配：
+ * 1. quantityObjects：改造前的写法，四个数量字段都是 Quantity，每次运算产生新对象
+ * 2. packedCounters：InventoryCounters 原始类型运算，不分配对象
+ * 3. inventoryFacade：Inventory 聚合的 Quantity 接口，每次操作读取一次时钟并产生一个领域事件
+ * 4. inventoryPrimitive：领域服务使用的原始类型接口，时间由调用方传入，每次操作只分配领域事件
+ * 数量取 1024 以上，避开 Quantity 的小数值缓存。查看每次操作的分配字节数：
+ * mvn -P jmh test-compile exec:java -Dexec.args="InventoryQuantityBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryQuantityBenchmark {
+
+    private static final int INITIAL = 1_000_000;
+    private static final int AMOUNT = 5_000;
+
+    private QuantityObjectState quantityState;
+    private InventoryCounters counters;
+    private Inventory inventory;
+    private Quantity amount;
+    private LocalDateTime at;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        quantityState = new QuantityObjectState(Quantity.of(INITIAL));
+        counters = InventoryCounters.of(INITIAL);
+        inventory = Inventory.create(SkuId.of("SKU-BENCH-1"), WarehouseId.of("WH-BENCH-1"),
+                Quantity.of(INITIAL), Quantity.of(100));
+        amount = Quantity.of(AMOUNT);
+        at = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public int quantityObjects() {
+        quantityState.reserve(amount);
+        quantityState.release(amount);
+        return quantityState.available.getValue();
+    }
+
+    @Benchmark
+    public int packedCounters() {
+        counters.reserve(AMOUNT);
+        counters.release(AMOUNT);
+        return counters.available();
+    }
+
+    @Benchmark
+    public void inventoryFacade(Blackhole blackhole) {
+        inventory.reserve(amount, "bench");
+        inventory.releaseReservation(amount, "bench");
+        blackhole.consume(inventory.getAvailableQuantityValue());
+        // 领域事件随操作产生，基准中及时取出，避免事件列表无限增长
+        blackhole.consume(inventory.pullDomainEvents());
+    }
+
+    @Benchmark
+    public void inventoryPrimitive(Blackhole blackhole) {
+        inventory.reserve(AMOUNT, "bench", at);
+        inventory.releaseReservation(AMOUNT, "bench", at);
+        blackhole.consume(inventory.getAvailableQuantityValue());
+        blackhole.consume(inventory.pullDomainEvents());
+    }
+
+    /**
+     * 改造前的数量状态：与原 Inventory 相同的校验与 Quantity 运算
+     */
+    private static final class QuantityObjectState {
+        private Quantity available;
+        private Quantity reserved;
+
+        private QuantityObjectState(Quantity initial) {
+            this.available = initial;
+            this.reserved = Quantity.zero();
+        }
+
+        private void reserve(Quantity quantity) {
+            if (available.lessThan(quantity)) {
+                throw new IllegalStateException("可用库存不足");
+            }
+            available = available.subtract(quantity);
+            reserved = reserved.add(quantity);
+        }
+
+        private void release(Quantity quantity) {
+            if (reserved.lessThan(quantity)) {
+                throw new IllegalStateException("预留库存不足");
+            }
+            reserved = reserved.subtract(quantity);
+            available = available.add(quantity);
+        }
+    }
+}
@@ -1,35 +1,36 @@
 package com.ecommerce.inventory.domain.entity;
 
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
 import com.ecommerce.inventory.domain.valueobject.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * 库存 - 聚合根
  * 领域概念：商品SKU在特定仓库的库存记录
  * 职责：库存数量管理、库存操作记录、库存状态控制
+ * 数量保存在 InventoryCounters 中以原始类型运算，Quantity 只在领域接口边界出现；
+ * 领域服务使用原始类型重载并传入本次尝试的时间，每次操作只分配一个领域事件（流水与缓存订阅方需要）
  */
 public class Inventory {
     
     private InventoryId id;
     private SkuId skuId;
     private WarehouseId warehouseId;
-    private Quantity totalQuantity;        // 总库存
-    private Quantity availableQuantity;    // 可用库存
-    private Quantity reservedQuantity;     // 预留库存
-    private Quantity frozenQuantity;       // 冻结库存
+    private InventoryCounters counters;    // 总库存、可用、预留、冻结
     private Quantity safetyStockQuantity;  // 安全库存
     private InventoryStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long version;                  // 乐观锁版本号
+    private final List<InventoryChangedEvent> domainEvents = new ArrayList<>(); // 待发布的领域事件
     
     // 私有构造函数，强制使用工厂方法
     private Inventory() {
         this.status = InventoryStatus.ACTIVE;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
         this.version = 0L;
     }
     
@@ -55,14 +56,13 @@ public class Inventory {
         }
         
         Inventory inventory = new Inventory();
-        inventory.id = InventoryId.generateFromSku(skuId.getValue());
+        inventory.id = InventoryId.generateFromSku(skuId.getValue(), warehouseId.getValue());
         inventory.skuId = skuId;
         inventory.warehouseId = warehouseId;
-        inventory.totalQuantity = initialQuantity;
-        inventory.availableQuantity = initialQuantity;
-        inventory.reservedQuantity = Quantity.zero();
-        inventory.frozenQuantity = Quantity.zero();
+        inventory.counters = InventoryCounters.of(initialQuantity.getValue());
         inventory.safetyStockQuantity = safetyStockQuantity;
+        inventory.createdAt = LocalDateTime.now();
+        inventory.updatedAt = inventory.createdAt;
         
         return inventory;
     }
@@ -79,14 +79,17 @@ public class Inventory {
         inventory.id = id;
         inventory.skuId = skuId;
         inventory.warehouseId = warehouseId;
-        inventory.totalQuantity = totalQuantity != null ? totalQuantity : Quantity.zero();
-        inventory.availableQuantity = availableQuantity != null ? availableQuantity : Quantity.zero();
-        inventory.reservedQuantity = reservedQuantity != null ? reservedQuantity : Quantity.zero();
-        inventory.frozenQuantity = frozenQuantity != null ? frozenQuantity : Quantity.zero();
+        inventory.counters = InventoryCounters.restore(valueOf(totalQuantity), valueOf(availableQuantity),
+                valueOf(reservedQuantity), valueOf(frozenQuantity));
         inventory.safetyStockQuantity = safetyStockQuantity != null ? safetyStockQuantity : Quantity.zero();
         inventory.status = status != null ? status : InventoryStatus.ACTIVE;
-        inventory.createdAt = createdAt != null ? createdAt : LocalDateTime.now();
-        inventory.updatedAt = updatedAt != null ? updatedAt : LocalDateTime.now();
+        if (createdAt == null || updatedAt == null) {
+            LocalDateTime now = LocalDateTime.now();
+            createdAt = createdAt != null ? createdAt : now;
+            updatedAt = updatedAt != null ? updatedAt : now;
+        }
+        inventory.createdAt = createdAt;
+        inventory.updatedAt = updatedAt;
         inventory.version = version != null ? version : 0L;
         
         return inventory;
@@ -96,104 +99,117 @@ public class Inventory {
      * 入库操作
      */
     public void stockIn(Quantity quantity, String reason) {
+        if (quantity == null) {
+            throw new IllegalArgumentException("入库数量必须大于0");
+        }
+        stockIn(quantity.getValue(), reason, LocalDateTime.now());
+    }
+    
+    /**
+     * 入库操作（原始类型数量，时间由调用方传入）
+     */
+    public void stockIn(int quantity, String reason, LocalDateTime at) {
         if (status != InventoryStatus.ACTIVE) {
             throw new IllegalStateException("库存状态不活跃，不能执行入库操作");
         }
         
-        if (quantity == null || !quantity.isPositive()) {
-            throw new IllegalArgumentException("入库数量必须大于0");
-        }
+        int availableBefore = counters.available();
+        counters.stockIn(quantity);
+        this.updatedAt = at;
         
-        this.totalQuantity = this.totalQuantity.add(quantity);
-        this.availableQuantity = this.availableQuantity.add(quantity);
-        this.updatedAt = LocalDateTime.now();
-        
-        // 这里可以记录库存操作日志
-        recordInventoryOperation(InventoryOperationType.STOCK_IN, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.STOCK_IN, quantity, reason, availableBefore);
     }
     
     /**
      * 出库操作
      */
     public void stockOut(Quantity quantity, String reason) {
-        if (status != InventoryStatus.ACTIVE) {
-            throw new IllegalStateException("库存状态不活跃，不能执行出库操作");
-        }
-        
-        if (quantity == null || !quantity.isPositive()) {
+        if (quantity == null) {
             throw new IllegalArgumentException("出库数量必须大于0");
         }
-        
-        if (availableQuantity.lessThan(quantity)) {
-            throw new IllegalStateException("可用库存不足，无法执行出库操作");
+        stockOut(quantity.getValue(), reason, LocalDateTime.now());
+    }
+    
+    /**
+     * 出库操作（原始类型数量，时间由调用方传入）
+     */
+    public void stockOut(int quantity, String reason, LocalDateTime at) {
+        if (status != InventoryStatus.ACTIVE) {
+            throw new IllegalStateException("库存状态不活跃，不能执行出库操作");
         }
         
-        this.totalQuantity = this.totalQuantity.subtract(quantity);
-        this.availableQuantity = this.availableQuantity.subtract(quantity);
-        this.updatedAt = LocalDateTime.now();
+        int availableBefore = counters.available();
+        counters.stockOut(quantity);
+        this.updatedAt = at;
         
-        recordInventoryOperation(InventoryOperationType.STOCK_OUT, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.STOCK_OUT, quantity, reason, availableBefore);
     }
     
     /**
      * 预留库存
      */
     public void reserve(Quantity quantity, String reason) {
-        if (status != InventoryStatus.ACTIVE) {
-            throw new IllegalStateException("库存状态不活跃，不能执行预留操作");
-        }
-        
-        if (quantity == null || !quantity.isPositive()) {
+        if (quantity == null) {
             throw new IllegalArgumentException("预留数量必须大于0");
         }
-        
-        if (availableQuantity.lessThan(quantity)) {
-            throw new IllegalStateException("可用库存不足，无法执行预留操作");
+        reserve(quantity.getValue(), reason, LocalDateTime.now());
+    }
+    
+    /**
+     * 预留库存（原始类型数量，时间由调用方传入）
+     */
+    public void reserve(int quantity, String reason, LocalDateTime at) {
+        if (status != InventoryStatus.ACTIVE) {
+            throw new IllegalStateException("库存状态不活跃，不能执行预留操作");
         }
         
-        this.availableQuantity = this.availableQuantity.subtract(quantity);
-        this.reservedQuantity = this.reservedQuantity.add(quantity);
-        this.updatedAt = LocalDateTime.now();
+        int availableBefore = counters.available();
+        counters.reserve(quantity);
+        this.updatedAt = at;
         
-        recordInventoryOperation(InventoryOperationType.RESERVE, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.RESERVE, quantity, reason, availableBefore);
     }
     
     /**
      * 释放预留库存
      */
     public void releaseReservation(Quantity quantity, String reason) {
-        if (quantity == null || !quantity.isPositive()) {
+        if (quantity == null) {
             throw new IllegalArgumentException("释放数量必须大于0");
         }
+        releaseReservation(quantity.getValue(), reason, LocalDateTime.now());
+    }
+    
+    /**
+     * 释放预留库存（原始类型数量，时间由调用方传入）
+     */
+    public void releaseReservation(int quantity, String reason, LocalDateTime at) {
+        int availableBefore = counters.available();
+        counters.release(quantity);
+        this.updatedAt = at;
         
-        if (reservedQuantity.lessThan(quantity)) {
-            throw new IllegalStateException("预留库存不足，无法释放指定数量");
-        }
-        
-        this.reservedQuantity = this.reservedQuantity.subtract(quantity);
-        this.availableQuantity = this.availableQuantity.add(quantity);
-        this.updatedAt = LocalDateTime.now();
-        
-        recordInventoryOperation(InventoryOperationType.RELEASE_RESERVATION, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.RELEASE_RESERVATION, quantity, reason, availableBefore);
     }
     
     /**
      * 确认预留（将预留库存转为实际出库）
      */
     public void confirmReservation(Quantity quantity, String reason) {
-        if (quantity == null || !quantity.isPositive()) {
+        if (quantity == null) {
             throw new IllegalArgumentException("确认数量必须大于0");
         }
+        confirmReservation(quantity.getValue(), reason, LocalDateTime.now());
+    }
+    
+    /**
+     * 确认预留（原始类型数量，时间由调用方传入）
+     */
+    public void confirmReservation(int quantity, String reason, LocalDateTime at) {
+        int availableBefore = counters.available();
+        counters.confirm(quantity);
+        this.updatedAt = at;
         
-        if (reservedQuantity.lessThan(quantity)) {
-            throw new IllegalStateException("预留库存不足，无法确认指定数量");
-        }
-        
-        this.reservedQuantity = this.reservedQuantity.subtract(quantity);
-        this.totalQuantity = this.totalQuantity.subtract(quantity);
-        this.updatedAt = LocalDateTime.now();
-        
-        recordInventoryOperation(InventoryOperationType.CONFIRM_RESERVATION, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.CONFIRM_RESERVATION, quantity, reason, availableBefore);
     }
     
     /**
@@ -204,77 +220,64 @@ public class Inventory {
             throw new IllegalStateException("库存状态不活跃，不能执行冻结操作");
         }
         
-        if (quantity == null || !quantity.isPositive()) {
+        if (quantity == null) {
             throw new IllegalArgumentException("冻结数量必须大于0");
         }
         
-        if (availableQuantity.lessThan(quantity)) {
-            throw new IllegalStateException("可用库存不足，无法执行冻结操作");
-        }
-        
-        this.availableQuantity = this.availableQuantity.subtract(quantity);
-        this.frozenQuantity = this.frozenQuantity.add(quantity);
+        int availableBefore = counters.available();
+        counters.freeze(quantity.getValue());
         this.updatedAt = LocalDateTime.now();
         
-        recordInventoryOperation(InventoryOperationType.FREEZE, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.FREEZE, quantity.getValue(), reason, availableBefore);
     }
     
     /**
      * 解冻库存
      */
     public void unfreeze(Quantity quantity, String reason) {
-        if (quantity == null || !quantity.isPositive()) {
+        if (quantity == null) {
             throw new IllegalArgumentException("解冻数量必须大于0");
         }
         
-        if (frozenQuantity.lessThan(quantity)) {
-            throw new IllegalStateException("冻结库存不足，无法解冻指定数量");
-        }
-        
-        this.frozenQuantity = this.frozenQuantity.subtract(quantity);
-        this.availableQuantity = this.availableQuantity.add(quantity);
+        int availableBefore = counters.available();
+        counters.unfreeze(quantity.getValue());
         this.updatedAt = LocalDateTime.now();
         
-        recordInventoryOperation(InventoryOperationType.UNFREEZE, quantity, reason);
+        recordInventoryOperation(InventoryOperationType.UNFREEZE, quantity.getValue(), reason, availableBefore);
     }
     
     /**
      * 调整库存（盘点等场景）
      */
     public void adjust(Quantity newTotalQuantity, String reason) {
-        if (status != InventoryStatus.ACTIVE) {
-            throw new IllegalStateException("库存状态不活跃，不能执行调整操作");
-        }
-        
         if (newTotalQuantity == null) {
             throw new IllegalArgumentException("新的总库存数量不能为空");
         }
+        adjust(newTotalQuantity.getValue(), reason, LocalDateTime.now());
+    }
+    
+    /**
+     * 调整库存（原始类型数量，时间由调用方传入）
+     */
+    public void adjust(int newTotal, String reason, LocalDateTime at) {
+        if (status != InventoryStatus.ACTIVE) {
+            throw new IllegalStateException("库存状态不活跃，不能执行调整操作");
+        }
         
         // 计算调整数量
-        Quantity adjustQuantity;
-        InventoryOperationType operationType;
-        
-        if (newTotalQuantity.greaterThan(totalQuantity)) {
-            adjustQuantity = newTotalQuantity.subtract(totalQuantity);
-            operationType = InventoryOperationType.ADJUST_INCREASE;
-        } else if (newTotalQuantity.lessThan(totalQuantity)) {
-            adjustQuantity = totalQuantity.subtract(newTotalQuantity);
-            operationType = InventoryOperationType.ADJUST_DECREASE;
-        } else {
+        int total = counters.total();
+        if (newTotal == total) {
             return; // 数量无变化
         }
+        InventoryOperationType operationType = newTotal > total
+                ? InventoryOperationType.ADJUST_INCREASE : InventoryOperationType.ADJUST_DECREASE;
         
-        // 计算新的可用数量
-        Quantity occupiedQuantity = reservedQuantity.add(frozenQuantity);
-        if (newTotalQuantity.lessThan(occupiedQuantity)) {
-            throw new IllegalStateException("调整后的库存不能少于已占用的库存数量");
-        }
-        
-        this.totalQuantity = newTotalQuantity;
-        this.availableQuantity = newTotalQuantity.subtract(occupiedQuantity);
-        this.updatedAt = LocalDateTime.now();
+        // 可用数量 = 新总库存 - 预留 - 冻结，不足占用时抛出异常
+        int availableBefore = counters.available();
+        counters.adjustTo(newTotal);
+        this.updatedAt = at;
         
-        recordInventoryOperation(operationType, adjustQuantity, reason);
+        recordInventoryOperation(operationType, Math.abs(newTotal - total), reason, availableBefore);
     }
     
     /**
@@ -293,21 +296,24 @@ public class Inventory {
      * 检查库存是否充足
      */
     public boolean isSufficient(Quantity requiredQuantity) {
-        return availableQuantity.greaterThanOrEqual(requiredQuantity);
+        if (requiredQuantity == null) {
+            throw new IllegalArgumentException("比较对象不能为空");
+        }
+        return counters.isSufficient(requiredQuantity.getValue());
     }
     
     /**
      * 检查是否低于安全库存
      */
     public boolean isBelowSafetyStock() {
-        return totalQuantity.lessThan(safetyStockQuantity);
+        return counters.total() < safetyStockQuantity.getValue();
     }
     
     /**
      * 检查是否缺货
      */
     public boolean isOutOfStock() {
-        return availableQuantity.isZero();
+        return counters.available() == 0;
     }
     
     /**
@@ -330,7 +336,7 @@ public class Inventory {
      * 删除库存
      */
     public void delete() {
-        if (!totalQuantity.isZero()) {
+        if (counters.total() != 0) {
             throw new IllegalStateException("库存数量不为零，不能删除");
         }
         
@@ -342,29 +348,60 @@ public class Inventory {
      * 验证库存数据一致性
      */
     public void validateConsistency() {
-        Quantity calculatedAvailable = totalQuantity.subtract(reservedQuantity).subtract(frozenQuantity);
+        long calculatedAvailable = (long) counters.total() - counters.reserved() - counters.frozen();
         
-        if (!availableQuantity.equals(calculatedAvailable)) {
+        if (counters.available() != calculatedAvailable) {
             throw new IllegalStateException("库存数据不一致：可用库存与计算结果不符");
         }
     }
     
     /**
-     * 记录库存操作（留给基础设施层实现）
+     * 记录库存操作：生成领域事件，由基础设施层在事务提交后写入操作流水
+     * 事件携带本次保存后的版本号（乐观更新成功后递增）及在同一次保存中的序号，流水据此确定先后
+     */
+    private void recordInventoryOperation(InventoryOperationType operationType, int quantity, String reason,
+                                          int availableBefore) {
+        domainEvents.add(InventoryChangedEvent.of(id, skuId, warehouseId, version + 1, domainEvents.size(),
+                operationType, quantity,
+                availableBefore, counters.available(),
+                counters.total(), counters.reserved(), counters.frozen(),
+                safetyStockQuantity.getValue(), reason, updatedAt));
+    }
+    
+    private static int valueOf(Quantity quantity) {
+        return quantity != null ? quantity.getValue() : 0;
+    }
+    
+    /**
+     * 版本号递增，由仓储在乐观锁更新成功后调用，使内存中的版本与数据库一致
      */
-    private void recordInventoryOperation(InventoryOperationType operationType, Quantity quantity, String reason) {
-        // 这里可以发布领域事件，由基础设施层记录操作日志
-        // 暂时留空，实际实现时可以通过领域事件机制处理
+    public void incrementVersion() {
+        this.version = this.version + 1;
+    }
+    
+    /**
+     * 取出并清空待发布的领域事件
+     */
+    public List<InventoryChangedEvent> pullDomainEvents() {
+        List<InventoryChangedEvent> events = new ArrayList<>(domainEvents);
+        domainEvents.clear();
+        return events;
     }
     
     // Getters
     public InventoryId getId() { return id; }
     public SkuId getSkuId() { return skuId; }
     public WarehouseId getWarehouseId() { return warehouseId; }
-    public Quantity getTotalQuantity() { return totalQuantity; }
-    public Quantity getAvailableQuantity() { return availableQuantity; }
-    public Quantity getReservedQuantity() { return reservedQuantity; }
-    public Quantity getFrozenQuantity() { return frozenQuantity; }
+    public Quantity getTotalQuantity() { return Quantity.of(counters.total()); }
+    public Quantity getAvailableQuantity() { return Quantity.of(counters.available()); }
+    public Quantity getReservedQuantity() { return Quantity.of(counters.reserved()); }
+    public Quantity getFrozenQuantity() { return Quantity.of(counters.frozen()); }
+    
+    // 原始类型读取：持久化、协议转换等热路径使用，不创建 Quantity
+    public int getTotalQuantityValue() { return counters.total(); }
+    public int getAvailableQuantityValue() { return counters.available(); }
+    public int getReservedQuantityValue() { return counters.reserved(); }
+    public int getFrozenQuantityValue() { return counters.frozen(); }
     public Quantity getSafetyStockQuantity() { return safetyStockQuantity; }
     public InventoryStatus getStatus() { return status; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -390,8 +427,8 @@ public class Inventory {
                 "id=" + id +
                 ", skuId=" + skuId +
                 ", warehouseId=" + warehouseId +
-                ", totalQuantity=" + totalQuantity +
-                ", availableQuantity=" + availableQuantity +
+                ", totalQuantity=" + counters.total() +
+                ", availableQuantity=" + counters.available() +
                 ", status=" + status +
                 '}';
     }
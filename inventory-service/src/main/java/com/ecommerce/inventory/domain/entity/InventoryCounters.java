@@ -0,0 +1,180 @@
+package com.ecommerce.inventory.domain.entity;
+
+/**
+ * 库存计数器 - 库存聚合内部状态
+ * 领域概念：总库存、可用、预留、冻结四个数量，两两打包在 long 中
+ * 职责：以原始类型完成校验与运算，成功路径不分配对象；Inventory 在其上提供基于 Quantity 的领域接口
+ * 不变式：可用 = 总库存 - 预留 - 冻结，且各数量在 [0, MAX_QUANTITY] 内
+ */
+public final class InventoryCounters {
+
+    /** 与 Quantity 的上限一致 */
+    public static final int MAX_QUANTITY = 999_999_999;
+
+    private static final long LOW_MASK = 0xFFFF_FFFFL;
+
+    private long stock;   // 高32位：总库存，低32位：可用库存
+    private long holds;   // 高32位：预留库存，低32位：冻结库存
+
+    private InventoryCounters(int total, int available, int reserved, int frozen) {
+        this.stock = pack(total, available);
+        this.holds = pack(reserved, frozen);
+    }
+
+    /**
+     * 初始库存全部可用
+     */
+    public static InventoryCounters of(int initialQuantity) {
+        checkRange(initialQuantity);
+        return new InventoryCounters(initialQuantity, initialQuantity, 0, 0);
+    }
+
+    /**
+     * 从持久化数据重建，不校验可用库存与其余数量的关系（由 Inventory.validateConsistency 检查）
+     */
+    public static InventoryCounters restore(int total, int available, int reserved, int frozen) {
+        checkRange(total);
+        checkRange(available);
+        checkRange(reserved);
+        checkRange(frozen);
+        return new InventoryCounters(total, available, reserved, frozen);
+    }
+
+    public int total() { return high(stock); }
+    public int available() { return low(stock); }
+    public int reserved() { return high(holds); }
+    public int frozen() { return low(holds); }
+
+    public boolean isSufficient(int quantity) {
+        return available() >= quantity;
+    }
+
+    /**
+     * 入库：总库存与可用同增
+     */
+    public void stockIn(int quantity) {
+        checkPositive(quantity, "入库数量必须大于0");
+        int total = total();
+        if ((long) total + quantity > MAX_QUANTITY) {
+            throw new IllegalArgumentException("数量运算结果溢出");
+        }
+        stock = pack(total + quantity, available() + quantity);
+    }
+
+    /**
+     * 出库：总库存与可用同减
+     */
+    public void stockOut(int quantity) {
+        checkPositive(quantity, "出库数量必须大于0");
+        int available = available();
+        if (available < quantity) {
+            throw new IllegalStateException("可用库存不足，无法执行出库操作");
+        }
+        stock = pack(total() - quantity, available - quantity);
+    }
+
+    /**
+     * 预留：可用转预留
+     */
+    public void reserve(int quantity) {
+        checkPositive(quantity, "预留数量必须大于0");
+        int available = available();
+        if (available < quantity) {
+            throw new IllegalStateException("可用库存不足，无法执行预留操作");
+        }
+        stock = pack(total(), available - quantity);
+        holds = pack(reserved() + quantity, frozen());
+    }
+
+    /**
+     * 释放预留：预留转回可用
+     */
+    public void release(int quantity) {
+        checkPositive(quantity, "释放数量必须大于0");
+        int reserved = reserved();
+        if (reserved < quantity) {
+            throw new IllegalStateException("预留库存不足，无法释放指定数量");
+        }
+        stock = pack(total(), available() + quantity);
+        holds = pack(reserved - quantity, frozen());
+    }
+
+    /**
+     * 确认预留：预留与总库存同减
+     */
+    public void confirm(int quantity) {
+        checkPositive(quantity, "确认数量必须大于0");
+        int reserved = reserved();
+        if (reserved < quantity) {
+            throw new IllegalStateException("预留库存不足，无法确认指定数量");
+        }
+        stock = pack(total() - quantity, available());
+        holds = pack(reserved - quantity, frozen());
+    }
+
+    /**
+     * 冻结：可用转冻结
+     */
+    public void freeze(int quantity) {
+        checkPositive(quantity, "冻结数量必须大于0");
+        int available = available();
+        if (available < quantity) {
+            throw new IllegalStateException("可用库存不足，无法执行冻结操作");
+        }
+        stock = pack(total(), available - quantity);
+        holds = pack(reserved(), frozen() + quantity);
+    }
+
+    /**
+     * 解冻：冻结转回可用
+     */
+    public void unfreeze(int quantity) {
+        checkPositive(quantity, "解冻数量必须大于0");
+        int frozen = frozen();
+        if (frozen < quantity) {
+            throw new IllegalStateException("冻结库存不足，无法解冻指定数量");
+        }
+        stock = pack(total(), available() + quantity);
+        holds = pack(reserved(), frozen - quantity);
+    }
+
+    /**
+     * 调整总库存，可用 = 新总库存 - 预留 - 冻结
+     */
+    public void adjustTo(int newTotal) {
+        checkRange(newTotal);
+        int occupied = reserved() + frozen();
+        if (newTotal < occupied) {
+            throw new IllegalStateException("调整后的库存不能少于已占用的库存数量");
+        }
+        stock = pack(newTotal, newTotal - occupied);
+    }
+
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & LOW_MASK);
+    }
+
+    private static int high(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int low(long packed) {
+        return (int) packed;
+    }
+
+    private static void checkPositive(int quantity, String message) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+        checkRange(quantity);
+    }
+
+    private static void checkRange(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("数量不能为负数");
+        }
+        if (quantity > MAX_QUANTITY) {
+            throw new IllegalArgumentException("数量不能超过999,999,999");
+        }
+    }
+}
@@ -54,7 +54,12 @@ public enum InventoryOperationType {
     /**
      * 库存转移
      */
-    TRANSFER("转移");
+    TRANSFER("转移"),
+    
+    /**
+     * 直接覆盖库存数量（批量保存），预占、冻结数量可能同时变化，不能按单一操作推导增量
+     */
+    OVERWRITE("覆盖");
     
     private final String description;
     
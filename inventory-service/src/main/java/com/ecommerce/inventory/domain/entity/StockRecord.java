@@ -0,0 +1,102 @@
+package com.ecommerce.inventory.domain.entity;
+
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 库存变更记录 - 实体
+ * 领域概念：已落库的库存操作流水，只读
+ * 特性：按 (createdAt, sequence) 全局有序，用于审计和键集分页查询；sequence 为流水表自增主键，同一毫秒内按写入顺序
+ */
+public class StockRecord {
+
+    private final String recordId;
+    private final long sequence;
+    private final InventoryId inventoryId;
+    private final SkuId skuId;
+    private final WarehouseId warehouseId;
+    private final InventoryOperationType operationType;
+    private final int changeQuantity;       // 带符号的变更数量
+    private final int beforeQuantity;       // 变更前可用库存
+    private final int afterQuantity;        // 变更后可用库存
+    private final String reason;
+    private final String referenceId;
+    private final String operatorId;
+    private final LocalDateTime createdAt;
+
+    private StockRecord(String recordId, long sequence, InventoryId inventoryId, SkuId skuId, WarehouseId warehouseId,
+                        InventoryOperationType operationType, int changeQuantity,
+                        int beforeQuantity, int afterQuantity, String reason,
+                        String referenceId, String operatorId, LocalDateTime createdAt) {
+        this.recordId = recordId;
+        this.sequence = sequence;
+        this.inventoryId = inventoryId;
+        this.skuId = skuId;
+        this.warehouseId = warehouseId;
+        this.operationType = operationType;
+        this.changeQuantity = changeQuantity;
+        this.beforeQuantity = beforeQuantity;
+        this.afterQuantity = afterQuantity;
+        this.reason = reason;
+        this.referenceId = referenceId;
+        this.operatorId = operatorId;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 从持久化数据重建变更记录
+     */
+    public static StockRecord restore(String recordId, long sequence, InventoryId inventoryId, SkuId skuId, WarehouseId warehouseId,
+                                      InventoryOperationType operationType, int changeQuantity,
+                                      int beforeQuantity, int afterQuantity, String reason,
+                                      String referenceId, String operatorId, LocalDateTime createdAt) {
+        if (recordId == null || recordId.isEmpty()) {
+            throw new IllegalArgumentException("记录ID不能为空");
+        }
+
+        return new StockRecord(recordId, sequence, inventoryId, skuId, warehouseId, operationType, changeQuantity,
+                beforeQuantity, afterQuantity, reason, referenceId, operatorId, createdAt);
+    }
+
+    public String getRecordId() { return recordId; }
+    public long getSequence() { return sequence; }
+    public InventoryId getInventoryId() { return inventoryId; }
+    public SkuId getSkuId() { return skuId; }
+    public WarehouseId getWarehouseId() { return warehouseId; }
+    public InventoryOperationType getOperationType() { return operationType; }
+    public int getChangeQuantity() { return changeQuantity; }
+    public int getBeforeQuantity() { return beforeQuantity; }
+    public int getAfterQuantity() { return afterQuantity; }
+    public String getReason() { return reason; }
+    public String getReferenceId() { return referenceId; }
+    public String getOperatorId() { return operatorId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockRecord that = (StockRecord) o;
+        return Objects.equals(recordId, that.recordId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(recordId);
+    }
+
+    @Override
+    public String toString() {
+        return "StockRecord{" +
+                "recordId='" + recordId + '\'' +
+                ", skuId=" + skuId +
+                ", operationType=" + operationType +
+                ", changeQuantity=" + changeQuantity +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.inventory.domain.event;
+
+import com.ecommerce.common.id.IdGenerator;
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 库存变更事件 - 领域事件
+ * 领域概念：库存聚合每次数量变更后发布的事实，携带变更后的库存快照
+ * 特性：不可变；before/after 以可用库存计量，关联单据和操作人由应用层补充
+ */
+public final class InventoryChangedEvent {
+
+    private final String eventId;
+    private final InventoryId inventoryId;
+    private final SkuId skuId;
+    private final WarehouseId warehouseId;
+    private final long inventoryVersion;
+    private final int versionSequence;
+    private final InventoryOperationType operationType;
+    private final int quantity;
+    private final int availableBefore;
+    private final int availableAfter;
+    private final int totalQuantity;
+    private final int reservedQuantity;
+    private final int frozenQuantity;
+    private final int safetyStockQuantity;
+    private final String reason;
+    private final String referenceId;
+    private final String operatorId;
+    private final LocalDateTime occurredAt;
+
+    private InventoryChangedEvent(String eventId, InventoryId inventoryId, SkuId skuId, WarehouseId warehouseId,
+                                  long inventoryVersion, int versionSequence,
+                                  InventoryOperationType operationType, int quantity,
+                                  int availableBefore, int availableAfter,
+                                  int totalQuantity, int reservedQuantity, int frozenQuantity,
+                                  int safetyStockQuantity, String reason,
+                                  String referenceId, String operatorId, LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.inventoryId = inventoryId;
+        this.skuId = skuId;
+        this.warehouseId = warehouseId;
+        this.inventoryVersion = inventoryVersion;
+        this.versionSequence = versionSequence;
+        this.operationType = operationType;
+        this.quantity = quantity;
+        this.availableBefore = availableBefore;
+        this.availableAfter = availableAfter;
+        this.totalQuantity = totalQuantity;
+        this.reservedQuantity = reservedQuantity;
+        this.frozenQuantity = frozenQuantity;
+        this.safetyStockQuantity = safetyStockQuantity;
+        this.reason = reason;
+        this.referenceId = referenceId;
+        this.operatorId = operatorId;
+        this.occurredAt = occurredAt;
+    }
+
+    /**
+     * 由库存聚合创建变更事件
+     * @param inventoryVersion 本次写入后的库存版本号
+     * @param versionSequence  同一次写入产生多个事件时的先后序号（从0开始；仓储为批量保存补记的事件取 -1，排在聚合事件之前）
+     */
+    public static InventoryChangedEvent of(InventoryId inventoryId, SkuId skuId, WarehouseId warehouseId,
+                                           long inventoryVersion, int versionSequence,
+                                           InventoryOperationType operationType, int quantity,
+                                           int availableBefore, int availableAfter,
+                                           int totalQuantity, int reservedQuantity, int frozenQuantity,
+                                           int safetyStockQuantity, String reason, LocalDateTime occurredAt) {
+        if (operationType == null) {
+            throw new IllegalArgumentException("操作类型不能为空");
+        }
+
+        // 32 位十六进制事件ID（即流水ID），不经过 UUID.randomUUID 的 SecureRandom
+        return new InventoryChangedEvent(IdGenerator.randomHex(32),
+                inventoryId, skuId, warehouseId, inventoryVersion, versionSequence, operationType, quantity,
+                availableBefore, availableAfter, totalQuantity, reservedQuantity, frozenQuantity,
+                safetyStockQuantity, reason, null, null, occurredAt);
+    }
+
+    /**
+     * 补充关联单据和操作人（返回新的事件实例）
+     */
+    public InventoryChangedEvent withReference(String referenceId, String operatorId) {
+        return new InventoryChangedEvent(eventId, inventoryId, skuId, warehouseId, inventoryVersion, versionSequence,
+                operationType, quantity,
+                availableBefore, availableAfter, totalQuantity, reservedQuantity, frozenQuantity,
+                safetyStockQuantity, reason, referenceId, operatorId, occurredAt);
+    }
+
+    /**
+     * 带符号的变更数量：增加可用库存的操作为正，其余为负
+     */
+    public int getSignedQuantity() {
+        return operationType.isIncreaseOperation() ? quantity : -quantity;
+    }
+
+    public String getEventId() { return eventId; }
+    public InventoryId getInventoryId() { return inventoryId; }
+    public SkuId getSkuId() { return skuId; }
+    public WarehouseId getWarehouseId() { return warehouseId; }
+    public long getInventoryVersion() { return inventoryVersion; }
+    public int getVersionSequence() { return versionSequence; }
+    public InventoryOperationType getOperationType() { return operationType; }
+    public int getQuantity() { return quantity; }
+    public int getAvailableBefore() { return availableBefore; }
+    public int getAvailableAfter() { return availableAfter; }
+    public int getTotalQuantity() { return totalQuantity; }
+    public int getReservedQuantity() { return reservedQuantity; }
+    public int getFrozenQuantity() { return frozenQuantity; }
+    public int getSafetyStockQuantity() { return safetyStockQuantity; }
+    public String getReason() { return reason; }
+    public String getReferenceId() { return referenceId; }
+    public String getOperatorId() { return operatorId; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InventoryChangedEvent that = (InventoryChangedEvent) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryChangedEvent{" +
+                "eventId='" + eventId + '\'' +
+                ", skuId=" + skuId +
+                ", warehouseId=" + warehouseId +
+                ", operationType=" + operationType +
+                ", quantity=" + quantity +
+                ", availableAfter=" + availableAfter +
+                '}';
+    }
+}
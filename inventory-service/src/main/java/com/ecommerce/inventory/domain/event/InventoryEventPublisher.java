@@ -0,0 +1,15 @@
+package com.ecommerce.inventory.domain.event;
+
+import java.util.List;
+
+/**
+ * 库存领域事件发布接口 - 领域层
+ * 职责：将库存聚合产生的事件交给基础设施层分发，事务提交后才对订阅方可见
+ */
+public interface InventoryEventPublisher {
+
+    /**
+     * 发布库存变更事件
+     */
+    void publish(List<InventoryChangedEvent> events);
+}
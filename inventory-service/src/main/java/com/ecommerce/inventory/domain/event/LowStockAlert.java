@@ -0,0 +1,65 @@
+package com.ecommerce.inventory.domain.event;
+
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 低库存告警 - 领域事件
+ * 领域概念：总库存跌破安全库存（或恢复到安全库存以上）时产生，只在状态翻转时发出一次
+ */
+public final class LowStockAlert {
+
+    private final InventoryId inventoryId;
+    private final SkuId skuId;
+    private final WarehouseId warehouseId;
+    private final int availableQuantity;
+    private final int safetyStockQuantity;
+    private final double daysOfCover;
+    private final boolean recovered;
+    private final LocalDateTime occurredAt;
+
+    public LowStockAlert(InventoryId inventoryId, SkuId skuId, WarehouseId warehouseId,
+                         int availableQuantity, int safetyStockQuantity, double daysOfCover,
+                         boolean recovered, LocalDateTime occurredAt) {
+        this.inventoryId = inventoryId;
+        this.skuId = skuId;
+        this.warehouseId = warehouseId;
+        this.availableQuantity = availableQuantity;
+        this.safetyStockQuantity = safetyStockQuantity;
+        this.daysOfCover = daysOfCover;
+        this.recovered = recovered;
+        this.occurredAt = occurredAt;
+    }
+
+    public InventoryId getInventoryId() { return inventoryId; }
+    public SkuId getSkuId() { return skuId; }
+    public WarehouseId getWarehouseId() { return warehouseId; }
+    public int getAvailableQuantity() { return availableQuantity; }
+    public int getSafetyStockQuantity() { return safetyStockQuantity; }
+
+    /**
+     * 按近期出库速度估算的可售天数，无出库时为正无穷
+     */
+    public double getDaysOfCover() { return daysOfCover; }
+
+    /**
+     * true 表示已恢复到安全库存以上
+     */
+    public boolean isRecovered() { return recovered; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return "LowStockAlert{" +
+                "skuId=" + skuId +
+                ", warehouseId=" + warehouseId +
+                ", available=" + availableQuantity +
+                ", safetyStock=" + safetyStockQuantity +
+                ", daysOfCover=" + daysOfCover +
+                ", recovered=" + recovered +
+                '}';
+    }
+}
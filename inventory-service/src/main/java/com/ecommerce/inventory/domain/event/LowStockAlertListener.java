@@ -0,0 +1,10 @@
+package com.ecommerce.inventory.domain.event;
+
+/**
+ * 低库存告警监听器 - 领域层扩展点
+ * 实现类注册为 Spring Bean 即可接收告警；回调在库存写入线程上执行，实现必须快速返回
+ */
+public interface LowStockAlertListener {
+
+    void onAlert(LowStockAlert alert);
+}
@@ -17,7 +17,7 @@ import java.util.Optional;
 public interface InventoryRepository {
     
     /**
-     * 保存库存（新增或更新）
+     * 保存库存（新增或更新）：已存在时按版本号乐观更新，版本冲突抛出 IllegalStateException
      */
     Inventory save(Inventory inventory);
     
@@ -87,15 +87,17 @@ public interface InventoryRepository {
     List<Inventory> findWithFrozenStock();
     
     /**
-     * 分页查询库存
+     * 键集分页查询库存，按 (warehouse_id, sku_id) 升序，深翻页不退化
+     * (sku_id, warehouse_id) 唯一，页边界不会跳过或重复记录
+     * @param after 上一页最后一条记录的位置，null 表示第一页
      */
-    List<Inventory> findAll(int page, int size);
+    List<Inventory> findAll(InventoryCursor after, int size);
     
     /**
-     * 根据条件分页查询库存
+     * 根据条件键集分页查询库存，按 (warehouse_id, sku_id) 升序
      */
-    List<Inventory> findByCriteria(SkuId skuId, WarehouseId warehouseId, InventoryStatus status, 
-                                  int page, int size);
+    List<Inventory> findByCriteria(SkuId skuId, WarehouseId warehouseId, InventoryStatus status,
+                                  InventoryCursor after, int size);
     
     /**
      * 统计库存数量
@@ -133,9 +135,10 @@ public interface InventoryRepository {
     void deleteBySkuId(SkuId skuId);
     
     /**
-     * 批量保存库存
+     * 批量保存库存：按分片多行写入，(SKU, 仓库) 已存在时按版本号乐观更新，返回与入参一一对应的保存结果
+     * 版本不一致的行不写入、结果为 CONFLICT；写入的行在事务内发布库存变更事件
      */
-    List<Inventory> saveAll(List<Inventory> inventories);
+    List<SaveOutcome> saveAll(List<Inventory> inventories);
     
     /**
      * 批量查询库存
@@ -168,20 +171,80 @@ public interface InventoryRepository {
     List<Inventory> findActiveInventoriesByWarehouseId(WarehouseId warehouseId);
     
     /**
-     * 乐观锁更新库存
+     * 乐观锁更新库存：仅当数据库版本号与聚合一致时更新并递增版本号
+     * @return false 表示版本冲突（记录已被其他事务修改），聚合需重新加载后再操作
      */
     boolean updateWithOptimisticLock(Inventory inventory);
     
     /**
-     * 获取库存汇总信息（按SKU）
+     * 加行锁读取库存（SELECT ... FOR UPDATE），须在事务内调用，锁持有到事务结束
+     */
+    Optional<Inventory> findByIdForUpdate(InventoryId inventoryId);
+    
+    /**
+     * 获取库存汇总信息（按SKU，跨仓库合计，汇总中仓库为空）
      */
     List<InventorySummary> getInventorySummaryBySkuIds(List<SkuId> skuIds);
     
     /**
-     * 获取库存汇总信息（按仓库）
+     * 获取库存汇总信息（按仓库，跨SKU合计，汇总中SKU为空；仓库为空时返回全部仓库）
      */
     List<InventorySummary> getInventorySummaryByWarehouseId(WarehouseId warehouseId);
     
+    /**
+     * 键集分页位置内部类
+     */
+    class InventoryCursor {
+        private final String warehouseId;
+        private final String skuId;
+        
+        public InventoryCursor(String warehouseId, String skuId) {
+            if (warehouseId == null || skuId == null) {
+                throw new IllegalArgumentException("分页位置不能为空");
+            }
+            this.warehouseId = warehouseId;
+            this.skuId = skuId;
+        }
+        
+        /**
+         * 以指定库存作为上一页最后一条
+         */
+        public static InventoryCursor after(Inventory inventory) {
+            return new InventoryCursor(inventory.getWarehouseId().getValue(), inventory.getSkuId().getValue());
+        }
+        
+        public String getWarehouseId() { return warehouseId; }
+        public String getSkuId() { return skuId; }
+    }
+    
+    /**
+     * 批量保存结果内部类
+     */
+    class SaveOutcome {
+        
+        public enum Result {
+            INSERTED,   // 新增
+            UPDATED,    // 已存在，已更新
+            CONFLICT,   // 已存在且版本号不一致，未写入
+            FAILED      // 写入失败
+        }
+        
+        private final Inventory inventory;
+        private final Result result;
+        private final String errorMessage;
+        
+        public SaveOutcome(Inventory inventory, Result result, String errorMessage) {
+            this.inventory = inventory;
+            this.result = result;
+            this.errorMessage = errorMessage;
+        }
+        
+        public Inventory getInventory() { return inventory; }
+        public Result getResult() { return result; }
+        public String getErrorMessage() { return errorMessage; }
+        public boolean isSuccess() { return result == Result.INSERTED || result == Result.UPDATED; }
+    }
+    
     /**
      * 库存汇总信息内部类
      */
@@ -0,0 +1,74 @@
+package com.ecommerce.inventory.domain.repository;
+
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
+import com.ecommerce.inventory.domain.entity.StockRecord;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 库存变更记录仓储接口 - 领域层
+ * 职责：查询已落库的库存操作流水（写入由基础设施层的异步流水写入器负责）
+ * 特性：按 (created_at, id) 倒序的键集分页（id 为流水表自增主键，对应 idx_created_id），避免深分页 OFFSET
+ */
+public interface StockRecordRepository {
+
+    /**
+     * 键集分页查询变更记录，cursor 为空表示从最新一条开始
+     */
+    List<StockRecord> findPage(StockRecordCriteria criteria, RecordCursor cursor, int limit);
+
+    /**
+     * 变更记录查询条件，所有字段可选
+     */
+    class StockRecordCriteria {
+        private final SkuId skuId;
+        private final WarehouseId warehouseId;
+        private final List<InventoryOperationType> operationTypes;
+        private final String referenceId;
+        private final String operatorId;
+
+        public StockRecordCriteria(SkuId skuId, WarehouseId warehouseId,
+                                   List<InventoryOperationType> operationTypes,
+                                   String referenceId, String operatorId) {
+            this.skuId = skuId;
+            this.warehouseId = warehouseId;
+            this.operationTypes = operationTypes != null ? List.copyOf(operationTypes) : List.of();
+            this.referenceId = referenceId;
+            this.operatorId = operatorId;
+        }
+
+        // Getters
+        public SkuId getSkuId() { return skuId; }
+        public WarehouseId getWarehouseId() { return warehouseId; }
+        public List<InventoryOperationType> getOperationTypes() { return operationTypes; }
+        public String getReferenceId() { return referenceId; }
+        public String getOperatorId() { return operatorId; }
+    }
+
+    /**
+     * 键集分页游标：上一页最后一条记录的 (createdAt, sequence)
+     */
+    class RecordCursor {
+        private final LocalDateTime createdAt;
+        private final long sequence;
+
+        public RecordCursor(LocalDateTime createdAt, long sequence) {
+            if (createdAt == null) {
+                throw new IllegalArgumentException("分页游标不完整");
+            }
+            this.createdAt = createdAt;
+            this.sequence = sequence;
+        }
+
+        public static RecordCursor after(StockRecord record) {
+            return new RecordCursor(record.getCreatedAt(), record.getSequence());
+        }
+
+        // Getters
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public long getSequence() { return sequence; }
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecommerce.inventory.domain.service;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.event.InventoryEventPublisher;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.valueobject.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * 库存领域服务
+ * 职责：加载库存聚合、执行库存操作、持久化并发布库存变更事件
+ * 事件在同一事务内发布，订阅方（操作流水等）在事务提交后才会处理
+ * 并发控制：按版本号乐观更新，版本冲突时由 InventoryRetryPolicy 决定退避重试或改用行锁
+ */
+@Service
+public class InventoryDomainService {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryEventPublisher inventoryEventPublisher;
+
+    @Autowired
+    private InventoryRetryPolicy retryPolicy;
+
+    /**
+     * 入库
+     */
+    public OperationResult stockIn(SkuId skuId, WarehouseId warehouseId, Quantity quantity, String reason,
+                                   String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.stockIn(quantity.getValue(), reason, at));
+    }
+
+    /**
+     * 出库
+     */
+    public OperationResult stockOut(SkuId skuId, WarehouseId warehouseId, Quantity quantity, String reason,
+                                    String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.stockOut(quantity.getValue(), reason, at));
+    }
+
+    /**
+     * 预留库存
+     */
+    public OperationResult reserve(SkuId skuId, WarehouseId warehouseId, Quantity quantity, String reason,
+                                   String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.reserve(quantity.getValue(), reason, at));
+    }
+
+    /**
+     * 释放预留库存
+     */
+    public OperationResult releaseReservation(SkuId skuId, WarehouseId warehouseId, Quantity quantity, String reason,
+                                              String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.releaseReservation(quantity.getValue(), reason, at));
+    }
+
+    /**
+     * 确认预留
+     */
+    public OperationResult confirmReservation(SkuId skuId, WarehouseId warehouseId, Quantity quantity, String reason,
+                                              String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.confirmReservation(quantity.getValue(), reason, at));
+    }
+
+    /**
+     * 调整总库存（盘点）
+     */
+    public OperationResult adjust(SkuId skuId, WarehouseId warehouseId, Quantity newTotalQuantity, String reason,
+                                  String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.adjust(newTotalQuantity.getValue(), reason, at));
+    }
+
+    /**
+     * 按增量调整总库存（正数调增，负数调减）
+     */
+    public OperationResult adjustBy(SkuId skuId, WarehouseId warehouseId, int delta, String reason,
+                                    String referenceId, String operatorId) {
+        return execute(skuId, warehouseId, referenceId, operatorId,
+                (inventory, at) -> inventory.adjust(inventory.getTotalQuantityValue() + delta, reason, at));
+    }
+
+    /**
+     * 加载库存：指定仓库时精确查找，否则取该SKU的第一个活跃库存
+     */
+    public Inventory loadInventory(SkuId skuId, WarehouseId warehouseId) {
+        if (warehouseId != null) {
+            return inventoryRepository.findBySkuAndWarehouse(skuId, warehouseId)
+                    .orElseThrow(() -> new IllegalArgumentException("库存记录不存在: " + skuId + "@" + warehouseId));
+        }
+
+        return inventoryRepository.findActiveInventoriesBySkuId(skuId).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("库存记录不存在: " + skuId));
+    }
+
+    private OperationResult execute(SkuId skuId, WarehouseId warehouseId, String referenceId, String operatorId,
+                                    BiConsumer<Inventory, LocalDateTime> operation) {
+        return retryPolicy.execute(skuId,
+                pessimistic -> attempt(skuId, warehouseId, referenceId, operatorId, operation, pessimistic));
+    }
+
+    /**
+     * 单次尝试：加载（行锁方式时加锁）、执行操作、乐观更新并发布事件
+     * @return null 表示版本冲突，本次产生的事件已丢弃
+     */
+    private OperationResult attempt(SkuId skuId, WarehouseId warehouseId, String referenceId, String operatorId,
+                                    BiConsumer<Inventory, LocalDateTime> operation, boolean pessimistic) {
+        Inventory inventory = loadInventory(skuId, warehouseId);
+        if (pessimistic) {
+            inventory = lockInventory(inventory.getId());
+        }
+        operation.accept(inventory, LocalDateTime.now());
+        if (!inventoryRepository.updateWithOptimisticLock(inventory)) {
+            if (pessimistic) {
+                throw new IllegalStateException("库存并发更新失败: " + inventory.getId());
+            }
+            inventory.pullDomainEvents();
+            return null;
+        }
+
+        List<InventoryChangedEvent> events = inventory.pullDomainEvents().stream()
+                .map(event -> event.withReference(referenceId, operatorId))
+                .collect(Collectors.toList());
+        inventoryEventPublisher.publish(events);
+
+        return new OperationResult(inventory, events);
+    }
+
+    private Inventory lockInventory(InventoryId inventoryId) {
+        return inventoryRepository.findByIdForUpdate(inventoryId)
+                .orElseThrow(() -> new IllegalArgumentException("库存记录不存在: " + inventoryId));
+    }
+
+    /**
+     * 库存操作结果
+     */
+    public static class OperationResult {
+        private final Inventory inventory;
+        private final List<InventoryChangedEvent> events;
+
+        public OperationResult(Inventory inventory, List<InventoryChangedEvent> events) {
+            this.inventory = inventory;
+            this.events = events;
+        }
+
+        public Inventory getInventory() { return inventory; }
+        public List<InventoryChangedEvent> getEvents() { return events; }
+
+        /**
+         * 本次操作产生的最后一个事件（数量无变化时为空）
+         */
+        public InventoryChangedEvent getLastEvent() {
+            return events.isEmpty() ? null : events.get(events.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.inventory.domain.service;
+
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+
+/**
+ * 库存更新重试策略
+ * 职责：反复执行单次尝试直到成功，决定每次尝试是否使用行锁、版本冲突后如何退避
+ * 每次尝试的事务边界由实现负责
+ */
+public interface InventoryRetryPolicy {
+
+    /**
+     * 执行库存更新
+     * @param attempt 单次尝试，返回 null 表示版本冲突、需要重试
+     * @return 第一次成功尝试的结果
+     */
+    <T> T execute(SkuId skuId, Attempt<T> attempt);
+
+    /**
+     * 单次尝试
+     */
+    @FunctionalInterface
+    interface Attempt<T> {
+
+        /**
+         * @param pessimistic 是否使用行锁（SELECT ... FOR UPDATE）
+         */
+        T run(boolean pessimistic);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.inventory.domain.service;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+
+/**
+ * 库存预占存储 SPI
+ * 职责：原子地执行预占、释放、确认，规则与 Inventory 聚合一致：
+ * 1. 预占要求可用 >= 数量；释放、确认要求预留 >= 数量，不满足时抛出 IllegalStateException（与聚合相同的消息）
+ * 2. 同一 (操作, SKU, 仓库, 关联ID) 在保留期内只生效一次，重复请求返回 DUPLICATE 且不改变计数
+ * 3. 关联ID为空时不去重
+ * 实现：MySQL（直接经领域服务落库）、Redis 原子脚本、进程内存；后两者的变更由对账任务异步回写库存表
+ */
+public interface ReservationStore {
+
+    ReservationResult reserve(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                              String referenceId, String operatorId);
+
+    ReservationResult release(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                              String referenceId, String operatorId);
+
+    ReservationResult confirm(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                              String referenceId, String operatorId);
+
+    /**
+     * 操作结果类型
+     */
+    enum Outcome {
+        APPLIED,    // 已生效
+        DUPLICATE   // 重复请求，未改变计数
+    }
+
+    /**
+     * 操作结果：操作后的计数；直接落库的实现同时返回聚合与事件
+     */
+    class ReservationResult {
+        private final Outcome outcome;
+        private final SkuId skuId;
+        private final WarehouseId warehouseId;
+        private final int availableQuantity;
+        private final int reservedQuantity;
+        private final int totalQuantity;
+        private final Inventory inventory;
+        private final InventoryChangedEvent event;
+
+        public ReservationResult(Outcome outcome, SkuId skuId, WarehouseId warehouseId,
+                                 int availableQuantity, int reservedQuantity, int totalQuantity,
+                                 Inventory inventory, InventoryChangedEvent event) {
+            this.outcome = outcome;
+            this.skuId = skuId;
+            this.warehouseId = warehouseId;
+            this.availableQuantity = availableQuantity;
+            this.reservedQuantity = reservedQuantity;
+            this.totalQuantity = totalQuantity;
+            this.inventory = inventory;
+            this.event = event;
+        }
+
+        public static ReservationResult of(Outcome outcome, Inventory inventory, InventoryChangedEvent event) {
+            return new ReservationResult(outcome, inventory.getSkuId(), inventory.getWarehouseId(),
+                    inventory.getAvailableQuantityValue(), inventory.getReservedQuantityValue(),
+                    inventory.getTotalQuantityValue(), inventory, event);
+        }
+
+        public Outcome getOutcome() { return outcome; }
+        public SkuId getSkuId() { return skuId; }
+        public WarehouseId getWarehouseId() { return warehouseId; }
+        public int getAvailableQuantity() { return availableQuantity; }
+        public int getReservedQuantity() { return reservedQuantity; }
+        public int getTotalQuantity() { return totalQuantity; }
+
+        /**
+         * 操作后的库存聚合，异步回写的实现为空
+         */
+        public Inventory getInventory() { return inventory; }
+
+        /**
+         * 本次操作的变更事件，重复请求或异步回写的实现为空
+         */
+        public InventoryChangedEvent getEvent() { return event; }
+    }
+}
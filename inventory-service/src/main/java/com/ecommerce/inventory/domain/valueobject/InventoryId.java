@@ -1,7 +1,10 @@
 package com.ecommerce.inventory.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+import com.ecommerce.common.id.IdGenerator;
+
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 库存标识符 - 值对象
@@ -10,6 +13,8 @@ import java.util.UUID;
  */
 public final class InventoryId {
     
+    private static final IdCache<InventoryId> CACHE = new IdCache<>(4096, InventoryId::new);
+    
     private final String value;
     
     private InventoryId(String value) {
@@ -22,7 +27,7 @@ public final class InventoryId {
         }
         
         // 库存ID格式验证：允许字母、数字、短横线
-        if (!value.matches("^[a-zA-Z0-9-]+$")) {
+        if (!IdChars.isAlphanumericDash(value)) {
             throw new IllegalArgumentException("库存ID只能包含字母、数字和短横线");
         }
         
@@ -33,26 +38,27 @@ public final class InventoryId {
      * 创建库存ID
      */
     public static InventoryId of(String value) {
-        return new InventoryId(value);
+        return CACHE.get(value);
     }
     
     /**
      * 生成新的库存ID
      */
     public static InventoryId generate() {
-        return new InventoryId("INV-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase());
+        return new InventoryId("INV-" + IdGenerator.randomHex(16));
     }
     
     /**
-     * 根据SKU ID生成库存ID
+     * 根据SKU与仓库生成库存ID：INV-{SKU}-{仓库}，同一SKU在不同仓库的库存ID不同
+     * 清洗后超过长度上限时退回随机ID
      */
-    public static InventoryId generateFromSku(String skuId) {
-        if (skuId == null || skuId.trim().isEmpty()) {
+    public static InventoryId generateFromSku(String skuId, String warehouseId) {
+        if (skuId == null || skuId.trim().isEmpty() || warehouseId == null || warehouseId.trim().isEmpty()) {
             return generate();
         }
         
-        String cleanSkuId = skuId.replaceAll("[^a-zA-Z0-9]", "");
-        return new InventoryId("INV-" + cleanSkuId);
+        String value = "INV-" + IdChars.retainAlphanumeric(skuId) + "-" + IdChars.retainAlphanumeric(warehouseId);
+        return value.length() <= 50 ? new InventoryId(value) : generate();
     }
     
     public String getValue() {
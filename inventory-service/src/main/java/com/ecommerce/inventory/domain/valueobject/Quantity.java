@@ -9,6 +9,15 @@ import java.util.Objects;
  */
 public final class Quantity {
     
+    private static final int CACHE_SIZE = 1024;
+    private static final Quantity[] CACHE = new Quantity[CACHE_SIZE];
+    
+    static {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            CACHE[i] = new Quantity(i);
+        }
+    }
+    
     private final int value;
     
     private Quantity(int value) {
@@ -24,9 +33,12 @@ public final class Quantity {
     }
     
     /**
-     * 创建数量
+     * 创建数量，常用的小数量复用缓存实例
      */
     public static Quantity of(int value) {
+        if (value >= 0 && value < CACHE_SIZE) {
+            return CACHE[value];
+        }
         return new Quantity(value);
     }
     
@@ -34,14 +46,14 @@ public final class Quantity {
      * 零数量
      */
     public static Quantity zero() {
-        return new Quantity(0);
+        return CACHE[0];
     }
     
     /**
      * 一个单位数量
      */
     public static Quantity one() {
-        return new Quantity(1);
+        return CACHE[1];
     }
     
     public int getValue() {
@@ -75,7 +87,7 @@ public final class Quantity {
             throw new IllegalArgumentException("数量运算结果溢出");
         }
         
-        return new Quantity((int) result);
+        return of((int) result);
     }
     
     /**
@@ -91,7 +103,7 @@ public final class Quantity {
             throw new IllegalArgumentException("数量减法运算结果不能为负数");
         }
         
-        return new Quantity(result);
+        return of(result);
     }
     
     /**
@@ -107,7 +119,7 @@ public final class Quantity {
             throw new IllegalArgumentException("数量运算结果溢出");
         }
         
-        return new Quantity((int) result);
+        return of((int) result);
     }
     
     /**
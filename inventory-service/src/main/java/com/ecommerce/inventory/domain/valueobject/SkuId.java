@@ -1,5 +1,8 @@
 package com.ecommerce.inventory.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+
 import java.util.Objects;
 
 /**
@@ -9,6 +12,8 @@ import java.util.Objects;
  */
 public final class SkuId {
     
+    private static final IdCache<SkuId> CACHE = new IdCache<>(4096, SkuId::new);
+    
     private final String value;
     
     private SkuId(String value) {
@@ -21,7 +26,7 @@ public final class SkuId {
         }
         
         // SKU ID格式验证：允许字母、数字、短横线和下划线
-        if (!value.matches("^[a-zA-Z0-9_-]+$")) {
+        if (!IdChars.isIdentifier(value)) {
             throw new IllegalArgumentException("SKU ID只能包含字母、数字、短横线和下划线");
         }
         
@@ -32,7 +37,7 @@ public final class SkuId {
      * 创建SKU ID
      */
     public static SkuId of(String value) {
-        return new SkuId(value);
+        return CACHE.get(value);
     }
     
     public String getValue() {
@@ -1,5 +1,8 @@
 package com.ecommerce.inventory.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+
 import java.util.Objects;
 
 /**
@@ -9,6 +12,8 @@ import java.util.Objects;
  */
 public final class WarehouseId {
     
+    private static final IdCache<WarehouseId> CACHE = new IdCache<>(256, WarehouseId::new);
+    
     private final String value;
     
     private WarehouseId(String value) {
@@ -21,7 +26,7 @@ public final class WarehouseId {
         }
         
         // 仓库ID格式验证：允许字母、数字、短横线和下划线
-        if (!value.matches("^[a-zA-Z0-9_-]+$")) {
+        if (!IdChars.isIdentifier(value)) {
             throw new IllegalArgumentException("仓库ID只能包含字母、数字、短横线和下划线");
         }
         
@@ -32,7 +37,7 @@ public final class WarehouseId {
      * 创建仓库ID
      */
     public static WarehouseId of(String value) {
-        return new WarehouseId(value);
+        return CACHE.get(value);
     }
     
     /**
@@ -57,7 +62,7 @@ public final class WarehouseId {
             throw new IllegalArgumentException("地区代码不能为空");
         }
         
-        String cleanCode = regionCode.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        String cleanCode = IdChars.retainAlphanumeric(regionCode).toUpperCase();
         return new WarehouseId("WH-" + cleanCode);
     }
     
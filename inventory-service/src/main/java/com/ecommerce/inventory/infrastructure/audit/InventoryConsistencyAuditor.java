@@ -0,0 +1,286 @@
+package com.ecommerce.inventory.infrastructure.audit;
+
+import com.ecommerce.inventory.infrastructure.config.InventoryAuditProperties;
+import com.ecommerce.inventory.infrastructure.entity.InventoryAuditPO;
+import com.ecommerce.inventory.infrastructure.mapper.InventoryDataMapper;
+import com.ecommerce.inventory.infrastructure.mapper.InventoryPlusMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 库存一致性审计 - 基础设施层
+ * 职责：全表校验库存不变式（Inventory.validateConsistency），并与库存流水最新一条的变更后可用数量交叉核对，输出漂移报告
+ * 执行方式：
+ * 1. 按主键区间切分，在独立的 ForkJoinPool 中并行扫描，每个叶子任务只持有一个区间的数据
+ * 2. 每个区间在只读、READ_COMMITTED 的短事务中查询，不持有长快照，也不加锁
+ * 3. 全局令牌桶按行数限流，并行度即占用的连接数，避免挤占在线交易
+ * 流水异步转写：仍有流水在发件箱中的库存跳过流水比对（不计为漂移）；没有流水的库存只校验不变式
+ */
+@Component
+public class InventoryConsistencyAuditor {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryConsistencyAuditor.class);
+
+    private static final DateTimeFormatter REPORT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * 漂移类型
+     */
+    public enum Issue {
+        INVALID_VALUE,      // 数量为负或超出范围
+        INCONSISTENT,       // 可用 != 总库存 - 预留 - 冻结
+        JOURNAL_MISMATCH    // 可用数量与最新流水的变更后数量不符
+    }
+
+    private final InventoryPlusMapper inventoryPlusMapper;
+    private final InventoryDataMapper inventoryDataMapper;
+    private final InventoryAuditProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong nextPermitNanos = new AtomicLong();
+
+    public InventoryConsistencyAuditor(InventoryPlusMapper inventoryPlusMapper,
+                                       InventoryDataMapper inventoryDataMapper,
+                                       InventoryAuditProperties properties,
+                                       PlatformTransactionManager transactionManager) {
+        this.inventoryPlusMapper = inventoryPlusMapper;
+        this.inventoryDataMapper = inventoryDataMapper;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.readOnlyTransaction.setTimeout(properties.getQueryTimeoutSeconds());
+    }
+
+    @Scheduled(cron = "${inventory.audit.cron:-}")
+    public void scheduledAudit() {
+        try {
+            audit();
+        } catch (IllegalStateException e) {
+            logger.warn("跳过库存一致性审计: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 执行一次全表审计，同一时间只允许一个审计运行
+     */
+    public AuditResult audit() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("库存一致性审计正在运行");
+        }
+        long startedAt = System.currentTimeMillis();
+        nextPermitNanos.set(System.nanoTime());
+        Path reportPath = Paths.get(properties.getReportDir())
+                .resolve("inventory-audit-" + LocalDateTime.now().format(REPORT_TIME) + ".csv");
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+
+        try (AuditReport report = new AuditReport(reportPath)) {
+            Long minId = inventoryPlusMapper.selectMinId();
+            Long maxId = inventoryPlusMapper.selectMaxId();
+            if (minId != null && maxId != null) {
+                pool.invoke(new RangeTask(minId - 1, maxId, report));
+            }
+            AuditResult result = report.toResult(System.currentTimeMillis() - startedAt);
+            logger.info("库存一致性审计完成: 扫描={}, 无效={}, 不一致={}, 流水不符={}, 耗时={}ms, 报告={}",
+                    result.getScanned(), result.getInvalid(), result.getInconsistent(),
+                    result.getJournalMismatched(), result.getElapsedMs(), result.getReportPath());
+            return result;
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 主键区间 (fromId, toId] 的审计任务，超过区间大小时二分
+     */
+    private final class RangeTask extends RecursiveAction {
+
+        private final long fromId;
+        private final long toId;
+        private final AuditReport report;
+
+        private RangeTask(long fromId, long toId, AuditReport report) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.report = report;
+        }
+
+        @Override
+        protected void compute() {
+            long rangeSize = Math.max(1, properties.getRangeSize());
+            if (toId - fromId > rangeSize) {
+                long middle = fromId + (toId - fromId) / 2;
+                invokeAll(new RangeTask(fromId, middle, report),
+                        new RangeTask(middle, toId, report));
+                return;
+            }
+
+            List<InventoryAuditPO> rows = readOnlyTransaction.execute(
+                    status -> inventoryPlusMapper.selectAuditRange(fromId, toId));
+            if (rows == null || rows.isEmpty()) {
+                return;
+            }
+            for (InventoryAuditPO row : rows) {
+                check(row, report);
+            }
+            report.scanned(rows.size());
+            throttle(rows.size());
+        }
+    }
+
+    private void check(InventoryAuditPO row, AuditReport report) {
+        try {
+            inventoryDataMapper.inventoryPOToInventory(row).validateConsistency();
+        } catch (IllegalArgumentException e) {
+            report.drifted(row, Issue.INVALID_VALUE, e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            report.drifted(row, Issue.INCONSISTENT, e.getMessage());
+            return;
+        }
+
+        Integer journalAfter = row.getJournalAfterQuantity();
+        if (journalAfter != null && !Boolean.TRUE.equals(row.getJournalPending())
+                && !journalAfter.equals(row.getAvailableQuantity())) {
+            report.drifted(row, Issue.JOURNAL_MISMATCH, null);
+        }
+    }
+
+    /**
+     * 令牌桶限流：按本次读取的行数预约时间片，超前时等待
+     */
+    private void throttle(int rows) {
+        long rate = properties.getMaxRowsPerSecond();
+        if (rate <= 0) {
+            return;
+        }
+        long cost = rows * 1_000_000_000L / rate;
+        long now = System.nanoTime();
+        long previous = nextPermitNanos.getAndUpdate(next -> Math.max(next, now) + cost);
+        long wait = Math.max(previous, now) - now;
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    /**
+     * 漂移报告：只写出有问题的行，多个扫描线程共享
+     */
+    private static final class AuditReport implements AutoCloseable {
+
+        private final Path path;
+        private final BufferedWriter writer;
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong inconsistent = new AtomicLong();
+        private final AtomicLong journalMismatched = new AtomicLong();
+
+        private AuditReport(Path path) {
+            this.path = path;
+            try {
+                Files.createDirectories(path.getParent());
+                this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                writer.write("inventory_id,sku_id,warehouse_id,total,available,reserved,frozen,journal_available,issue,message");
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException("创建审计报告失败: " + path, e);
+            }
+        }
+
+        private void scanned(int rows) {
+            scanned.addAndGet(rows);
+        }
+
+        private void drifted(InventoryAuditPO row, Issue issue, String message) {
+            switch (issue) {
+                case INVALID_VALUE -> invalid.incrementAndGet();
+                case INCONSISTENT -> inconsistent.incrementAndGet();
+                case JOURNAL_MISMATCH -> journalMismatched.incrementAndGet();
+            }
+            String line = String.join(",", text(row.getInventoryId()), text(row.getSkuId()), text(row.getWarehouseId()),
+                    text(row.getTotalQuantity()), text(row.getAvailableQuantity()), text(row.getReservedQuantity()),
+                    text(row.getFrozenQuantity()), text(row.getJournalAfterQuantity()), issue.name(), text(message));
+            synchronized (this) {
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("写入审计报告失败: " + path, e);
+                }
+            }
+        }
+
+        private AuditResult toResult(long elapsedMs) {
+            return new AuditResult(scanned.get(), invalid.get(), inconsistent.get(), journalMismatched.get(),
+                    path.toString(), elapsedMs);
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入审计报告失败: " + path, e);
+            }
+        }
+
+        private static String text(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            return text.indexOf(',') < 0 ? text : '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * 审计结果
+     */
+    public static class AuditResult {
+        private final long scanned;
+        private final long invalid;
+        private final long inconsistent;
+        private final long journalMismatched;
+        private final String reportPath;
+        private final long elapsedMs;
+
+        public AuditResult(long scanned, long invalid, long inconsistent, long journalMismatched,
+                           String reportPath, long elapsedMs) {
+            this.scanned = scanned;
+            this.invalid = invalid;
+            this.inconsistent = inconsistent;
+            this.journalMismatched = journalMismatched;
+            this.reportPath = reportPath;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public long getScanned() { return scanned; }
+        public long getInvalid() { return invalid; }
+        public long getInconsistent() { return inconsistent; }
+        public long getJournalMismatched() { return journalMismatched; }
+        public String getReportPath() { return reportPath; }
+        public long getElapsedMs() { return elapsedMs; }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.inventory.infrastructure.cache;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.infrastructure.config.InventoryQueryProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 可用库存读缓存 - 基础设施层
+ * 职责：按SKU缓存各仓库库存快照，供商品页等只读查询使用，短TTL兜底
+ * 失效：库存事务提交后按事件中的SKU写入失效标记（保留一个TTL）；加载开始后被标记失效的SKU不回填，
+ * 其他SKU照常回填，写入只影响被修改的SKU；加载耗时超过TTL时整批不回填，保证期间的失效标记都还在
+ * 注意：缓存中的库存对象只用于读取展示，库存操作必须经仓储重新加载
+ */
+@Component
+public class InventoryAvailabilityCache {
+
+    private final InventoryQueryProperties properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationSequence = new AtomicLong();
+
+    public InventoryAvailabilityCache(InventoryQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 批量获取SKU库存，未命中的SKU通过一次 loader 调用加载
+     * 返回结果按请求顺序排列，不存在库存的SKU对应空列表
+     */
+    public Map<SkuId, List<Inventory>> getOrLoad(List<SkuId> skuIds, Function<List<SkuId>, List<Inventory>> loader) {
+        Map<SkuId, List<Inventory>> result = new LinkedHashMap<>();
+        List<SkuId> misses = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (SkuId skuId : skuIds) {
+            if (result.containsKey(skuId)) {
+                continue;
+            }
+            Entry entry = entries.get(skuId.getValue());
+            if (entry != null && entry.inventories != null && entry.expiresAt > now) {
+                result.put(skuId, entry.inventories);
+            } else {
+                result.put(skuId, null);
+                misses.add(skuId);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        long startSequence = invalidationSequence.get();
+        long startedAt = System.currentTimeMillis();
+        Map<SkuId, List<Inventory>> loaded = new LinkedHashMap<>();
+        for (SkuId skuId : misses) {
+            loaded.put(skuId, new ArrayList<>());
+        }
+        for (Inventory inventory : loader.apply(misses)) {
+            List<Inventory> bucket = loaded.get(inventory.getSkuId());
+            if (bucket != null) {
+                bucket.add(inventory);
+            }
+        }
+
+        long finishedAt = System.currentTimeMillis();
+        boolean fillable = finishedAt - startedAt < properties.getAvailabilityCacheTtlMs();
+        long expiresAt = finishedAt + properties.getAvailabilityCacheTtlMs();
+        for (Map.Entry<SkuId, List<Inventory>> e : loaded.entrySet()) {
+            List<Inventory> inventories = List.copyOf(e.getValue());
+            result.put(e.getKey(), inventories);
+            if (fillable) {
+                fill(e.getKey().getValue(), new Entry(inventories, expiresAt, startSequence));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 失效指定SKU
+     */
+    public void invalidate(SkuId skuId) {
+        long sequence = invalidationSequence.incrementAndGet();
+        long expiresAt = System.currentTimeMillis() + properties.getAvailabilityCacheTtlMs();
+        entries.put(skuId.getValue(), new Entry(null, expiresAt, sequence));
+    }
+
+    /**
+     * 库存事务提交后失效对应SKU，覆盖所有修改库存的RPC
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        invalidate(event.getSkuId());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 回填：加载开始后写入的失效标记、以及更晚开始的加载结果都保留，不被本次加载结果覆盖
+     */
+    private void fill(String key, Entry entry) {
+        if (entries.size() >= properties.getAvailabilityCacheMaxEntries()) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            if (entries.size() >= properties.getAvailabilityCacheMaxEntries()) {
+                return;
+            }
+        }
+        entries.compute(key, (k, current) ->
+                current != null && current.sequence > entry.sequence ? current : entry);
+    }
+
+    /**
+     * 缓存项；inventories 为 null 时是失效标记
+     * sequence：失效标记为写入时的失效序号，加载结果为加载开始时的失效序号
+     */
+    private static final class Entry {
+        private final List<Inventory> inventories;
+        private final long expiresAt;
+        private final long sequence;
+
+        private Entry(List<Inventory> inventories, long expiresAt, long sequence) {
+            this.inventories = inventories;
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+        }
+    }
+}
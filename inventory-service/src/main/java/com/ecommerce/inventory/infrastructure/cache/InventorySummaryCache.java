@@ -0,0 +1,340 @@
+package com.ecommerce.inventory.infrastructure.cache;
+
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.infrastructure.config.InventoryQueryProperties;
+import com.ecommerce.inventory.infrastructure.entity.InventorySummaryPO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 库存汇总物化缓存 - 基础设施层
+ * 职责：缓存按SKU、按仓库的 GROUP BY 汇总结果，并按库存变更事件增量修正，使看板刷新只与结果数量相关
+ * 一致性：
+ * 1. 变更事务提交前登记为"进行中"，提交后把增量应用到已缓存的汇总并撤销登记
+ * 2. 加载期间相关键存在进行中或已提交的变更时，加载结果只返回不回填，避免重复计入或漏计
+ * 3. 新建、停用等不产生事件的变更由TTL兜底
+ */
+@Component
+public class InventorySummaryCache {
+
+    private static final String SKU_PREFIX = "S:";
+    private static final String WAREHOUSE_PREFIX = "W:";
+
+    private final InventoryQueryProperties properties;
+
+    // 以下状态均由 this 锁保护
+    private final Map<String, Totals> entries = new HashMap<>();
+    private final Map<String, Integer> inflight = new HashMap<>();
+    private final Map<String, List<LoadTicket>> pendingLoads = new HashMap<>();
+    private final List<LoadTicket> wildcardLoads = new ArrayList<>();
+    private Set<String> allWarehouses;
+    private long allWarehousesExpiresAt;
+
+    public InventorySummaryCache(InventoryQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 按SKU获取汇总，未命中的SKU通过一次 loader 调用聚合；没有库存的SKU不出现在结果中
+     */
+    public List<InventorySummaryPO> getBySkuIds(List<String> skuIds,
+                                                Function<List<String>, List<InventorySummaryPO>> loader) {
+        Map<String, InventorySummaryPO> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (String skuId : skuIds) {
+                if (result.containsKey(skuId)) {
+                    continue;
+                }
+                Totals totals = entries.get(SKU_PREFIX + skuId);
+                if (totals != null && totals.expiresAt > now) {
+                    result.put(skuId, totals.present ? totals.toSummary(skuId, null) : null);
+                } else {
+                    result.put(skuId, null);
+                    misses.add(skuId);
+                }
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<String> keys = prefixed(SKU_PREFIX, misses);
+            LoadTicket ticket = beginLoad(keys);
+            Map<String, InventorySummaryPO> loaded = new HashMap<>();
+            for (InventorySummaryPO summary : loader.apply(misses)) {
+                loaded.put(SKU_PREFIX + summary.getSkuId(), summary);
+                result.put(summary.getSkuId(), summary);
+            }
+            endLoad(ticket, keys, loaded);
+        }
+
+        List<InventorySummaryPO> summaries = new ArrayList<>(result.size());
+        for (InventorySummaryPO summary : result.values()) {
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 按仓库获取汇总，warehouseId 为空时返回全部仓库
+     */
+    public List<InventorySummaryPO> getByWarehouse(String warehouseId,
+                                                   Function<String, List<InventorySummaryPO>> loader) {
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            List<String> warehouses = warehouseId != null ? List.of(warehouseId)
+                    : (allWarehouses != null && allWarehousesExpiresAt > now ? new ArrayList<>(allWarehouses) : null);
+            List<InventorySummaryPO> cached = warehouses != null ? cachedWarehouses(warehouses, now) : null;
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // 全部仓库时加载前不知道涉及哪些键，登记为通配加载，任何变更都会使其对应键失去回填资格
+        List<String> requestedKeys = warehouseId != null ? List.of(WAREHOUSE_PREFIX + warehouseId) : null;
+        LoadTicket ticket = beginLoad(requestedKeys);
+        List<InventorySummaryPO> summaries = loader.apply(warehouseId);
+        Map<String, InventorySummaryPO> loaded = new HashMap<>();
+        for (InventorySummaryPO summary : summaries) {
+            loaded.put(WAREHOUSE_PREFIX + summary.getWarehouseId(), summary);
+        }
+
+        List<String> keys = requestedKeys != null ? requestedKeys : new ArrayList<>(loaded.keySet());
+        if (endLoad(ticket, keys, loaded) && warehouseId == null) {
+            synchronized (this) {
+                if (!ticket.dirtyKeys.isEmpty()) {
+                    // 加载期间有变更（可能涉及新仓库），仓库全集不可信
+                    return summaries;
+                }
+                allWarehouses = new HashSet<>();
+                for (InventorySummaryPO summary : summaries) {
+                    allWarehouses.add(summary.getWarehouseId());
+                }
+                allWarehousesExpiresAt = System.currentTimeMillis() + properties.getSummaryCacheTtlMs();
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 变更事务提交前登记进行中的键，并在事务结束后应用增量
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        List<String> keys = List.of(SKU_PREFIX + event.getSkuId().getValue(),
+                WAREHOUSE_PREFIX + event.getWarehouseId().getValue());
+        synchronized (this) {
+            for (String key : keys) {
+                inflight.merge(key, 1, Integer::sum);
+                markDirty(key);
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(event, keys, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            complete(event, keys, true);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void complete(InventoryChangedEvent event, List<String> keys, boolean committed) {
+        for (String key : keys) {
+            inflight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            if (!committed) {
+                continue;
+            }
+            markDirty(key);
+            Totals totals = entries.get(key);
+            if (totals == null) {
+                continue;
+            }
+            if (!totals.present || !totals.apply(event)) {
+                // 无法推导增量（或汇总原本不存在），直接失效等待重新聚合
+                entries.remove(key);
+            }
+        }
+        if (committed && allWarehouses != null && !allWarehouses.contains(event.getWarehouseId().getValue())) {
+            allWarehouses = null;
+        }
+    }
+
+    private List<InventorySummaryPO> cachedWarehouses(List<String> warehouses, long now) {
+        List<InventorySummaryPO> summaries = new ArrayList<>(warehouses.size());
+        for (String warehouse : warehouses) {
+            Totals totals = entries.get(WAREHOUSE_PREFIX + warehouse);
+            if (totals == null || totals.expiresAt <= now) {
+                return null;
+            }
+            if (totals.present) {
+                summaries.add(totals.toSummary(null, warehouse));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 登记加载；keys 为 null 表示通配加载（涉及的键在加载完成后才知道）
+     */
+    private synchronized LoadTicket beginLoad(List<String> keys) {
+        LoadTicket ticket = new LoadTicket();
+        if (keys == null) {
+            wildcardLoads.add(ticket);
+            ticket.dirtyKeys.addAll(inflight.keySet());
+            return ticket;
+        }
+        for (String key : keys) {
+            pendingLoads.computeIfAbsent(key, k -> new ArrayList<>()).add(ticket);
+            if (inflight.containsKey(key)) {
+                ticket.dirtyKeys.add(key);
+            }
+        }
+        return ticket;
+    }
+
+    /**
+     * 结束加载并回填未受并发变更影响的键，返回是否全部回填
+     */
+    private synchronized boolean endLoad(LoadTicket ticket, List<String> keys, Map<String, InventorySummaryPO> loaded) {
+        long expiresAt = System.currentTimeMillis() + properties.getSummaryCacheTtlMs();
+        boolean complete = true;
+        wildcardLoads.remove(ticket);
+        for (String key : keys) {
+            List<LoadTicket> tickets = pendingLoads.get(key);
+            if (tickets != null) {
+                tickets.remove(ticket);
+                if (tickets.isEmpty()) {
+                    pendingLoads.remove(key);
+                }
+            }
+
+            if (ticket.dirtyKeys.contains(key) || inflight.containsKey(key)
+                    || (!entries.containsKey(key) && entries.size() >= properties.getSummaryCacheMaxEntries())) {
+                complete = false;
+                continue;
+            }
+            InventorySummaryPO summary = loaded.get(key);
+            entries.put(key, summary != null ? Totals.of(summary, expiresAt) : Totals.absent(expiresAt));
+        }
+        if (entries.size() >= properties.getSummaryCacheMaxEntries()) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(totals -> totals.expiresAt <= now);
+        }
+        return complete;
+    }
+
+    private void markDirty(String key) {
+        for (LoadTicket ticket : wildcardLoads) {
+            ticket.dirtyKeys.add(key);
+        }
+        List<LoadTicket> tickets = pendingLoads.get(key);
+        if (tickets != null) {
+            for (LoadTicket ticket : tickets) {
+                ticket.dirtyKeys.add(key);
+            }
+        }
+    }
+
+    private List<String> prefixed(String prefix, List<String> values) {
+        List<String> keys = new ArrayList<>(values.size());
+        for (String value : values) {
+            keys.add(prefix + value);
+        }
+        return keys;
+    }
+
+    private static final class LoadTicket {
+        private final Set<String> dirtyKeys = new HashSet<>();
+    }
+
+    /**
+     * 汇总值；present=false 表示数据库中没有对应库存
+     */
+    private static final class Totals {
+        private final boolean present;
+        private final long expiresAt;
+        private long total;
+        private long available;
+        private long reserved;
+        private long frozen;
+
+        private Totals(boolean present, long expiresAt) {
+            this.present = present;
+            this.expiresAt = expiresAt;
+        }
+
+        private static Totals of(InventorySummaryPO summary, long expiresAt) {
+            Totals totals = new Totals(true, expiresAt);
+            totals.total = valueOf(summary.getTotalQuantity());
+            totals.available = valueOf(summary.getAvailableQuantity());
+            totals.reserved = valueOf(summary.getReservedQuantity());
+            totals.frozen = valueOf(summary.getFrozenQuantity());
+            return totals;
+        }
+
+        private static Totals absent(long expiresAt) {
+            return new Totals(false, expiresAt);
+        }
+
+        /**
+         * 按操作类型应用增量，返回 false 表示该操作无法推导增量
+         */
+        private boolean apply(InventoryChangedEvent event) {
+            int q = event.getQuantity();
+            switch (event.getOperationType()) {
+                case STOCK_IN, ADJUST_INCREASE -> total += q;
+                case STOCK_OUT, ADJUST_DECREASE -> total -= q;
+                case RESERVE -> reserved += q;
+                case RELEASE_RESERVATION -> reserved -= q;
+                case CONFIRM_RESERVATION -> {
+                    reserved -= q;
+                    total -= q;
+                }
+                case FREEZE -> frozen += q;
+                case UNFREEZE -> frozen -= q;
+                default -> {
+                    return false;
+                }
+            }
+            available += event.getAvailableAfter() - event.getAvailableBefore();
+            return true;
+        }
+
+        private InventorySummaryPO toSummary(String skuId, String warehouseId) {
+            InventorySummaryPO summary = new InventorySummaryPO();
+            summary.setSkuId(skuId);
+            summary.setWarehouseId(warehouseId);
+            summary.setTotalQuantity(total);
+            summary.setAvailableQuantity(available);
+            summary.setReservedQuantity(reserved);
+            summary.setFrozenQuantity(frozen);
+            return summary;
+        }
+
+        private static long valueOf(Long value) {
+            return value != null ? value : 0L;
+        }
+    }
+}
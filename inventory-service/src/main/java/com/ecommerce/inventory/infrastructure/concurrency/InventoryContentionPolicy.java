@@ -0,0 +1,33 @@
+package com.ecommerce.inventory.infrastructure.concurrency;
+
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+
+/**
+ * 库存并发争用策略
+ * 职责：决定乐观锁冲突后的重试次数与退避时间、热点SKU是否升级为行锁，并记录冲突统计
+ */
+public interface InventoryContentionPolicy {
+
+    /**
+     * 单次操作最多尝试次数（含首次），最后一次尝试使用行锁保证完成
+     */
+    int maxAttempts();
+
+    /**
+     * 第 conflicts 次冲突后的退避时间（毫秒），带随机抖动以错开并发重试
+     */
+    long backoffMillis(int conflicts);
+
+    /**
+     * 该SKU近期冲突率是否已超过阈值，需要直接使用 SELECT ... FOR UPDATE
+     */
+    boolean shouldLockPessimistically(SkuId skuId);
+
+    /**
+     * 记录一次操作的争用情况
+     * @param conflicts   乐观锁冲突次数
+     * @param backoffMs   累计退避时间
+     * @param pessimistic 是否以行锁方式开始
+     */
+    void recordOutcome(SkuId skuId, int conflicts, long backoffMs, boolean pessimistic);
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.inventory.infrastructure.concurrency;
+
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.infrastructure.config.InventoryConcurrencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 基于冲突率的库存争用策略 - 基础设施层
+ * 职责：
+ * 1. 指数退避 + 全抖动（在 [0, min(上限, 基数*2^n)] 内随机），避免冲突方同步重试
+ * 2. 按SKU统计固定窗口内发生冲突的操作占比，超过阈值后在保持期内直接走行锁
+ * 3. 输出冲突次数、退避时间分布；升级过的热点SKU单独打 sku 标签，其余合并为 other，避免标签基数膨胀
+ */
+@Component
+public class MeteredInventoryContentionPolicy implements InventoryContentionPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeteredInventoryContentionPolicy.class);
+
+    private static final String OTHER_SKUS = "other";
+
+    private final InventoryConcurrencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SkuContention> contentions = new ConcurrentHashMap<>();
+    private final Map<String, SkuMeters> hotSkuMeters = new ConcurrentHashMap<>();
+    private final SkuMeters otherMeters;
+    private final Counter escalations;
+
+    public MeteredInventoryContentionPolicy(InventoryConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.otherMeters = new SkuMeters(meterRegistry, OTHER_SKUS);
+        this.escalations = Counter.builder("inventory.update.escalations")
+                .description("热点SKU升级为行锁的次数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int maxAttempts() {
+        return Math.max(1, properties.getMaxAttempts());
+    }
+
+    @Override
+    public long backoffMillis(int conflicts) {
+        int shift = Math.min(Math.max(conflicts - 1, 0), 20);
+        long ceiling = Math.min(properties.getMaxBackoffMs(), properties.getBaseBackoffMs() << shift);
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    @Override
+    public boolean shouldLockPessimistically(SkuId skuId) {
+        SkuContention contention = contentions.get(skuId.getValue());
+        return contention != null && contention.isEscalated(System.currentTimeMillis());
+    }
+
+    @Override
+    public void recordOutcome(SkuId skuId, int conflicts, long backoffMs, boolean pessimistic) {
+        String sku = skuId.getValue();
+        long now = System.currentTimeMillis();
+
+        // 行锁操作不会产生冲突，不计入冲突率样本
+        if (!pessimistic) {
+            SkuContention contention = contention(sku, now);
+            if (contention != null && contention.record(conflicts > 0, now, properties)) {
+                escalations.increment();
+                if (hotSkuMeters.size() < properties.getMaxTaggedSkus()) {
+                    hotSkuMeters.computeIfAbsent(sku, key -> new SkuMeters(meterRegistry, key));
+                }
+                logger.warn("SKU {} 乐观锁冲突率过高，{}ms 内改用行锁更新", sku, properties.getEscalationHoldMs());
+            }
+        }
+
+        SkuMeters meters = hotSkuMeters.getOrDefault(sku, otherMeters);
+        meters.conflicts.record(conflicts);
+        if (conflicts > 0) {
+            meters.retryBackoff.record(backoffMs);
+        }
+    }
+
+    private SkuContention contention(String sku, long now) {
+        SkuContention contention = contentions.get(sku);
+        if (contention != null) {
+            return contention;
+        }
+        if (contentions.size() >= properties.getMaxTrackedSkus()) {
+            contentions.values().removeIf(c -> c.isIdle(now, properties));
+            if (contentions.size() >= properties.getMaxTrackedSkus()) {
+                return null;
+            }
+        }
+        return contentions.computeIfAbsent(sku, key -> new SkuContention(now));
+    }
+
+    /**
+     * 单个SKU的固定窗口冲突统计
+     */
+    private static final class SkuContention {
+        private long windowStart;
+        private int operations;
+        private int conflictedOperations;
+        private volatile long escalatedUntil;
+
+        private SkuContention(long now) {
+            this.windowStart = now;
+        }
+
+        private boolean isEscalated(long now) {
+            return escalatedUntil > now;
+        }
+
+        private synchronized boolean isIdle(long now, InventoryConcurrencyProperties properties) {
+            return !isEscalated(now) && now - windowStart >= properties.getStatsWindowMs();
+        }
+
+        /**
+         * 记录一次乐观锁操作，返回本次是否触发升级
+         */
+        private synchronized boolean record(boolean conflicted, long now, InventoryConcurrencyProperties properties) {
+            if (now - windowStart >= properties.getStatsWindowMs()) {
+                windowStart = now;
+                operations = 0;
+                conflictedOperations = 0;
+            }
+            operations++;
+            if (conflicted) {
+                conflictedOperations++;
+            }
+            if (isEscalated(now) || operations < properties.getEscalationMinSamples()) {
+                return false;
+            }
+            if ((double) conflictedOperations / operations < properties.getEscalationConflictRate()) {
+                return false;
+            }
+            escalatedUntil = now + properties.getEscalationHoldMs();
+            windowStart = now;
+            operations = 0;
+            conflictedOperations = 0;
+            return true;
+        }
+    }
+
+    private static final class SkuMeters {
+        private final DistributionSummary conflicts;
+        private final DistributionSummary retryBackoff;
+
+        private SkuMeters(MeterRegistry registry, String sku) {
+            this.conflicts = DistributionSummary.builder("inventory.update.conflicts")
+                    .description("单次库存更新的乐观锁冲突次数")
+                    .tag("sku", sku)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.retryBackoff = DistributionSummary.builder("inventory.update.retry.backoff")
+                    .description("单次库存更新重试的累计退避时间")
+                    .baseUnit("milliseconds")
+                    .tag("sku", sku)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.inventory.infrastructure.concurrency;
+
+import com.ecommerce.inventory.domain.service.InventoryRetryPolicy;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 按事务尝试的库存更新重试策略 - 基础设施层
+ * 职责：
+ * 1. 每次尝试是一个独立的 READ_COMMITTED 事务；版本冲突后回滚该次尝试，在事务外退避再重试，退避期间不占用连接
+ * 2. 最后一次尝试及争用策略判定的热点SKU使用行锁
+ * 3. 调用方已开启事务时加入并沿用其隔离级别，无法在事务外退避，冲突后直接在该事务内改用行锁
+ */
+@Component
+public class TransactionalInventoryRetryPolicy implements InventoryRetryPolicy {
+
+    private final InventoryContentionPolicy contentionPolicy;
+    private final TransactionTemplate attemptTemplate;
+
+    public TransactionalInventoryRetryPolicy(InventoryContentionPolicy contentionPolicy,
+                                             PlatformTransactionManager transactionManager) {
+        this.contentionPolicy = contentionPolicy;
+        this.attemptTemplate = new TransactionTemplate(transactionManager);
+        this.attemptTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Override
+    public <T> T execute(SkuId skuId, Attempt<T> attempt) {
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean pessimistic = contentionPolicy.shouldLockPessimistically(skuId);
+        boolean startedPessimistic = pessimistic;
+        int maxAttempts = contentionPolicy.maxAttempts();
+        int conflicts = 0;
+        long backoffMs = 0;
+
+        try {
+            while (true) {
+                boolean locked = pessimistic;
+                T result = attemptTemplate.execute(status -> {
+                    T attempted = attempt.run(locked);
+                    if (attempted == null && !joined) {
+                        status.setRollbackOnly();
+                    }
+                    return attempted;
+                });
+                if (result != null) {
+                    return result;
+                }
+
+                // 版本冲突：本次尝试已结束，退避（在事务外）后重新加载再执行
+                conflicts++;
+                if (joined || conflicts >= maxAttempts - 1) {
+                    pessimistic = true;
+                } else {
+                    long backoff = contentionPolicy.backoffMillis(conflicts);
+                    sleep(backoff);
+                    backoffMs += backoff;
+                }
+            }
+        } finally {
+            contentionPolicy.recordOutcome(skuId, conflicts, backoffMs, startedPessimistic);
+        }
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("库存更新重试被中断", e);
+        }
+    }
+}
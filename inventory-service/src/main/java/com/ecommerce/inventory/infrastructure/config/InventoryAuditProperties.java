@@ -0,0 +1,70 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存一致性审计配置
+ * 职责：配置审计并行度、主键区间大小、限流速率以及报告目录
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.audit")
+public class InventoryAuditProperties {
+
+    private String cron = "-";                                   // 定时审计表达式，"-" 表示不定时执行
+    private int parallelism = 2;                                 // 并行扫描的线程数（同时占用的连接数）
+    private int rangeSize = 2000;                                // 单次查询的主键区间宽度
+    private long maxRowsPerSecond = 50000;                       // 全局扫描速率上限，0 表示不限流
+    private int queryTimeoutSeconds = 30;                        // 单个区间查询的事务超时
+    private String reportDir = "/data/inventory/audit/report";   // 漂移报告输出目录
+
+    // Getters and Setters
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getRangeSize() {
+        return rangeSize;
+    }
+
+    public void setRangeSize(int rangeSize) {
+        this.rangeSize = rangeSize;
+    }
+
+    public long getMaxRowsPerSecond() {
+        return maxRowsPerSecond;
+    }
+
+    public void setMaxRowsPerSecond(long maxRowsPerSecond) {
+        this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+
+    public int getQueryTimeoutSeconds() {
+        return queryTimeoutSeconds;
+    }
+
+    public void setQueryTimeoutSeconds(int queryTimeoutSeconds) {
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    public String getReportDir() {
+        return reportDir;
+    }
+
+    public void setReportDir(String reportDir) {
+        this.reportDir = reportDir;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存并发控制配置
+ * 职责：配置乐观锁重试退避、热点SKU升级行锁的阈值以及冲突统计的规模
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.concurrency")
+public class InventoryConcurrencyProperties {
+
+    private int maxAttempts = 5;                     // 单次操作最多尝试次数，最后一次使用行锁
+    private long baseBackoffMs = 2;                  // 首次冲突的退避上限，之后指数增长
+    private long maxBackoffMs = 50;                  // 单次退避上限
+    private double escalationConflictRate = 0.3;     // 窗口内冲突操作占比超过该值即升级行锁
+    private int escalationMinSamples = 20;           // 窗口内样本数不足时不升级
+    private long statsWindowMs = 10000;              // 冲突率统计窗口
+    private long escalationHoldMs = 30000;           // 升级后保持行锁的时长，到期后重新按乐观锁观察
+    private int maxTrackedSkus = 10000;              // 同时统计冲突率的SKU上限
+    private int maxTaggedSkus = 50;                  // 单独输出指标的热点SKU上限，其余合并为 other
+
+    // Getters and Setters
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getBaseBackoffMs() {
+        return baseBackoffMs;
+    }
+
+    public void setBaseBackoffMs(long baseBackoffMs) {
+        this.baseBackoffMs = baseBackoffMs;
+    }
+
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public void setMaxBackoffMs(long maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public double getEscalationConflictRate() {
+        return escalationConflictRate;
+    }
+
+    public void setEscalationConflictRate(double escalationConflictRate) {
+        this.escalationConflictRate = escalationConflictRate;
+    }
+
+    public int getEscalationMinSamples() {
+        return escalationMinSamples;
+    }
+
+    public void setEscalationMinSamples(int escalationMinSamples) {
+        this.escalationMinSamples = escalationMinSamples;
+    }
+
+    public long getStatsWindowMs() {
+        return statsWindowMs;
+    }
+
+    public void setStatsWindowMs(long statsWindowMs) {
+        this.statsWindowMs = statsWindowMs;
+    }
+
+    public long getEscalationHoldMs() {
+        return escalationHoldMs;
+    }
+
+    public void setEscalationHoldMs(long escalationHoldMs) {
+        this.escalationHoldMs = escalationHoldMs;
+    }
+
+    public int getMaxTrackedSkus() {
+        return maxTrackedSkus;
+    }
+
+    public void setMaxTrackedSkus(int maxTrackedSkus) {
+        this.maxTrackedSkus = maxTrackedSkus;
+    }
+
+    public int getMaxTaggedSkus() {
+        return maxTaggedSkus;
+    }
+
+    public void setMaxTaggedSkus(int maxTaggedSkus) {
+        this.maxTaggedSkus = maxTaggedSkus;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存操作流水配置
+ * 职责：配置流水环形缓冲区容量、批量写入大小、重试节奏和发件箱补写节奏
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.journal")
+public class InventoryJournalProperties {
+
+    private int bufferCapacity = 8192;      // 环形缓冲区容量
+    private int batchSize = 500;            // 单条多行 INSERT 的最大行数
+    private long flushIntervalMs = 200;     // 缓冲区空闲时的最长等待时间
+    private long offerTimeoutMs = 50;       // 缓冲区满时生产者的最长等待时间
+    private long retryBackoffMs = 500;      // 写入失败后的初始重试间隔
+    private long maxRetryBackoffMs = 10000; // 重试间隔上限
+    private int shutdownMaxRetries = 3;     // 停机时每批的最大重试次数，之后留在发件箱等待补写
+    private long sweepIntervalMs = 5000;    // 发件箱补写的执行间隔
+    private long sweepGraceMs = 5000;       // 发件箱行停留超过该时间才由补写转写，避免与写线程重复处理
+
+    // Getters and Setters
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public long getOfferTimeoutMs() {
+        return offerTimeoutMs;
+    }
+
+    public void setOfferTimeoutMs(long offerTimeoutMs) {
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    public long getRetryBackoffMs() {
+        return retryBackoffMs;
+    }
+
+    public void setRetryBackoffMs(long retryBackoffMs) {
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    public long getMaxRetryBackoffMs() {
+        return maxRetryBackoffMs;
+    }
+
+    public void setMaxRetryBackoffMs(long maxRetryBackoffMs) {
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+
+    public int getShutdownMaxRetries() {
+        return shutdownMaxRetries;
+    }
+
+    public void setShutdownMaxRetries(int shutdownMaxRetries) {
+        this.shutdownMaxRetries = shutdownMaxRetries;
+    }
+
+    public long getSweepIntervalMs() {
+        return sweepIntervalMs;
+    }
+
+    public void setSweepIntervalMs(long sweepIntervalMs) {
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    public long getSweepGraceMs() {
+        return sweepGraceMs;
+    }
+
+    public void setSweepGraceMs(long sweepGraceMs) {
+        this.sweepGraceMs = sweepGraceMs;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存持久化配置
+ * 职责：配置批量保存时单条多行写入语句的行数
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.persistence")
+public class InventoryPersistenceProperties {
+
+    private int upsertChunkSize = 500;      // 每个分片的最大行数，分片内新增与更新各一条多行语句
+
+    // Getters and Setters
+
+    public int getUpsertChunkSize() {
+        return upsertChunkSize;
+    }
+
+    public void setUpsertChunkSize(int upsertChunkSize) {
+        this.upsertChunkSize = upsertChunkSize;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存查询配置
+ * 职责：配置批量 IN 查询的分片大小、可用库存读缓存和库存汇总缓存
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.query")
+public class InventoryQueryProperties {
+
+    private int inChunkSize = 500;                  // 单条 IN 查询的最大参数个数
+    private long availabilityCacheTtlMs = 2000;     // 可用库存缓存过期时间
+    private int availabilityCacheMaxEntries = 20000; // 可用库存缓存最大SKU数
+    private long summaryCacheTtlMs = 300000;        // 库存汇总缓存过期时间（兜底无事件的变更，如新建、停用）
+    private int summaryCacheMaxEntries = 50000;     // 库存汇总缓存最大条目数
+
+    // Getters and Setters
+
+    public int getInChunkSize() {
+        return inChunkSize;
+    }
+
+    public void setInChunkSize(int inChunkSize) {
+        this.inChunkSize = inChunkSize;
+    }
+
+    public long getAvailabilityCacheTtlMs() {
+        return availabilityCacheTtlMs;
+    }
+
+    public void setAvailabilityCacheTtlMs(long availabilityCacheTtlMs) {
+        this.availabilityCacheTtlMs = availabilityCacheTtlMs;
+    }
+
+    public int getAvailabilityCacheMaxEntries() {
+        return availabilityCacheMaxEntries;
+    }
+
+    public void setAvailabilityCacheMaxEntries(int availabilityCacheMaxEntries) {
+        this.availabilityCacheMaxEntries = availabilityCacheMaxEntries;
+    }
+
+    public long getSummaryCacheTtlMs() {
+        return summaryCacheTtlMs;
+    }
+
+    public void setSummaryCacheTtlMs(long summaryCacheTtlMs) {
+        this.summaryCacheTtlMs = summaryCacheTtlMs;
+    }
+
+    public int getSummaryCacheMaxEntries() {
+        return summaryCacheMaxEntries;
+    }
+
+    public void setSummaryCacheMaxEntries(int summaryCacheMaxEntries) {
+        this.summaryCacheMaxEntries = summaryCacheMaxEntries;
+    }
+}
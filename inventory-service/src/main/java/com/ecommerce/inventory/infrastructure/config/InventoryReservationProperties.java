@@ -0,0 +1,88 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存预占存储配置
+ * 职责：选择预占存储实现，并配置去重保留期、计数缓存过期、异步对账节奏和死信补偿
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.reservation")
+public class InventoryReservationProperties {
+
+    private String store = "mysql";                 // 预占存储实现：mysql / redis / memory
+    private long dedupeRetentionSeconds = 86400;    // 同一关联ID的操作去重保留期
+    private long counterIdleTtlSeconds = 3600;      // Redis 计数闲置过期时间，过期后从库存表重新加载
+    private long reconcileIntervalMs = 200;         // 异步回写库存表的间隔
+    private int reconcileBatchSize = 500;           // 每轮回写的最大操作数
+    private long reseedWaitMs = 2000;               // 重新加载计数前等待该计数的待回写操作回写完成的最长时间
+    private long deadLetterRetryIntervalMs = 60000; // 死信补偿重试间隔
+    private int deadLetterMaxAttempts = 10;         // 死信补偿重试上限，超过后转为 FAILED 待人工处理
+
+    // Getters and Setters
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public long getDedupeRetentionSeconds() {
+        return dedupeRetentionSeconds;
+    }
+
+    public void setDedupeRetentionSeconds(long dedupeRetentionSeconds) {
+        this.dedupeRetentionSeconds = dedupeRetentionSeconds;
+    }
+
+    public long getCounterIdleTtlSeconds() {
+        return counterIdleTtlSeconds;
+    }
+
+    public void setCounterIdleTtlSeconds(long counterIdleTtlSeconds) {
+        this.counterIdleTtlSeconds = counterIdleTtlSeconds;
+    }
+
+    public long getReconcileIntervalMs() {
+        return reconcileIntervalMs;
+    }
+
+    public void setReconcileIntervalMs(long reconcileIntervalMs) {
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+
+    public int getReconcileBatchSize() {
+        return reconcileBatchSize;
+    }
+
+    public void setReconcileBatchSize(int reconcileBatchSize) {
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    public long getReseedWaitMs() {
+        return reseedWaitMs;
+    }
+
+    public void setReseedWaitMs(long reseedWaitMs) {
+        this.reseedWaitMs = reseedWaitMs;
+    }
+
+    public long getDeadLetterRetryIntervalMs() {
+        return deadLetterRetryIntervalMs;
+    }
+
+    public void setDeadLetterRetryIntervalMs(long deadLetterRetryIntervalMs) {
+        this.deadLetterRetryIntervalMs = deadLetterRetryIntervalMs;
+    }
+
+    public int getDeadLetterMaxAttempts() {
+        return deadLetterMaxAttempts;
+    }
+
+    public void setDeadLetterMaxAttempts(int deadLetterMaxAttempts) {
+        this.deadLetterMaxAttempts = deadLetterMaxAttempts;
+    }
+}
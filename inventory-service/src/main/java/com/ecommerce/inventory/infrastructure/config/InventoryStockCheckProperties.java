@@ -0,0 +1,61 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量盘点配置
+ * 职责：配置调整事务批量、外部排序分段大小、库存游标页大小以及导入和报告目录
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.stock-check")
+public class InventoryStockCheckProperties {
+
+    private int batchSize = 500;                                        // 每个调整事务包含的库存数
+    private int sortRunSize = 100000;                                   // 内存中排序的最大行数，超过后落盘分段
+    private int cursorPageSize = 1000;                                  // 按键集游标读取库存的页大小
+    private String importDir = "/data/inventory/stock-check/import";    // 允许导入的CSV文件目录
+    private String reportDir = "/data/inventory/stock-check/report";    // 差异报告输出目录
+
+    // Getters and Setters
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getSortRunSize() {
+        return sortRunSize;
+    }
+
+    public void setSortRunSize(int sortRunSize) {
+        this.sortRunSize = sortRunSize;
+    }
+
+    public int getCursorPageSize() {
+        return cursorPageSize;
+    }
+
+    public void setCursorPageSize(int cursorPageSize) {
+        this.cursorPageSize = cursorPageSize;
+    }
+
+    public String getImportDir() {
+        return importDir;
+    }
+
+    public void setImportDir(String importDir) {
+        this.importDir = importDir;
+    }
+
+    public String getReportDir() {
+        return reportDir;
+    }
+
+    public void setReportDir(String reportDir) {
+        this.reportDir = reportDir;
+    }
+}
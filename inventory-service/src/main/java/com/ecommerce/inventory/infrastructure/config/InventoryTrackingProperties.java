@@ -0,0 +1,52 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存水位跟踪配置
+ * 职责：配置出库速度统计窗口、补货提前期、跟踪区间余量和全量校准周期
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.tracking")
+public class InventoryTrackingProperties {
+
+    private int demandWindowDays = 7;              // 计算日均出库量的统计窗口（天）
+    private double replenishmentLeadDays = 7;      // 可售天数低于该值即需要补货
+    private double trackingMargin = 0.5;           // 跟踪区间余量：接近安全库存或补货阈值 (1 + 余量) 倍以内的库存才在内存中跟踪
+    private long reconcileIntervalMs = 600000;     // 全量校准周期
+
+    // Getters and Setters
+
+    public int getDemandWindowDays() {
+        return demandWindowDays;
+    }
+
+    public void setDemandWindowDays(int demandWindowDays) {
+        this.demandWindowDays = demandWindowDays;
+    }
+
+    public double getReplenishmentLeadDays() {
+        return replenishmentLeadDays;
+    }
+
+    public void setReplenishmentLeadDays(double replenishmentLeadDays) {
+        this.replenishmentLeadDays = replenishmentLeadDays;
+    }
+
+    public double getTrackingMargin() {
+        return trackingMargin;
+    }
+
+    public void setTrackingMargin(double trackingMargin) {
+        this.trackingMargin = trackingMargin;
+    }
+
+    public long getReconcileIntervalMs() {
+        return reconcileIntervalMs;
+    }
+
+    public void setReconcileIntervalMs(long reconcileIntervalMs) {
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+}
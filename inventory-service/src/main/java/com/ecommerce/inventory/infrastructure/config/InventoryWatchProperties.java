@@ -0,0 +1,52 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存变更订阅配置
+ * 职责：限制订阅数量和每个订阅的待推送缓冲，配置推送线程数
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.watch")
+public class InventoryWatchProperties {
+
+    private int maxSubscribers = 1000;           // 最大订阅数
+    private int maxSkusPerSubscription = 500;    // 单个订阅最多关注的SKU数
+    private int maxPendingKeys = 1024;           // 单个订阅待推送的最大SKU仓库组合数（同一组合只保留最新值）
+    private int dispatchThreads = 2;             // 推送线程数
+
+    // Getters and Setters
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getMaxSkusPerSubscription() {
+        return maxSkusPerSubscription;
+    }
+
+    public void setMaxSkusPerSubscription(int maxSkusPerSubscription) {
+        this.maxSkusPerSubscription = maxSkusPerSubscription;
+    }
+
+    public int getMaxPendingKeys() {
+        return maxPendingKeys;
+    }
+
+    public void setMaxPendingKeys(int maxPendingKeys) {
+        this.maxPendingKeys = maxPendingKeys;
+    }
+
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    public void setDispatchThreads(int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+}
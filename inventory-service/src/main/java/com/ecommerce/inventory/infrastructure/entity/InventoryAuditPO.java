@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.infrastructure.entity;
+
+/**
+ * 库存审计行：库存记录及其最新一条流水的变更后可用数量（无流水时为空），以及是否有流水尚在发件箱中未转写
+ */
+public class InventoryAuditPO extends InventoryPO {
+
+    private Integer journalAfterQuantity;
+    private Boolean journalPending;
+
+    // Getters and Setters
+    public Integer getJournalAfterQuantity() {
+        return journalAfterQuantity;
+    }
+
+    public void setJournalAfterQuantity(Integer journalAfterQuantity) {
+        this.journalAfterQuantity = journalAfterQuantity;
+    }
+
+    public Boolean getJournalPending() {
+        return journalPending;
+    }
+
+    public void setJournalPending(Boolean journalPending) {
+        this.journalPending = journalPending;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.inventory.infrastructure.entity;
+
+/**
+ * 库存出库量聚合结果（stock_records 按库存分组求和）
+ */
+public class InventoryDemandPO {
+
+    private String inventoryId;
+
+    private Long outboundQuantity;
+
+    // Getters and Setters
+    public String getInventoryId() {
+        return inventoryId;
+    }
+
+    public void setInventoryId(String inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    public Long getOutboundQuantity() {
+        return outboundQuantity;
+    }
+
+    public void setOutboundQuantity(Long outboundQuantity) {
+        this.outboundQuantity = outboundQuantity;
+    }
+}
@@ -1,114 +0,0 @@
-package com.ecommerce.inventory.infrastructure.entity;
-
-import com.baomidou.mybatisplus.annotation.IdType;
-import com.baomidou.mybatisplus.annotation.TableField;
-import com.baomidou.mybatisplus.annotation.TableId;
-import com.baomidou.mybatisplus.annotation.TableName;
-import java.time.LocalDateTime;
-
-@TableName("inventory_operation")
-public class InventoryOperationPO {
-    
-    @TableId(type = IdType.AUTO)
-    private Long id;
-    
-    @TableField("operation_id")
-    private String operationId;
-    
-    @TableField("inventory_id")
-    private String inventoryId;
-    
-    @TableField("operation_type")
-    private String operationType;
-    
-    @TableField("quantity")
-    private Integer quantity;
-    
-    @TableField("reference_id")
-    private String referenceId;
-    
-    @TableField("reference_type")
-    private String referenceType;
-    
-    @TableField("description")
-    private String description;
-    
-    @TableField("created_at")
-    private LocalDateTime createdAt;
-
-    // Constructors
-    public InventoryOperationPO() {}
-
-    // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getOperationId() {
-        return operationId;
-    }
-
-    public void setOperationId(String operationId) {
-        this.operationId = operationId;
-    }
-
-    public String getInventoryId() {
-        return inventoryId;
-    }
-
-    public void setInventoryId(String inventoryId) {
-        this.inventoryId = inventoryId;
-    }
-
-    public String getOperationType() {
-        return operationType;
-    }
-
-    public void setOperationType(String operationType) {
-        this.operationType = operationType;
-    }
-
-    public Integer getQuantity() {
-        return quantity;
-    }
-
-    public void setQuantity(Integer quantity) {
-        this.quantity = quantity;
-    }
-
-    public String getReferenceId() {
-        return referenceId;
-    }
-
-    public void setReferenceId(String referenceId) {
-        this.referenceId = referenceId;
-    }
-
-    public String getReferenceType() {
-        return referenceType;
-    }
-
-    public void setReferenceType(String referenceType) {
-        this.referenceType = referenceType;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
-    }
-}
\ No newline at end of file
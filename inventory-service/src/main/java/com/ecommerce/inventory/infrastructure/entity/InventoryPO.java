@@ -30,9 +30,18 @@ public class InventoryPO {
     @TableField("total_quantity")
     private Integer totalQuantity;
     
+    @TableField("frozen_quantity")
+    private Integer frozenQuantity;
+    
+    @TableField("safety_stock_quantity")
+    private Integer safetyStockQuantity;
+    
     @TableField("status")
     private String status;
     
+    @TableField("version")
+    private Long version;
+    
     @TableField("created_at")
     private LocalDateTime createdAt;
     
@@ -99,6 +108,22 @@ public class InventoryPO {
         this.totalQuantity = totalQuantity;
     }
 
+    public Integer getFrozenQuantity() {
+        return frozenQuantity;
+    }
+
+    public void setFrozenQuantity(Integer frozenQuantity) {
+        this.frozenQuantity = frozenQuantity;
+    }
+
+    public Integer getSafetyStockQuantity() {
+        return safetyStockQuantity;
+    }
+
+    public void setSafetyStockQuantity(Integer safetyStockQuantity) {
+        this.safetyStockQuantity = safetyStockQuantity;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -107,6 +132,14 @@ public class InventoryPO {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
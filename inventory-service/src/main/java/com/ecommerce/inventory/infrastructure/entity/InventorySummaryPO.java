@@ -0,0 +1,68 @@
+package com.ecommerce.inventory.infrastructure.entity;
+
+/**
+ * 库存汇总聚合结果（inventory 表按 SKU 或仓库 GROUP BY）
+ */
+public class InventorySummaryPO {
+
+    private String skuId;
+
+    private String warehouseId;
+
+    private Long totalQuantity;
+
+    private Long availableQuantity;
+
+    private Long reservedQuantity;
+
+    private Long frozenQuantity;
+
+    // Getters and Setters
+    public String getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(String skuId) {
+        this.skuId = skuId;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public Long getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Long availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public Long getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public void setReservedQuantity(Long reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    public Long getFrozenQuantity() {
+        return frozenQuantity;
+    }
+
+    public void setFrozenQuantity(Long frozenQuantity) {
+        this.frozenQuantity = frozenQuantity;
+    }
+}
@@ -0,0 +1,180 @@
+package com.ecommerce.inventory.infrastructure.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDateTime;
+
+@TableName("stock_records")
+public class StockRecordPO {
+    
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    @TableField("record_id")
+    private String recordId;
+    
+    @TableField("inventory_id")
+    private String inventoryId;
+    
+    @TableField("sku_id")
+    private String skuId;
+    
+    @TableField("warehouse_code")
+    private String warehouseCode;
+    
+    @TableField("inventory_version")
+    private Long inventoryVersion;
+    
+    @TableField("version_seq")
+    private Integer versionSeq;
+    
+    @TableField("change_type")
+    private String changeType;
+    
+    @TableField("change_quantity")
+    private Integer changeQuantity;
+    
+    @TableField("before_quantity")
+    private Integer beforeQuantity;
+    
+    @TableField("after_quantity")
+    private Integer afterQuantity;
+    
+    @TableField("reason")
+    private String reason;
+    
+    @TableField("reference_id")
+    private String referenceId;
+    
+    @TableField("operator_id")
+    private String operatorId;
+    
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StockRecordPO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecordId() {
+        return recordId;
+    }
+
+    public void setRecordId(String recordId) {
+        this.recordId = recordId;
+    }
+
+    public String getInventoryId() {
+        return inventoryId;
+    }
+
+    public void setInventoryId(String inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    public String getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(String skuId) {
+        this.skuId = skuId;
+    }
+
+    public String getWarehouseCode() {
+        return warehouseCode;
+    }
+
+    public void setWarehouseCode(String warehouseCode) {
+        this.warehouseCode = warehouseCode;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
+    public Integer getChangeQuantity() {
+        return changeQuantity;
+    }
+
+    public void setChangeQuantity(Integer changeQuantity) {
+        this.changeQuantity = changeQuantity;
+    }
+
+    public Integer getBeforeQuantity() {
+        return beforeQuantity;
+    }
+
+    public void setBeforeQuantity(Integer beforeQuantity) {
+        this.beforeQuantity = beforeQuantity;
+    }
+
+    public Integer getAfterQuantity() {
+        return afterQuantity;
+    }
+
+    public void setAfterQuantity(Integer afterQuantity) {
+        this.afterQuantity = afterQuantity;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public Long getInventoryVersion() {
+        return inventoryVersion;
+    }
+
+    public void setInventoryVersion(Long inventoryVersion) {
+        this.inventoryVersion = inventoryVersion;
+    }
+
+    public Integer getVersionSeq() {
+        return versionSeq;
+    }
+
+    public void setVersionSeq(Integer versionSeq) {
+        this.versionSeq = versionSeq;
+    }
+
+    public String getOperatorId() {
+        return operatorId;
+    }
+
+    public void setOperatorId(String operatorId) {
+        this.operatorId = operatorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
\ No newline at end of file
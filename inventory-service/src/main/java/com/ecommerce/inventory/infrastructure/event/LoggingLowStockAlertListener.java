@@ -0,0 +1,25 @@
+package com.ecommerce.inventory.infrastructure.event;
+
+import com.ecommerce.inventory.domain.event.LowStockAlert;
+import com.ecommerce.inventory.domain.event.LowStockAlertListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 默认低库存告警监听器：输出告警日志
+ */
+@Component
+public class LoggingLowStockAlertListener implements LowStockAlertListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingLowStockAlertListener.class);
+
+    @Override
+    public void onAlert(LowStockAlert alert) {
+        if (alert.isRecovered()) {
+            logger.info("库存已恢复到安全库存以上: {}", alert);
+        } else {
+            logger.warn("库存低于安全库存: {}", alert);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.inventory.infrastructure.event;
+
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.event.InventoryEventPublisher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 库存事件发布实现 - 基础设施层
+ * 职责：通过 Spring 事件机制分发库存事件，在库存事务内同步调用
+ * 流水写入器在事务内写入发件箱，其他订阅方使用 @TransactionalEventListener 在事务提交后处理
+ */
+@Component
+public class SpringInventoryEventPublisher implements InventoryEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public SpringInventoryEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(List<InventoryChangedEvent> events) {
+        for (InventoryChangedEvent event : events) {
+            applicationEventPublisher.publishEvent(event);
+        }
+    }
+}
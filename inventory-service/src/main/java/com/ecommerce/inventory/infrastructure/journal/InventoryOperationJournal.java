@@ -0,0 +1,257 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.infrastructure.config.InventoryJournalProperties;
+import com.ecommerce.inventory.infrastructure.entity.StockRecordPO;
+import com.ecommerce.inventory.infrastructure.mapper.StockRecordDataMapper;
+import com.ecommerce.inventory.infrastructure.mapper.StockRecordMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 库存操作流水写入器 - 基础设施层
+ * 职责：订阅库存变更事件，先在库存事务内写入发件箱，提交后经有界环形缓冲区由单个写线程批量转写到 stock_records
+ * 语义：
+ * 1. 流水在库存事务提交前以一条多行 INSERT 写入 stock_record_outbox，与库存变更同时提交或回滚
+ * 2. 提交后流水进入环形缓冲区，写线程在同一事务内批量写入 stock_records 并删除发件箱行
+ * 3. 缓冲区满时生产者限时等待，仍满则不再入队，由定时补写从发件箱转写（背压，不阻塞库存事务）
+ * 4. 写入失败按指数退避重试；停机或宕机时未转写的流水留在发件箱，由补写任务处理
+ * 5. record_id 唯一键 + INSERT IGNORE 保证转写幂等，缓冲区与补写重复处理同一条流水不会产生重复记录（至少一次）
+ */
+@Component
+public class InventoryOperationJournal implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryOperationJournal.class);
+
+    private final StockRecordMapper stockRecordMapper;
+    private final StockRecordDataMapper stockRecordDataMapper;
+    private final InventoryJournalProperties properties;
+    private final TransactionTemplate writeTemplate;
+    private final BlockingQueue<StockRecordPO> ringBuffer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public InventoryOperationJournal(StockRecordMapper stockRecordMapper,
+                                     StockRecordDataMapper stockRecordDataMapper,
+                                     InventoryJournalProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.stockRecordMapper = stockRecordMapper;
+        this.stockRecordDataMapper = stockRecordDataMapper;
+        this.properties = properties;
+        this.ringBuffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        // 转写总是使用独立事务，afterCommit 回调中执行时也不会挂到已提交的库存事务上
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 在发布事件的库存事务内接收变更事件；无事务上下文时立即写入发件箱
+     */
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        append(stockRecordDataMapper.eventToStockRecordPO(event));
+    }
+
+    /**
+     * 追加一条流水：有事务时随事务提交写入发件箱，否则以独立事务写入
+     */
+    public void append(StockRecordPO record) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeTemplate.executeWithoutResult(status -> stockRecordMapper.insertOutbox(List.of(record)));
+            enqueue(List.of(record));
+            return;
+        }
+
+        PendingRecords pending = (PendingRecords) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRecords();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.records.add(record);
+    }
+
+    /**
+     * 当前缓冲区积压的流水数量
+     */
+    public int backlog() {
+        return ringBuffer.size();
+    }
+
+    /**
+     * 定时补写：转写在发件箱中停留超过宽限期的流水（缓冲区满时未入队、停机或宕机时未转写）
+     */
+    @Scheduled(fixedDelayString = "${inventory.journal.sweep-interval-ms:5000}")
+    public void sweepOutbox() {
+        if (!running) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getSweepGraceMs()));
+        int relayed = 0;
+        List<StockRecordPO> batch;
+        do {
+            batch = stockRecordMapper.findOutboxBefore(before, properties.getBatchSize());
+            if (!batch.isEmpty()) {
+                relay(batch);
+                relayed += batch.size();
+            }
+        } while (running && batch.size() >= properties.getBatchSize());
+        if (relayed > 0) {
+            logger.info("库存流水补写完成: 转写数={}", relayed);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "inventory-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("库存流水写入器已启动: bufferCapacity={}, batchSize={}",
+                properties.getBufferCapacity(), properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("库存流水写入器已停止: 剩余积压={}", ringBuffer.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 晚于 gRPC 服务器停止、早于数据源关闭
+        return Integer.MAX_VALUE - 1000;
+    }
+
+    private void enqueue(List<StockRecordPO> records) {
+        if (!running) {
+            return;
+        }
+        for (StockRecordPO record : records) {
+            try {
+                if (!ringBuffer.offer(record, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    logger.warn("库存流水缓冲区已满，留在发件箱等待补写: recordId={}", record.getRecordId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<StockRecordPO> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !ringBuffer.isEmpty()) {
+            try {
+                StockRecordPO first = running
+                        ? ringBuffer.poll(properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS)
+                        : ringBuffer.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ringBuffer.drainTo(batch, properties.getBatchSize() - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 停机信号：继续循环排空缓冲区
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<StockRecordPO> batch) {
+        long backoff = properties.getRetryBackoffMs();
+        int attempts = 0;
+        while (true) {
+            try {
+                relay(batch);
+                return;
+            } catch (RuntimeException e) {
+                attempts++;
+                if (!running && attempts >= properties.getShutdownMaxRetries()) {
+                    // 发件箱行未删除，重启后由补写任务转写
+                    logger.warn("停机期间库存流水转写失败，留在发件箱等待补写: size={}", batch.size(), e);
+                    return;
+                }
+                logger.warn("库存流水批量写入失败，{}ms 后重试: size={}, attempts={}", backoff, batch.size(), attempts, e);
+                sleepQuietly(backoff);
+                backoff = Math.min(backoff * 2, properties.getMaxRetryBackoffMs());
+            }
+        }
+    }
+
+    /**
+     * 同一事务内写入 stock_records 并删除对应的发件箱行
+     */
+    private void relay(List<StockRecordPO> batch) {
+        List<String> recordIds = new ArrayList<>(batch.size());
+        for (StockRecordPO record : batch) {
+            recordIds.add(record.getRecordId());
+        }
+        writeTemplate.executeWithoutResult(status -> {
+            stockRecordMapper.insertBatch(batch);
+            stockRecordMapper.deleteOutbox(recordIds);
+        });
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // 停机期间不中断重试节奏，由 running 标志控制退出
+        }
+    }
+
+    /**
+     * 单个库存事务内产生的流水：提交前一次写入发件箱，提交后入队
+     */
+    private final class PendingRecords implements TransactionSynchronization {
+        private final List<StockRecordPO> records = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            stockRecordMapper.insertOutbox(records);
+        }
+
+        @Override
+        public void afterCommit() {
+            enqueue(records);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InventoryOperationJournal.this);
+        }
+    }
+}
@@ -22,10 +22,13 @@ public class InventoryDataMapperImpl implements InventoryDataMapper {
         inventoryPO.setInventoryId(inventory.getId() != null ? inventory.getId().getValue() : null);
         inventoryPO.setSkuId(inventory.getSkuId() != null ? inventory.getSkuId().getValue() : null);
         inventoryPO.setWarehouseId(inventory.getWarehouseId() != null ? inventory.getWarehouseId().getValue() : null);
-        inventoryPO.setAvailableQuantity(inventory.getAvailableQuantity() != null ? inventory.getAvailableQuantity().getValue() : null);
-        inventoryPO.setReservedQuantity(inventory.getReservedQuantity() != null ? inventory.getReservedQuantity().getValue() : null);
-        inventoryPO.setTotalQuantity(inventory.getTotalQuantity() != null ? inventory.getTotalQuantity().getValue() : null);
+        inventoryPO.setAvailableQuantity(inventory.getAvailableQuantityValue());
+        inventoryPO.setReservedQuantity(inventory.getReservedQuantityValue());
+        inventoryPO.setTotalQuantity(inventory.getTotalQuantityValue());
+        inventoryPO.setFrozenQuantity(inventory.getFrozenQuantityValue());
+        inventoryPO.setSafetyStockQuantity(inventory.getSafetyStockQuantity() != null ? inventory.getSafetyStockQuantity().getValue() : null);
         inventoryPO.setStatus(inventory.getStatus() != null ? inventory.getStatus().name() : null);
+        inventoryPO.setVersion(inventory.getVersion());
         
         return inventoryPO;
     }
@@ -36,36 +39,23 @@ public class InventoryDataMapperImpl implements InventoryDataMapper {
             return null;
         }
         
-        // Use create method and reflection to set additional fields
-        Inventory inventory = Inventory.create(
+        return Inventory.restore(
+            InventoryId.of(inventoryPO.getInventoryId()),
             SkuId.of(inventoryPO.getSkuId()),
             WarehouseId.of(inventoryPO.getWarehouseId()),
-            Quantity.of(inventoryPO.getAvailableQuantity()),
-            Quantity.zero() // safety stock quantity
+            toQuantity(inventoryPO.getTotalQuantity()),
+            toQuantity(inventoryPO.getAvailableQuantity()),
+            toQuantity(inventoryPO.getReservedQuantity()),
+            toQuantity(inventoryPO.getFrozenQuantity()),
+            toQuantity(inventoryPO.getSafetyStockQuantity()),
+            inventoryPO.getStatus() != null ? InventoryStatus.valueOf(inventoryPO.getStatus()) : null,
+            inventoryPO.getCreatedAt(),
+            inventoryPO.getUpdatedAt(),
+            inventoryPO.getVersion()
         );
-        
-        // Set additional fields using reflection
-        try {
-            java.lang.reflect.Field idField = Inventory.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(inventory, InventoryId.of(inventoryPO.getInventoryId()));
-            
-            java.lang.reflect.Field reservedField = Inventory.class.getDeclaredField("reservedQuantity");
-            reservedField.setAccessible(true);
-            reservedField.set(inventory, Quantity.of(inventoryPO.getReservedQuantity()));
-            
-            java.lang.reflect.Field totalField = Inventory.class.getDeclaredField("totalQuantity");
-            totalField.setAccessible(true);
-            totalField.set(inventory, Quantity.of(inventoryPO.getTotalQuantity()));
-            
-            java.lang.reflect.Field statusField = Inventory.class.getDeclaredField("status");
-            statusField.setAccessible(true);
-            statusField.set(inventory, InventoryStatus.valueOf(inventoryPO.getStatus()));
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to map InventoryPO to Inventory", e);
-        }
-        
-        return inventory;
     }
-}
\ No newline at end of file
+
+    private Quantity toQuantity(Integer value) {
+        return value != null ? Quantity.of(value) : null;
+    }
+}
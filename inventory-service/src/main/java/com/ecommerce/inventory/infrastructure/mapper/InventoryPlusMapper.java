@@ -1,10 +1,17 @@
 package com.ecommerce.inventory.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ecommerce.inventory.infrastructure.entity.InventoryAuditPO;
 import com.ecommerce.inventory.infrastructure.entity.InventoryPO;
+import com.ecommerce.inventory.infrastructure.entity.InventorySummaryPO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 import java.util.List;
 
 @Mapper
@@ -24,4 +31,154 @@ public interface InventoryPlusMapper extends BaseMapper<InventoryPO> {
     
     @Select("SELECT * FROM inventory WHERE available_quantity < #{threshold}")
     List<InventoryPO> findLowStockInventories(@Param("threshold") Integer threshold);
-}
\ No newline at end of file
+    
+    @Select("SELECT * FROM inventory WHERE status = 'ACTIVE' AND total_quantity < safety_stock_quantity")
+    List<InventoryPO> findBelowSafetyStock();
+    
+    /**
+     * 按 (warehouse_id, sku_id) 升序的键集分页查询，after 为空时从头开始
+     */
+    @Select("<script>" +
+            "SELECT * FROM inventory " +
+            "<where>" +
+            "<if test='skuId != null'>AND sku_id = #{skuId}</if>" +
+            "<if test='warehouseId != null'>AND warehouse_id = #{warehouseId}</if>" +
+            "<if test='status != null'>AND status = #{status}</if>" +
+            "<if test='afterWarehouseId != null'>" +
+            "AND (warehouse_id &gt; #{afterWarehouseId} " +
+            "OR (warehouse_id = #{afterWarehouseId} AND sku_id &gt; #{afterSkuId}))" +
+            "</if>" +
+            "</where>" +
+            "ORDER BY warehouse_id, sku_id LIMIT #{limit}" +
+            "</script>")
+    List<InventoryPO> findPageAfter(@Param("skuId") String skuId,
+                                    @Param("warehouseId") String warehouseId,
+                                    @Param("status") String status,
+                                    @Param("afterWarehouseId") String afterWarehouseId,
+                                    @Param("afterSkuId") String afterSkuId,
+                                    @Param("limit") int limit);
+    
+    /**
+     * 流式扫描，按固定 fetchSize 分批从服务端拉取（需要连接参数 useCursorFetch=true），必须在事务内消费
+     */
+    @Select("<script>" +
+            "SELECT * FROM inventory " +
+            "<where>" +
+            "<if test='warehouseId != null'>AND warehouse_id = #{warehouseId}</if>" +
+            "<if test='status != null'>AND status = #{status}</if>" +
+            "</where>" +
+            "ORDER BY warehouse_id, sku_id" +
+            "</script>")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    Cursor<InventoryPO> scan(@Param("warehouseId") String warehouseId, @Param("status") String status);
+    
+    /**
+     * 按SKU汇总各仓库库存（不含已删除）
+     */
+    @Select("<script>" +
+            "SELECT sku_id AS skuId, SUM(total_quantity) AS totalQuantity, " +
+            "SUM(available_quantity) AS availableQuantity, SUM(reserved_quantity) AS reservedQuantity, " +
+            "SUM(frozen_quantity) AS frozenQuantity " +
+            "FROM inventory WHERE status &lt;&gt; 'DELETED' AND sku_id IN " +
+            "<foreach collection='skuIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "GROUP BY sku_id" +
+            "</script>")
+    List<InventorySummaryPO> sumBySkuIds(@Param("skuIds") List<String> skuIds);
+    
+    /**
+     * 按仓库汇总各SKU库存（不含已删除），warehouseId 为空时汇总全部仓库
+     */
+    @Select("<script>" +
+            "SELECT warehouse_id AS warehouseId, SUM(total_quantity) AS totalQuantity, " +
+            "SUM(available_quantity) AS availableQuantity, SUM(reserved_quantity) AS reservedQuantity, " +
+            "SUM(frozen_quantity) AS frozenQuantity " +
+            "FROM inventory WHERE status &lt;&gt; 'DELETED' " +
+            "<if test='warehouseId != null'>AND warehouse_id = #{warehouseId} </if>" +
+            "GROUP BY warehouse_id" +
+            "</script>")
+    List<InventorySummaryPO> sumByWarehouse(@Param("warehouseId") String warehouseId);
+    
+    /**
+     * 乐观锁更新：版本号匹配才更新，并递增版本号；同时校验 SKU 与仓库，库存ID指向其他仓库的记录时不更新
+     */
+    @Update("UPDATE inventory SET available_quantity = #{p.availableQuantity}, reserved_quantity = #{p.reservedQuantity}, " +
+            "total_quantity = #{p.totalQuantity}, frozen_quantity = #{p.frozenQuantity}, " +
+            "safety_stock_quantity = #{p.safetyStockQuantity}, status = #{p.status}, version = version + 1 " +
+            "WHERE inventory_id = #{p.inventoryId} AND sku_id = #{p.skuId} AND warehouse_id = #{p.warehouseId} " +
+            "AND version = #{p.version}")
+    int updateWithVersion(@Param("p") InventoryPO inventoryPO);
+    
+    /**
+     * 加行锁读取最新库存（悲观锁路径）
+     */
+    @Select("SELECT * FROM inventory WHERE inventory_id = #{inventoryId} FOR UPDATE")
+    InventoryPO selectByInventoryIdForUpdate(@Param("inventoryId") String inventoryId);
+    
+    /**
+     * 按 (sku_id, warehouse_id) 加行锁读取已存在的库存，锁持有到事务结束
+     */
+    @Select("<script>" +
+            "SELECT * FROM inventory WHERE (sku_id, warehouse_id) IN " +
+            "<foreach collection='inventories' item='i' open='(' separator=',' close=')'>(#{i.skuId}, #{i.warehouseId})</foreach>" +
+            " FOR UPDATE" +
+            "</script>")
+    List<InventoryPO> selectBySkuAndWarehouseForUpdate(@Param("inventories") List<InventoryPO> inventories);
+    
+    /**
+     * 多行插入新库存，唯一键冲突时整条语句失败
+     */
+    @Insert("<script>" +
+            "INSERT INTO inventory (inventory_id, sku_id, warehouse_id, available_quantity, reserved_quantity, " +
+            "total_quantity, frozen_quantity, safety_stock_quantity, status, version) VALUES " +
+            "<foreach collection='inventories' item='i' separator=','>" +
+            "(#{i.inventoryId}, #{i.skuId}, #{i.warehouseId}, #{i.availableQuantity}, #{i.reservedQuantity}, " +
+            "#{i.totalQuantity}, #{i.frozenQuantity}, #{i.safetyStockQuantity}, #{i.status}, #{i.version})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("inventories") List<InventoryPO> inventories);
+    
+    /**
+     * 多行乐观锁更新已存在的库存：借助 ON DUPLICATE KEY UPDATE 一次往返更新多行，
+     * 仅当库存版本号与传入版本一致时更新数量与状态并递增版本号（version 必须最后赋值，前面的条件才读到旧版本）
+     * 调用方须保证每行的 inventory_id 与 (sku_id, warehouse_id) 指向同一条已存在的记录
+     */
+    @Insert("<script>" +
+            "INSERT INTO inventory (inventory_id, sku_id, warehouse_id, available_quantity, reserved_quantity, " +
+            "total_quantity, frozen_quantity, safety_stock_quantity, status, version) VALUES " +
+            "<foreach collection='inventories' item='i' separator=','>" +
+            "(#{i.inventoryId}, #{i.skuId}, #{i.warehouseId}, #{i.availableQuantity}, #{i.reservedQuantity}, " +
+            "#{i.totalQuantity}, #{i.frozenQuantity}, #{i.safetyStockQuantity}, #{i.status}, #{i.version})" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE " +
+            "available_quantity = IF(version = VALUES(version), VALUES(available_quantity), available_quantity), " +
+            "reserved_quantity = IF(version = VALUES(version), VALUES(reserved_quantity), reserved_quantity), " +
+            "total_quantity = IF(version = VALUES(version), VALUES(total_quantity), total_quantity), " +
+            "frozen_quantity = IF(version = VALUES(version), VALUES(frozen_quantity), frozen_quantity), " +
+            "safety_stock_quantity = IF(version = VALUES(version), VALUES(safety_stock_quantity), safety_stock_quantity), " +
+            "status = IF(version = VALUES(version), VALUES(status), status), " +
+            "version = IF(version = VALUES(version), version + 1, version)" +
+            "</script>")
+    int updateBatchWithVersion(@Param("inventories") List<InventoryPO> inventories);
+    
+    /**
+     * 主键范围，用于按键区间切分全表扫描
+     */
+    @Select("SELECT MIN(id) FROM inventory")
+    Long selectMinId();
+    
+    @Select("SELECT MAX(id) FROM inventory")
+    Long selectMaxId();
+    
+    /**
+     * 按主键区间 (fromId, toId] 读取库存，并附带该库存最新一条流水的变更后可用数量及是否仍有流水在发件箱中
+     * 最新流水按写入时确定的 (inventory_version, version_seq) 取，与转写到 stock_records 的先后无关；
+     * 库存行、发件箱与流水表在同一语句快照中读取，库存变更与其发件箱行同事务提交，转写时发件箱删除与流水写入同事务提交
+     */
+    @Select("SELECT t.*, " +
+            "(SELECT r.after_quantity FROM stock_records r WHERE r.inventory_id = t.inventory_id " +
+            "ORDER BY r.inventory_version DESC, r.version_seq DESC, r.created_at DESC, r.id DESC LIMIT 1) " +
+            "AS journal_after_quantity, " +
+            "EXISTS (SELECT 1 FROM stock_record_outbox o WHERE o.inventory_id = t.inventory_id) AS journal_pending " +
+            "FROM inventory t WHERE t.id > #{fromId} AND t.id <= #{toId}")
+    List<InventoryAuditPO> selectAuditRange(@Param("fromId") long fromId, @Param("toId") long toId);
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.inventory.infrastructure.mapper;
+
+import com.ecommerce.inventory.infrastructure.entity.ReservationDeadLetterPO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 预占回写死信表
+ * 状态：PENDING 待补偿，RESOLVED 重试回写成功，COMPENSATED 已被同一关联ID的释放抵消，FAILED 超过重试次数待人工处理
+ */
+@Mapper
+public interface ReservationDeadLetterMapper {
+
+    @Insert("INSERT INTO inventory_reservation_dead_letters (op_type, sku_id, warehouse_id, quantity, reference_id, " +
+            "operator_id, reason, status, attempts) VALUES (#{opType}, #{skuId}, #{warehouseId}, #{quantity}, " +
+            "#{referenceId}, #{operatorId}, #{reason}, 'PENDING', 0)")
+    int insert(ReservationDeadLetterPO deadLetter);
+
+    /**
+     * 按写入顺序读取待补偿的死信
+     */
+    @Select("SELECT id, op_type, sku_id, warehouse_id, quantity, reference_id, operator_id, reason, status, " +
+            "attempts, created_at FROM inventory_reservation_dead_letters WHERE status = 'PENDING' " +
+            "ORDER BY id LIMIT #{limit}")
+    List<ReservationDeadLetterPO> findPending(@Param("limit") int limit);
+
+    /**
+     * 同一 (仓库, SKU, 关联ID) 是否有待补偿的预占
+     */
+    @Select("SELECT COUNT(*) FROM inventory_reservation_dead_letters WHERE status = 'PENDING' AND op_type = 'RESERVE' " +
+            "AND reference_id = #{referenceId} AND sku_id = #{skuId} AND warehouse_id = #{warehouseId}")
+    int countPendingReserve(@Param("skuId") String skuId, @Param("warehouseId") String warehouseId,
+                            @Param("referenceId") String referenceId);
+
+    /**
+     * 用同一关联ID的释放抵消一条待补偿的预占，返回抵消的行数（0 或 1）
+     */
+    @Update("UPDATE inventory_reservation_dead_letters SET status = 'COMPENSATED' WHERE status = 'PENDING' " +
+            "AND op_type = 'RESERVE' AND reference_id = #{referenceId} AND sku_id = #{skuId} " +
+            "AND warehouse_id = #{warehouseId} AND quantity = #{quantity} ORDER BY id LIMIT 1")
+    int compensateReserve(@Param("skuId") String skuId, @Param("warehouseId") String warehouseId,
+                          @Param("referenceId") String referenceId, @Param("quantity") int quantity);
+
+    /**
+     * 仅在仍为 PENDING 时改为指定状态，与重试回写在同一事务内执行，保证多实例下只补偿一次
+     */
+    @Update("UPDATE inventory_reservation_dead_letters SET status = #{status} WHERE id = #{id} AND status = 'PENDING'")
+    int markIfPending(@Param("id") long id, @Param("status") String status);
+
+    /**
+     * 记录一次失败的重试，达到上限时转为 FAILED
+     */
+    @Update("UPDATE inventory_reservation_dead_letters SET attempts = attempts + 1, reason = #{reason}, " +
+            "status = IF(attempts >= #{maxAttempts}, 'FAILED', status) WHERE id = #{id} AND status = 'PENDING'")
+    int recordFailedAttempt(@Param("id") long id, @Param("reason") String reason, @Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.infrastructure.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 预占操作去重表
+ */
+@Mapper
+public interface ReservationOpMapper {
+
+    /**
+     * 登记操作键，已存在时返回 0
+     */
+    @Insert("INSERT IGNORE INTO inventory_reservation_ops (op_key) VALUES (#{opKey})")
+    int insertIgnore(@Param("opKey") String opKey);
+
+    /**
+     * 清理保留期之前的操作键
+     */
+    @Delete("DELETE FROM inventory_reservation_ops WHERE created_at < #{before} LIMIT #{limit}")
+    int deleteBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.inventory.infrastructure.mapper;
+
+import com.ecommerce.inventory.domain.entity.StockRecord;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.infrastructure.entity.StockRecordPO;
+
+public interface StockRecordDataMapper {
+
+    StockRecordPO eventToStockRecordPO(InventoryChangedEvent event);
+
+    StockRecord stockRecordPOToStockRecord(StockRecordPO stockRecordPO);
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.inventory.infrastructure.mapper;
+
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
+import com.ecommerce.inventory.domain.entity.StockRecord;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.entity.StockRecordPO;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+
+@Component
+public class StockRecordDataMapperImpl implements StockRecordDataMapper {
+
+    @Override
+    public StockRecordPO eventToStockRecordPO(InventoryChangedEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        StockRecordPO stockRecordPO = new StockRecordPO();
+        stockRecordPO.setRecordId(event.getEventId());
+        stockRecordPO.setInventoryId(event.getInventoryId() != null ? event.getInventoryId().getValue() : null);
+        stockRecordPO.setSkuId(event.getSkuId() != null ? event.getSkuId().getValue() : null);
+        stockRecordPO.setWarehouseCode(event.getWarehouseId() != null ? event.getWarehouseId().getValue() : null);
+        stockRecordPO.setInventoryVersion(event.getInventoryVersion());
+        stockRecordPO.setVersionSeq(event.getVersionSequence());
+        stockRecordPO.setChangeType(event.getOperationType().name());
+        stockRecordPO.setChangeQuantity(event.getSignedQuantity());
+        stockRecordPO.setBeforeQuantity(event.getAvailableBefore());
+        stockRecordPO.setAfterQuantity(event.getAvailableAfter());
+        stockRecordPO.setReason(event.getReason());
+        stockRecordPO.setReferenceId(event.getReferenceId());
+        stockRecordPO.setOperatorId(event.getOperatorId());
+        // 与 DATETIME(3) 列精度一致，保证键集游标可以精确比较
+        stockRecordPO.setCreatedAt(event.getOccurredAt() != null ? event.getOccurredAt().truncatedTo(ChronoUnit.MILLIS) : null);
+
+        return stockRecordPO;
+    }
+
+    @Override
+    public StockRecord stockRecordPOToStockRecord(StockRecordPO stockRecordPO) {
+        if (stockRecordPO == null) {
+            return null;
+        }
+
+        return StockRecord.restore(
+            stockRecordPO.getRecordId(),
+            stockRecordPO.getId() != null ? stockRecordPO.getId() : 0L,
+            stockRecordPO.getInventoryId() != null ? InventoryId.of(stockRecordPO.getInventoryId()) : null,
+            SkuId.of(stockRecordPO.getSkuId()),
+            WarehouseId.of(stockRecordPO.getWarehouseCode()),
+            InventoryOperationType.valueOf(stockRecordPO.getChangeType()),
+            stockRecordPO.getChangeQuantity() != null ? stockRecordPO.getChangeQuantity() : 0,
+            stockRecordPO.getBeforeQuantity() != null ? stockRecordPO.getBeforeQuantity() : 0,
+            stockRecordPO.getAfterQuantity() != null ? stockRecordPO.getAfterQuantity() : 0,
+            stockRecordPO.getReason(),
+            stockRecordPO.getReferenceId(),
+            stockRecordPO.getOperatorId(),
+            stockRecordPO.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.inventory.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ecommerce.inventory.infrastructure.entity.InventoryDemandPO;
+import com.ecommerce.inventory.infrastructure.entity.StockRecordPO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface StockRecordMapper extends BaseMapper<StockRecordPO> {
+
+    /**
+     * 多行批量写入，record_id 唯一键冲突时忽略，保证重试幂等
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO stock_records (record_id, inventory_id, sku_id, warehouse_code, inventory_version, version_seq, change_type, " +
+            "change_quantity, before_quantity, after_quantity, reason, reference_id, operator_id, created_at) VALUES " +
+            "<foreach collection='records' item='r' separator=','>" +
+            "(#{r.recordId}, #{r.inventoryId}, #{r.skuId}, #{r.warehouseCode}, #{r.inventoryVersion}, #{r.versionSeq}, #{r.changeType}, " +
+            "#{r.changeQuantity}, #{r.beforeQuantity}, #{r.afterQuantity}, #{r.reason}, #{r.referenceId}, " +
+            "#{r.operatorId}, #{r.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("records") List<StockRecordPO> records);
+
+    /**
+     * 在库存事务内写入流水发件箱，与库存变更同时提交或回滚
+     */
+    @Insert("<script>" +
+            "INSERT INTO stock_record_outbox (record_id, inventory_id, sku_id, warehouse_code, inventory_version, version_seq, change_type, " +
+            "change_quantity, before_quantity, after_quantity, reason, reference_id, operator_id, created_at) VALUES " +
+            "<foreach collection='records' item='r' separator=','>" +
+            "(#{r.recordId}, #{r.inventoryId}, #{r.skuId}, #{r.warehouseCode}, #{r.inventoryVersion}, #{r.versionSeq}, #{r.changeType}, " +
+            "#{r.changeQuantity}, #{r.beforeQuantity}, #{r.afterQuantity}, #{r.reason}, #{r.referenceId}, " +
+            "#{r.operatorId}, #{r.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertOutbox(@Param("records") List<StockRecordPO> records);
+
+    /**
+     * 查询指定时间之前写入发件箱、仍未转写的流水，按写入顺序
+     */
+    @Select("SELECT * FROM stock_record_outbox WHERE created_at < #{before} ORDER BY id LIMIT #{limit}")
+    List<StockRecordPO> findOutboxBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * 删除已转写到 stock_records 的发件箱行
+     */
+    @Delete("<script>" +
+            "DELETE FROM stock_record_outbox WHERE record_id IN " +
+            "<foreach collection='recordIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteOutbox(@Param("recordIds") List<String> recordIds);
+
+    /**
+     * 按 (created_at, id) 倒序的键集分页查询，同一毫秒内的流水按写入顺序
+     */
+    @Select("<script>" +
+            "SELECT * FROM stock_records" +
+            "<where>" +
+            "<if test='skuId != null'> AND sku_id = #{skuId}</if>" +
+            "<if test='warehouseCode != null'> AND warehouse_code = #{warehouseCode}</if>" +
+            "<if test='changeTypes != null and changeTypes.size() > 0'> AND change_type IN " +
+            "<foreach collection='changeTypes' item='t' open='(' separator=',' close=')'>#{t}</foreach></if>" +
+            "<if test='referenceId != null'> AND reference_id = #{referenceId}</if>" +
+            "<if test='operatorId != null'> AND operator_id = #{operatorId}</if>" +
+            "<if test='cursorCreatedAt != null'> AND (created_at &lt; #{cursorCreatedAt} " +
+            "OR (created_at = #{cursorCreatedAt} AND id &lt; #{cursorId}))</if>" +
+            "</where>" +
+            " ORDER BY created_at DESC, id DESC LIMIT #{limit}" +
+            "</script>")
+    List<StockRecordPO> findPage(@Param("skuId") String skuId,
+                                 @Param("warehouseCode") String warehouseCode,
+                                 @Param("changeTypes") List<String> changeTypes,
+                                 @Param("referenceId") String referenceId,
+                                 @Param("operatorId") String operatorId,
+                                 @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                 @Param("cursorId") Long cursorId,
+                                 @Param("limit") int limit);
+
+    /**
+     * 统计指定时间以来各库存的出库量（出库 + 确认预留）
+     */
+    @Select("SELECT inventory_id AS inventoryId, SUM(ABS(change_quantity)) AS outboundQuantity " +
+            "FROM stock_records " +
+            "WHERE created_at >= #{since} AND change_type IN ('STOCK_OUT', 'CONFIRM_RESERVATION') " +
+            "GROUP BY inventory_id")
+    List<InventoryDemandPO> sumOutboundSince(@Param("since") LocalDateTime since);
+}
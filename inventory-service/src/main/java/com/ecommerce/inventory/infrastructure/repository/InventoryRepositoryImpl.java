@@ -2,19 +2,38 @@ package com.ecommerce.inventory.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
 import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.event.InventoryEventPublisher;
 import com.ecommerce.inventory.domain.repository.InventoryRepository;
 import com.ecommerce.inventory.domain.valueobject.InventoryId;
 import com.ecommerce.inventory.domain.valueobject.SkuId;
 import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.cache.InventorySummaryCache;
+import com.ecommerce.inventory.infrastructure.config.InventoryPersistenceProperties;
+import com.ecommerce.inventory.infrastructure.config.InventoryQueryProperties;
 import com.ecommerce.inventory.infrastructure.entity.InventoryPO;
+import com.ecommerce.inventory.infrastructure.entity.InventorySummaryPO;
 import com.ecommerce.inventory.infrastructure.mapper.InventoryDataMapper;
 import com.ecommerce.inventory.infrastructure.mapper.InventoryPlusMapper;
+import com.ecommerce.inventory.infrastructure.tracking.StockLevelTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Repository
@@ -26,15 +45,35 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     @Autowired
     private InventoryDataMapper inventoryDataMapper;
 
+    @Autowired
+    private InventoryQueryProperties queryProperties;
+
+    @Autowired
+    private StockLevelTracker stockLevelTracker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InventorySummaryCache inventorySummaryCache;
+
+    @Autowired
+    private InventoryPersistenceProperties persistenceProperties;
+
+    @Autowired
+    private InventoryEventPublisher inventoryEventPublisher;
+
     @Override
     public Inventory save(Inventory inventory) {
-        InventoryPO inventoryPO = inventoryDataMapper.inventoryToInventoryPO(inventory);
-        if (inventoryPO.getId() == null) {
-            inventoryPlusMapper.insert(inventoryPO);
-        } else {
-            inventoryPlusMapper.updateById(inventoryPO);
+        // 领域对象不携带数据库主键，按业务主键 inventory_id 做乐观锁更新，记录不存在时再插入
+        if (updateWithOptimisticLock(inventory)) {
+            return inventory;
+        }
+        if (existsById(inventory.getId())) {
+            throw new IllegalStateException("库存并发更新失败: " + inventory.getId());
         }
-        return inventoryDataMapper.inventoryPOToInventory(inventoryPO);
+        inventoryPlusMapper.insert(inventoryDataMapper.inventoryToInventoryPO(inventory));
+        return inventory;
     }
 
     @Override
@@ -132,8 +171,12 @@ public class InventoryRepositoryImpl implements InventoryRepository {
 
     @Override
     public List<Inventory> findBelowSafetyStock() {
-        // Basic implementation - returns empty list
-        return List.of();
+        if (!stockLevelTracker.isReady()) {
+            return inventoryPlusMapper.findBelowSafetyStock().stream()
+                .map(inventoryDataMapper::inventoryPOToInventory)
+                .collect(Collectors.toList());
+        }
+        return findByInventoryIdsInOrder(stockLevelTracker.belowSafetyStockIds());
     }
 
     @Override
@@ -158,27 +201,31 @@ public class InventoryRepositoryImpl implements InventoryRepository {
 
     @Override
     public List<Inventory> findWithFrozenStock() {
-        // Basic implementation - returns empty list (no frozen stock field in current schema)
-        return List.of();
+        if (!stockLevelTracker.isReady()) {
+            LambdaQueryWrapper<InventoryPO> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.gt(InventoryPO::getFrozenQuantity, 0);
+            return inventoryPlusMapper.selectList(queryWrapper).stream()
+                .map(inventoryDataMapper::inventoryPOToInventory)
+                .collect(Collectors.toList());
+        }
+        return findByInventoryIdsInOrder(stockLevelTracker.frozenIds());
     }
 
     @Override
-    public List<Inventory> findAll(int page, int size) {
-        // Basic implementation - returns all records
-        List<InventoryPO> inventoryPOs = inventoryPlusMapper.selectList(null);
-        return inventoryPOs.stream()
-            .map(inventoryDataMapper::inventoryPOToInventory)
-            .collect(Collectors.toList());
+    public List<Inventory> findAll(InventoryCursor after, int size) {
+        return findByCriteria(null, null, null, after, size);
     }
 
     @Override
-    public List<Inventory> findByCriteria(SkuId skuId, WarehouseId warehouseId, InventoryStatus status, int page, int size) {
-        LambdaQueryWrapper<InventoryPO> queryWrapper = new LambdaQueryWrapper<>();
-        if (skuId != null) queryWrapper.eq(InventoryPO::getSkuId, skuId.getValue());
-        if (warehouseId != null) queryWrapper.eq(InventoryPO::getWarehouseId, warehouseId.getValue());
-        if (status != null) queryWrapper.eq(InventoryPO::getStatus, status.name());
-        
-        List<InventoryPO> inventoryPOs = inventoryPlusMapper.selectList(queryWrapper);
+    public List<Inventory> findByCriteria(SkuId skuId, WarehouseId warehouseId, InventoryStatus status,
+                                          InventoryCursor after, int size) {
+        List<InventoryPO> inventoryPOs = inventoryPlusMapper.findPageAfter(
+            skuId != null ? skuId.getValue() : null,
+            warehouseId != null ? warehouseId.getValue() : null,
+            status != null ? status.name() : null,
+            after != null ? after.getWarehouseId() : null,
+            after != null ? after.getSkuId() : null,
+            size);
         return inventoryPOs.stream()
             .map(inventoryDataMapper::inventoryPOToInventory)
             .collect(Collectors.toList());
@@ -233,10 +280,259 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     }
 
     @Override
-    public List<Inventory> saveAll(List<Inventory> inventories) {
-        return inventories.stream()
-            .map(this::save)
-            .collect(Collectors.toList());
+    public List<SaveOutcome> saveAll(List<Inventory> inventories) {
+        if (inventories.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 同一事务内按分片写入：加锁读取已存在的行，新行一条多行 INSERT，已存在的行一条带版本校验的多行更新
+        int chunkSize = Math.max(1, persistenceProperties.getUpsertChunkSize());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            List<SaveOutcome> outcomes = new ArrayList<>(inventories.size());
+            List<InventoryChangedEvent> events = new ArrayList<>();
+            for (int from = 0; from < inventories.size(); from += chunkSize) {
+                outcomes.addAll(upsertChunk(inventories.subList(from, Math.min(from + chunkSize, inventories.size())),
+                    events));
+            }
+            // 与单行操作一致：事务内发布，订阅方（流水、缓存、跟踪器、订阅推送）在提交后处理
+            inventoryEventPublisher.publish(events);
+            return outcomes;
+        });
+    }
+
+    /**
+     * 写入一个分片，返回与分片一一对应的结果，写入成功的行的变更事件追加到 events
+     */
+    private List<SaveOutcome> upsertChunk(List<Inventory> chunk, List<InventoryChangedEvent> events) {
+        List<InventoryPO> inventoryPOs = new ArrayList<>(chunk.size());
+        for (Inventory inventory : chunk) {
+            inventoryPOs.add(inventoryDataMapper.inventoryToInventoryPO(inventory));
+        }
+        Map<String, InventoryPO> stored = new HashMap<>(chunk.size() * 2);
+        for (InventoryPO inventoryPO : inventoryPlusMapper.selectBySkuAndWarehouseForUpdate(inventoryPOs)) {
+            stored.put(skuWarehouseKey(inventoryPO), inventoryPO);
+        }
+
+        SaveOutcome[] outcomes = new SaveOutcome[chunk.size()];
+        List<Integer> inserts = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        Set<String> seen = new HashSet<>(chunk.size() * 2);
+        for (int i = 0; i < chunk.size(); i++) {
+            Inventory inventory = chunk.get(i);
+            InventoryPO inventoryPO = inventoryPOs.get(i);
+            String key = skuWarehouseKey(inventoryPO);
+            InventoryPO current = stored.get(key);
+            if (!seen.add(key)) {
+                outcomes[i] = new SaveOutcome(inventory, SaveOutcome.Result.FAILED, "同一批次内重复的SKU与仓库: " + key);
+            } else if (current == null) {
+                inserts.add(i);
+            } else if (!current.getInventoryId().equals(inventoryPO.getInventoryId())) {
+                outcomes[i] = new SaveOutcome(inventory, SaveOutcome.Result.FAILED,
+                    "库存ID与已有记录不一致: " + current.getInventoryId());
+            } else if (!current.getVersion().equals(inventoryPO.getVersion())) {
+                outcomes[i] = new SaveOutcome(inventory, SaveOutcome.Result.CONFLICT,
+                    "版本号不一致: 当前版本 " + current.getVersion());
+            } else {
+                updates.add(i);
+            }
+        }
+
+        insertRows(chunk, inventoryPOs, inserts, outcomes);
+        updateRows(chunk, inventoryPOs, updates, outcomes);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            SaveOutcome outcome = outcomes[i];
+            if (outcome.isSuccess()) {
+                events.addAll(changeEvents(outcome, stored.get(skuWarehouseKey(inventoryPOs.get(i)))));
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * 新行一条多行 INSERT；失败时（如并发插入了相同的SKU与仓库）逐条插入定位失败行
+     */
+    private void insertRows(List<Inventory> chunk, List<InventoryPO> inventoryPOs, List<Integer> rows,
+                            SaveOutcome[] outcomes) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            inventoryPlusMapper.insertBatch(select(inventoryPOs, rows));
+            for (int i : rows) {
+                outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.INSERTED, null);
+            }
+        } catch (DataAccessException e) {
+            for (int i : rows) {
+                try {
+                    inventoryPlusMapper.insertBatch(List.of(inventoryPOs.get(i)));
+                    outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.INSERTED, null);
+                } catch (DataAccessException rowError) {
+                    outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.FAILED,
+                        rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 已加锁且版本一致的行一条多行更新；失败时逐条乐观更新，版本不一致记为冲突
+     */
+    private void updateRows(List<Inventory> chunk, List<InventoryPO> inventoryPOs, List<Integer> rows,
+                            SaveOutcome[] outcomes) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            inventoryPlusMapper.updateBatchWithVersion(select(inventoryPOs, rows));
+            for (int i : rows) {
+                chunk.get(i).incrementVersion();
+                outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.UPDATED, null);
+            }
+        } catch (DataAccessException e) {
+            for (int i : rows) {
+                try {
+                    if (inventoryPlusMapper.updateWithVersion(inventoryPOs.get(i)) == 0) {
+                        outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.CONFLICT, "版本号不一致");
+                    } else {
+                        chunk.get(i).incrementVersion();
+                        outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.UPDATED, null);
+                    }
+                } catch (DataAccessException rowError) {
+                    outcomes[i] = new SaveOutcome(chunk.get(i), SaveOutcome.Result.FAILED,
+                        rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入成功的行的变更事件，各事件的增量之和等于写入前后的差额（汇总缓存、流水据此累加）
+     * 1. 聚合上待发布的事件原样发布，新行也一样
+     * 2. 写入前（新行为 0）与待发布事件开始前的数量之差补一条事件，排在待发布事件之前：
+     *    只有总库存变化时记为入库（新行）或调增/调减；预占、冻结数量也有变化，或第一条待发布事件无法反推
+     *    开始前的数量时记为 OVERWRITE，消费方不推导增量、直接重新加载
+     */
+    private List<InventoryChangedEvent> changeEvents(SaveOutcome outcome, InventoryPO before) {
+        Inventory inventory = outcome.getInventory();
+        List<InventoryChangedEvent> pending = inventory.pullDomainEvents();
+
+        Counts from = before != null ? Counts.of(before) : new Counts();
+        Counts start = pending.isEmpty() ? Counts.of(inventory) : Counts.before(pending.get(0));
+        if (start != null && start.equals(from)) {
+            return pending;
+        }
+
+        InventoryOperationType operationType;
+        if (start == null || start.reserved != from.reserved || start.frozen != from.frozen) {
+            operationType = InventoryOperationType.OVERWRITE;
+            if (start == null) {
+                start = Counts.of(inventory);
+            }
+        } else if (before == null) {
+            operationType = InventoryOperationType.STOCK_IN;
+        } else {
+            operationType = start.total >= from.total
+                ? InventoryOperationType.ADJUST_INCREASE : InventoryOperationType.ADJUST_DECREASE;
+        }
+        // 排在待发布事件之前：同一版本号下序号取 -1
+        long version = pending.isEmpty() ? inventory.getVersion() : pending.get(0).getInventoryVersion();
+        int sequence = pending.isEmpty() ? 0 : -1;
+        List<InventoryChangedEvent> events = new ArrayList<>(pending.size() + 1);
+        events.add(InventoryChangedEvent.of(inventory.getId(), inventory.getSkuId(), inventory.getWarehouseId(),
+            version, sequence, operationType, Math.abs(start.total - from.total),
+            from.available, start.available, start.total, start.reserved, start.frozen,
+            inventory.getSafetyStockQuantity().getValue(),
+            before == null ? "批量保存新增库存" : "批量保存更新库存", LocalDateTime.now()));
+        events.addAll(pending);
+        return events;
+    }
+
+    /**
+     * 库存各项数量
+     */
+    private static final class Counts {
+        private int total;
+        private int available;
+        private int reserved;
+        private int frozen;
+
+        private static Counts of(InventoryPO inventoryPO) {
+            Counts counts = new Counts();
+            counts.total = valueOf(inventoryPO.getTotalQuantity());
+            counts.available = valueOf(inventoryPO.getAvailableQuantity());
+            counts.reserved = valueOf(inventoryPO.getReservedQuantity());
+            counts.frozen = valueOf(inventoryPO.getFrozenQuantity());
+            return counts;
+        }
+
+        private static Counts of(Inventory inventory) {
+            Counts counts = new Counts();
+            counts.total = inventory.getTotalQuantityValue();
+            counts.available = inventory.getAvailableQuantityValue();
+            counts.reserved = inventory.getReservedQuantityValue();
+            counts.frozen = inventory.getFrozenQuantityValue();
+            return counts;
+        }
+
+        /**
+         * 事件发生前的数量，按操作类型从事件后的数量反推；无法反推的操作返回 null
+         */
+        private static Counts before(InventoryChangedEvent event) {
+            Counts counts = new Counts();
+            counts.total = event.getTotalQuantity();
+            counts.available = event.getAvailableBefore();
+            counts.reserved = event.getReservedQuantity();
+            counts.frozen = event.getFrozenQuantity();
+            int q = event.getQuantity();
+            switch (event.getOperationType()) {
+                case STOCK_IN, ADJUST_INCREASE -> counts.total -= q;
+                case STOCK_OUT, ADJUST_DECREASE -> counts.total += q;
+                case RESERVE -> counts.reserved -= q;
+                case RELEASE_RESERVATION -> counts.reserved += q;
+                case CONFIRM_RESERVATION -> {
+                    counts.reserved += q;
+                    counts.total += q;
+                }
+                case FREEZE -> counts.frozen -= q;
+                case UNFREEZE -> counts.frozen += q;
+                default -> {
+                    return null;
+                }
+            }
+            return counts;
+        }
+
+        private static int valueOf(Integer value) {
+            return value != null ? value : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Counts)) return false;
+            Counts other = (Counts) o;
+            return total == other.total && available == other.available
+                && reserved == other.reserved && frozen == other.frozen;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(total, available, reserved, frozen);
+        }
+    }
+
+    private static String skuWarehouseKey(InventoryPO inventoryPO) {
+        return inventoryPO.getSkuId() + "@" + inventoryPO.getWarehouseId();
+    }
+
+    private static List<InventoryPO> select(List<InventoryPO> inventoryPOs, List<Integer> rows) {
+        List<InventoryPO> selected = new ArrayList<>(rows.size());
+        for (int i : rows) {
+            selected.add(inventoryPOs.get(i));
+        }
+        return selected;
     }
 
     @Override
@@ -257,20 +553,36 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     public List<Inventory> findBySkuIds(List<SkuId> skuIds) {
         List<String> ids = skuIds.stream()
             .map(SkuId::getValue)
+            .distinct()
             .collect(Collectors.toList());
-        
-        LambdaQueryWrapper<InventoryPO> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.in(InventoryPO::getSkuId, ids);
-        List<InventoryPO> inventoryPOs = inventoryPlusMapper.selectList(queryWrapper);
-        return inventoryPOs.stream()
-            .map(inventoryDataMapper::inventoryPOToInventory)
-            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 超过分片大小时拆成多条 IN 查询，避免超长 SQL 和执行计划退化
+        int chunkSize = Math.max(1, queryProperties.getInChunkSize());
+        List<Inventory> inventories = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            LambdaQueryWrapper<InventoryPO> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.in(InventoryPO::getSkuId, chunk);
+            for (InventoryPO inventoryPO : inventoryPlusMapper.selectList(queryWrapper)) {
+                inventories.add(inventoryDataMapper.inventoryPOToInventory(inventoryPO));
+            }
+        }
+        return inventories;
     }
 
     @Override
     public List<Inventory> findNeedingReplenishment(WarehouseId warehouseId) {
-        // Basic implementation - returns empty list
-        return List.of();
+        if (!stockLevelTracker.isReady()) {
+            // 跟踪器未完成首次校准时只能按安全库存判断
+            return findBelowSafetyStock().stream()
+                .filter(inventory -> warehouseId == null || warehouseId.equals(inventory.getWarehouseId()))
+                .collect(Collectors.toList());
+        }
+        return findByInventoryIdsInOrder(
+            stockLevelTracker.needingReplenishmentIds(warehouseId != null ? warehouseId.getValue() : null));
     }
 
     @Override
@@ -290,20 +602,87 @@ public class InventoryRepositoryImpl implements InventoryRepository {
 
     @Override
     public boolean updateWithOptimisticLock(Inventory inventory) {
-        // Basic implementation using save
-        save(inventory);
+        InventoryPO inventoryPO = inventoryDataMapper.inventoryToInventoryPO(inventory);
+        if (inventoryPlusMapper.updateWithVersion(inventoryPO) == 0) {
+            return false;
+        }
+        inventory.incrementVersion();
         return true;
     }
 
+    @Override
+    public Optional<Inventory> findByIdForUpdate(InventoryId inventoryId) {
+        InventoryPO inventoryPO = inventoryPlusMapper.selectByInventoryIdForUpdate(inventoryId.getValue());
+        return Optional.ofNullable(inventoryPO).map(inventoryDataMapper::inventoryPOToInventory);
+    }
+
     @Override
     public List<InventoryRepository.InventorySummary> getInventorySummaryBySkuIds(List<SkuId> skuIds) {
-        // Basic implementation - returns empty list
-        return List.of();
+        List<String> ids = skuIds.stream()
+            .map(SkuId::getValue)
+            .distinct()
+            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int chunkSize = Math.max(1, queryProperties.getInChunkSize());
+        return inventorySummaryCache.getBySkuIds(ids, misses -> {
+                List<InventorySummaryPO> summaries = new ArrayList<>(misses.size());
+                for (int from = 0; from < misses.size(); from += chunkSize) {
+                    summaries.addAll(inventoryPlusMapper.sumBySkuIds(
+                        misses.subList(from, Math.min(from + chunkSize, misses.size()))));
+                }
+                return summaries;
+            }).stream()
+            .map(this::toInventorySummary)
+            .collect(Collectors.toList());
     }
 
     @Override
     public List<InventoryRepository.InventorySummary> getInventorySummaryByWarehouseId(WarehouseId warehouseId) {
-        // Basic implementation - returns empty list
-        return List.of();
+        return inventorySummaryCache.getByWarehouse(
+                warehouseId != null ? warehouseId.getValue() : null,
+                inventoryPlusMapper::sumByWarehouse).stream()
+            .map(this::toInventorySummary)
+            .collect(Collectors.toList());
+    }
+
+    private InventoryRepository.InventorySummary toInventorySummary(InventorySummaryPO summaryPO) {
+        return new InventoryRepository.InventorySummary(
+            summaryPO.getSkuId() != null ? SkuId.of(summaryPO.getSkuId()) : null,
+            summaryPO.getWarehouseId() != null ? WarehouseId.of(summaryPO.getWarehouseId()) : null,
+            Math.toIntExact(summaryPO.getTotalQuantity()),
+            Math.toIntExact(summaryPO.getAvailableQuantity()),
+            Math.toIntExact(summaryPO.getReservedQuantity()),
+            Math.toIntExact(summaryPO.getFrozenQuantity()));
+    }
+
+    /**
+     * 按库存ID批量加载并保持入参顺序，分片执行 IN 查询
+     */
+    private List<Inventory> findByInventoryIdsInOrder(List<String> inventoryIds) {
+        if (inventoryIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int chunkSize = Math.max(1, queryProperties.getInChunkSize());
+        Map<String, InventoryPO> byId = new HashMap<>(inventoryIds.size() * 2);
+        for (int from = 0; from < inventoryIds.size(); from += chunkSize) {
+            LambdaQueryWrapper<InventoryPO> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.in(InventoryPO::getInventoryId, inventoryIds.subList(from, Math.min(from + chunkSize, inventoryIds.size())));
+            for (InventoryPO inventoryPO : inventoryPlusMapper.selectList(queryWrapper)) {
+                byId.put(inventoryPO.getInventoryId(), inventoryPO);
+            }
+        }
+
+        List<Inventory> inventories = new ArrayList<>(byId.size());
+        for (String inventoryId : inventoryIds) {
+            InventoryPO inventoryPO = byId.get(inventoryId);
+            if (inventoryPO != null) {
+                inventories.add(inventoryDataMapper.inventoryPOToInventory(inventoryPO));
+            }
+        }
+        return inventories;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.inventory.infrastructure.repository;
+
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
+import com.ecommerce.inventory.domain.entity.StockRecord;
+import com.ecommerce.inventory.domain.repository.StockRecordRepository;
+import com.ecommerce.inventory.infrastructure.entity.StockRecordPO;
+import com.ecommerce.inventory.infrastructure.mapper.StockRecordDataMapper;
+import com.ecommerce.inventory.infrastructure.mapper.StockRecordMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+public class StockRecordRepositoryImpl implements StockRecordRepository {
+
+    @Autowired
+    private StockRecordMapper stockRecordMapper;
+
+    @Autowired
+    private StockRecordDataMapper stockRecordDataMapper;
+
+    @Override
+    public List<StockRecord> findPage(StockRecordCriteria criteria, RecordCursor cursor, int limit) {
+        List<String> changeTypes = criteria.getOperationTypes().stream()
+            .map(InventoryOperationType::name)
+            .collect(Collectors.toList());
+
+        List<StockRecordPO> stockRecordPOs = stockRecordMapper.findPage(
+            criteria.getSkuId() != null ? criteria.getSkuId().getValue() : null,
+            criteria.getWarehouseId() != null ? criteria.getWarehouseId().getValue() : null,
+            changeTypes,
+            criteria.getReferenceId(),
+            criteria.getOperatorId(),
+            cursor != null ? cursor.getCreatedAt() : null,
+            cursor != null ? cursor.getSequence() : null,
+            limit);
+        return stockRecordPOs.stream()
+            .map(stockRecordDataMapper::stockRecordPOToStockRecord)
+            .collect(Collectors.toList());
+    }
+}
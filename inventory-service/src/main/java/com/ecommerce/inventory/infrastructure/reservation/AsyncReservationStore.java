@@ -0,0 +1,187 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+
+import java.util.List;
+
+/**
+ * 异步回写的预占存储基类
+ * 职责：在缓存计数上原子地执行预占操作，生效的操作进入待回写队列，由 ReservationReconciler 经领域服务回写库存表
+ * 计数未加载时从库存表加载后重试；未指定仓库时取该SKU的第一个活跃库存
+ * 每个计数记录已生效但尚未回写完成（含回写被拒绝、尚未登记死信）的操作数，不为 0 时库存表还不包含这些操作，
+ * 此时不从库存表重新加载计数，等待回写完成（最长 reseedWaitMs），超时按并发冲突拒绝，避免超卖
+ */
+public abstract class AsyncReservationStore implements ReservationStore {
+
+    /**
+     * 计数上执行操作的结果
+     */
+    protected enum Code {
+        APPLIED,        // 已生效并入队
+        DUPLICATE,      // 去重命中
+        INSUFFICIENT,   // 数量不足
+        NOT_LOADED      // 计数未加载
+    }
+
+    /**
+     * 操作结果与操作后的计数
+     */
+    protected static final class Applied {
+        private final Code code;
+        private final int available;
+        private final int reserved;
+        private final int total;
+
+        protected Applied(Code code, int available, int reserved, int total) {
+            this.code = code;
+            this.available = available;
+            this.reserved = reserved;
+            this.total = total;
+        }
+    }
+
+    private static final long RESEED_POLL_MS = 20;
+
+    private final InventoryDomainService inventoryDomainService;
+    private final InventoryReservationProperties properties;
+
+    protected AsyncReservationStore(InventoryDomainService inventoryDomainService,
+                                    InventoryReservationProperties properties) {
+        this.inventoryDomainService = inventoryDomainService;
+        this.properties = properties;
+    }
+
+    @Override
+    public ReservationResult reserve(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                     String referenceId, String operatorId) {
+        return execute(ReservationOp.Type.RESERVE, skuId, warehouseId, quantity, referenceId, operatorId);
+    }
+
+    @Override
+    public ReservationResult release(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                     String referenceId, String operatorId) {
+        return execute(ReservationOp.Type.RELEASE, skuId, warehouseId, quantity, referenceId, operatorId);
+    }
+
+    @Override
+    public ReservationResult confirm(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                     String referenceId, String operatorId) {
+        return execute(ReservationOp.Type.CONFIRM, skuId, warehouseId, quantity, referenceId, operatorId);
+    }
+
+    /**
+     * 在计数上原子地执行操作：去重、校验数量、更新计数、登记去重键、未回写操作数加一并入队
+     */
+    protected abstract Applied apply(ReservationOp op);
+
+    /**
+     * 计数不存在且没有未回写的操作时写入初始值
+     * @return 计数已存在或写入成功返回 true；仍有未回写的操作时不写入，返回 false
+     */
+    protected abstract boolean seed(SkuId skuId, WarehouseId warehouseId, int available, int reserved, int total);
+
+    /**
+     * 该计数已生效但尚未回写完成的操作数
+     */
+    protected abstract long outstanding(SkuId skuId, WarehouseId warehouseId);
+
+    /**
+     * 操作回写完成（已写入库存表、已登记死信或已被抵消），未回写操作数减一
+     */
+    public abstract void acknowledge(ReservationOp op);
+
+    /**
+     * 取出至多 maxOps 个待回写操作（先进先出）
+     */
+    public abstract List<ReservationOp> drain(int maxOps);
+
+    /**
+     * 回写失败的操作按原顺序放回队首
+     */
+    public abstract void requeue(List<ReservationOp> ops);
+
+    /**
+     * 应用预占以外的库存变更（入库、出库、冻结、调整），计数未加载时忽略
+     */
+    public abstract void applyExternalChange(SkuId skuId, WarehouseId warehouseId, int availableDelta, int totalDelta);
+
+    /**
+     * 丢弃计数，下次操作时从库存表重新加载
+     */
+    public abstract void evict(SkuId skuId, WarehouseId warehouseId);
+
+    private ReservationResult execute(ReservationOp.Type type, SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                      String referenceId, String operatorId) {
+        if (skuId == null) {
+            throw new IllegalArgumentException("SKU ID不能为空");
+        }
+        if (quantity == null || quantity.getValue() <= 0) {
+            throw new IllegalArgumentException(switch (type) {
+                case RESERVE -> "预留数量必须大于0";
+                case RELEASE -> "释放数量必须大于0";
+                case CONFIRM -> "确认数量必须大于0";
+            });
+        }
+
+        WarehouseId resolvedWarehouseId = warehouseId != null
+                ? warehouseId
+                : inventoryDomainService.loadInventory(skuId, null).getWarehouseId();
+        ReservationOp op = new ReservationOp(type, skuId, resolvedWarehouseId, quantity.getValue(),
+                referenceId, operatorId);
+
+        Applied applied = apply(op);
+        if (applied.code == Code.NOT_LOADED) {
+            load(type, skuId, resolvedWarehouseId);
+            applied = apply(op);
+        }
+
+        switch (applied.code) {
+            case APPLIED, DUPLICATE -> {
+                return new ReservationResult(applied.code == Code.APPLIED ? Outcome.APPLIED : Outcome.DUPLICATE,
+                        skuId, resolvedWarehouseId, applied.available, applied.reserved, applied.total, null, null);
+            }
+            case INSUFFICIENT -> throw new IllegalStateException(switch (type) {
+                case RESERVE -> "可用库存不足，无法执行预留操作";
+                case RELEASE -> "预留库存不足，无法释放指定数量";
+                case CONFIRM -> "预留库存不足，无法确认指定数量";
+            });
+            default -> throw new IllegalStateException("预占计数加载失败: " + skuId + "@" + resolvedWarehouseId);
+        }
+    }
+
+    /**
+     * 从库存表加载计数；只有活跃库存允许预留
+     * 先确认没有未回写的操作再读库存表：计数不存在时不会有新操作生效，读到的库存行已包含之前的全部操作
+     */
+    private void load(ReservationOp.Type type, SkuId skuId, WarehouseId warehouseId) {
+        long deadline = System.currentTimeMillis() + properties.getReseedWaitMs();
+        while (true) {
+            if (outstanding(skuId, warehouseId) == 0) {
+                Inventory inventory = inventoryDomainService.loadInventory(skuId, warehouseId);
+                if (type == ReservationOp.Type.RESERVE && inventory.getStatus() != InventoryStatus.ACTIVE) {
+                    throw new IllegalStateException("库存状态不活跃，不能执行预留操作");
+                }
+                if (seed(skuId, warehouseId, inventory.getAvailableQuantityValue(),
+                        inventory.getReservedQuantityValue(), inventory.getTotalQuantityValue())) {
+                    return;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("预占计数正在回写，请稍后重试: " + skuId + "@" + warehouseId);
+            }
+            try {
+                Thread.sleep(RESEED_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("预占计数加载被中断", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * 进程内存预占存储
+ * 职责：单实例部署或本地开发时使用，计数按 (仓库, SKU) 加锁更新；进程重启会丢失未回写的操作
+ * 未回写操作数与计数分开保存，计数被丢弃后仍保留，直到对应操作全部回写完成
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "store", havingValue = "memory")
+public class InMemoryReservationStore extends AsyncReservationStore {
+
+    private static final long DEDUPE_PURGE_INTERVAL_MS = 60_000;
+
+    private final InventoryReservationProperties properties;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Long> dedupeExpiresAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> outstanding = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<ReservationOp> pending = new ConcurrentLinkedDeque<>();
+    private volatile long nextDedupePurgeAt;
+
+    public InMemoryReservationStore(InventoryDomainService inventoryDomainService,
+                                    InventoryReservationProperties properties) {
+        super(inventoryDomainService, properties);
+        this.properties = properties;
+    }
+
+    @Override
+    protected Applied apply(ReservationOp op) {
+        String key = ReservationOp.counterKey(op.getSkuId(), op.getWarehouseId());
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            return new Applied(Code.NOT_LOADED, 0, 0, 0);
+        }
+
+        String dedupeKey = op.dedupeKey();
+        long now = System.currentTimeMillis();
+        synchronized (counter) {
+            if (counter.evicted) {
+                return new Applied(Code.NOT_LOADED, 0, 0, 0);
+            }
+            Long expiresAt = dedupeKey != null ? dedupeExpiresAt.get(dedupeKey) : null;
+            if (expiresAt != null && expiresAt > now) {
+                return counter.snapshot(Code.DUPLICATE);
+            }
+
+            int quantity = op.getQuantity();
+            switch (op.getType()) {
+                case RESERVE -> {
+                    if (counter.available < quantity) {
+                        return counter.snapshot(Code.INSUFFICIENT);
+                    }
+                    counter.available -= quantity;
+                    counter.reserved += quantity;
+                }
+                case RELEASE -> {
+                    if (counter.reserved < quantity) {
+                        return counter.snapshot(Code.INSUFFICIENT);
+                    }
+                    counter.reserved -= quantity;
+                    counter.available += quantity;
+                }
+                case CONFIRM -> {
+                    if (counter.reserved < quantity) {
+                        return counter.snapshot(Code.INSUFFICIENT);
+                    }
+                    counter.reserved -= quantity;
+                    counter.total -= quantity;
+                }
+            }
+            if (dedupeKey != null) {
+                dedupeExpiresAt.put(dedupeKey, now + properties.getDedupeRetentionSeconds() * 1000);
+            }
+            outstanding.merge(key, 1L, Long::sum);
+            pending.addLast(op);
+            return counter.snapshot(Code.APPLIED);
+        }
+    }
+
+    @Override
+    protected boolean seed(SkuId skuId, WarehouseId warehouseId, int available, int reserved, int total) {
+        String key = ReservationOp.counterKey(skuId, warehouseId);
+        // 计数不存在时不会有新操作生效，未回写操作数只会减少；compute 内检查保证与并发的加载互斥
+        return counters.compute(key, (k, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return outstanding.containsKey(k) ? null : new Counter(available, reserved, total);
+        }) != null;
+    }
+
+    @Override
+    protected long outstanding(SkuId skuId, WarehouseId warehouseId) {
+        return outstanding.getOrDefault(ReservationOp.counterKey(skuId, warehouseId), 0L);
+    }
+
+    @Override
+    public void acknowledge(ReservationOp op) {
+        outstanding.computeIfPresent(ReservationOp.counterKey(op.getSkuId(), op.getWarehouseId()),
+                (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @Override
+    public List<ReservationOp> drain(int maxOps) {
+        purgeExpiredDedupeKeys();
+        List<ReservationOp> ops = new ArrayList<>(Math.min(maxOps, 1024));
+        ReservationOp op;
+        while (ops.size() < maxOps && (op = pending.pollFirst()) != null) {
+            ops.add(op);
+        }
+        return ops;
+    }
+
+    @Override
+    public void requeue(List<ReservationOp> ops) {
+        for (int i = ops.size() - 1; i >= 0; i--) {
+            pending.addFirst(ops.get(i));
+        }
+    }
+
+    @Override
+    public void applyExternalChange(SkuId skuId, WarehouseId warehouseId, int availableDelta, int totalDelta) {
+        Counter counter = counters.get(ReservationOp.counterKey(skuId, warehouseId));
+        if (counter == null) {
+            return;
+        }
+        synchronized (counter) {
+            counter.available += availableDelta;
+            counter.total += totalDelta;
+        }
+    }
+
+    @Override
+    public void evict(SkuId skuId, WarehouseId warehouseId) {
+        Counter counter = counters.remove(ReservationOp.counterKey(skuId, warehouseId));
+        if (counter != null) {
+            synchronized (counter) {
+                counter.evicted = true;
+            }
+        }
+    }
+
+    private void purgeExpiredDedupeKeys() {
+        long now = System.currentTimeMillis();
+        if (now < nextDedupePurgeAt) {
+            return;
+        }
+        nextDedupePurgeAt = now + DEDUPE_PURGE_INTERVAL_MS;
+        dedupeExpiresAt.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    private static final class Counter {
+        private int available;
+        private int reserved;
+        private int total;
+        private boolean evicted;
+
+        private Counter(int available, int reserved, int total) {
+            this.available = available;
+            this.reserved = reserved;
+            this.total = total;
+        }
+
+        private Applied snapshot(Code code) {
+            return new Applied(code, available, reserved, total);
+        }
+    }
+}
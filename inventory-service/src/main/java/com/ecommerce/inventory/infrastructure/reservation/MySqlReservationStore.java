@@ -0,0 +1,105 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import com.ecommerce.inventory.infrastructure.mapper.ReservationOpMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * MySQL 预占存储（默认实现）
+ * 职责：在同一事务内登记操作键（INSERT IGNORE 去重）并经领域服务更新库存行，计数以库存表为准
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "store", havingValue = "mysql", matchIfMissing = true)
+public class MySqlReservationStore implements ReservationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MySqlReservationStore.class);
+
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    private final InventoryDomainService inventoryDomainService;
+    private final ReservationOpMapper reservationOpMapper;
+    private final InventoryReservationProperties properties;
+
+    public MySqlReservationStore(InventoryDomainService inventoryDomainService,
+                                 ReservationOpMapper reservationOpMapper,
+                                 InventoryReservationProperties properties) {
+        this.inventoryDomainService = inventoryDomainService;
+        this.reservationOpMapper = reservationOpMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public ReservationResult reserve(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                     String referenceId, String operatorId) {
+        return apply(ReservationOp.Type.RESERVE, skuId, warehouseId, referenceId,
+                () -> inventoryDomainService.reserve(skuId, warehouseId, quantity,
+                        "订单预占库存", referenceId, operatorId));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public ReservationResult release(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                     String referenceId, String operatorId) {
+        return apply(ReservationOp.Type.RELEASE, skuId, warehouseId, referenceId,
+                () -> inventoryDomainService.releaseReservation(skuId, warehouseId, quantity,
+                        "订单释放库存", referenceId, operatorId));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public ReservationResult confirm(SkuId skuId, WarehouseId warehouseId, Quantity quantity,
+                                     String referenceId, String operatorId) {
+        return apply(ReservationOp.Type.CONFIRM, skuId, warehouseId, referenceId,
+                () -> inventoryDomainService.confirmReservation(skuId, warehouseId, quantity,
+                        "订单确认消耗库存", referenceId, operatorId));
+    }
+
+    /**
+     * 清理保留期之前的操作键，分批删除避免长事务
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 60_000)
+    public void purgeExpiredOps() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(properties.getDedupeRetentionSeconds());
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = reservationOpMapper.deleteBefore(before, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            logger.info("清理过期预占操作键: {}", purged);
+        }
+    }
+
+    /**
+     * 操作键已存在说明是重复请求，直接返回当前库存；未指定仓库时操作键中以 * 代替
+     */
+    private ReservationResult apply(ReservationOp.Type type, SkuId skuId, WarehouseId warehouseId, String referenceId,
+                                    Supplier<InventoryDomainService.OperationResult> operation) {
+        if (referenceId != null && !referenceId.isEmpty()) {
+            String opKey = type.name() + ":" + (warehouseId != null ? warehouseId.getValue() : "*")
+                    + ":" + skuId.getValue() + ":" + referenceId;
+            if (reservationOpMapper.insertIgnore(opKey) == 0) {
+                return ReservationResult.of(Outcome.DUPLICATE,
+                        inventoryDomainService.loadInventory(skuId, warehouseId), null);
+            }
+        }
+        InventoryDomainService.OperationResult result = operation.get();
+        return ReservationResult.of(Outcome.APPLIED, result.getInventory(), result.getLastEvent());
+    }
+}
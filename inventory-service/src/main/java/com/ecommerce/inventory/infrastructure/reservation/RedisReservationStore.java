@@ -0,0 +1,199 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 预占存储
+ * 职责：每个 (仓库, SKU) 的计数保存在一个 Hash 中（a=可用, r=预留, t=总库存），去重、校验、更新与入队在同一个 Lua 脚本内原子完成
+ * 计数、去重键与未回写操作数使用相同的 hash tag；待回写队列为单个 List，按单节点 Redis 部署设计
+ * 未回写操作数单独保存（不随计数过期），计数被丢弃或过期后，重新加载要等对应操作全部回写完成
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "store", havingValue = "redis")
+public class RedisReservationStore extends AsyncReservationStore {
+
+    private static final String KEY_PREFIX = "inventory:rsv:";
+    private static final String QUEUE_KEY = KEY_PREFIX + "ops";
+
+    /**
+     * 返回 {结果码, 可用, 预留, 总库存}，结果码：1 生效，0 去重命中，-1 数量不足，-2 未加载
+     */
+    private static final DefaultRedisScript<List> APPLY_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return {-2, 0, 0, 0} end\n"
+                    + "local c = redis.call('HMGET', KEYS[1], 'a', 'r', 't')\n"
+                    + "local a, r, t = tonumber(c[1]), tonumber(c[2]), tonumber(c[3])\n"
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[5])\n"
+                    + "if ARGV[6] == '1' and redis.call('EXISTS', KEYS[2]) == 1 then return {0, a, r, t} end\n"
+                    + "local q = tonumber(ARGV[2])\n"
+                    + "if ARGV[1] == 'RESERVE' then\n"
+                    + "  if a < q then return {-1, a, r, t} end\n"
+                    + "  a = a - q; r = r + q\n"
+                    + "elseif ARGV[1] == 'RELEASE' then\n"
+                    + "  if r < q then return {-1, a, r, t} end\n"
+                    + "  r = r - q; a = a + q\n"
+                    + "else\n"
+                    + "  if r < q then return {-1, a, r, t} end\n"
+                    + "  r = r - q; t = t - q\n"
+                    + "end\n"
+                    + "redis.call('HSET', KEYS[1], 'a', a, 'r', r, 't', t)\n"
+                    + "if ARGV[6] == '1' then redis.call('SET', KEYS[2], '1', 'EX', ARGV[4]) end\n"
+                    + "redis.call('RPUSH', KEYS[3], ARGV[3])\n"
+                    + "redis.call('INCR', KEYS[4])\n"
+                    + "return {1, a, r, t}",
+            List.class);
+
+    /**
+     * 返回 1 计数已存在或写入成功，0 仍有未回写的操作、未写入
+     */
+    private static final DefaultRedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then\n"
+                    + "  if tonumber(redis.call('GET', KEYS[2]) or '0') > 0 then return 0 end\n"
+                    + "  redis.call('HSET', KEYS[1], 'a', ARGV[1], 'r', ARGV[2], 't', ARGV[3])\n"
+                    + "end\n"
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[4])\n"
+                    + "return 1",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>(
+            "local n = redis.call('DECR', KEYS[1])\n"
+                    + "if n <= 0 then redis.call('DEL', KEYS[1]) end\n"
+                    + "return n",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> DELTA_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end\n"
+                    + "redis.call('HINCRBY', KEYS[1], 'a', ARGV[1])\n"
+                    + "redis.call('HINCRBY', KEYS[1], 't', ARGV[2])\n"
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 原子地取出队首至多 ARGV[1] 个操作
+     */
+    private static final DefaultRedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "local items = redis.call('LRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1)\n"
+                    + "if #items > 0 then redis.call('LTRIM', KEYS[1], #items, -1) end\n"
+                    + "return items",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final InventoryReservationProperties properties;
+
+    public RedisReservationStore(InventoryDomainService inventoryDomainService,
+                                 StringRedisTemplate redisTemplate,
+                                 InventoryReservationProperties properties) {
+        super(inventoryDomainService, properties);
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    protected Applied apply(ReservationOp op) {
+        String counterKey = counterKey(op.getSkuId(), op.getWarehouseId());
+        boolean dedupe = op.dedupeKey() != null;
+        // 不去重时 KEYS[2] 仅占位，脚本不会访问
+        String dedupeKey = dedupe
+                ? KEY_PREFIX + tag(op.getSkuId(), op.getWarehouseId()) + ":op:" + op.getType().name() + ":" + op.getReferenceId()
+                : counterKey;
+        List<?> reply = redisTemplate.execute(APPLY_SCRIPT,
+                List.of(counterKey, dedupeKey, QUEUE_KEY, outstandingKey(op.getSkuId(), op.getWarehouseId())),
+                op.getType().name(),
+                Integer.toString(op.getQuantity()),
+                op.encode(),
+                Long.toString(properties.getDedupeRetentionSeconds()),
+                Long.toString(properties.getCounterIdleTtlSeconds()),
+                dedupe ? "1" : "0");
+        if (reply == null || reply.size() != 4) {
+            throw new IllegalStateException("预占脚本返回异常: " + reply);
+        }
+
+        Code code = switch (((Number) reply.get(0)).intValue()) {
+            case 1 -> Code.APPLIED;
+            case 0 -> Code.DUPLICATE;
+            case -1 -> Code.INSUFFICIENT;
+            default -> Code.NOT_LOADED;
+        };
+        return new Applied(code, ((Number) reply.get(1)).intValue(), ((Number) reply.get(2)).intValue(),
+                ((Number) reply.get(3)).intValue());
+    }
+
+    @Override
+    protected boolean seed(SkuId skuId, WarehouseId warehouseId, int available, int reserved, int total) {
+        Long seeded = redisTemplate.execute(SEED_SCRIPT,
+                List.of(counterKey(skuId, warehouseId), outstandingKey(skuId, warehouseId)),
+                Integer.toString(available), Integer.toString(reserved), Integer.toString(total),
+                Long.toString(properties.getCounterIdleTtlSeconds()));
+        return seeded != null && seeded == 1L;
+    }
+
+    @Override
+    protected long outstanding(SkuId skuId, WarehouseId warehouseId) {
+        String value = redisTemplate.opsForValue().get(outstandingKey(skuId, warehouseId));
+        return value != null ? Math.max(0, Long.parseLong(value)) : 0;
+    }
+
+    @Override
+    public void acknowledge(ReservationOp op) {
+        redisTemplate.execute(ACK_SCRIPT, List.of(outstandingKey(op.getSkuId(), op.getWarehouseId())));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ReservationOp> drain(int maxOps) {
+        List<String> items = redisTemplate.execute(DRAIN_SCRIPT, List.of(QUEUE_KEY), Integer.toString(maxOps));
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        List<ReservationOp> ops = new ArrayList<>(items.size());
+        for (String item : items) {
+            ops.add(ReservationOp.decode(item));
+        }
+        return ops;
+    }
+
+    @Override
+    public void requeue(List<ReservationOp> ops) {
+        if (ops.isEmpty()) {
+            return;
+        }
+        // LPUSH 逐个压入队首，逆序压入以保持原顺序
+        List<String> encoded = new ArrayList<>(ops.size());
+        for (int i = ops.size() - 1; i >= 0; i--) {
+            encoded.add(ops.get(i).encode());
+        }
+        redisTemplate.opsForList().leftPushAll(QUEUE_KEY, encoded);
+    }
+
+    @Override
+    public void applyExternalChange(SkuId skuId, WarehouseId warehouseId, int availableDelta, int totalDelta) {
+        redisTemplate.execute(DELTA_SCRIPT, List.of(counterKey(skuId, warehouseId)),
+                Integer.toString(availableDelta), Integer.toString(totalDelta));
+    }
+
+    @Override
+    public void evict(SkuId skuId, WarehouseId warehouseId) {
+        redisTemplate.delete(counterKey(skuId, warehouseId));
+    }
+
+    private static String counterKey(SkuId skuId, WarehouseId warehouseId) {
+        return KEY_PREFIX + tag(skuId, warehouseId) + ":counters";
+    }
+
+    private static String outstandingKey(SkuId skuId, WarehouseId warehouseId) {
+        return KEY_PREFIX + tag(skuId, warehouseId) + ":outstanding";
+    }
+
+    private static String tag(SkuId skuId, WarehouseId warehouseId) {
+        return "{" + ReservationOp.counterKey(skuId, warehouseId) + "}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+
+/**
+ * 待回写库存表的预占操作
+ */
+public final class ReservationOp {
+
+    private static final char SEPARATOR = '\u001F';
+
+    /**
+     * 操作类型
+     */
+    public enum Type {
+        RESERVE,
+        RELEASE,
+        CONFIRM
+    }
+
+    private final Type type;
+    private final SkuId skuId;
+    private final WarehouseId warehouseId;
+    private final int quantity;
+    private final String referenceId;
+    private final String operatorId;
+
+    public ReservationOp(Type type, SkuId skuId, WarehouseId warehouseId, int quantity,
+                         String referenceId, String operatorId) {
+        this.type = type;
+        this.skuId = skuId;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.referenceId = referenceId;
+        this.operatorId = operatorId;
+    }
+
+    /**
+     * 计数键：仓库:SKU
+     */
+    public static String counterKey(SkuId skuId, WarehouseId warehouseId) {
+        return warehouseId.getValue() + ":" + skuId.getValue();
+    }
+
+    /**
+     * 去重键：操作类型:仓库:SKU:关联ID，关联ID为空时返回 null（不去重）
+     */
+    public String dedupeKey() {
+        if (referenceId == null || referenceId.isEmpty()) {
+            return null;
+        }
+        return type.name() + ":" + counterKey(skuId, warehouseId) + ":" + referenceId;
+    }
+
+    /**
+     * 编码为单行文本（用于 Redis 队列）
+     */
+    public String encode() {
+        return type.name() + SEPARATOR + warehouseId.getValue() + SEPARATOR + skuId.getValue() + SEPARATOR
+                + quantity + SEPARATOR + nullToEmpty(referenceId) + SEPARATOR + nullToEmpty(operatorId);
+    }
+
+    public static ReservationOp decode(String text) {
+        String[] fields = text.split(String.valueOf(SEPARATOR), -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("无效的预占操作: " + text);
+        }
+        return new ReservationOp(Type.valueOf(fields[0]), SkuId.of(fields[2]), WarehouseId.of(fields[1]),
+                Integer.parseInt(fields[3]), emptyToNull(fields[4]), emptyToNull(fields[5]));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    public Type getType() { return type; }
+    public SkuId getSkuId() { return skuId; }
+    public WarehouseId getWarehouseId() { return warehouseId; }
+    public int getQuantity() { return quantity; }
+    public String getReferenceId() { return referenceId; }
+    public String getOperatorId() { return operatorId; }
+}
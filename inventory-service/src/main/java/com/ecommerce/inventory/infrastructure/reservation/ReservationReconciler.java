@@ -0,0 +1,212 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import com.ecommerce.inventory.infrastructure.entity.ReservationDeadLetterPO;
+import com.ecommerce.inventory.infrastructure.mapper.ReservationDeadLetterMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 预占对账 - 基础设施层
+ * 职责：
+ * 1. 定时取出异步预占存储中已生效的操作，按顺序经领域服务回写库存表（同时产生流水与变更事件）
+ * 2. 监听预占以外的库存变更（入库、出库、冻结、调整），同步到已加载的计数
+ * 3. 回写被库存表拒绝时登记死信并丢弃该 (仓库, SKU) 的计数，下次操作重新加载；数据库不可用时把剩余操作放回队首
+ * 4. 补偿死信：同一关联ID的释放直接抵消未回写的预占；其余死信定时按写入顺序重试回写，
+ *    同一 (仓库, SKU, 关联ID) 前一条失败时本轮跳过后续死信，超过重试上限转为 FAILED 待人工处理
+ * 每个操作在回写、登记死信或被抵消后确认，预占存储据此允许重新加载计数
+ */
+@Component
+@ConditionalOnExpression("'${inventory.reservation.store:mysql}' != 'mysql'")
+public class ReservationReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationReconciler.class);
+
+    private static final int REASON_MAX_LENGTH = 500;
+
+    private final AsyncReservationStore reservationStore;
+    private final InventoryDomainService inventoryDomainService;
+    private final ReservationDeadLetterMapper deadLetterMapper;
+    private final InventoryReservationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReservationReconciler(AsyncReservationStore reservationStore,
+                                 InventoryDomainService inventoryDomainService,
+                                 ReservationDeadLetterMapper deadLetterMapper,
+                                 InventoryReservationProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.reservationStore = reservationStore;
+        this.inventoryDomainService = inventoryDomainService;
+        this.deadLetterMapper = deadLetterMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.reconcile-interval-ms:200}")
+    public void reconcile() {
+        List<ReservationOp> ops = reservationStore.drain(Math.max(1, properties.getReconcileBatchSize()));
+        for (int i = 0; i < ops.size(); i++) {
+            ReservationOp op = ops.get(i);
+            try {
+                writeBackOrDeadLetter(op);
+                reservationStore.acknowledge(op);
+            } catch (RuntimeException e) {
+                logger.warn("预占回写失败，剩余 {} 个操作稍后重试", ops.size() - i, e);
+                reservationStore.requeue(ops.subList(i, ops.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按写入顺序重试待补偿的死信；标记与回写在同一事务内，多实例下同一条死信只补偿一次
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.dead-letter-retry-interval-ms:60000}")
+    public void retryDeadLetters() {
+        List<ReservationDeadLetterPO> deadLetters =
+                deadLetterMapper.findPending(Math.max(1, properties.getReconcileBatchSize()));
+        Set<String> blocked = new HashSet<>();
+        for (ReservationDeadLetterPO deadLetter : deadLetters) {
+            ReservationOp op = toOp(deadLetter);
+            String orderKey = ReservationOp.counterKey(op.getSkuId(), op.getWarehouseId()) + ":" + op.getReferenceId();
+            if (blocked.contains(orderKey)) {
+                continue;
+            }
+            try {
+                Boolean resolved = transactionTemplate.execute(status -> {
+                    if (deadLetterMapper.markIfPending(deadLetter.getId(), "RESOLVED") == 0) {
+                        return false;
+                    }
+                    writeBack(op);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(resolved)) {
+                    logger.info("预占死信补偿成功: id={}, type={}, sku={}, warehouse={}, reference={}",
+                            deadLetter.getId(), op.getType(), op.getSkuId(), op.getWarehouseId(), op.getReferenceId());
+                    reservationStore.evict(op.getSkuId(), op.getWarehouseId());
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                blocked.add(orderKey);
+                deadLetterMapper.recordFailedAttempt(deadLetter.getId(), truncate(e.getMessage()),
+                        properties.getDeadLetterMaxAttempts());
+            } catch (RuntimeException e) {
+                logger.warn("预占死信补偿失败，稍后重试: id={}", deadLetter.getId(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 预占类事件由回写本身产生，计数中已包含，忽略；调拨涉及两个仓库、覆盖写入无法推导增量，直接重新加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        int quantity = event.getQuantity();
+        int totalDelta;
+        switch (event.getOperationType()) {
+            case RESERVE, RELEASE_RESERVATION, CONFIRM_RESERVATION -> {
+                return;
+            }
+            case TRANSFER, OVERWRITE -> {
+                reservationStore.evict(event.getSkuId(), event.getWarehouseId());
+                return;
+            }
+            case STOCK_IN, ADJUST_INCREASE -> totalDelta = quantity;
+            case STOCK_OUT, ADJUST_DECREASE -> totalDelta = -quantity;
+            default -> totalDelta = 0;
+        }
+        try {
+            reservationStore.applyExternalChange(event.getSkuId(), event.getWarehouseId(),
+                    event.getAvailableAfter() - event.getAvailableBefore(), totalDelta);
+        } catch (RuntimeException e) {
+            logger.warn("同步预占计数失败，丢弃计数: sku={}, warehouse={}", event.getSkuId(), event.getWarehouseId(), e);
+            try {
+                reservationStore.evict(event.getSkuId(), event.getWarehouseId());
+            } catch (RuntimeException ignored) {
+                // 计数闲置过期后自然重新加载
+            }
+        }
+    }
+
+    /**
+     * 回写一个操作：释放抵消同一关联ID未回写的预占；对应预占未回写的确认与被拒绝的操作登记死信
+     */
+    private void writeBackOrDeadLetter(ReservationOp op) {
+        String skuId = op.getSkuId().getValue();
+        String warehouseId = op.getWarehouseId().getValue();
+        String referenceId = op.getReferenceId();
+        if (referenceId != null && op.getType() == ReservationOp.Type.RELEASE
+                && deadLetterMapper.compensateReserve(skuId, warehouseId, referenceId, op.getQuantity()) > 0) {
+            logger.info("释放抵消未回写的预占: sku={}, warehouse={}, quantity={}, reference={}",
+                    op.getSkuId(), op.getWarehouseId(), op.getQuantity(), referenceId);
+            // 计数中的释放作用在不含该预占的库存上，丢弃后重新加载
+            reservationStore.evict(op.getSkuId(), op.getWarehouseId());
+            return;
+        }
+        if (referenceId != null && op.getType() == ReservationOp.Type.CONFIRM
+                && deadLetterMapper.countPendingReserve(skuId, warehouseId, referenceId) > 0) {
+            deadLetter(op, "对应的预占尚未回写");
+            return;
+        }
+        try {
+            writeBack(op);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            deadLetter(op, e.getMessage());
+        }
+    }
+
+    private void deadLetter(ReservationOp op, String reason) {
+        ReservationDeadLetterPO deadLetter = new ReservationDeadLetterPO();
+        deadLetter.setOpType(op.getType().name());
+        deadLetter.setSkuId(op.getSkuId().getValue());
+        deadLetter.setWarehouseId(op.getWarehouseId().getValue());
+        deadLetter.setQuantity(op.getQuantity());
+        deadLetter.setReferenceId(op.getReferenceId());
+        deadLetter.setOperatorId(op.getOperatorId());
+        deadLetter.setReason(truncate(reason));
+        deadLetterMapper.insert(deadLetter);
+        logger.error("预占回写被拒绝，登记死信并重新加载计数: type={}, sku={}, warehouse={}, quantity={}, reference={}, reason={}",
+                op.getType(), op.getSkuId(), op.getWarehouseId(), op.getQuantity(), op.getReferenceId(), reason);
+        reservationStore.evict(op.getSkuId(), op.getWarehouseId());
+    }
+
+    private static ReservationOp toOp(ReservationDeadLetterPO deadLetter) {
+        return new ReservationOp(ReservationOp.Type.valueOf(deadLetter.getOpType()), SkuId.of(deadLetter.getSkuId()),
+                WarehouseId.of(deadLetter.getWarehouseId()), deadLetter.getQuantity(), deadLetter.getReferenceId(),
+                deadLetter.getOperatorId());
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null || reason.length() <= REASON_MAX_LENGTH) {
+            return reason;
+        }
+        return reason.substring(0, REASON_MAX_LENGTH);
+    }
+
+    private void writeBack(ReservationOp op) {
+        Quantity quantity = Quantity.of(op.getQuantity());
+        switch (op.getType()) {
+            case RESERVE -> inventoryDomainService.reserve(op.getSkuId(), op.getWarehouseId(), quantity,
+                    "订单预占库存", op.getReferenceId(), op.getOperatorId());
+            case RELEASE -> inventoryDomainService.releaseReservation(op.getSkuId(), op.getWarehouseId(), quantity,
+                    "订单释放库存", op.getReferenceId(), op.getOperatorId());
+            case CONFIRM -> inventoryDomainService.confirmReservation(op.getSkuId(), op.getWarehouseId(), quantity,
+                    "订单确认消耗库存", op.getReferenceId(), op.getOperatorId());
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.ecommerce.inventory.infrastructure.stockcheck;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.entity.InventoryCounters;
+import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryStockCheckProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 批量盘点 - 基础设施层
+ * 职责：接收大批量盘点行（客户端流或CSV文件），与当前库存做排序归并比对，按批次事务调用 Inventory.adjust，并输出差异报告
+ * 流程：
+ * 1. 盘点行校验后进入外部排序，按 (仓库, SKU) 排序，超过分段大小即落盘
+ * 2. 按仓库用键集游标顺序读取活跃库存，与排序后的盘点行归并，内存中只保留一页库存和一个调整批次
+ * 3. 每批调整在一个事务中执行；某条被拒绝导致整批回滚时，该批逐条重试并记录被拒绝的行
+ */
+@Component
+public class BulkStockCheckService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkStockCheckService.class);
+
+    private static final DateTimeFormatter CHECK_ID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String DEFAULT_REASON = "批量盘点";
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryDomainService inventoryDomainService;
+    private final InventoryStockCheckProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkStockCheckService(InventoryRepository inventoryRepository,
+                                 InventoryDomainService inventoryDomainService,
+                                 InventoryStockCheckProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryDomainService = inventoryDomainService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * 开始一次批量盘点，调用方逐行提交后调用 finish；中途放弃时调用 close 清理临时文件
+     */
+    public Session open(String operatorId, String remark, boolean dryRun) {
+        String checkId = "STOCK-CHECK-" + LocalDateTime.now().format(CHECK_ID_TIME) + "-"
+                + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        Path reportPath = Paths.get(properties.getReportDir()).resolve(checkId + ".csv");
+        return new Session(checkId, operatorId, remark != null && !remark.isBlank() ? remark : DEFAULT_REASON,
+                dryRun, reportPath);
+    }
+
+    /**
+     * 导入CSV盘点文件（列：warehouse_code,sku_id,actual_quantity；首行可为表头），文件须位于导入目录内
+     */
+    public StockCheckReport importFile(String filePath, String operatorId, String remark, boolean dryRun) {
+        if (filePath == null || filePath.isBlank()) {
+            throw new IllegalArgumentException("盘点文件路径不能为空");
+        }
+        Path baseDir = Paths.get(properties.getImportDir()).toAbsolutePath().normalize();
+        Path file = baseDir.resolve(filePath).normalize();
+        if (!file.startsWith(baseDir)) {
+            throw new IllegalArgumentException("盘点文件必须位于导入目录内: " + filePath);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("盘点文件不存在: " + filePath);
+        }
+
+        try (Session session = open(operatorId, remark, dryRun);
+             BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                String[] fields = text.split(",", -1);
+                if (lineNumber == 1 && fields.length == 3 && !isNumber(fields[2].trim())) {
+                    continue; // 表头
+                }
+                if (fields.length != 3) {
+                    session.reject(lineNumber, "列数应为3");
+                    continue;
+                }
+                String quantity = fields[2].trim();
+                if (!isNumber(quantity)) {
+                    session.reject(lineNumber, "盘点数量格式错误: " + quantity);
+                    continue;
+                }
+                session.accept(lineNumber, fields[0].trim(), fields[1].trim(), Long.parseLong(quantity));
+            }
+            return session.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取盘点文件失败: " + filePath, e);
+        }
+    }
+
+    private static boolean isNumber(String text) {
+        if (text.isEmpty() || text.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && !(i == 0 && c == '-' && text.length() > 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 一次批量盘点，单线程使用
+     */
+    public final class Session implements Closeable {
+
+        private final String checkId;
+        private final String operatorId;
+        private final String reason;
+        private final boolean dryRun;
+        private final StockCountSorter sorter;
+        private final StockCheckReport report;
+        private long receivedLines;
+        private boolean closed;
+
+        private Session(String checkId, String operatorId, String reason, boolean dryRun, Path reportPath) {
+            this.checkId = checkId;
+            this.operatorId = operatorId;
+            this.reason = reason;
+            this.dryRun = dryRun;
+            this.sorter = new StockCountSorter(properties.getSortRunSize());
+            this.report = new StockCheckReport(reportPath);
+        }
+
+        /**
+         * 按接收顺序编号提交一行
+         */
+        public void accept(String warehouseCode, String skuId, long actualQuantity) {
+            accept(receivedLines + 1, warehouseCode, skuId, actualQuantity);
+        }
+
+        /**
+         * 提交一行，格式错误的行直接写入报告
+         */
+        public void accept(long lineNumber, String warehouseCode, String skuId, long actualQuantity) {
+            checkOpen();
+            receivedLines = Math.max(receivedLines, lineNumber);
+            report.lineReceived();
+            try {
+                WarehouseId.of(warehouseCode);
+                SkuId.of(skuId);
+            } catch (IllegalArgumentException e) {
+                report.record(StockCheckReport.Outcome.INVALID, lineNumber, warehouseCode, skuId, null, null,
+                        e.getMessage());
+                return;
+            }
+            if (actualQuantity < 0 || actualQuantity > InventoryCounters.MAX_QUANTITY) {
+                report.record(StockCheckReport.Outcome.INVALID, lineNumber, warehouseCode, skuId, null, null,
+                        "盘点数量超出范围: " + actualQuantity);
+                return;
+            }
+            sorter.add(new StockCountLine(lineNumber, warehouseCode, skuId, (int) actualQuantity));
+        }
+
+        /**
+         * 记录无法解析的行
+         */
+        public void reject(long lineNumber, String message) {
+            checkOpen();
+            receivedLines = Math.max(receivedLines, lineNumber);
+            report.lineReceived();
+            report.record(StockCheckReport.Outcome.INVALID, lineNumber, null, null, null, null, message);
+        }
+
+        /**
+         * 归并比对并调整库存，返回已关闭的报告
+         */
+        public StockCheckReport finish() {
+            checkOpen();
+            try {
+                merge(sorter.sorted());
+            } finally {
+                close();
+            }
+            logger.info("批量盘点完成: checkId={}, 行数={}, 调整={}, 一致={}, 无库存={}, 未盘={}, 拒绝={}, 无效={}",
+                    checkId, report.getTotalLines(), report.getAdjusted(), report.getUnchanged(),
+                    report.getMissingInventory(), report.getNotCounted(), report.getRejected(),
+                    report.getInvalidLines());
+            return report;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                sorter.close();
+            } finally {
+                report.close();
+            }
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("批量盘点已结束");
+            }
+        }
+
+        private void merge(Iterator<StockCountLine> lines) {
+            List<PendingAdjustment> batch = new ArrayList<>();
+            WarehouseCursor cursor = null;
+            StockCountLine previous = null;
+
+            while (lines.hasNext()) {
+                StockCountLine line = lines.next();
+                if (previous != null && previous.sameKey(line)) {
+                    report.record(StockCheckReport.Outcome.DUPLICATE, line.getLineNumber(), line.getWarehouseId(),
+                            line.getSkuId(), null, line.getQuantity(), "与第" + previous.getLineNumber() + "行重复");
+                    continue;
+                }
+                previous = line;
+
+                if (cursor == null || StockCountKeyOrder.compare(cursor.warehouseId, line.getWarehouseId()) != 0) {
+                    if (cursor != null) {
+                        drainNotCounted(cursor);
+                    }
+                    cursor = new WarehouseCursor(line.getWarehouseId());
+                }
+
+                // 游标中排在当前盘点行之前的库存均未被盘到
+                Inventory inventory = cursor.peek();
+                while (inventory != null
+                        && StockCountKeyOrder.compare(inventory.getSkuId().getValue(), line.getSkuId()) < 0) {
+                    recordNotCounted(cursor.next());
+                    inventory = cursor.peek();
+                }
+                if (inventory == null
+                        || StockCountKeyOrder.compare(inventory.getSkuId().getValue(), line.getSkuId()) != 0) {
+                    report.record(StockCheckReport.Outcome.MISSING_INVENTORY, line.getLineNumber(),
+                            line.getWarehouseId(), line.getSkuId(), null, line.getQuantity(), "无对应活跃库存");
+                    continue;
+                }
+                cursor.next();
+
+                compare(line, inventory, batch);
+                if (batch.size() >= Math.max(1, properties.getBatchSize())) {
+                    flush(batch);
+                }
+            }
+
+            if (cursor != null) {
+                drainNotCounted(cursor);
+            }
+            flush(batch);
+        }
+
+        private void compare(StockCountLine line, Inventory inventory, List<PendingAdjustment> batch) {
+            int systemQuantity = inventory.getTotalQuantityValue();
+            if (line.getQuantity() == systemQuantity) {
+                report.unchanged();
+                return;
+            }
+            int occupied = inventory.getReservedQuantityValue() + inventory.getFrozenQuantityValue();
+            if (line.getQuantity() < occupied) {
+                record(StockCheckReport.Outcome.REJECTED, line, inventory, "盘点数量低于已占用数量" + occupied);
+                return;
+            }
+            if (dryRun) {
+                record(StockCheckReport.Outcome.PENDING, line, inventory, null);
+                return;
+            }
+            batch.add(new PendingAdjustment(line, inventory));
+        }
+
+        private void flush(List<PendingAdjustment> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(this::adjust));
+                for (PendingAdjustment pending : batch) {
+                    record(StockCheckReport.Outcome.ADJUSTED, pending.line, pending.inventory, null);
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // 整批已回滚：逐条重试，找出被拒绝的行
+                logger.warn("批量盘点调整事务回滚，逐条重试: checkId={}, 原因={}", checkId, e.getMessage());
+                for (PendingAdjustment pending : batch) {
+                    try {
+                        adjust(pending);
+                        record(StockCheckReport.Outcome.ADJUSTED, pending.line, pending.inventory, null);
+                    } catch (IllegalArgumentException | IllegalStateException rejected) {
+                        record(StockCheckReport.Outcome.REJECTED, pending.line, pending.inventory,
+                                rejected.getMessage());
+                    }
+                }
+            }
+            batch.clear();
+        }
+
+        private void adjust(PendingAdjustment pending) {
+            inventoryDomainService.adjust(pending.inventory.getSkuId(), pending.inventory.getWarehouseId(),
+                    Quantity.of(pending.line.getQuantity()), reason, checkId, operatorId);
+        }
+
+        private void drainNotCounted(WarehouseCursor cursor) {
+            Inventory inventory;
+            while ((inventory = cursor.next()) != null) {
+                recordNotCounted(inventory);
+            }
+        }
+
+        private void recordNotCounted(Inventory inventory) {
+            report.record(StockCheckReport.Outcome.NOT_COUNTED, null, inventory.getWarehouseId().getValue(),
+                    inventory.getSkuId().getValue(), inventory.getTotalQuantityValue(), null, null);
+        }
+
+        private void record(StockCheckReport.Outcome outcome, StockCountLine line, Inventory inventory, String message) {
+            report.record(outcome, line.getLineNumber(), inventory.getWarehouseId().getValue(),
+                    inventory.getSkuId().getValue(), inventory.getTotalQuantityValue(), line.getQuantity(),
+                    message);
+        }
+    }
+
+    /**
+     * 单个仓库活跃库存的键集游标，按 sku_id 升序，内存中只保留一页
+     */
+    private final class WarehouseCursor {
+
+        private final String warehouseId;
+        private final Deque<Inventory> page = new ArrayDeque<>();
+        private InventoryRepository.InventoryCursor after;
+        private String lastSkuId;
+        private boolean exhausted;
+
+        private WarehouseCursor(String warehouseId) {
+            this.warehouseId = warehouseId;
+        }
+
+        private Inventory peek() {
+            if (page.isEmpty() && !exhausted) {
+                fetch();
+            }
+            return page.peekFirst();
+        }
+
+        private Inventory next() {
+            Inventory inventory = peek();
+            if (inventory != null) {
+                page.pollFirst();
+            }
+            return inventory;
+        }
+
+        private void fetch() {
+            int size = Math.max(1, properties.getCursorPageSize());
+            List<Inventory> inventories = inventoryRepository.findByCriteria(null, WarehouseId.of(warehouseId),
+                    InventoryStatus.ACTIVE, after, size);
+            for (Inventory inventory : inventories) {
+                String skuId = inventory.getSkuId().getValue();
+                if (lastSkuId != null && StockCountKeyOrder.compare(lastSkuId, skuId) >= 0) {
+                    throw new IllegalStateException("库存游标顺序与盘点排序规则不一致: " + lastSkuId + " / " + skuId);
+                }
+                lastSkuId = skuId;
+                page.addLast(inventory);
+            }
+            if (!inventories.isEmpty()) {
+                after = InventoryRepository.InventoryCursor.after(inventories.get(inventories.size() - 1));
+            }
+            exhausted = inventories.size() < size;
+        }
+    }
+
+    private static final class PendingAdjustment {
+        private final StockCountLine line;
+        private final Inventory inventory;
+
+        private PendingAdjustment(StockCountLine line, Inventory inventory) {
+            this.line = line;
+            this.inventory = inventory;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.inventory.infrastructure.stockcheck;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 盘点差异报告
+ * 职责：逐行写出差异与异常行（CSV），并累计各类结果计数；数量一致的库存只计数不写出
+ */
+public final class StockCheckReport implements Closeable {
+
+    /**
+     * 报告行结果类型
+     */
+    public enum Outcome {
+        ADJUSTED,            // 已调整
+        PENDING,             // 试运行：待调整
+        MISSING_INVENTORY,   // 无对应活跃库存
+        NOT_COUNTED,         // 已盘仓库中未盘到
+        REJECTED,            // 调整被拒绝
+        INVALID,             // 格式错误
+        DUPLICATE            // 同一仓库SKU重复出现，以首行为准
+    }
+
+    private final Path path;
+    private final BufferedWriter writer;
+
+    private long totalLines;
+    private long matched;
+    private long adjusted;
+    private long unchanged;
+    private long missingInventory;
+    private long notCounted;
+    private long rejected;
+    private long invalidLines;
+
+    StockCheckReport(Path path) {
+        this.path = path;
+        try {
+            Files.createDirectories(path.getParent());
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            writer.write("line_number,warehouse_code,sku_id,system_quantity,counted_quantity,difference,outcome,message");
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("创建盘点报告失败: " + path, e);
+        }
+    }
+
+    void lineReceived() {
+        totalLines++;
+    }
+
+    void unchanged() {
+        matched++;
+        unchanged++;
+    }
+
+    /**
+     * 记录一条差异，lineNumber、数量未知时传 null
+     */
+    void record(Outcome outcome, Long lineNumber, String warehouseId, String skuId,
+                Integer systemQuantity, Integer countedQuantity, String message) {
+        switch (outcome) {
+            case ADJUSTED, PENDING -> {
+                matched++;
+                adjusted++;
+            }
+            case REJECTED -> {
+                matched++;
+                rejected++;
+            }
+            case MISSING_INVENTORY -> missingInventory++;
+            case NOT_COUNTED -> notCounted++;
+            case INVALID, DUPLICATE -> invalidLines++;
+        }
+
+        Integer difference = systemQuantity != null && countedQuantity != null ? countedQuantity - systemQuantity : null;
+        try {
+            writer.write(String.join(",", text(lineNumber), text(warehouseId), text(skuId), text(systemQuantity),
+                    text(countedQuantity), text(difference), outcome.name(), text(message)));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入盘点报告失败: " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入盘点报告失败: " + path, e);
+        }
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    public Path getPath() { return path; }
+    public long getTotalLines() { return totalLines; }
+    public long getMatched() { return matched; }
+    public long getAdjusted() { return adjusted; }
+    public long getUnchanged() { return unchanged; }
+    public long getMissingInventory() { return missingInventory; }
+    public long getNotCounted() { return notCounted; }
+    public long getRejected() { return rejected; }
+    public long getInvalidLines() { return invalidLines; }
+}
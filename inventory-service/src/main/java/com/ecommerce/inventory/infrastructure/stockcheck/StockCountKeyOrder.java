@@ -0,0 +1,42 @@
+package com.ecommerce.inventory.infrastructure.stockcheck;
+
+/**
+ * 仓库、SKU 编码的比较规则
+ * 与 inventory 表 utf8mb4_unicode_ci 排序规则在编码字符集 [a-zA-Z0-9_-] 上保持一致：
+ * 不区分大小写，下划线 < 连字符 < 数字 < 字母。排序归并依赖数据库游标顺序与本规则相同
+ */
+final class StockCountKeyOrder {
+
+    private StockCountKeyOrder() {
+    }
+
+    static int compare(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            int result = Integer.compare(weight(a.charAt(i)), weight(b.charAt(i)));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(a.length(), b.length());
+    }
+
+    private static int weight(char c) {
+        if (c == '_') {
+            return 0;
+        }
+        if (c == '-') {
+            return 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return 2 + (c - '0');
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 12 + (c - 'a');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 12 + (c - 'A');
+        }
+        return 64 + c;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.inventory.infrastructure.stockcheck;
+
+/**
+ * 盘点行：来源行号、仓库、SKU、实盘数量
+ */
+final class StockCountLine {
+
+    private final long lineNumber;
+    private final String warehouseId;
+    private final String skuId;
+    private final int quantity;
+
+    StockCountLine(long lineNumber, String warehouseId, String skuId, int quantity) {
+        this.lineNumber = lineNumber;
+        this.warehouseId = warehouseId;
+        this.skuId = skuId;
+        this.quantity = quantity;
+    }
+
+    long getLineNumber() { return lineNumber; }
+    String getWarehouseId() { return warehouseId; }
+    String getSkuId() { return skuId; }
+    int getQuantity() { return quantity; }
+
+    /**
+     * 按 (仓库, SKU) 排序，同一键按来源行号排序
+     */
+    static int compare(StockCountLine a, StockCountLine b) {
+        int result = StockCountKeyOrder.compare(a.warehouseId, b.warehouseId);
+        if (result == 0) {
+            result = StockCountKeyOrder.compare(a.skuId, b.skuId);
+        }
+        return result != 0 ? result : Long.compare(a.lineNumber, b.lineNumber);
+    }
+
+    boolean sameKey(StockCountLine other) {
+        return StockCountKeyOrder.compare(warehouseId, other.warehouseId) == 0
+                && StockCountKeyOrder.compare(skuId, other.skuId) == 0;
+    }
+}
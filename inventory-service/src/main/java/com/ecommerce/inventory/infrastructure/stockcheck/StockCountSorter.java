@@ -0,0 +1,168 @@
+package com.ecommerce.inventory.infrastructure.stockcheck;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 盘点行外部排序
+ * 职责：内存中最多保留 runSize 行，超出后排序落盘为分段文件，读取时多路归并，内存占用与总行数无关
+ * 单线程使用；close 删除全部分段文件
+ */
+final class StockCountSorter implements Closeable {
+
+    private final int runSize;
+    private final List<StockCountLine> buffer;
+    private final List<Path> runs = new ArrayList<>();
+    private final List<BufferedReader> readers = new ArrayList<>();
+    private long size;
+
+    StockCountSorter(int runSize) {
+        this.runSize = Math.max(1, runSize);
+        this.buffer = new ArrayList<>(Math.min(this.runSize, 8192));
+    }
+
+    void add(StockCountLine line) {
+        buffer.add(line);
+        size++;
+        if (buffer.size() >= runSize) {
+            spill();
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * 按 (仓库, SKU, 行号) 顺序返回全部行，只能调用一次
+     */
+    Iterator<StockCountLine> sorted() {
+        buffer.sort(StockCountLine::compare);
+        if (runs.isEmpty()) {
+            return buffer.iterator();
+        }
+        if (!buffer.isEmpty()) {
+            spill();
+        }
+        return new MergeIterator();
+    }
+
+    @Override
+    public void close() {
+        for (BufferedReader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // 分段文件随后删除
+            }
+        }
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException ignored) {
+                // 临时目录由系统清理
+            }
+        }
+        buffer.clear();
+    }
+
+    private void spill() {
+        buffer.sort(StockCountLine::compare);
+        try {
+            Path run = Files.createTempFile("stock-check-run-", ".tsv");
+            runs.add(run);
+            try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+                for (StockCountLine line : buffer) {
+                    writer.write(Long.toString(line.getLineNumber()));
+                    writer.write('\t');
+                    writer.write(line.getWarehouseId());
+                    writer.write('\t');
+                    writer.write(line.getSkuId());
+                    writer.write('\t');
+                    writer.write(Integer.toString(line.getQuantity()));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("盘点数据落盘失败", e);
+        }
+        buffer.clear();
+    }
+
+    private static StockCountLine readLine(BufferedReader reader) throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        String[] fields = text.split("\t", 4);
+        return new StockCountLine(Long.parseLong(fields[0]), fields[1], fields[2], Integer.parseInt(fields[3]));
+    }
+
+    /**
+     * 多路归并：每个分段只在内存中保留当前一行
+     */
+    private final class MergeIterator implements Iterator<StockCountLine> {
+
+        private final PriorityQueue<RunHead> heads = new PriorityQueue<>((a, b) -> StockCountLine.compare(a.line, b.line));
+
+        private MergeIterator() {
+            try {
+                for (Path run : runs) {
+                    BufferedReader reader = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+                    readers.add(reader);
+                    StockCountLine first = readLine(reader);
+                    if (first != null) {
+                        heads.add(new RunHead(reader, first));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取盘点分段失败", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public StockCountLine next() {
+            RunHead head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            StockCountLine line = head.line;
+            try {
+                StockCountLine following = readLine(head.reader);
+                if (following != null) {
+                    head.line = following;
+                    heads.add(head);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取盘点分段失败", e);
+            }
+            return line;
+        }
+    }
+
+    private static final class RunHead {
+        private final BufferedReader reader;
+        private StockCountLine line;
+
+        private RunHead(BufferedReader reader, StockCountLine line) {
+            this.reader = reader;
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.ecommerce.inventory.infrastructure.tracking;
+
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
+import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.event.LowStockAlert;
+import com.ecommerce.inventory.domain.event.LowStockAlertListener;
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryTrackingProperties;
+import com.ecommerce.inventory.infrastructure.entity.InventoryDemandPO;
+import com.ecommerce.inventory.infrastructure.entity.InventoryPO;
+import com.ecommerce.inventory.infrastructure.mapper.InventoryPlusMapper;
+import com.ecommerce.inventory.infrastructure.mapper.StockRecordMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 库存水位跟踪器 - 基础设施层
+ * 职责：在内存中增量维护低于安全库存集合、冻结库存集合和按可售天数排序的补货队列，
+ *      使低库存/补货/冻结查询只与结果数量相关，无需全表扫描
+ * 维护方式：
+ * 1. 只跟踪阈值附近的库存：低于安全库存、有冻结库存、总库存低于安全库存的 (1 + 余量) 倍、
+ *    或可售天数低于补货提前期的 (1 + 余量) 倍；远离阈值的库存不占内存
+ * 2. 库存事务提交后按变更事件增量更新，每次 O(log n)；进入跟踪区间的库存加入，离开的移除
+ * 3. 定时全量校准：流式扫描数据库和近期出库流水修正漂移；校准期间被事件更新过的库存保留事件值
+ * 4. 未跟踪库存的出库速度不在内存中，仅因出库速度上升进入补货区间的库存最迟在下次校准时纳入
+ * 5. 首次校准在启动后异步执行，完成前 isReady() 为 false，调用方应回退到SQL查询
+ */
+@Component
+public class StockLevelTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLevelTracker.class);
+
+    private static final Comparator<TrackedInventory> BY_DAYS_OF_COVER = Comparator
+            .comparingDouble(TrackedInventory::daysOfCover)
+            .thenComparing(t -> t.inventoryId);
+
+    private final InventoryPlusMapper inventoryPlusMapper;
+    private final StockRecordMapper stockRecordMapper;
+    private final InventoryTrackingProperties properties;
+    private final List<LowStockAlertListener> alertListeners;
+    private final TransactionTemplate scanTemplate;
+
+    // 以下状态均由 this 锁保护
+    private final Map<String, TrackedInventory> tracked = new HashMap<>();
+    // 校准期间被事件更新、之后不在跟踪中的库存，校准时不再用更旧的数据库快照加入
+    private final Set<String> untrackedTouches = new HashSet<>();
+    private final Map<String, Set<String>> belowSafetyByWarehouse = new HashMap<>();
+    private final Set<String> frozen = new LinkedHashSet<>();
+    private final Map<String, TreeSet<TrackedInventory>> coverQueueByWarehouse = new HashMap<>();
+    private long touchSequence;
+    private long reconcileRound;
+    private boolean reconciling;
+
+    private final AtomicBoolean reconcileRunning = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public StockLevelTracker(InventoryPlusMapper inventoryPlusMapper,
+                             StockRecordMapper stockRecordMapper,
+                             InventoryTrackingProperties properties,
+                             List<LowStockAlertListener> alertListeners,
+                             PlatformTransactionManager transactionManager) {
+        this.inventoryPlusMapper = inventoryPlusMapper;
+        this.stockRecordMapper = stockRecordMapper;
+        this.properties = properties;
+        this.alertListeners = alertListeners;
+        this.scanTemplate = new TransactionTemplate(transactionManager);
+        this.scanTemplate.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 低于安全库存的库存ID
+     */
+    public synchronized List<String> belowSafetyStockIds() {
+        List<String> ids = new ArrayList<>();
+        for (Set<String> warehouseIds : belowSafetyByWarehouse.values()) {
+            ids.addAll(warehouseIds);
+        }
+        return ids;
+    }
+
+    /**
+     * 有冻结库存的库存ID
+     */
+    public synchronized List<String> frozenIds() {
+        return new ArrayList<>(frozen);
+    }
+
+    /**
+     * 需要补货的库存ID：低于安全库存或可售天数低于补货提前期，按可售天数升序
+     * @param warehouseCode 仓库编码，null 表示全部仓库
+     */
+    public synchronized List<String> needingReplenishmentIds(String warehouseCode) {
+        List<TrackedInventory> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String warehouse : warehouseCode != null ? List.of(warehouseCode) : coverQueueByWarehouse.keySet()) {
+            TreeSet<TrackedInventory> queue = coverQueueByWarehouse.get(warehouse);
+            if (queue == null) {
+                continue;
+            }
+            for (TrackedInventory t : queue) {
+                if (t.daysOfCover() >= properties.getReplenishmentLeadDays()) {
+                    break;
+                }
+                candidates.add(t);
+                seen.add(t.inventoryId);
+            }
+        }
+        for (String warehouse : warehouseCode != null ? List.of(warehouseCode) : belowSafetyByWarehouse.keySet()) {
+            for (String id : belowSafetyByWarehouse.getOrDefault(warehouse, Set.of())) {
+                if (seen.add(id)) {
+                    candidates.add(tracked.get(id));
+                }
+            }
+        }
+
+        candidates.sort(BY_DAYS_OF_COVER);
+        List<String> ids = new ArrayList<>(candidates.size());
+        for (TrackedInventory t : candidates) {
+            ids.add(t.inventoryId);
+        }
+        return ids;
+    }
+
+    /**
+     * 库存事务提交后增量更新
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        LowStockAlert alert;
+        synchronized (this) {
+            String inventoryId = event.getInventoryId().getValue();
+            TrackedInventory t = tracked.get(inventoryId);
+            boolean existed = t != null;
+            if (t == null) {
+                t = new TrackedInventory(inventoryId, event.getSkuId().getValue(), event.getWarehouseId().getValue());
+            } else {
+                detach(t);
+            }
+
+            // 未跟踪的库存不可能低于安全库存
+            boolean wasBelow = existed && t.isBelowSafety();
+            t.available = event.getAvailableAfter();
+            t.total = event.getTotalQuantity();
+            t.safetyStock = event.getSafetyStockQuantity();
+            t.frozenQuantity = event.getFrozenQuantity();
+            if (isOutbound(event.getOperationType())) {
+                t.dailyDemand += (double) event.getQuantity() / properties.getDemandWindowDays();
+            }
+            t.touchedAt = ++touchSequence;
+            if (isNearThreshold(t)) {
+                tracked.put(inventoryId, t);
+                attach(t);
+            } else {
+                tracked.remove(inventoryId);
+                if (reconciling) {
+                    untrackedTouches.add(inventoryId);
+                }
+            }
+
+            alert = transitionAlert(t, wasBelow, event.getOccurredAt());
+        }
+        fire(alert);
+    }
+
+    /**
+     * 首次校准在后台线程执行，不阻塞启动；完成前查询回退到SQL
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread thread = new Thread(this::reconcile, "inventory-tracking-reconcile");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 全量校准：以数据库当前库存和统计窗口内的出库流水重建索引
+     */
+    @Scheduled(fixedDelayString = "${inventory.tracking.reconcile-interval-ms:600000}",
+               initialDelayString = "${inventory.tracking.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!reconcileRunning.compareAndSet(false, true)) {
+            logger.info("上一次库存水位校准尚未结束，跳过本次");
+            return;
+        }
+        long startedAt;
+        long round;
+        synchronized (this) {
+            startedAt = touchSequence;
+            round = ++reconcileRound;
+            reconciling = true;
+            untrackedTouches.clear();
+        }
+
+        try {
+            Map<String, Double> dailyDemand = loadDailyDemand();
+            List<LowStockAlert> alerts = new ArrayList<>();
+            long[] scanned = {0};
+            int[] corrected = {0};
+            LocalDateTime now = LocalDateTime.now();
+
+            // 流式扫描活跃库存，逐行短暂持锁，只保留阈值附近的库存
+            scanTemplate.executeWithoutResult(status -> {
+                try (Cursor<InventoryPO> cursor = inventoryPlusMapper.scan(null, InventoryStatus.ACTIVE.name())) {
+                    for (InventoryPO row : cursor) {
+                        scanned[0]++;
+                        synchronized (this) {
+                            if (applySnapshot(row, dailyDemand.getOrDefault(row.getInventoryId(), 0.0),
+                                    startedAt, round, now, alerts)) {
+                                corrected[0]++;
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            int trackedCount;
+            synchronized (this) {
+                // 本轮扫描未出现（已不存在或已停用）、且校准期间没有事件的条目
+                Iterator<TrackedInventory> iterator = tracked.values().iterator();
+                while (iterator.hasNext()) {
+                    TrackedInventory t = iterator.next();
+                    if (t.reconciledRound != round && t.touchedAt <= startedAt) {
+                        detach(t);
+                        iterator.remove();
+                        corrected[0]++;
+                    }
+                }
+                trackedCount = tracked.size();
+                ready = true;
+            }
+
+            alerts.forEach(this::fire);
+            logger.info("库存水位全量校准完成: 扫描库存数={}, 跟踪库存数={}, 修正条目数={}",
+                    scanned[0], trackedCount, corrected[0]);
+        } catch (RuntimeException e) {
+            logger.error("库存水位全量校准失败", e);
+        } finally {
+            synchronized (this) {
+                reconciling = false;
+                untrackedTouches.clear();
+            }
+            reconcileRunning.set(false);
+        }
+    }
+
+    /**
+     * 用数据库快照更新条目，返回是否修正了集合归属
+     */
+    private boolean applySnapshot(InventoryPO row, double demand, long startedAt, long round, LocalDateTime now,
+                                  List<LowStockAlert> alerts) {
+        TrackedInventory t = tracked.get(row.getInventoryId());
+        if ((t != null && t.touchedAt > startedAt) || (t == null && untrackedTouches.contains(row.getInventoryId()))) {
+            // 校准期间已有更新的事件，数据库快照可能更旧
+            if (t != null) {
+                t.reconciledRound = round;
+            }
+            return false;
+        }
+
+        boolean existed = t != null;
+        if (t == null) {
+            t = new TrackedInventory(row.getInventoryId(), row.getSkuId(), row.getWarehouseId());
+        } else {
+            detach(t);
+        }
+
+        boolean wasBelow = existed && t.isBelowSafety();
+        boolean wasFrozen = existed && t.frozenQuantity > 0;
+        t.available = valueOf(row.getAvailableQuantity());
+        t.total = valueOf(row.getTotalQuantity());
+        t.safetyStock = valueOf(row.getSafetyStockQuantity());
+        t.frozenQuantity = valueOf(row.getFrozenQuantity());
+        t.dailyDemand = demand;
+        t.reconciledRound = round;
+        if (isNearThreshold(t)) {
+            tracked.put(t.inventoryId, t);
+            attach(t);
+        } else if (existed) {
+            tracked.remove(t.inventoryId);
+        }
+
+        LowStockAlert alert = transitionAlert(t, wasBelow, now);
+        if (alert != null) {
+            alerts.add(alert);
+        }
+        return existed && (wasBelow != t.isBelowSafety() || wasFrozen != (t.frozenQuantity > 0));
+    }
+
+    /**
+     * 是否处于跟踪区间：已越过或接近安全库存、补货阈值，或有冻结库存
+     */
+    private boolean isNearThreshold(TrackedInventory t) {
+        double margin = 1 + properties.getTrackingMargin();
+        return t.frozenQuantity > 0
+                || t.total < t.safetyStock * margin
+                || t.daysOfCover() < properties.getReplenishmentLeadDays() * margin;
+    }
+
+    private Map<String, Double> loadDailyDemand() {
+        int windowDays = properties.getDemandWindowDays();
+        Map<String, Double> dailyDemand = new HashMap<>();
+        for (InventoryDemandPO demand : stockRecordMapper.sumOutboundSince(LocalDateTime.now().minusDays(windowDays))) {
+            long outbound = demand.getOutboundQuantity() != null ? demand.getOutboundQuantity() : 0L;
+            dailyDemand.put(demand.getInventoryId(), (double) outbound / windowDays);
+        }
+        return dailyDemand;
+    }
+
+    private void detach(TrackedInventory t) {
+        Set<String> below = belowSafetyByWarehouse.get(t.warehouseCode);
+        if (below != null) {
+            below.remove(t.inventoryId);
+            if (below.isEmpty()) {
+                belowSafetyByWarehouse.remove(t.warehouseCode);
+            }
+        }
+        frozen.remove(t.inventoryId);
+        TreeSet<TrackedInventory> queue = coverQueueByWarehouse.get(t.warehouseCode);
+        if (queue != null) {
+            queue.remove(t);
+            if (queue.isEmpty()) {
+                coverQueueByWarehouse.remove(t.warehouseCode);
+            }
+        }
+    }
+
+    private void attach(TrackedInventory t) {
+        if (t.isBelowSafety()) {
+            belowSafetyByWarehouse.computeIfAbsent(t.warehouseCode, k -> new LinkedHashSet<>()).add(t.inventoryId);
+        }
+        if (t.frozenQuantity > 0) {
+            frozen.add(t.inventoryId);
+        }
+        // 没有出库的库存可售天数为无穷大，不进入补货队列
+        if (t.dailyDemand > 0) {
+            coverQueueByWarehouse.computeIfAbsent(t.warehouseCode, k -> new TreeSet<>(BY_DAYS_OF_COVER)).add(t);
+        }
+    }
+
+    private LowStockAlert transitionAlert(TrackedInventory t, boolean wasBelow, LocalDateTime occurredAt) {
+        boolean below = t.isBelowSafety();
+        if (below == wasBelow) {
+            return null;
+        }
+        return new LowStockAlert(InventoryId.of(t.inventoryId), SkuId.of(t.skuId), WarehouseId.of(t.warehouseCode),
+                t.available, t.safetyStock, t.daysOfCover(), !below, occurredAt);
+    }
+
+    private void fire(LowStockAlert alert) {
+        if (alert == null) {
+            return;
+        }
+        for (LowStockAlertListener listener : alertListeners) {
+            try {
+                listener.onAlert(alert);
+            } catch (RuntimeException e) {
+                logger.warn("低库存告警监听器执行失败: {}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private boolean isOutbound(InventoryOperationType operationType) {
+        return operationType == InventoryOperationType.STOCK_OUT
+                || operationType == InventoryOperationType.CONFIRM_RESERVATION;
+    }
+
+    private int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * 跟踪条目：字段变更前必须先从索引中摘除，变更后再挂回
+     */
+    private static final class TrackedInventory {
+        private final String inventoryId;
+        private final String skuId;
+        private final String warehouseCode;
+        private int available;
+        private int total;
+        private int safetyStock;
+        private int frozenQuantity;
+        private double dailyDemand;
+        private long touchedAt;
+        private long reconciledRound;
+
+        private TrackedInventory(String inventoryId, String skuId, String warehouseCode) {
+            this.inventoryId = inventoryId;
+            this.skuId = skuId;
+            this.warehouseCode = warehouseCode;
+        }
+
+        /**
+         * 与 Inventory.isBelowSafetyStock 一致：总库存低于安全库存
+         */
+        private boolean isBelowSafety() {
+            return total < safetyStock;
+        }
+
+        private double daysOfCover() {
+            return dailyDemand > 0 ? available / dailyDemand : Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -1,27 +1,232 @@
 package com.ecommerce.inventory.interfaces.converter;
 
+import com.ecommerce.inventory.domain.entity.InventoryOperationType;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.repository.StockRecordRepository;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.infrastructure.stockcheck.StockCheckReport;
 import com.ecommerce.inventory.proto.InventoryServiceProto.*;
 import com.ecommerce.common.proto.CommonProto;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
 /**
- * 库存Proto转换器 - 最小可编译版本
- * 暂时提供基础的转换功能
+ * 库存Proto转换器 - 接口层
+ * 职责：领域对象与gRPC Proto消息之间的转换
  */
 @Component
 public class InventoryProtoConverter {
-    
+
+    public Inventory toProtoInventory(com.ecommerce.inventory.domain.entity.Inventory inventory) {
+        int available = inventory.getAvailableQuantityValue();
+        return Inventory.newBuilder()
+                .setSkuId(inventory.getSkuId().getValue())
+                .setWarehouseCode(inventory.getWarehouseId().getValue())
+                .setAvailableQuantity(available)
+                .setReservedQuantity(inventory.getReservedQuantityValue())
+                .setTotalQuantity(inventory.getTotalQuantityValue())
+                .setSafeStock(inventory.getSafetyStockQuantity().getValue())
+                .setStockLevel(toStockLevel(available))
+                .setCreatedAt(toProtoTimestamp(inventory.getCreatedAt()))
+                .setUpdatedAt(toProtoTimestamp(inventory.getUpdatedAt()))
+                .build();
+    }
+
+    /**
+     * 预占结果：异步回写的存储没有库存聚合，只返回计数
+     */
+    public Inventory toProtoInventory(ReservationStore.ReservationResult result) {
+        if (result.getInventory() != null) {
+            return toProtoInventory(result.getInventory());
+        }
+        return Inventory.newBuilder()
+                .setSkuId(result.getSkuId().getValue())
+                .setWarehouseCode(result.getWarehouseId().getValue())
+                .setAvailableQuantity(result.getAvailableQuantity())
+                .setReservedQuantity(result.getReservedQuantity())
+                .setTotalQuantity(result.getTotalQuantity())
+                .setStockLevel(toStockLevel(result.getAvailableQuantity()))
+                .build();
+    }
+
+    public StockRecord toProtoStockRecord(InventoryChangedEvent event) {
+        StockRecord.Builder builder = StockRecord.newBuilder()
+                .setRecordId(event.getEventId())
+                .setSkuId(event.getSkuId().getValue())
+                .setChangeType(toProtoChangeType(event.getOperationType()))
+                .setChangeQuantity(event.getSignedQuantity())
+                .setBeforeQuantity(event.getAvailableBefore())
+                .setAfterQuantity(event.getAvailableAfter())
+                .setWarehouseCode(event.getWarehouseId().getValue())
+                .setCreatedAt(toProtoTimestamp(event.getOccurredAt()));
+        if (event.getReason() != null) builder.setReason(event.getReason());
+        if (event.getReferenceId() != null) builder.setReferenceId(event.getReferenceId());
+        if (event.getOperatorId() != null) builder.setOperatorId(event.getOperatorId());
+        return builder.build();
+    }
+
+    public StockRecord toProtoStockRecord(com.ecommerce.inventory.domain.entity.StockRecord record) {
+        StockRecord.Builder builder = StockRecord.newBuilder()
+                .setRecordId(record.getRecordId())
+                .setSkuId(record.getSkuId().getValue())
+                .setChangeType(toProtoChangeType(record.getOperationType()))
+                .setChangeQuantity(record.getChangeQuantity())
+                .setBeforeQuantity(record.getBeforeQuantity())
+                .setAfterQuantity(record.getAfterQuantity())
+                .setWarehouseCode(record.getWarehouseId().getValue())
+                .setCreatedAt(toProtoTimestamp(record.getCreatedAt()));
+        if (record.getReason() != null) builder.setReason(record.getReason());
+        if (record.getReferenceId() != null) builder.setReferenceId(record.getReferenceId());
+        if (record.getOperatorId() != null) builder.setOperatorId(record.getOperatorId());
+        return builder.build();
+    }
+
+    public InventoryChange toInventoryChange(InventoryChangedEvent event) {
+        return InventoryChange.newBuilder()
+                .setSkuId(event.getSkuId().getValue())
+                .setWarehouseCode(event.getWarehouseId().getValue())
+                .setAvailableQuantity(event.getAvailableAfter())
+                .setStockLevel(toStockLevel(event.getAvailableAfter()))
+                .setChangedAt(toProtoTimestamp(event.getOccurredAt()))
+                .build();
+    }
+
+    /**
+     * 订阅时推送的库存快照
+     */
+    public InventoryChange toInventorySnapshot(com.ecommerce.inventory.domain.entity.Inventory inventory) {
+        int available = inventory.getAvailableQuantityValue();
+        return InventoryChange.newBuilder()
+                .setSkuId(inventory.getSkuId().getValue())
+                .setWarehouseCode(inventory.getWarehouseId().getValue())
+                .setAvailableQuantity(available)
+                .setStockLevel(toStockLevel(available))
+                .setSnapshot(true)
+                .setChangedAt(toProtoTimestamp(inventory.getUpdatedAt()))
+                .build();
+    }
+
+    public BulkStockCheckResponse toBulkStockCheckResponse(StockCheckReport report) {
+        return BulkStockCheckResponse.newBuilder()
+                .setTotalLines(report.getTotalLines())
+                .setMatched(report.getMatched())
+                .setAdjusted(report.getAdjusted())
+                .setUnchanged(report.getUnchanged())
+                .setMissingInventory(report.getMissingInventory())
+                .setNotCounted(report.getNotCounted())
+                .setRejected(report.getRejected())
+                .setInvalidLines(report.getInvalidLines())
+                .setReportPath(report.getPath().toString())
+                .setStatus(createSuccessStatus())
+                .build();
+    }
+
+    /**
+     * 库存级别：按可用库存划分
+     */
+    public StockLevel toStockLevel(long available) {
+        if (available <= 0) {
+            return StockLevel.OUT_OF_STOCK;
+        } else if (available <= 10) {
+            return StockLevel.VERY_LOW;
+        } else if (available <= 50) {
+            return StockLevel.LOW;
+        } else if (available <= 100) {
+            return StockLevel.SUFFICIENT;
+        }
+        return StockLevel.ABUNDANT;
+    }
+
+    public StockChangeType toProtoChangeType(InventoryOperationType operationType) {
+        return switch (operationType) {
+            case STOCK_IN -> StockChangeType.STOCK_IN;
+            case STOCK_OUT -> StockChangeType.STOCK_OUT;
+            case RESERVE -> StockChangeType.STOCK_RESERVE;
+            case RELEASE_RESERVATION -> StockChangeType.STOCK_RELEASE;
+            case CONFIRM_RESERVATION -> StockChangeType.STOCK_CONFIRM;
+            case FREEZE, UNFREEZE, ADJUST_INCREASE, ADJUST_DECREASE, TRANSFER, OVERWRITE -> StockChangeType.STOCK_ADJUST;
+        };
+    }
+
+    /**
+     * Proto变更类型对应的领域操作类型（一对多）
+     */
+    public List<InventoryOperationType> fromProtoChangeType(StockChangeType changeType) {
+        return switch (changeType) {
+            case STOCK_IN -> List.of(InventoryOperationType.STOCK_IN);
+            case STOCK_OUT -> List.of(InventoryOperationType.STOCK_OUT);
+            case STOCK_RESERVE -> List.of(InventoryOperationType.RESERVE);
+            case STOCK_RELEASE -> List.of(InventoryOperationType.RELEASE_RESERVATION);
+            case STOCK_CONFIRM -> List.of(InventoryOperationType.CONFIRM_RESERVATION);
+            case STOCK_ADJUST, STOCK_CHECK -> List.of(InventoryOperationType.FREEZE, InventoryOperationType.UNFREEZE,
+                    InventoryOperationType.ADJUST_INCREASE, InventoryOperationType.ADJUST_DECREASE,
+                    InventoryOperationType.TRANSFER, InventoryOperationType.OVERWRITE);
+            default -> List.of();
+        };
+    }
+
+    /**
+     * 编码键集分页令牌：base64url("createdAtMillis:sequence")
+     */
+    public String encodePageToken(StockRecordRepository.RecordCursor cursor) {
+        String raw = cursor.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + cursor.getSequence();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码键集分页令牌，空令牌返回 null
+     */
+    public StockRecordRepository.RecordCursor decodePageToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long millis = Long.parseLong(raw.substring(0, separator));
+            return new StockRecordRepository.RecordCursor(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页令牌: " + token);
+        }
+    }
+
+    public CommonProto.Timestamp toProtoTimestamp(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return CommonProto.Timestamp.newBuilder().build();
+        }
+        return CommonProto.Timestamp.newBuilder()
+                .setSeconds(dateTime.toEpochSecond(ZoneOffset.UTC))
+                .setNanos(dateTime.getNano())
+                .build();
+    }
+
+    public LocalDateTime toLocalDateTime(CommonProto.Timestamp timestamp) {
+        if (timestamp.getSeconds() == 0 && timestamp.getNanos() == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+    }
+
     public CommonProto.ResponseStatus createSuccessStatus() {
         return CommonProto.ResponseStatus.newBuilder()
                 .setCode(200)
                 .setMessage("SUCCESS")
                 .build();
     }
-    
+
     public CommonProto.ResponseStatus createErrorStatus(int code, String message) {
         return CommonProto.ResponseStatus.newBuilder()
                 .setCode(code)
                 .setMessage(message)
                 .build();
     }
-}
\ No newline at end of file
+}
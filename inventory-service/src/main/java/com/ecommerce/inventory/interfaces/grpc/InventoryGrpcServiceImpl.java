@@ -1,45 +1,121 @@
 package com.ecommerce.inventory.interfaces.grpc;
 
+import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.StockRecordRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.cache.InventoryAvailabilityCache;
+import com.ecommerce.inventory.infrastructure.config.InventoryWatchProperties;
+import com.ecommerce.inventory.infrastructure.stockcheck.BulkStockCheckService;
+import com.ecommerce.inventory.infrastructure.stockcheck.StockCheckReport;
+import com.ecommerce.inventory.interfaces.converter.InventoryProtoConverter;
 import com.ecommerce.inventory.proto.InventoryServiceGrpc;
 import com.ecommerce.inventory.proto.InventoryServiceProto.*;
 import com.ecommerce.common.proto.CommonProto;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
 /**
- * 库存gRPC服务实现 - 最小可编译版本
- * 暂时返回默认响应，后续需要完善业务逻辑
+ * 库存gRPC服务实现 - DDD应用服务层
+ * 职责：处理gRPC请求，协调领域服务完成库存操作
  */
 @GrpcService
 public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServiceImplBase {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryGrpcServiceImpl.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final InventoryDomainService inventoryDomainService;
+    private final InventoryRepository inventoryRepository;
+    private final StockRecordRepository stockRecordRepository;
+    private final InventoryAvailabilityCache availabilityCache;
+    private final InventoryWatchHub inventoryWatchHub;
+    private final InventoryWatchProperties watchProperties;
+    private final BulkStockCheckService bulkStockCheckService;
+    private final ReservationStore reservationStore;
+    private final InventoryProtoConverter protoConverter;
+
+    public InventoryGrpcServiceImpl(InventoryDomainService inventoryDomainService,
+                                    InventoryRepository inventoryRepository,
+                                    StockRecordRepository stockRecordRepository,
+                                    InventoryAvailabilityCache availabilityCache,
+                                    InventoryWatchHub inventoryWatchHub,
+                                    InventoryWatchProperties watchProperties,
+                                    BulkStockCheckService bulkStockCheckService,
+                                    ReservationStore reservationStore,
+                                    InventoryProtoConverter protoConverter) {
+        this.inventoryDomainService = inventoryDomainService;
+        this.inventoryRepository = inventoryRepository;
+        this.stockRecordRepository = stockRecordRepository;
+        this.availabilityCache = availabilityCache;
+        this.inventoryWatchHub = inventoryWatchHub;
+        this.watchProperties = watchProperties;
+        this.bulkStockCheckService = bulkStockCheckService;
+        this.reservationStore = reservationStore;
+        this.protoConverter = protoConverter;
+    }
+
     @Override
     public void getInventory(GetInventoryRequest request, StreamObserver<InventoryResponse> responseObserver) {
         try {
-            // 创建默认库存信息
-            Inventory inventory = Inventory.newBuilder()
-                    .setSkuId(request.getSkuId())
-                    .setWarehouseCode(request.hasWarehouseCode() ? request.getWarehouseCode() : "DEFAULT")
-                    .setAvailableQuantity(0)
-                    .setReservedQuantity(0)
-                    .setTotalQuantity(0)
-                    .setSafeStock(0)
-                    .setMaxStock(0)
-                    .setStockLevel(StockLevel.OUT_OF_STOCK)
-                    .build();
+            SkuId skuId = SkuId.of(request.getSkuId());
+            String warehouseCode = request.hasWarehouseCode() ? request.getWarehouseCode() : null;
+            List<com.ecommerce.inventory.domain.entity.Inventory> inventories = availabilityCache
+                    .getOrLoad(List.of(skuId), inventoryRepository::findBySkuIds)
+                    .get(skuId);
+
+            // 指定仓库时精确匹配，否则优先返回活跃库存
+            com.ecommerce.inventory.domain.entity.Inventory matched = null;
+            for (com.ecommerce.inventory.domain.entity.Inventory inventory : inventories) {
+                if (warehouseCode != null) {
+                    if (warehouseCode.equals(inventory.getWarehouseId().getValue())) {
+                        matched = inventory;
+                        break;
+                    }
+                } else if (matched == null || (inventory.getStatus() == InventoryStatus.ACTIVE
+                        && matched.getStatus() != InventoryStatus.ACTIVE)) {
+                    matched = inventory;
+                }
+            }
+
+            if (matched == null) {
+                responseObserver.onNext(InventoryResponse.newBuilder()
+                        .setStatus(protoConverter.createErrorStatus(404, "库存记录不存在"))
+                        .build());
+                responseObserver.onCompleted();
+                return;
+            }
 
             InventoryResponse response = InventoryResponse.newBuilder()
-                    .setInventory(inventory)
-                    .setStatus(createSuccessStatus())
+                    .setInventory(protoConverter.toProtoInventory(matched))
+                    .setStatus(protoConverter.createSuccessStatus())
                     .build();
 
             responseObserver.onNext(response);
             responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取库存参数错误: {}", e.getMessage());
+            responseObserver.onNext(InventoryResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
+            responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("获取库存失败", e);
             responseObserver.onError(Status.INTERNAL
@@ -51,11 +127,34 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void getInventoriesBySkuIds(GetInventoriesBySkuIdsRequest request, StreamObserver<GetInventoriesBySkuIdsResponse> responseObserver) {
         try {
-            GetInventoriesBySkuIdsResponse response = GetInventoriesBySkuIdsResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            if (request.getSkuIdsCount() == 0) {
+                throw new IllegalArgumentException("SKU ID列表不能为空");
+            }
 
-            responseObserver.onNext(response);
+            List<SkuId> skuIds = new ArrayList<>(request.getSkuIdsCount());
+            for (String skuId : request.getSkuIdsList()) {
+                skuIds.add(SkuId.of(skuId));
+            }
+            String warehouseCode = request.hasWarehouseCode() ? request.getWarehouseCode() : null;
+
+            // 一次批量加载未命中缓存的SKU，按请求顺序单次遍历转换
+            GetInventoriesBySkuIdsResponse.Builder response = GetInventoriesBySkuIdsResponse.newBuilder();
+            for (List<com.ecommerce.inventory.domain.entity.Inventory> inventories :
+                    availabilityCache.getOrLoad(skuIds, inventoryRepository::findBySkuIds).values()) {
+                for (com.ecommerce.inventory.domain.entity.Inventory inventory : inventories) {
+                    if (warehouseCode == null || warehouseCode.equals(inventory.getWarehouseId().getValue())) {
+                        response.addInventories(protoConverter.toProtoInventory(inventory));
+                    }
+                }
+            }
+
+            responseObserver.onNext(response.setStatus(protoConverter.createSuccessStatus()).build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("批量获取库存参数错误: {}", e.getMessage());
+            responseObserver.onNext(GetInventoriesBySkuIdsResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("批量获取库存失败", e);
@@ -68,11 +167,44 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void updateStock(UpdateStockRequest request, StreamObserver<UpdateStockResponse> responseObserver) {
         try {
-            UpdateStockResponse response = UpdateStockResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            SkuId skuId = SkuId.of(request.getSkuId());
+            WarehouseId warehouseId = request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()) : null;
+            String referenceId = request.hasReferenceId() ? request.getReferenceId() : null;
+            String operatorId = request.hasOperatorId() ? request.getOperatorId() : null;
+            long change = request.getChangeQuantity();
 
-            responseObserver.onNext(response);
+            InventoryDomainService.OperationResult result;
+            switch (request.getChangeType()) {
+                case STOCK_IN -> result = inventoryDomainService.stockIn(skuId, warehouseId,
+                        toQuantity(Math.abs(change)), request.getReason(), referenceId, operatorId);
+                case STOCK_OUT -> result = inventoryDomainService.stockOut(skuId, warehouseId,
+                        toQuantity(Math.abs(change)), request.getReason(), referenceId, operatorId);
+                case STOCK_ADJUST, STOCK_CHECK -> result = inventoryDomainService.adjustBy(skuId, warehouseId,
+                        toQuantity(Math.abs(change)).getValue() * (change < 0 ? -1 : 1),
+                        request.getReason(), referenceId, operatorId);
+                case STOCK_CHANGE_TYPE_UNSPECIFIED -> result = change >= 0
+                        ? inventoryDomainService.stockIn(skuId, warehouseId, toQuantity(change),
+                                request.getReason(), referenceId, operatorId)
+                        : inventoryDomainService.stockOut(skuId, warehouseId, toQuantity(-change),
+                                request.getReason(), referenceId, operatorId);
+                default -> throw new IllegalArgumentException("预占、释放和确认请使用专用接口: " + request.getChangeType());
+            }
+
+            UpdateStockResponse.Builder response = UpdateStockResponse.newBuilder()
+                    .setInventory(protoConverter.toProtoInventory(result.getInventory()))
+                    .setStatus(protoConverter.createSuccessStatus());
+            InventoryChangedEvent event = result.getLastEvent();
+            if (event != null) {
+                response.setRecord(protoConverter.toProtoStockRecord(event));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("更新库存被拒绝: {}", e.getMessage());
+            responseObserver.onNext(UpdateStockResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("更新库存失败", e);
@@ -85,11 +217,27 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void reserveStock(ReserveStockRequest request, StreamObserver<ReserveStockResponse> responseObserver) {
         try {
-            ReserveStockResponse response = ReserveStockResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            ReservationStore.ReservationResult result = reservationStore.reserve(
+                    SkuId.of(request.getSkuId()),
+                    request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()) : null,
+                    toQuantity(request.getReserveQuantity()),
+                    request.getReferenceId(),
+                    request.getOperatorId());
 
-            responseObserver.onNext(response);
+            ReserveStockResponse.Builder response = ReserveStockResponse.newBuilder()
+                    .setInventory(protoConverter.toProtoInventory(result))
+                    .setStatus(protoConverter.createSuccessStatus());
+            if (result.getEvent() != null) {
+                response.setRecord(protoConverter.toProtoStockRecord(result.getEvent()));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("预占库存被拒绝: {}", e.getMessage());
+            responseObserver.onNext(ReserveStockResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("预占库存失败", e);
@@ -102,11 +250,27 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void releaseStock(ReleaseStockRequest request, StreamObserver<ReleaseStockResponse> responseObserver) {
         try {
-            ReleaseStockResponse response = ReleaseStockResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            ReservationStore.ReservationResult result = reservationStore.release(
+                    SkuId.of(request.getSkuId()),
+                    request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()) : null,
+                    toQuantity(request.getReleaseQuantity()),
+                    request.getReferenceId(),
+                    request.getOperatorId());
 
-            responseObserver.onNext(response);
+            ReleaseStockResponse.Builder response = ReleaseStockResponse.newBuilder()
+                    .setInventory(protoConverter.toProtoInventory(result))
+                    .setStatus(protoConverter.createSuccessStatus());
+            if (result.getEvent() != null) {
+                response.setRecord(protoConverter.toProtoStockRecord(result.getEvent()));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("释放库存被拒绝: {}", e.getMessage());
+            responseObserver.onNext(ReleaseStockResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("释放库存失败", e);
@@ -119,11 +283,27 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void confirmStock(ConfirmStockRequest request, StreamObserver<ConfirmStockResponse> responseObserver) {
         try {
-            ConfirmStockResponse response = ConfirmStockResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            ReservationStore.ReservationResult result = reservationStore.confirm(
+                    SkuId.of(request.getSkuId()),
+                    request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()) : null,
+                    toQuantity(request.getConfirmQuantity()),
+                    request.getReferenceId(),
+                    request.getOperatorId());
 
-            responseObserver.onNext(response);
+            ConfirmStockResponse.Builder response = ConfirmStockResponse.newBuilder()
+                    .setInventory(protoConverter.toProtoInventory(result))
+                    .setStatus(protoConverter.createSuccessStatus());
+            if (result.getEvent() != null) {
+                response.setRecord(protoConverter.toProtoStockRecord(result.getEvent()));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("确认库存被拒绝: {}", e.getMessage());
+            responseObserver.onNext(ConfirmStockResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("确认库存失败", e);
@@ -136,11 +316,47 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void getStockRecords(GetStockRecordsRequest request, StreamObserver<GetStockRecordsResponse> responseObserver) {
         try {
-            GetStockRecordsResponse response = GetStockRecordsResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            StockRecordRepository.StockRecordCriteria criteria = new StockRecordRepository.StockRecordCriteria(
+                    request.hasSkuId() ? SkuId.of(request.getSkuId()) : null,
+                    request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()) : null,
+                    request.hasChangeType() ? protoConverter.fromProtoChangeType(request.getChangeType()) : null,
+                    request.hasReferenceId() ? request.getReferenceId() : null,
+                    request.hasOperatorId() ? request.getOperatorId() : null);
+            StockRecordRepository.RecordCursor cursor =
+                    protoConverter.decodePageToken(request.getPageRequest().getPageToken());
+            int pageSize = normalizePageSize(request.getPageRequest().getPageSize());
 
-            responseObserver.onNext(response);
+            // 多取一条判断是否存在下一页
+            List<com.ecommerce.inventory.domain.entity.StockRecord> records =
+                    stockRecordRepository.findPage(criteria, cursor, pageSize + 1);
+            boolean hasNext = records.size() > pageSize;
+            if (hasNext) {
+                records = records.subList(0, pageSize);
+            }
+
+            CommonProto.PageResponse.Builder pageResponse = CommonProto.PageResponse.newBuilder()
+                    .setPageSize(pageSize)
+                    .setHasNext(hasNext)
+                    .setHasPrevious(cursor != null);
+            if (hasNext) {
+                pageResponse.setNextPageToken(protoConverter.encodePageToken(
+                        StockRecordRepository.RecordCursor.after(records.get(records.size() - 1))));
+            }
+
+            GetStockRecordsResponse.Builder response = GetStockRecordsResponse.newBuilder()
+                    .setPageResponse(pageResponse)
+                    .setStatus(protoConverter.createSuccessStatus());
+            for (com.ecommerce.inventory.domain.entity.StockRecord record : records) {
+                response.addRecords(protoConverter.toProtoStockRecord(record));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取库存记录参数错误: {}", e.getMessage());
+            responseObserver.onNext(GetStockRecordsResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("获取库存记录失败", e);
@@ -153,11 +369,29 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
     @Override
     public void stockCheck(StockCheckRequest request, StreamObserver<StockCheckResponse> responseObserver) {
         try {
-            StockCheckResponse response = StockCheckResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            InventoryDomainService.OperationResult result = inventoryDomainService.adjust(
+                    SkuId.of(request.getSkuId()),
+                    request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()) : null,
+                    toQuantity(request.getActualQuantity()),
+                    request.hasRemark() ? request.getRemark() : "库存盘点",
+                    null,
+                    request.getOperatorId());
 
-            responseObserver.onNext(response);
+            StockCheckResponse.Builder response = StockCheckResponse.newBuilder()
+                    .setInventory(protoConverter.toProtoInventory(result.getInventory()))
+                    .setStatus(protoConverter.createSuccessStatus());
+            InventoryChangedEvent event = result.getLastEvent();
+            if (event != null) {
+                response.setRecord(protoConverter.toProtoStockRecord(event));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("库存盘点被拒绝: {}", e.getMessage());
+            responseObserver.onNext(StockCheckResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("库存盘点失败", e);
@@ -167,10 +401,175 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
         }
     }
 
-    private CommonProto.ResponseStatus createSuccessStatus() {
-        return CommonProto.ResponseStatus.newBuilder()
-                .setCode(200)
-                .setMessage("SUCCESS")
-                .build();
+    @Override
+    public StreamObserver<BulkStockCheckRequest> bulkStockCheck(StreamObserver<BulkStockCheckResponse> responseObserver) {
+        return new StreamObserver<>() {
+            private BulkStockCheckService.Session session;
+            private boolean failed;
+
+            @Override
+            public void onNext(BulkStockCheckRequest request) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    if (session == null) {
+                        session = bulkStockCheckService.open(request.getOperatorId(),
+                                request.hasRemark() ? request.getRemark() : null, request.getDryRun());
+                    }
+                    for (StockCheckLine line : request.getLinesList()) {
+                        session.accept(line.getWarehouseCode(), line.getSkuId(), line.getActualQuantity());
+                    }
+                } catch (Exception e) {
+                    logger.error("批量盘点接收失败", e);
+                    failed = true;
+                    closeSession();
+                    responseObserver.onError(Status.INTERNAL
+                            .withDescription("批量盘点接收失败: " + e.getMessage())
+                            .asRuntimeException());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.warn("批量盘点客户端中断: {}", t.getMessage());
+                closeSession();
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                if (session == null) {
+                    responseObserver.onNext(BulkStockCheckResponse.newBuilder()
+                            .setStatus(protoConverter.createErrorStatus(400, "盘点行不能为空"))
+                            .build());
+                    responseObserver.onCompleted();
+                    return;
+                }
+                completeBulkStockCheck(session::finish, responseObserver);
+            }
+
+            private void closeSession() {
+                if (session != null) {
+                    session.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void importStockCheckFile(ImportStockCheckFileRequest request,
+                                     StreamObserver<BulkStockCheckResponse> responseObserver) {
+        completeBulkStockCheck(() -> bulkStockCheckService.importFile(request.getFilePath(), request.getOperatorId(),
+                request.hasRemark() ? request.getRemark() : null, request.getDryRun()), responseObserver);
+    }
+
+    private void completeBulkStockCheck(Supplier<StockCheckReport> check,
+                                        StreamObserver<BulkStockCheckResponse> responseObserver) {
+        try {
+            responseObserver.onNext(protoConverter.toBulkStockCheckResponse(check.get()));
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("批量盘点被拒绝: {}", e.getMessage());
+            responseObserver.onNext(BulkStockCheckResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            logger.error("批量盘点失败", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("批量盘点失败: " + e.getMessage())
+                    .asRuntimeException());
+        }
+    }
+
+    @Override
+    public void watchInventory(WatchInventoryRequest request, StreamObserver<InventoryChange> responseObserver) {
+        try {
+            if (request.getSkuIdsCount() == 0 && !request.hasWarehouseCode()) {
+                throw new IllegalArgumentException("SKU ID列表和仓库编码至少指定一个");
+            }
+            if (request.getSkuIdsCount() > watchProperties.getMaxSkusPerSubscription()) {
+                throw new IllegalArgumentException("单次订阅SKU数量不能超过" + watchProperties.getMaxSkusPerSubscription());
+            }
+
+            List<SkuId> skuIds = new ArrayList<>(request.getSkuIdsCount());
+            Set<String> skuIdValues = new HashSet<>();
+            for (String skuId : request.getSkuIdsList()) {
+                SkuId id = SkuId.of(skuId);
+                skuIds.add(id);
+                skuIdValues.add(id.getValue());
+            }
+            String warehouseCode = request.hasWarehouseCode() ? WarehouseId.of(request.getWarehouseCode()).getValue() : null;
+
+            boolean includeSnapshot = request.getIncludeSnapshot();
+            inventoryWatchHub.subscribe(skuIdValues, warehouseCode,
+                    () -> includeSnapshot ? loadWatchSnapshot(skuIds, warehouseCode) : List.of(),
+                    (ServerCallStreamObserver<InventoryChange>) responseObserver);
+        } catch (IllegalArgumentException e) {
+            logger.warn("订阅库存变更参数错误: {}", e.getMessage());
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("参数错误: " + e.getMessage())
+                    .asRuntimeException());
+        } catch (IllegalStateException e) {
+            logger.warn("订阅库存变更被拒绝: {}", e.getMessage());
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (Exception e) {
+            logger.error("订阅库存变更失败", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("订阅库存变更失败: " + e.getMessage())
+                    .asRuntimeException());
+        }
+    }
+
+    /**
+     * 订阅快照直接读库，不经过可用库存缓存：订阅已注册，读到的必须是当前提交的值
+     */
+    private List<InventoryChange> loadWatchSnapshot(List<SkuId> skuIds, String warehouseCode) {
+        List<com.ecommerce.inventory.domain.entity.Inventory> inventories = skuIds.isEmpty()
+                ? inventoryRepository.findByWarehouseId(WarehouseId.of(warehouseCode))
+                : inventoryRepository.findBySkuIds(skuIds);
+        List<InventoryChange> snapshot = new ArrayList<>();
+        for (com.ecommerce.inventory.domain.entity.Inventory inventory : inventories) {
+            if (warehouseCode == null || warehouseCode.equals(inventory.getWarehouseId().getValue())) {
+                snapshot.add(protoConverter.toInventorySnapshot(inventory));
+            }
+        }
+        if (snapshot.size() > watchProperties.getMaxPendingKeys()) {
+            throw new IllegalArgumentException("快照数量超过订阅缓冲上限，请按SKU分批订阅");
+        }
+        return snapshot;
     }
-}
\ No newline at end of file
+
+    /**
+     * 请求数量转换为领域数量，超出 int 范围直接拒绝
+     */
+    private Quantity toQuantity(long value) {
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("数量超出范围: " + value);
+        }
+        return Quantity.of((int) value);
+    }
+
+    private int normalizePageSize(int pageSize) {
+        if (pageSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 参数错误返回400，库存状态不满足（如库存不足）返回409
+     */
+    private CommonProto.ResponseStatus toErrorStatus(RuntimeException e) {
+        if (e instanceof IllegalStateException) {
+            return protoConverter.createErrorStatus(409, e.getMessage());
+        }
+        return protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage());
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.ecommerce.inventory.interfaces.grpc;
+
+import com.ecommerce.inventory.domain.event.InventoryChangedEvent;
+import com.ecommerce.inventory.infrastructure.config.InventoryWatchProperties;
+import com.ecommerce.inventory.interfaces.converter.InventoryProtoConverter;
+import com.ecommerce.inventory.proto.InventoryServiceProto.InventoryChange;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 库存变更订阅中心 - 接口层
+ * 职责：把事务提交后的库存变更事件分发给 WatchInventory 订阅者
+ * 特性：
+ * 1. 每个订阅一个有界待推送表，同一SKU仓库只保留最新值（latest value wins）
+ * 2. 写线程只做一次内存合并，推送由独立线程按 gRPC 流控（isReady/onReady）执行，慢消费者不会拖慢库存写入
+ * 3. 待推送表溢出时以 RESOURCE_EXHAUSTED 结束该订阅，客户端重新订阅并拉取快照
+ * 4. 先注册订阅再读取快照：读取期间提交的变更先缓冲，快照读完后与缓冲的变更按时间合并，比快照新的变更不会丢失
+ */
+@Component
+public class InventoryWatchHub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryWatchHub.class);
+
+    private final InventoryWatchProperties properties;
+    private final InventoryProtoConverter protoConverter;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+
+    public InventoryWatchHub(InventoryWatchProperties properties, InventoryProtoConverter protoConverter) {
+        this.properties = properties;
+        this.protoConverter = protoConverter;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, properties.getDispatchThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "inventory-watch-dispatcher-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 注册订阅
+     * @param skuIds 关注的SKU，空集合表示不按SKU过滤
+     * @param warehouseCode 关注的仓库，null 表示不按仓库过滤
+     * @param snapshotLoader 在订阅注册之后读取当前库存，返回空列表表示不推送快照
+     */
+    public void subscribe(Set<String> skuIds, String warehouseCode, Supplier<List<InventoryChange>> snapshotLoader,
+                          ServerCallStreamObserver<InventoryChange> observer) {
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            throw new IllegalStateException("库存订阅数已达上限");
+        }
+
+        Subscription subscription = new Subscription(skuIds, warehouseCode, observer);
+        observer.setOnCancelHandler(() -> {
+            subscription.closed = true;
+            subscriptions.remove(subscription);
+        });
+        observer.setOnReadyHandler(subscription::scheduleDrain);
+        subscriptions.add(subscription);
+
+        List<InventoryChange> snapshot;
+        try {
+            snapshot = snapshotLoader.get();
+        } catch (RuntimeException e) {
+            if (subscription.closed) {
+                // 读取快照期间已取消或因缓冲溢出失败，错误由订阅自身通知
+                return;
+            }
+            subscription.closed = true;
+            subscriptions.remove(subscription);
+            throw e;
+        }
+        // 快照只覆盖不比它新的缓冲变更；同一库存行的更新串行提交，快照之后提交的变更时间一定更晚
+        for (InventoryChange change : snapshot) {
+            subscription.offer(change, protoConverter.toLocalDateTime(change.getChangedAt()));
+        }
+        subscription.started = true;
+        subscription.scheduleDrain();
+        logger.debug("新增库存订阅: skus={}, warehouse={}, 当前订阅数={}", skuIds.size(), warehouseCode, subscriptions.size());
+    }
+
+    /**
+     * 库存事务提交后分发变更，只做内存合并不做IO
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        String skuId = event.getSkuId().getValue();
+        String warehouseCode = event.getWarehouseId().getValue();
+        InventoryChange change = null;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(skuId, warehouseCode)) {
+                if (change == null) {
+                    change = protoConverter.toInventoryChange(event);
+                }
+                subscription.offer(change, event.getOccurredAt());
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (Subscription subscription : subscriptions) {
+            subscription.fail(Status.UNAVAILABLE.withDescription("库存服务正在关闭"));
+        }
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static final class PendingChange {
+        private final InventoryChange change;
+        private final LocalDateTime changedAt;
+
+        private PendingChange(InventoryChange change, LocalDateTime changedAt) {
+            this.change = change;
+            this.changedAt = changedAt;
+        }
+    }
+
+    /**
+     * 单个订阅：所有对 observer 的调用都在推送任务中串行执行
+     */
+    private final class Subscription {
+        private final Set<String> skuIds;
+        private final String warehouseCode;
+        private final ServerCallStreamObserver<InventoryChange> observer;
+        private final Map<String, PendingChange> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean started;
+        private volatile Status failure;
+
+        private Subscription(Set<String> skuIds, String warehouseCode, ServerCallStreamObserver<InventoryChange> observer) {
+            this.skuIds = skuIds;
+            this.warehouseCode = warehouseCode;
+            this.observer = observer;
+        }
+
+        private boolean matches(String skuId, String warehouse) {
+            return (skuIds.isEmpty() || skuIds.contains(skuId))
+                    && (warehouseCode == null || warehouseCode.equals(warehouse));
+        }
+
+        private void offer(InventoryChange change, LocalDateTime changedAt) {
+            if (closed) {
+                return;
+            }
+
+            String key = change.getSkuId() + "@" + change.getWarehouseCode();
+            boolean overflow = false;
+            synchronized (this) {
+                PendingChange existing = pending.get(key);
+                if (existing != null) {
+                    // 并发提交的事件可能乱序到达，只用不更旧的值覆盖
+                    if (changedAt == null || existing.changedAt == null || !changedAt.isBefore(existing.changedAt)) {
+                        pending.put(key, new PendingChange(change, changedAt));
+                    }
+                } else if (pending.size() >= properties.getMaxPendingKeys()) {
+                    overflow = true;
+                } else {
+                    pending.put(key, new PendingChange(change, changedAt));
+                }
+            }
+
+            if (overflow) {
+                logger.warn("库存订阅消费过慢，待推送数超过上限，关闭订阅: warehouse={}", warehouseCode);
+                fail(Status.RESOURCE_EXHAUSTED.withDescription("订阅消费过慢，请重新订阅"));
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void fail(Status status) {
+            failure = status;
+            closed = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                pending.clear();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // 推送线程池已关闭
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (failure != null) {
+                    Status status = failure;
+                    failure = null;
+                    if (!observer.isCancelled()) {
+                        observer.onError(status.asRuntimeException());
+                    }
+                    return;
+                }
+
+                while (started && !closed && observer.isReady()) {
+                    PendingChange next;
+                    synchronized (this) {
+                        Iterator<PendingChange> iterator = pending.values().iterator();
+                        if (!iterator.hasNext()) {
+                            break;
+                        }
+                        next = iterator.next();
+                        iterator.remove();
+                    }
+                    observer.onNext(next.change);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("推送库存变更失败，关闭订阅: {}", e.getMessage());
+                closed = true;
+                subscriptions.remove(this);
+            } finally {
+                draining.set(false);
+            }
+
+            // 退出循环后到达的变更或失败通知不能遗漏
+            if (failure != null || (started && !closed && observer.isReady() && hasPending())) {
+                scheduleDrain();
+            }
+        }
+
+        private synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+    }
+}
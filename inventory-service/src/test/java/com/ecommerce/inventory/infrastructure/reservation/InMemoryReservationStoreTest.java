@@ -0,0 +1,97 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 进程内存预占存储：契约测试 + 异步回写相关的行为
+ */
+class InMemoryReservationStoreTest extends ReservationStoreContractTest {
+
+    private InMemoryReservationStore memoryStore;
+    // 模拟库存表当前内容，由测试在回写后更新
+    private volatile Inventory persisted;
+
+    @Override
+    protected ReservationStore createStore(Inventory initial) {
+        persisted = initial;
+        InventoryDomainService domainService = mock(InventoryDomainService.class);
+        when(domainService.loadInventory(any(), any())).thenAnswer(invocation -> persisted);
+
+        InventoryReservationProperties properties = new InventoryReservationProperties();
+        properties.setStore("memory");
+        properties.setReseedWaitMs(100);
+        memoryStore = new InMemoryReservationStore(domainService, properties);
+        return memoryStore;
+    }
+
+    @Test
+    void appliedOperationsAreDrainedInOrder() {
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(5), "ORD-2", "op");
+        memoryStore.release(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        List<ReservationOp> ops = memoryStore.drain(10);
+
+        assertThat(ops).extracting(ReservationOp::getType).containsExactly(
+                ReservationOp.Type.RESERVE, ReservationOp.Type.RESERVE, ReservationOp.Type.RELEASE);
+        assertThat(ops).extracting(ReservationOp::getReferenceId).containsExactly("ORD-1", "ORD-2", "ORD-1");
+    }
+
+    @Test
+    void duplicateAndRejectedOperationsAreNotQueued() {
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        assertThatThrownBy(() -> memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(INITIAL), "ORD-2", "op"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(memoryStore.drain(10)).hasSize(1);
+    }
+
+    @Test
+    void reseedWaitsUntilQueuedOperationsAreWrittenBack() {
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(60), "ORD-1", "op");
+        memoryStore.evict(SKU, WAREHOUSE);
+
+        // 库存表尚未包含 ORD-1，从库存表重新加载会把已预占的 60 再卖一次
+        assertThatThrownBy(() -> memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(60), "ORD-2", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("正在回写");
+
+        List<ReservationOp> ops = memoryStore.drain(10);
+        persisted = inventory(40, 60, INITIAL);
+        ops.forEach(memoryStore::acknowledge);
+
+        assertThatThrownBy(() -> memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(60), "ORD-2", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("可用库存不足，无法执行预留操作");
+        ReservationStore.ReservationResult result =
+                memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(40), "ORD-3", "op");
+        assertThat(result.getAvailableQuantity()).isZero();
+        assertThat(result.getReservedQuantity()).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void requeuedOperationsKeepOrderAndStayOutstanding() {
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        memoryStore.reserve(SKU, WAREHOUSE, Quantity.of(20), "ORD-2", "op");
+        List<ReservationOp> ops = memoryStore.drain(10);
+        memoryStore.requeue(ops);
+        memoryStore.evict(SKU, WAREHOUSE);
+
+        assertThat(memoryStore.outstanding(SKU, WAREHOUSE)).isEqualTo(2);
+        assertThat(memoryStore.drain(10)).extracting(ReservationOp::getReferenceId).containsExactly("ORD-1", "ORD-2");
+    }
+}
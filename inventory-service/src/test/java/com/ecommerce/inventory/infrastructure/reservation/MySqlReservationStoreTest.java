@@ -0,0 +1,248 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.event.InventoryEventPublisher;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.service.ReservationStore.Outcome;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.infrastructure.cache.InventorySummaryCache;
+import com.ecommerce.inventory.infrastructure.concurrency.MeteredInventoryContentionPolicy;
+import com.ecommerce.inventory.infrastructure.concurrency.TransactionalInventoryRetryPolicy;
+import com.ecommerce.inventory.infrastructure.config.InventoryConcurrencyProperties;
+import com.ecommerce.inventory.infrastructure.config.InventoryPersistenceProperties;
+import com.ecommerce.inventory.infrastructure.config.InventoryQueryProperties;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import com.ecommerce.inventory.infrastructure.entity.ReservationDeadLetterPO;
+import com.ecommerce.inventory.infrastructure.mapper.InventoryDataMapperImpl;
+import com.ecommerce.inventory.infrastructure.mapper.ReservationDeadLetterMapper;
+import com.ecommerce.inventory.infrastructure.repository.InventoryRepositoryImpl;
+import com.ecommerce.inventory.infrastructure.tracking.StockLevelTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MySQL 预占存储：契约测试 + 操作键去重表与回写死信表的 SQL
+ * 领域服务、仓储与 MyBatis 映射均为真实实现，仅替换与预占无关的跟踪、缓存与事件发布
+ * 表结构取自 sql/inventory_service.sql，需要 Docker，不可用时跳过
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringJUnitConfig(MySqlReservationStoreTest.StoreConfig.class)
+class MySqlReservationStoreTest extends ReservationStoreContractTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("ecommerce_inventory")
+            .withCopyFileToContainer(MountableFile.forHostPath("../sql/inventory_service.sql"),
+                    "/docker-entrypoint-initdb.d/inventory_service.sql");
+
+    @MockBean
+    private StockLevelTracker stockLevelTracker;
+
+    @MockBean
+    private InventorySummaryCache inventorySummaryCache;
+
+    @MockBean
+    private InventoryEventPublisher inventoryEventPublisher;
+
+    @Autowired
+    private MySqlReservationStore mySqlStore;
+
+    @Autowired
+    private ReservationDeadLetterMapper deadLetterMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected ReservationStore createStore(Inventory initial) {
+        jdbcTemplate.update("DELETE FROM inventory_reservation_ops");
+        jdbcTemplate.update("DELETE FROM inventory_reservation_dead_letters");
+        jdbcTemplate.update("DELETE FROM inventory WHERE inventory_id = ?", initial.getId().getValue());
+        jdbcTemplate.update("INSERT INTO inventory (inventory_id, sku_id, warehouse_id, available_quantity, " +
+                        "reserved_quantity, total_quantity, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                initial.getId().getValue(), initial.getSkuId().getValue(), initial.getWarehouseId().getValue(),
+                initial.getAvailableQuantityValue(), initial.getReservedQuantityValue(),
+                initial.getTotalQuantityValue(), initial.getStatus().name());
+        return mySqlStore;
+    }
+
+    @Test
+    void operationKeysAreRecordedPerTypeWarehouseAndReference() {
+        mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        mySqlStore.release(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), null, "op");
+
+        assertThat(jdbcTemplate.queryForList("SELECT op_key FROM inventory_reservation_ops ORDER BY op_key",
+                String.class)).containsExactly(
+                "RELEASE:WH-CONTRACT-1:SKU-CONTRACT-1:ORD-1",
+                "RESERVE:WH-CONTRACT-1:SKU-CONTRACT-1:ORD-1");
+    }
+
+    @Test
+    void rejectedOperationRollsBackItsOperationKey() {
+        assertThatThrownBy(() -> mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(INITIAL + 1), "ORD-1", "op"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_reservation_ops", Integer.class))
+                .isZero();
+        ReservationStore.ReservationResult retried = mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        assertThat(retried.getOutcome()).isEqualTo(Outcome.APPLIED);
+        assertThat(retried.getReservedQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void purgedOperationKeysNoLongerDeduplicate() {
+        mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-2", "op");
+        jdbcTemplate.update("UPDATE inventory_reservation_ops SET created_at = NOW(3) - INTERVAL 2 DAY " +
+                "WHERE op_key LIKE '%:ORD-1'");
+
+        mySqlStore.purgeExpiredOps();
+
+        assertThat(mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op").getOutcome())
+                .isEqualTo(Outcome.APPLIED);
+        assertThat(mySqlStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-2", "op").getOutcome())
+                .isEqualTo(Outcome.DUPLICATE);
+    }
+
+    @Test
+    void deadLettersArePendingInInsertOrder() {
+        deadLetterMapper.insert(deadLetter("RESERVE", "ORD-1", 10));
+        deadLetterMapper.insert(deadLetter("CONFIRM", "ORD-1", 10));
+        deadLetterMapper.insert(deadLetter("RESERVE", "ORD-2", 10));
+
+        List<ReservationDeadLetterPO> pending = deadLetterMapper.findPending(2);
+
+        assertThat(pending).extracting(ReservationDeadLetterPO::getOpType).containsExactly("RESERVE", "CONFIRM");
+        assertThat(pending).extracting(ReservationDeadLetterPO::getStatus).containsOnly("PENDING");
+        assertThat(pending.get(0).getAttempts()).isZero();
+        assertThat(pending.get(0).getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void releaseCompensatesOnePendingReserveOfSameQuantity() {
+        deadLetterMapper.insert(deadLetter("RESERVE", "ORD-1", 10));
+        deadLetterMapper.insert(deadLetter("RESERVE", "ORD-1", 10));
+        String sku = SKU.getValue();
+        String warehouse = WAREHOUSE.getValue();
+
+        assertThat(deadLetterMapper.compensateReserve(sku, warehouse, "ORD-1", 5)).isZero();
+        assertThat(deadLetterMapper.compensateReserve(sku, warehouse, "ORD-1", 10)).isEqualTo(1);
+
+        assertThat(deadLetterMapper.countPendingReserve(sku, warehouse, "ORD-1")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM inventory_reservation_dead_letters ORDER BY id",
+                String.class)).containsExactly("COMPENSATED", "PENDING");
+    }
+
+    @Test
+    void pendingDeadLetterIsResolvedOnlyOnce() {
+        deadLetterMapper.insert(deadLetter("RESERVE", "ORD-1", 10));
+        long id = deadLetterMapper.findPending(10).get(0).getId();
+
+        assertThat(deadLetterMapper.markIfPending(id, "RESOLVED")).isEqualTo(1);
+        assertThat(deadLetterMapper.markIfPending(id, "RESOLVED")).isZero();
+        assertThat(deadLetterMapper.findPending(10)).isEmpty();
+    }
+
+    @Test
+    void failedAttemptsTurnDeadLetterFailedAtLimit() {
+        deadLetterMapper.insert(deadLetter("RESERVE", "ORD-1", 10));
+        long id = deadLetterMapper.findPending(10).get(0).getId();
+
+        assertThat(deadLetterMapper.recordFailedAttempt(id, "可用库存不足", 2)).isEqualTo(1);
+        assertThat(deadLetterMapper.findPending(10)).singleElement()
+                .satisfies(pending -> assertThat(pending.getAttempts()).isEqualTo(1));
+
+        assertThat(deadLetterMapper.recordFailedAttempt(id, "可用库存不足，无法执行预留操作", 2)).isEqualTo(1);
+        assertThat(deadLetterMapper.findPending(10)).isEmpty();
+        assertThat(jdbcTemplate.queryForMap("SELECT status, attempts, reason FROM inventory_reservation_dead_letters " +
+                "WHERE id = ?", id)).containsEntry("status", "FAILED").containsEntry("attempts", 2)
+                .containsEntry("reason", "可用库存不足，无法执行预留操作");
+        assertThat(deadLetterMapper.recordFailedAttempt(id, "again", 2)).isZero();
+    }
+
+    private static ReservationDeadLetterPO deadLetter(String type, String referenceId, int quantity) {
+        ReservationDeadLetterPO deadLetter = new ReservationDeadLetterPO();
+        deadLetter.setOpType(type);
+        deadLetter.setSkuId(SKU.getValue());
+        deadLetter.setWarehouseId(WAREHOUSE.getValue());
+        deadLetter.setQuantity(quantity);
+        deadLetter.setReferenceId(referenceId);
+        deadLetter.setOperatorId("op");
+        deadLetter.setReason("可用库存不足，无法执行预留操作");
+        return deadLetter;
+    }
+
+    /**
+     * 只装配预占链路：MySqlReservationStore → InventoryDomainService → InventoryRepositoryImpl → MyBatis 映射
+     */
+    @Configuration
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @MapperScan(basePackages = "com.ecommerce.inventory.infrastructure.mapper", annotationClass = Mapper.class)
+    @Import({MySqlReservationStore.class, InventoryDomainService.class, InventoryRepositoryImpl.class,
+            InventoryDataMapperImpl.class, TransactionalInventoryRetryPolicy.class,
+            MeteredInventoryContentionPolicy.class, InventoryReservationProperties.class,
+            InventoryConcurrencyProperties.class, InventoryQueryProperties.class,
+            InventoryPersistenceProperties.class})
+    static class StoreConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+            MybatisConfiguration configuration = new MybatisConfiguration();
+            configuration.setMapUnderscoreToCamelCase(true);
+            MybatisSqlSessionFactoryBean factory = new MybatisSqlSessionFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setConfiguration(configuration);
+            return factory.getObject();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 预占存储：契约测试 + APPLY/SEED/ACK/DELTA/DRAIN 脚本与回写期间的重新加载
+ * 需要 Docker，不可用时跳过
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisReservationStoreTest extends ReservationStoreContractTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisReservationStore redisStore;
+    // 模拟库存表当前内容，由测试在回写后更新
+    private volatile Inventory persisted;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Override
+    protected ReservationStore createStore(Inventory initial) {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        persisted = initial;
+        InventoryDomainService domainService = mock(InventoryDomainService.class);
+        when(domainService.loadInventory(any(), any())).thenAnswer(invocation -> persisted);
+
+        InventoryReservationProperties properties = new InventoryReservationProperties();
+        properties.setStore("redis");
+        properties.setReseedWaitMs(100);
+        redisStore = new RedisReservationStore(domainService, redisTemplate, properties);
+        return redisStore;
+    }
+
+    @Test
+    void appliedOperationsAreDrainedInOrder() {
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(5), "ORD-2", "op");
+        redisStore.release(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        List<ReservationOp> ops = redisStore.drain(10);
+
+        assertThat(ops).extracting(ReservationOp::getType).containsExactly(
+                ReservationOp.Type.RESERVE, ReservationOp.Type.RESERVE, ReservationOp.Type.RELEASE);
+        assertThat(ops).extracting(ReservationOp::getReferenceId).containsExactly("ORD-1", "ORD-2", "ORD-1");
+        assertThat(ops).extracting(ReservationOp::getQuantity).containsExactly(10, 5, 10);
+        assertThat(ops).extracting(ReservationOp::getWarehouseId).containsOnly(WAREHOUSE);
+    }
+
+    @Test
+    void drainTakesAtMostRequestedOperations() {
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(1), "ORD-1", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(1), "ORD-2", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(1), "ORD-3", "op");
+
+        assertThat(redisStore.drain(2)).extracting(ReservationOp::getReferenceId).containsExactly("ORD-1", "ORD-2");
+        assertThat(redisStore.drain(2)).extracting(ReservationOp::getReferenceId).containsExactly("ORD-3");
+        assertThat(redisStore.drain(2)).isEmpty();
+    }
+
+    @Test
+    void duplicateAndRejectedOperationsAreNotQueued() {
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        assertThatThrownBy(() -> redisStore.reserve(SKU, WAREHOUSE, Quantity.of(INITIAL), "ORD-2", "op"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(redisStore.drain(10)).hasSize(1);
+        assertThat(redisStore.outstanding(SKU, WAREHOUSE)).isEqualTo(1);
+    }
+
+    @Test
+    void acknowledgedOperationsClearOutstanding() {
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-2", "op");
+        List<ReservationOp> ops = redisStore.drain(10);
+
+        redisStore.acknowledge(ops.get(0));
+        assertThat(redisStore.outstanding(SKU, WAREHOUSE)).isEqualTo(1);
+        redisStore.acknowledge(ops.get(1));
+
+        assertThat(redisStore.outstanding(SKU, WAREHOUSE)).isZero();
+        assertThat(redisTemplate.keys("inventory:rsv:*:outstanding")).isEmpty();
+    }
+
+    @Test
+    void reseedWaitsUntilQueuedOperationsAreWrittenBack() {
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(60), "ORD-1", "op");
+        redisStore.evict(SKU, WAREHOUSE);
+
+        // 库存表尚未包含 ORD-1，从库存表重新加载会把已预占的 60 再卖一次
+        assertThatThrownBy(() -> redisStore.reserve(SKU, WAREHOUSE, Quantity.of(60), "ORD-2", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("正在回写");
+
+        List<ReservationOp> ops = redisStore.drain(10);
+        persisted = inventory(40, 60, INITIAL);
+        ops.forEach(redisStore::acknowledge);
+
+        assertThatThrownBy(() -> redisStore.reserve(SKU, WAREHOUSE, Quantity.of(60), "ORD-2", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("可用库存不足，无法执行预留操作");
+        ReservationStore.ReservationResult result =
+                redisStore.reserve(SKU, WAREHOUSE, Quantity.of(40), "ORD-3", "op");
+        assertThat(result.getAvailableQuantity()).isZero();
+        assertThat(result.getReservedQuantity()).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void externalChangeOnlyAdjustsLoadedCounter() {
+        redisStore.applyExternalChange(SKU, WAREHOUSE, 50, 50);
+        assertThat(redisTemplate.keys("inventory:rsv:*")).isEmpty();
+
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        redisStore.applyExternalChange(SKU, WAREHOUSE, 20, 20);
+
+        ReservationStore.ReservationResult result =
+                redisStore.reserve(SKU, WAREHOUSE, Quantity.of(110), "ORD-2", "op");
+        assertThat(result.getAvailableQuantity()).isZero();
+        assertThat(result.getReservedQuantity()).isEqualTo(120);
+        assertThat(result.getTotalQuantity()).isEqualTo(INITIAL + 20);
+    }
+
+    @Test
+    void requeuedOperationsKeepOrderAndStayOutstanding() {
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(20), "ORD-2", "op");
+        redisStore.reserve(SKU, WAREHOUSE, Quantity.of(30), "ORD-3", "op");
+        List<ReservationOp> ops = redisStore.drain(2);
+        redisStore.requeue(ops);
+        redisStore.evict(SKU, WAREHOUSE);
+
+        assertThat(redisStore.outstanding(SKU, WAREHOUSE)).isEqualTo(3);
+        assertThat(redisStore.drain(10)).extracting(ReservationOp::getReferenceId)
+                .containsExactly("ORD-1", "ORD-2", "ORD-3");
+    }
+}
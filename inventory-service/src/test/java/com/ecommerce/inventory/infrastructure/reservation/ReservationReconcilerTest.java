@@ -0,0 +1,159 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import com.ecommerce.inventory.infrastructure.config.InventoryReservationProperties;
+import com.ecommerce.inventory.infrastructure.entity.ReservationDeadLetterPO;
+import com.ecommerce.inventory.infrastructure.mapper.ReservationDeadLetterMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 预占对账：回写、死信登记与补偿
+ */
+class ReservationReconcilerTest {
+
+    private static final SkuId SKU = SkuId.of("SKU-RECONCILE-1");
+    private static final WarehouseId WAREHOUSE = WarehouseId.of("WH-RECONCILE-1");
+
+    private InventoryDomainService domainService;
+    private ReservationDeadLetterMapper deadLetterMapper;
+    private InMemoryReservationStore store;
+    private ReservationReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        domainService = mock(InventoryDomainService.class);
+        when(domainService.loadInventory(any(), any())).thenReturn(Inventory.restore(InventoryId.of("INV-1"),
+                SKU, WAREHOUSE, Quantity.of(100), Quantity.of(100), Quantity.zero(), Quantity.zero(), Quantity.zero(),
+                InventoryStatus.ACTIVE, null, null, 0L));
+        deadLetterMapper = mock(ReservationDeadLetterMapper.class);
+
+        InventoryReservationProperties properties = new InventoryReservationProperties();
+        properties.setStore("memory");
+        properties.setReseedWaitMs(50);
+        store = new InMemoryReservationStore(domainService, properties);
+        reconciler = new ReservationReconciler(store, domainService, deadLetterMapper, properties,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void writtenBackOperationsAreAcknowledged() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        reconciler.reconcile();
+
+        verify(domainService).reserve(eq(SKU), eq(WAREHOUSE), eq(Quantity.of(10)), anyString(), eq("ORD-1"), eq("op"));
+        assertThat(store.outstanding(SKU, WAREHOUSE)).isZero();
+    }
+
+    @Test
+    void rejectedWriteBackIsDeadLetteredAndCounterReloaded() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        when(domainService.reserve(any(), any(), any(), anyString(), any(), any()))
+                .thenThrow(new IllegalStateException("可用库存不足，无法执行预留操作"));
+
+        reconciler.reconcile();
+
+        ArgumentCaptor<ReservationDeadLetterPO> captor = ArgumentCaptor.forClass(ReservationDeadLetterPO.class);
+        verify(deadLetterMapper).insert(captor.capture());
+        assertThat(captor.getValue().getOpType()).isEqualTo("RESERVE");
+        assertThat(captor.getValue().getReferenceId()).isEqualTo("ORD-1");
+        assertThat(captor.getValue().getReason()).isEqualTo("可用库存不足，无法执行预留操作");
+        assertThat(store.outstanding(SKU, WAREHOUSE)).isZero();
+        // 计数已丢弃，下次操作从库存表重新加载
+        assertThat(store.reserve(SKU, WAREHOUSE, Quantity.of(5), "ORD-2", "op").getAvailableQuantity()).isEqualTo(95);
+    }
+
+    @Test
+    void releaseCompensatesDeadLetteredReserve() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        store.drain(10).forEach(store::acknowledge);
+        store.release(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        when(deadLetterMapper.compensateReserve(SKU.getValue(), WAREHOUSE.getValue(), "ORD-1", 10)).thenReturn(1);
+
+        reconciler.reconcile();
+
+        verify(domainService, never()).releaseReservation(any(), any(), any(), anyString(), any(), any());
+        verify(deadLetterMapper, never()).insert(any());
+        assertThat(store.outstanding(SKU, WAREHOUSE)).isZero();
+    }
+
+    @Test
+    void confirmWaitsForDeadLetteredReserve() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        store.drain(10).forEach(store::acknowledge);
+        store.confirm(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        when(deadLetterMapper.countPendingReserve(SKU.getValue(), WAREHOUSE.getValue(), "ORD-1")).thenReturn(1);
+
+        reconciler.reconcile();
+
+        verify(domainService, never()).confirmReservation(any(), any(), any(), anyString(), any(), any());
+        ArgumentCaptor<ReservationDeadLetterPO> captor = ArgumentCaptor.forClass(ReservationDeadLetterPO.class);
+        verify(deadLetterMapper).insert(captor.capture());
+        assertThat(captor.getValue().getOpType()).isEqualTo("CONFIRM");
+    }
+
+    @Test
+    void unavailableDatabaseRequeuesRemainingOperations() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-2", "op");
+        when(domainService.reserve(any(), any(), any(), anyString(), any(), any()))
+                .thenThrow(new RuntimeException("connection refused"));
+
+        reconciler.reconcile();
+
+        verify(deadLetterMapper, never()).insert(any());
+        assertThat(store.outstanding(SKU, WAREHOUSE)).isEqualTo(2);
+        assertThat(store.drain(10)).extracting(ReservationOp::getReferenceId).containsExactly("ORD-1", "ORD-2");
+    }
+
+    @Test
+    void deadLetterRetryStopsAtFirstFailureForSameReference() {
+        when(deadLetterMapper.findPending(anyInt())).thenReturn(List.of(
+                deadLetter(1L, "RESERVE", "ORD-1"), deadLetter(2L, "CONFIRM", "ORD-1"), deadLetter(3L, "RESERVE", "ORD-2")));
+        when(deadLetterMapper.markIfPending(anyLong(), eq("RESOLVED"))).thenReturn(1);
+        when(domainService.reserve(any(), any(), any(), anyString(), eq("ORD-1"), any()))
+                .thenThrow(new IllegalStateException("可用库存不足，无法执行预留操作"));
+
+        reconciler.retryDeadLetters();
+
+        verify(deadLetterMapper).recordFailedAttempt(eq(1L), anyString(), anyInt());
+        verify(domainService, never()).confirmReservation(any(), any(), any(), anyString(), any(), any());
+        verify(domainService).reserve(eq(SKU), eq(WAREHOUSE), eq(Quantity.of(10)), anyString(), eq("ORD-2"), eq("op"));
+    }
+
+    private static ReservationDeadLetterPO deadLetter(long id, String type, String referenceId) {
+        ReservationDeadLetterPO deadLetter = new ReservationDeadLetterPO();
+        deadLetter.setId(id);
+        deadLetter.setOpType(type);
+        deadLetter.setSkuId(SKU.getValue());
+        deadLetter.setWarehouseId(WAREHOUSE.getValue());
+        deadLetter.setQuantity(10);
+        deadLetter.setReferenceId(referenceId);
+        deadLetter.setOperatorId("op");
+        deadLetter.setStatus("PENDING");
+        deadLetter.setAttempts(0);
+        return deadLetter;
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.inventory.infrastructure.reservation;
+
+import com.ecommerce.inventory.domain.entity.Inventory;
+import com.ecommerce.inventory.domain.entity.InventoryStatus;
+import com.ecommerce.inventory.domain.service.ReservationStore;
+import com.ecommerce.inventory.domain.service.ReservationStore.Outcome;
+import com.ecommerce.inventory.domain.service.ReservationStore.ReservationResult;
+import com.ecommerce.inventory.domain.valueobject.InventoryId;
+import com.ecommerce.inventory.domain.valueobject.Quantity;
+import com.ecommerce.inventory.domain.valueobject.SkuId;
+import com.ecommerce.inventory.domain.valueobject.WarehouseId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 预占存储契约测试
+ * 所有 ReservationStore 实现都必须满足的规则，每个实现继承本类并提供初始库存为 总库存100、可用100、预留0 的存储
+ */
+public abstract class ReservationStoreContractTest {
+
+    protected static final SkuId SKU = SkuId.of("SKU-CONTRACT-1");
+    protected static final WarehouseId WAREHOUSE = WarehouseId.of("WH-CONTRACT-1");
+    protected static final int INITIAL = 100;
+
+    protected ReservationStore store;
+
+    /**
+     * 创建待测存储，initial 为库存表中的初始库存
+     */
+    protected abstract ReservationStore createStore(Inventory initial);
+
+    protected static Inventory inventory(int available, int reserved, int total) {
+        return Inventory.restore(InventoryId.of("INV-CONTRACT-1"), SKU, WAREHOUSE, Quantity.of(total),
+                Quantity.of(available), Quantity.of(reserved), Quantity.zero(), Quantity.zero(),
+                InventoryStatus.ACTIVE, null, null, 0L);
+    }
+
+    @BeforeEach
+    void setUpStore() {
+        store = createStore(inventory(INITIAL, 0, INITIAL));
+    }
+
+    @Test
+    void reserveMovesAvailableToReserved() {
+        ReservationResult result = store.reserve(SKU, WAREHOUSE, Quantity.of(30), "ORD-1", "op");
+
+        assertThat(result.getOutcome()).isEqualTo(Outcome.APPLIED);
+        assertThat(result.getAvailableQuantity()).isEqualTo(70);
+        assertThat(result.getReservedQuantity()).isEqualTo(30);
+        assertThat(result.getTotalQuantity()).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void reserveBeyondAvailableIsRejectedWithoutChangingCounts() {
+        assertThatThrownBy(() -> store.reserve(SKU, WAREHOUSE, Quantity.of(INITIAL + 1), "ORD-1", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("可用库存不足，无法执行预留操作");
+
+        ReservationResult result = store.reserve(SKU, WAREHOUSE, Quantity.of(INITIAL), "ORD-2", "op");
+        assertThat(result.getAvailableQuantity()).isZero();
+        assertThat(result.getReservedQuantity()).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void duplicateReferenceIsAppliedOnce() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        ReservationResult duplicate = store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        assertThat(duplicate.getOutcome()).isEqualTo(Outcome.DUPLICATE);
+        assertThat(duplicate.getAvailableQuantity()).isEqualTo(90);
+        assertThat(duplicate.getReservedQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void differentOperationsOnSameReferenceAreIndependent() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        ReservationResult released = store.release(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        assertThat(released.getOutcome()).isEqualTo(Outcome.APPLIED);
+        assertThat(released.getAvailableQuantity()).isEqualTo(INITIAL);
+        assertThat(released.getReservedQuantity()).isZero();
+    }
+
+    @Test
+    void missingReferenceIsNotDeduplicated() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), null, "op");
+        ReservationResult second = store.reserve(SKU, WAREHOUSE, Quantity.of(10), null, "op");
+
+        assertThat(second.getOutcome()).isEqualTo(Outcome.APPLIED);
+        assertThat(second.getReservedQuantity()).isEqualTo(20);
+    }
+
+    @Test
+    void releaseBeyondReservedIsRejected() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        assertThatThrownBy(() -> store.release(SKU, WAREHOUSE, Quantity.of(11), "ORD-1", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("预留库存不足，无法释放指定数量");
+    }
+
+    @Test
+    void confirmConsumesReservedAndTotal() {
+        store.reserve(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+        ReservationResult confirmed = store.confirm(SKU, WAREHOUSE, Quantity.of(10), "ORD-1", "op");
+
+        assertThat(confirmed.getOutcome()).isEqualTo(Outcome.APPLIED);
+        assertThat(confirmed.getAvailableQuantity()).isEqualTo(90);
+        assertThat(confirmed.getReservedQuantity()).isZero();
+        assertThat(confirmed.getTotalQuantity()).isEqualTo(90);
+    }
+
+    @Test
+    void confirmBeyondReservedIsRejected() {
+        assertThatThrownBy(() -> store.confirm(SKU, WAREHOUSE, Quantity.of(1), "ORD-1", "op"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("预留库存不足，无法确认指定数量");
+    }
+
+    @Test
+    void nonPositiveQuantityIsRejected() {
+        assertThatThrownBy(() -> store.reserve(SKU, WAREHOUSE, Quantity.zero(), "ORD-1", "op"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("预留数量必须大于0");
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                Callable<Integer> task = () -> {
+                    int applied = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        try {
+                            store.reserve(SKU, WAREHOUSE, Quantity.of(1), "ORD-" + thread + "-" + i, "op");
+                            applied++;
+                        } catch (IllegalStateException e) {
+                            // 库存耗尽
+                        }
+                    }
+                    return applied;
+                };
+                futures.add(executor.submit(task));
+            }
+            int applied = 0;
+            for (Future<Integer> future : futures) {
+                applied += future.get(30, TimeUnit.SECONDS);
+            }
+            assertThat(applied).isEqualTo(INITIAL);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThatThrownBy(() -> store.reserve(SKU, WAREHOUSE, Quantity.of(1), "ORD-LAST", "op"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.notification.domain.valueobject;
 
-import java.util.UUID;
+import com.ecommerce.common.id.IdGenerator;
+
 import java.util.Objects;
 
 public class NotificationId {
@@ -15,7 +16,7 @@ public class NotificationId {
     }
 
     public static NotificationId generate() {
-        return new NotificationId(UUID.randomUUID().toString());
+        return new NotificationId(IdGenerator.randomUuid());
     }
 
     public String getValue() {
@@ -21,7 +21,7 @@ public class GrpcClientConfig {
     private int productServicePort = 9092;
     
     private String inventoryServiceHost = "localhost";
-    private int inventoryServicePort = 9093;
+    private int inventoryServicePort = 9083;
     
     private String orderServiceHost = "localhost";
     private int orderServicePort = 9094;
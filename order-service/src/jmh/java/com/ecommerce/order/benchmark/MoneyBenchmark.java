@@ -0,0 +1,113 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.valueobject.CompactMoney;
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单金额计算基准：BigDecimal 实现的 Money 与按最小货币单位 long 存储的 CompactMoney
+ * 1. 汇总：单价 × 数量后累加为订单总额（下单与重建聚合时的计算）
+ * 2. 转换：数据库 DECIMAL 金额与 CompactMoney 互转（仓库读写路径上每个金额的开销）
+ * 3. 建单：按订单项创建订单聚合（当前实现内部使用 CompactMoney）
+ * 配合 -prof gc 对比每次操作的分配量：
+ * mvn -P jmh test-compile exec:java -Dexec.args="MoneyBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final Currency CNY = Currency.getInstance("CNY");
+
+    @Param({"3", "20"})
+    private int itemCount;
+
+    private int[] quantities;
+    private Money[] moneyPrices;
+    private CompactMoney[] compactPrices;
+    private BigDecimal[] amounts;
+    private List<OrderItem> items;
+    private UserId userId;
+
+    @Setup
+    public void setUp() {
+        quantities = new int[itemCount];
+        moneyPrices = new Money[itemCount];
+        compactPrices = new CompactMoney[itemCount];
+        amounts = new BigDecimal[itemCount];
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            BigDecimal price = new BigDecimal("19.90").add(BigDecimal.valueOf(i, 2));
+            quantities[i] = i % 5 + 1;
+            moneyPrices[i] = Money.of(price, CNY);
+            compactPrices[i] = CompactMoney.of(price, CNY);
+            amounts[i] = price;
+            items.add(OrderItem.create("PROD-" + i, "SKU-" + i, quantities[i], compactPrices[i]));
+        }
+        userId = UserId.of("USER-10001");
+    }
+
+    @Benchmark
+    public Money totalWithMoney() {
+        Money total = Money.zero(CNY);
+        for (int i = 0; i < itemCount; i++) {
+            total = total.add(moneyPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public CompactMoney totalWithCompactMoney() {
+        CompactMoney total = CompactMoney.zero(CNY);
+        for (int i = 0; i < itemCount; i++) {
+            total = total.add(compactPrices[i].multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal roundTripMoney() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            sum = sum.add(Money.of(amounts[i], CNY).getAmount());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigDecimal roundTripCompactMoney() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            sum = sum.add(CompactMoney.of(amounts[i], CNY).toAmount());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return Order.create(OrderId.of("ORD-20240601123045-A1B2C3"), userId, items);
+    }
+}
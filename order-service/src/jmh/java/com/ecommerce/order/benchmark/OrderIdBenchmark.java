@@ -0,0 +1,122 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.infrastructure.config.OrderIdProperties;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.idgen.SnowflakeOrderIdGenerator;
+import com.ecommerce.order.infrastructure.mapper.OrderDataMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单ID生成与行映射基准
+ * 1. 生成：改造前的 DateTimeFormatter + UUID 写法、当前时间戳格式（SecureRandom 后缀）、雪花格式
+ * 2. 校验：改造前每次编译正则的 String.matches 与当前 IdChars 扫描
+ * 3. 映射：一行订单 + 3 个订单项的 PO 还原为聚合（仓库读路径上每行的开销）
+ * 生成类基准用 4 个线程，体现随机源与 CAS 的争用：
+ * mvn -P jmh test-compile exec:java -Dexec.args="OrderIdBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderIdBenchmark {
+
+    private static final String SAMPLE_ID = "ORD-20240601123045-A1B2C3";
+
+    private SnowflakeOrderIdGenerator snowflakeGenerator;
+    private OrderDataMapperImpl dataMapper;
+    private OrderPO orderPO;
+    private List<OrderItemPO> itemPOs;
+
+    @Setup
+    public void setUp() {
+        OrderIdProperties properties = new OrderIdProperties();
+        properties.setStrategy("snowflake");
+        properties.setWorkerId(1);
+        // nextId() 不经过分片路由
+        snowflakeGenerator = new SnowflakeOrderIdGenerator(properties, null);
+
+        dataMapper = new OrderDataMapperImpl();
+        LocalDateTime now = LocalDateTime.now();
+        orderPO = new OrderPO();
+        orderPO.setOrderId(SAMPLE_ID);
+        orderPO.setUserId("USER-10001");
+        orderPO.setTotalAmount(new BigDecimal("397.50"));
+        orderPO.setCurrency("CNY");
+        orderPO.setStatus("PAID");
+        orderPO.setOrderType("NORMAL");
+        orderPO.setOrderDate(now);
+        orderPO.setCreatedAt(now);
+        orderPO.setUpdatedAt(now);
+        itemPOs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderItemPO itemPO = new OrderItemPO();
+            itemPO.setOrderId(SAMPLE_ID);
+            itemPO.setProductId("PROD-" + i);
+            itemPO.setSkuId("SKU-" + i);
+            itemPO.setQuantity(i + 1);
+            itemPO.setUnitPrice(new BigDecimal("66.25"));
+            itemPO.setTotalPrice(new BigDecimal("66.25").multiply(BigDecimal.valueOf(i + 1)));
+            itemPO.setCreatedAt(now);
+            itemPO.setUpdatedAt(now);
+            itemPOs.add(itemPO);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateLegacy() {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        String randomSuffix = UUID.randomUUID().toString().replace("-", "").substring(0, 6).toUpperCase();
+        return "ORD-" + timestamp + "-" + randomSuffix;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public OrderId generateTimestamp() {
+        return OrderId.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public OrderId generateSnowflake() {
+        return snowflakeGenerator.nextId();
+    }
+
+    @Benchmark
+    public boolean validateLegacyRegex() {
+        return SAMPLE_ID.matches("^[a-zA-Z0-9-]+$");
+    }
+
+    @Benchmark
+    public OrderId validateIdChars() {
+        return OrderId.of(SAMPLE_ID);
+    }
+
+    @Benchmark
+    public Order mapOrderRow() {
+        return dataMapper.orderPOToOrder(orderPO, itemPOs);
+    }
+}
@@ -3,37 +3,113 @@ package com.ecommerce.order.domain.entity;
 import com.ecommerce.order.domain.valueobject.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * 订单 - 聚合根
+ * 订单项随订单一起创建和持久化，创建后不再变更
+ * 金额在聚合内以最小货币单位（CompactMoney）保存和计算，Money 只在对外读取时转换
  */
 public class Order {
     
-    public enum OrderStatus {
-        PENDING, CONFIRMED, PAID, SHIPPED, DELIVERED, CANCELLED
-    }
-    
     private OrderId orderId;
     private UserId userId;
-    private Money totalAmount;
+    private CompactMoney totalAmount;
     private OrderStatus status;
+    private OrderType type;
+    private List<OrderItem> items;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;                  // 乐观锁版本号
     
     private Order() {
+        this.version = 0L;
         this.status = OrderStatus.PENDING;
+        this.type = OrderType.NORMAL;
+        this.items = Collections.emptyList();
         this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
     
     public static Order create(UserId userId, Money totalAmount) {
+        return create(OrderId.generate(), userId, totalAmount);
+    }
+    
+    public static Order create(OrderId orderId, UserId userId, Money totalAmount) {
+        Order order = new Order();
+        order.orderId = orderId;
+        order.userId = userId;
+        order.totalAmount = CompactMoney.of(totalAmount);
+        return order;
+    }
+    
+    public static Order create(UserId userId, List<OrderItem> items) {
+        return create(OrderId.generate(), userId, items);
+    }
+    
+    /**
+     * 按订单项创建订单，总金额为各项小计之和
+     */
+    public static Order create(OrderId orderId, UserId userId, List<OrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("订单项不能为空");
+        }
+        
+        CompactMoney totalAmount = items.get(0).getCompactTotalPrice();
+        for (int i = 1; i < items.size(); i++) {
+            totalAmount = totalAmount.add(items.get(i).getCompactTotalPrice());
+        }
+        
         Order order = new Order();
-        order.orderId = OrderId.generate();
+        order.orderId = orderId;
         order.userId = userId;
         order.totalAmount = totalAmount;
+        order.items = Collections.unmodifiableList(new ArrayList<>(items));
         return order;
     }
     
+    /**
+     * 从持久化数据重建订单
+     */
+    public static Order restore(OrderId orderId, UserId userId, Money totalAmount, OrderStatus status,
+                                OrderType type, List<OrderItem> items,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return restore(orderId, userId, CompactMoney.of(totalAmount), status, type, items, createdAt, updatedAt);
+    }
+    
+    public static Order restore(OrderId orderId, UserId userId, CompactMoney totalAmount, OrderStatus status,
+                                OrderType type, List<OrderItem> items,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return restore(orderId, userId, totalAmount, status, type, items, createdAt, updatedAt, null);
+    }
+    
+    public static Order restore(OrderId orderId, UserId userId, CompactMoney totalAmount, OrderStatus status,
+                                OrderType type, List<OrderItem> items,
+                                LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        Order order = new Order();
+        order.orderId = orderId;
+        order.userId = userId;
+        order.totalAmount = totalAmount;
+        order.status = status != null ? status : OrderStatus.PENDING;
+        order.type = type != null ? type : OrderType.NORMAL;
+        order.items = items != null ? Collections.unmodifiableList(new ArrayList<>(items)) : Collections.emptyList();
+        if (createdAt != null) {
+            order.createdAt = createdAt;
+        }
+        order.updatedAt = updatedAt != null ? updatedAt : order.createdAt;
+        order.version = version != null ? version : 0L;
+        return order;
+    }
+    
+    /**
+     * 持久化成功后递增版本号，与库中的行保持一致
+     */
+    public void incrementVersion() {
+        this.version = this.version + 1;
+    }
+    
     public void confirm() {
         if (status != OrderStatus.PENDING) {
             throw new IllegalStateException("只有待确认的订单才能确认");
@@ -43,7 +119,7 @@ public class Order {
     }
     
     public void pay() {
-        if (status != OrderStatus.CONFIRMED) {
+        if (!status.canBePaid()) {
             throw new IllegalStateException("只有已确认的订单才能支付");
         }
         this.status = OrderStatus.PAID;
@@ -51,7 +127,7 @@ public class Order {
     }
     
     public void ship() {
-        if (status != OrderStatus.PAID) {
+        if (!status.canBeShipped()) {
             throw new IllegalStateException("只有已支付的订单才能发货");
         }
         this.status = OrderStatus.SHIPPED;
@@ -59,16 +135,16 @@ public class Order {
     }
     
     public void deliver() {
-        if (status != OrderStatus.SHIPPED) {
+        if (!status.canBeCompleted()) {
             throw new IllegalStateException("只有已发货的订单才能确认收货");
         }
-        this.status = OrderStatus.DELIVERED;
+        this.status = OrderStatus.COMPLETED;
         this.updatedAt = LocalDateTime.now();
     }
     
     public void cancel() {
-        if (status == OrderStatus.DELIVERED) {
-            throw new IllegalStateException("已送达的订单不能取消");
+        if (status == OrderStatus.COMPLETED) {
+            throw new IllegalStateException("已完成的订单不能取消");
         }
         this.status = OrderStatus.CANCELLED;
         this.updatedAt = LocalDateTime.now();
@@ -77,8 +153,12 @@ public class Order {
     // Getters
     public OrderId getOrderId() { return orderId; }
     public UserId getUserId() { return userId; }
-    public Money getTotalAmount() { return totalAmount; }
+    public Money getTotalAmount() { return totalAmount.toMoney(); }
+    public CompactMoney getCompactTotalAmount() { return totalAmount; }
     public OrderStatus getStatus() { return status; }
+    public OrderType getType() { return type; }
+    public List<OrderItem> getItems() { return items; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
-}
\ No newline at end of file
+    public Long getVersion() { return version; }
+}
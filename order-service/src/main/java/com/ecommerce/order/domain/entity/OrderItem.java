@@ -0,0 +1,92 @@
+package com.ecommerce.order.domain.entity;
+
+import com.ecommerce.order.domain.valueobject.CompactMoney;
+import com.ecommerce.order.domain.valueobject.Money;
+
+/**
+ * 订单项 - 实体（属于订单聚合）
+ * 领域概念：订单中一个SKU的购买数量与成交价格，创建后不可变
+ * 价格以最小货币单位保存，小计为整数乘法
+ * 仓库编码为预占库存的仓库，释放/确认预占时按该仓库定位库存；未指定时由库存服务按SKU选择仓库
+ */
+public class OrderItem {
+    
+    private final String productId;
+    private final String skuId;
+    private final int quantity;
+    private final CompactMoney unitPrice;
+    private final CompactMoney totalPrice;
+    private final String warehouseCode;
+    
+    private OrderItem(String productId, String skuId, int quantity, CompactMoney unitPrice, CompactMoney totalPrice,
+                      String warehouseCode) {
+        this.productId = productId;
+        this.skuId = skuId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = totalPrice;
+        this.warehouseCode = warehouseCode;
+    }
+    
+    /**
+     * 创建订单项，小计 = 单价 × 数量
+     */
+    public static OrderItem create(String productId, String skuId, int quantity, Money unitPrice) {
+        if (unitPrice == null) {
+            throw new IllegalArgumentException("商品单价不能为空");
+        }
+        return create(productId, skuId, quantity, CompactMoney.of(unitPrice));
+    }
+    
+    public static OrderItem create(String productId, String skuId, int quantity, CompactMoney unitPrice) {
+        return create(productId, skuId, quantity, unitPrice, null);
+    }
+    
+    /**
+     * 创建订单项并记录预占库存的仓库
+     */
+    public static OrderItem create(String productId, String skuId, int quantity, CompactMoney unitPrice,
+                                   String warehouseCode) {
+        if (productId == null || productId.trim().isEmpty()) {
+            throw new IllegalArgumentException("商品ID不能为空");
+        }
+        if (skuId == null || skuId.trim().isEmpty()) {
+            throw new IllegalArgumentException("SKU ID不能为空");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("购买数量必须大于0");
+        }
+        if (unitPrice == null) {
+            throw new IllegalArgumentException("商品单价不能为空");
+        }
+        String warehouse = warehouseCode != null && !warehouseCode.trim().isEmpty() ? warehouseCode : null;
+        return new OrderItem(productId, skuId, quantity, unitPrice, unitPrice.multiply(quantity), warehouse);
+    }
+    
+    /**
+     * 从持久化数据重建订单项
+     */
+    public static OrderItem restore(String productId, String skuId, int quantity, Money unitPrice, Money totalPrice) {
+        return restore(productId, skuId, quantity, CompactMoney.of(unitPrice), CompactMoney.of(totalPrice));
+    }
+    
+    public static OrderItem restore(String productId, String skuId, int quantity,
+                                    CompactMoney unitPrice, CompactMoney totalPrice) {
+        return restore(productId, skuId, quantity, unitPrice, totalPrice, null);
+    }
+    
+    public static OrderItem restore(String productId, String skuId, int quantity,
+                                    CompactMoney unitPrice, CompactMoney totalPrice, String warehouseCode) {
+        return new OrderItem(productId, skuId, quantity, unitPrice, totalPrice, warehouseCode);
+    }
+    
+    // Getters
+    public String getProductId() { return productId; }
+    public String getSkuId() { return skuId; }
+    public int getQuantity() { return quantity; }
+    public Money getUnitPrice() { return unitPrice.toMoney(); }
+    public Money getTotalPrice() { return totalPrice.toMoney(); }
+    public CompactMoney getCompactUnitPrice() { return unitPrice; }
+    public CompactMoney getCompactTotalPrice() { return totalPrice; }
+    public String getWarehouseCode() { return warehouseCode; }
+}
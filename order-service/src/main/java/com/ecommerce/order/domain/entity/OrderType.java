@@ -0,0 +1,38 @@
+package com.ecommerce.order.domain.entity;
+
+/**
+ * 订单类型枚举
+ * 领域概念：订单的业务来源，创建后不再变更
+ */
+public enum OrderType {
+
+    /**
+     * 普通订单
+     */
+    NORMAL("普通订单"),
+
+    /**
+     * 预订单 - 商品尚未到货，先下单后发货
+     */
+    PRE_ORDER("预订单"),
+
+    /**
+     * 团购订单
+     */
+    GROUP("团购订单"),
+
+    /**
+     * 秒杀订单
+     */
+    FLASH_SALE("秒杀订单");
+
+    private final String description;
+
+    OrderType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
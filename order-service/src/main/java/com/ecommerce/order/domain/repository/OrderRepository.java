@@ -1,18 +1,185 @@
 package com.ecommerce.order.domain.repository;
 
 import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.entity.OrderType;
+import com.ecommerce.order.domain.valueobject.Money;
 import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     
+    /**
+     * 新增订单聚合：订单与订单项在同一事务内写入
+     */
+    Order add(Order order);
+    
+    /**
+     * 保存订单：已存在时更新订单状态与金额（订单项不可变），不存在时按新订单写入
+     */
     Order save(Order order);
     
     Optional<Order> findById(OrderId orderId);
     
+    /**
+     * 按订单ID批量查询，结果按入参顺序排列（重复的ID只返回一次），不存在的订单不在结果中
+     * includeItems 为 false 时不加载订单项
+     */
+    List<Order> findByIds(List<OrderId> orderIds, boolean includeItems);
+    
     List<Order> findByUserId(String userId);
     
+    /**
+     * 按 (下单时间, 订单ID) 倒序的键集分页查询用户订单，cursor 为空时从最新的订单开始
+     */
+    List<Order> findPageByUserId(UserOrderCriteria criteria, OrderCursor cursor, int limit);
+    
+    /**
+     * 估算满足条件的用户订单数：不超过统计上限时为精确值，超过后取优化器的估算行数
+     */
+    long estimateCountByUserId(UserOrderCriteria criteria);
+    
+    /**
+     * 按条件搜索订单，按 (下单时间, 订单ID) 倒序键集分页，cursor 为空时从最新的订单开始
+     * 指定用户时只查询该用户所在分片，否则查询全部分片后归并
+     */
+    OrderPage search(OrderSearchCriteria criteria, OrderCursor cursor, int limit);
+    
     void delete(OrderId orderId);
-}
\ No newline at end of file
+    
+    /**
+     * 用户订单查询条件，状态与类型可选
+     */
+    class UserOrderCriteria {
+        private final UserId userId;
+        private final OrderStatus status;
+        private final OrderType type;
+        
+        public UserOrderCriteria(UserId userId, OrderStatus status, OrderType type) {
+            if (userId == null) {
+                throw new IllegalArgumentException("用户ID不能为空");
+            }
+            this.userId = userId;
+            this.status = status;
+            this.type = type;
+        }
+        
+        // Getters
+        public UserId getUserId() { return userId; }
+        public OrderStatus getStatus() { return status; }
+        public OrderType getType() { return type; }
+    }
+    
+    /**
+     * 订单搜索条件，均可选；时间区间为 [startTime, endTime)，金额区间包含两端
+     */
+    class OrderSearchCriteria {
+        private final OrderId orderId;
+        private final UserId userId;
+        private final OrderStatus status;
+        private final OrderType type;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final Money minAmount;
+        private final Money maxAmount;
+        
+        public OrderSearchCriteria(OrderId orderId, UserId userId, OrderStatus status, OrderType type,
+                                   LocalDateTime startTime, LocalDateTime endTime,
+                                   Money minAmount, Money maxAmount) {
+            if (startTime != null && endTime != null && !startTime.isBefore(endTime)) {
+                throw new IllegalArgumentException("开始时间必须早于结束时间");
+            }
+            if (minAmount != null && maxAmount != null) {
+                if (!minAmount.getCurrency().equals(maxAmount.getCurrency())) {
+                    throw new IllegalArgumentException("金额区间的货币类型必须一致");
+                }
+                if (minAmount.greaterThan(maxAmount)) {
+                    throw new IllegalArgumentException("最小金额不能大于最大金额");
+                }
+            }
+            this.orderId = orderId;
+            this.userId = userId;
+            this.status = status;
+            this.type = type;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+        }
+        
+        /**
+         * 金额过滤的货币类型，未按金额过滤时为 null
+         */
+        public String getAmountCurrency() {
+            Money amount = minAmount != null ? minAmount : maxAmount;
+            return amount != null ? amount.getCurrency().getCurrencyCode() : null;
+        }
+        
+        // Getters
+        public OrderId getOrderId() { return orderId; }
+        public UserId getUserId() { return userId; }
+        public OrderStatus getStatus() { return status; }
+        public OrderType getType() { return type; }
+        public LocalDateTime getStartTime() { return startTime; }
+        public LocalDateTime getEndTime() { return endTime; }
+        public Money getMinAmount() { return minAmount; }
+        public Money getMaxAmount() { return maxAmount; }
+    }
+    
+    /**
+     * 键集分页游标：上一页最后一条订单的下单时间与订单ID
+     */
+    class OrderCursor {
+        private final LocalDateTime orderTime;
+        private final String orderId;
+        
+        public OrderCursor(LocalDateTime orderTime, String orderId) {
+            if (orderTime == null || orderId == null) {
+                throw new IllegalArgumentException("分页游标不完整");
+            }
+            this.orderTime = orderTime;
+            this.orderId = orderId;
+        }
+        
+        /**
+         * 下单时间即订单创建时间（order_date 与 created_at 同时写入）
+         */
+        public static OrderCursor after(Order order) {
+            return new OrderCursor(order.getCreatedAt(), order.getOrderId().getValue());
+        }
+        
+        // Getters
+        public LocalDateTime getOrderTime() { return orderTime; }
+        public String getOrderId() { return orderId; }
+    }
+    
+    /**
+     * 搜索结果页：是否有下一页与下一页游标按排序键计算，
+     * 排序键读出后、订单行补齐前被删除或归档的订单不影响翻页
+     */
+    class OrderPage {
+        private final List<Order> orders;
+        private final OrderCursor nextCursor;
+        
+        public OrderPage(List<Order> orders, OrderCursor nextCursor) {
+            this.orders = orders;
+            this.nextCursor = nextCursor;
+        }
+        
+        public static OrderPage empty() {
+            return new OrderPage(new ArrayList<>(), null);
+        }
+        
+        public boolean hasNext() { return nextCursor != null; }
+        
+        // Getters
+        public List<Order> getOrders() { return orders; }
+        public OrderCursor getNextCursor() { return nextCursor; }
+    }
+}
+
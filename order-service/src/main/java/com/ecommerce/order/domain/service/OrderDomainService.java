@@ -1,6 +1,7 @@
 package com.ecommerce.order.domain.service;
 
 import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
 import com.ecommerce.order.domain.repository.OrderRepository;
 import com.ecommerce.order.domain.valueobject.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,16 +16,35 @@ public class OrderDomainService {
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderIdGenerator orderIdGenerator;
+    
     /**
      * 创建订单
      */
     public Order createOrder(String userId, Money totalAmount) {
+        UserId owner = UserId.of(userId);
         Order order = Order.create(
-            UserId.of(userId),
+            orderIdGenerator.nextId(owner),
+            owner,
             totalAmount
         );
         
-        return orderRepository.save(order);
+        return orderRepository.add(order);
+    }
+    
+    /**
+     * 按订单项创建订单，订单与订单项一并写入
+     */
+    public Order createOrder(String userId, List<OrderItem> items) {
+        UserId owner = UserId.of(userId);
+        Order order = Order.create(
+            orderIdGenerator.nextId(owner),
+            owner,
+            items
+        );
+        
+        return orderRepository.add(order);
     }
     
     /**
@@ -0,0 +1,20 @@
+package com.ecommerce.order.domain.service;
+
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+
+/**
+ * 订单ID生成器
+ * 实现：时间戳 + 随机后缀（默认，OrderId.generate 的格式）、雪花（按时间单调递增），由 order.id.strategy 选择
+ */
+public interface OrderIdGenerator {
+
+    OrderId nextId();
+
+    /**
+     * 为指定用户的新订单发号；按用户分库时订单ID携带用户所在的分片，按ID查询可直接定位
+     */
+    default OrderId nextId(UserId userId) {
+        return nextId();
+    }
+}
@@ -0,0 +1,219 @@
+package com.ecommerce.order.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * 紧凑货币金额 - 值对象（订单服务使用）
+ * 领域概念：以最小货币单位（人民币为分）的整数表示的货币值，订单聚合内的金额计算使用它
+ * 特性：不可变、加减乘只做整数运算并检查溢出、需要舍入时使用银行家舍入（HALF_EVEN）
+ * 只在持久化、接口等边界与 BigDecimal / Money 互转
+ */
+public final class CompactMoney implements Comparable<CompactMoney> {
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private CompactMoney(long minorUnits, Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("货币单位不能为空");
+        }
+
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("不支持的货币单位: " + currency);
+        }
+
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("金额不能为负数");
+        }
+
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * 按最小货币单位创建
+     */
+    public static CompactMoney ofMinor(long minorUnits, Currency currency) {
+        return new CompactMoney(minorUnits, currency);
+    }
+
+    /**
+     * 按金额创建，小数位超过货币精度时银行家舍入
+     */
+    public static CompactMoney of(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            throw new IllegalArgumentException("金额不能为空");
+        }
+
+        if (currency == null) {
+            throw new IllegalArgumentException("货币单位不能为空");
+        }
+
+        try {
+            return new CompactMoney(amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_EVEN)
+                    .unscaledValue().longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("金额超出范围: " + amount);
+        }
+    }
+
+    public static CompactMoney of(Money money) {
+        if (money == null) {
+            throw new IllegalArgumentException("金额不能为空");
+        }
+        return of(money.getAmount(), money.getCurrency());
+    }
+
+    /**
+     * 创建零金额
+     */
+    public static CompactMoney zero(Currency currency) {
+        return new CompactMoney(0, currency);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * 按货币精度转换为金额
+     */
+    public BigDecimal toAmount() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public Money toMoney() {
+        return Money.of(toAmount(), currency);
+    }
+
+    /**
+     * 检查是否为零
+     */
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    /**
+     * 加法运算
+     */
+    public CompactMoney add(CompactMoney other) {
+        checkSameCurrency(other);
+        try {
+            return new CompactMoney(Math.addExact(minorUnits, other.minorUnits), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("金额超出范围: " + this + " + " + other);
+        }
+    }
+
+    /**
+     * 减法运算
+     */
+    public CompactMoney subtract(CompactMoney other) {
+        checkSameCurrency(other);
+        if (minorUnits < other.minorUnits) {
+            throw new IllegalArgumentException("减法运算结果不能为负数");
+        }
+        return new CompactMoney(minorUnits - other.minorUnits, currency);
+    }
+
+    /**
+     * 乘以数量，结果精确
+     */
+    public CompactMoney multiply(long quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("乘数不能为负数");
+        }
+        try {
+            return new CompactMoney(Math.multiplyExact(minorUnits, quantity), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("金额超出范围: " + this + " × " + quantity);
+        }
+    }
+
+    /**
+     * 乘以比例（如折扣），结果银行家舍入到最小货币单位
+     */
+    public CompactMoney multiply(BigDecimal multiplier) {
+        if (multiplier == null) {
+            throw new IllegalArgumentException("乘数不能为空");
+        }
+
+        if (multiplier.signum() < 0) {
+            throw new IllegalArgumentException("乘数不能为负数");
+        }
+
+        try {
+            return new CompactMoney(BigDecimal.valueOf(minorUnits).multiply(multiplier)
+                    .setScale(0, RoundingMode.HALF_EVEN).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("金额超出范围: " + this + " × " + multiplier);
+        }
+    }
+
+    /**
+     * 比较大小
+     */
+    @Override
+    public int compareTo(CompactMoney other) {
+        checkSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * 大于比较
+     */
+    public boolean greaterThan(CompactMoney other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * 小于比较
+     */
+    public boolean lessThan(CompactMoney other) {
+        return compareTo(other) < 0;
+    }
+
+    /**
+     * 检查货币单位是否相同
+     */
+    private void checkSameCurrency(CompactMoney other) {
+        if (other == null) {
+            throw new IllegalArgumentException("比较对象不能为空");
+        }
+
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("货币单位不匹配: " + this.currency + " vs " + other.currency);
+        }
+    }
+
+    /**
+     * 格式化显示
+     */
+    public String format() {
+        return currency.getSymbol() + " " + toAmount().toPlainString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactMoney that = (CompactMoney) o;
+        return minorUnits == that.minorUnits && currency.equals(that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
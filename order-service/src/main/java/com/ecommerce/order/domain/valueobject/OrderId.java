@@ -1,9 +1,12 @@
 package com.ecommerce.order.domain.valueobject;
 
+import com.ecommerce.common.id.IdChars;
+import com.ecommerce.common.id.IdGenerator;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 订单标识符 - 值对象
@@ -12,6 +15,31 @@ import java.util.UUID;
  */
 public final class OrderId {
     
+    /**
+     * 雪花格式：ORD- + 13 位 Crockford Base32（定长，字典序即生成顺序）
+     * 编码的 63 位整数 = 时间戳(41 位，自 SNOWFLAKE_EPOCH_MILLIS 起的毫秒) | 节点ID(10 位) | 毫秒内序号(12 位)
+     */
+    public static final long SNOWFLAKE_EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    public static final int SNOWFLAKE_WORKER_BITS = 10;
+    public static final int SNOWFLAKE_SEQUENCE_BITS = 12;
+    
+    private static final String SNOWFLAKE_PREFIX = "ORD-";
+    private static final int SNOWFLAKE_CODE_LENGTH = 13;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    
+    /**
+     * 时间戳格式：ORD- + yyyyMMddHHmmss + - + 6 位随机十六进制
+     */
+    private static final int TIMESTAMP_LENGTH = 14;
+    private static final int TIMESTAMP_RANDOM_LENGTH = 6;
+    
+    /**
+     * 分片标记：启用分库时在生成的订单ID（雪花或时间戳格式）末尾附加 -S + 2 位 Crockford Base32 虚拟桶
+     */
+    public static final int SHARD_BUCKETS = 1024;
+    private static final String SHARD_MARKER = "-S";
+    private static final int SHARD_TAG_LENGTH = SHARD_MARKER.length() + 2;
+    
     private final String value;
     
     private OrderId(String value) {
@@ -24,7 +52,7 @@ public final class OrderId {
         }
         
         // 订单ID格式验证：允许字母、数字、短横线
-        if (!value.matches("^[a-zA-Z0-9-]+$")) {
+        if (!IdChars.isAlphanumericDash(value)) {
             throw new IllegalArgumentException("订单ID只能包含字母、数字和短横线");
         }
         
@@ -40,13 +68,31 @@ public final class OrderId {
     
     /**
      * 生成新的订单ID（基于时间戳）
+     * 订单号对客户端可见，随机后缀使用 SecureRandom，避免按时间戳枚举他人订单
      */
     public static OrderId generate() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = UUID.randomUUID().toString().replace("-", "").substring(0, 6).toUpperCase();
+        String timestamp = IdGenerator.compactTimestamp(LocalDateTime.now());
+        String randomSuffix = IdGenerator.secureRandomHex(6);
         return new OrderId("ORD-" + timestamp + "-" + randomSuffix);
     }
     
+    /**
+     * 由雪花整数生成订单ID
+     */
+    public static OrderId ofSnowflake(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("雪花ID不能为负数");
+        }
+        
+        char[] chars = new char[SNOWFLAKE_PREFIX.length() + SNOWFLAKE_CODE_LENGTH];
+        SNOWFLAKE_PREFIX.getChars(0, SNOWFLAKE_PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= SNOWFLAKE_PREFIX.length(); i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new OrderId(new String(chars));
+    }
+    
     /**
      * 根据用户ID生成订单ID
      */
@@ -55,17 +101,57 @@ public final class OrderId {
             return generate();
         }
         
-        String userPrefix = userId.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        String userPrefix = IdChars.retainAlphanumeric(userId).toUpperCase();
         if (userPrefix.length() > 8) {
             userPrefix = userPrefix.substring(0, 8);
         }
         
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = UUID.randomUUID().toString().replace("-", "").substring(0, 4).toUpperCase();
+        String timestamp = IdGenerator.compactTimestamp(LocalDateTime.now());
+        String randomSuffix = IdGenerator.secureRandomHex(4);
         
         return new OrderId("ORD-" + userPrefix + "-" + timestamp + "-" + randomSuffix);
     }
     
+    /**
+     * 在生成的订单ID末尾附加分片虚拟桶
+     */
+    public OrderId withShardBucket(int bucket) {
+        if (bucket < 0 || bucket >= SHARD_BUCKETS) {
+            throw new IllegalArgumentException("虚拟桶必须在0-" + (SHARD_BUCKETS - 1) + "之间: " + bucket);
+        }
+        if (shardBucketOf(value) >= 0 || !isGeneratedBody(value, value.length())) {
+            throw new IllegalArgumentException("只能为未附加分片标记的生成订单ID附加分片标记: " + value);
+        }
+        return new OrderId(value + SHARD_MARKER
+                + CROCKFORD[bucket / CROCKFORD.length] + CROCKFORD[bucket % CROCKFORD.length]);
+    }
+    
+    /**
+     * 订单ID携带的分片虚拟桶，未携带时返回 -1
+     */
+    public int getShardBucket() {
+        return shardBucketOf(value);
+    }
+    
+    /**
+     * 订单ID字符串携带的分片虚拟桶，不构造订单ID、不校验其余字符
+     * 只有标记前是生成的订单ID（雪花或时间戳格式）时才认为携带分片标记，
+     * 客户端传入的任意以 -Sxx 结尾的字符串返回 -1
+     */
+    public static int shardBucketOf(String value) {
+        int body = value.length() - SHARD_TAG_LENGTH;
+        if (body < 0 || !value.startsWith(SHARD_MARKER, body)) {
+            return -1;
+        }
+        int high = crockfordDigit(value.charAt(value.length() - 2));
+        int low = crockfordDigit(value.charAt(value.length() - 1));
+        if (high < 0 || low < 0 || !isGeneratedBody(value, body)) {
+            return -1;
+        }
+        int bucket = high * CROCKFORD.length + low;
+        return bucket < SHARD_BUCKETS ? bucket : -1;
+    }
+    
     public String getValue() {
         return value;
     }
@@ -77,6 +163,21 @@ public final class OrderId {
         return value.startsWith("ORD-");
     }
     
+    /**
+     * 检查是否为雪花格式的订单ID
+     */
+    public boolean isSnowflake() {
+        return snowflakeValue() >= 0;
+    }
+    
+    /**
+     * 雪花格式中的毫秒时间戳（Unix 纪元），非雪花格式返回 -1
+     */
+    public long getSnowflakeTimestamp() {
+        long id = snowflakeValue();
+        return id < 0 ? -1 : (id >>> (SNOWFLAKE_WORKER_BITS + SNOWFLAKE_SEQUENCE_BITS)) + SNOWFLAKE_EPOCH_MILLIS;
+    }
+    
     /**
      * 提取订单创建日期（如果是生成的ID）
      */
@@ -85,7 +186,13 @@ public final class OrderId {
             return null;
         }
         
-        String[] parts = value.split("-");
+        long timestamp = getSnowflakeTimestamp();
+        if (timestamp >= 0) {
+            return IdGenerator.compactTimestamp(LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(timestamp), ZoneId.systemDefault())).substring(0, 8);
+        }
+        
+        String[] parts = value.substring(0, bodyLength()).split("-");
         if (parts.length >= 2) {
             String datePart = parts[1];
             if (datePart.length() >= 8) {
@@ -105,7 +212,7 @@ public final class OrderId {
             return null;
         }
         
-        String[] parts = value.split("-");
+        String[] parts = value.substring(0, bodyLength()).split("-");
         if (parts.length >= 4) {
             // 格式: ORD-USER-TIMESTAMP-RANDOM
             return parts[1];
@@ -126,6 +233,68 @@ public final class OrderId {
         return value.substring(0, 8) + "..." + value.substring(value.length() - 4);
     }
     
+    /**
+     * 去掉分片标记后的长度
+     */
+    private int bodyLength() {
+        return shardBucketOf(value) >= 0 ? value.length() - SHARD_TAG_LENGTH : value.length();
+    }
+    
+    /**
+     * 解码雪花格式（可带分片标记），非雪花格式返回 -1
+     */
+    private long snowflakeValue() {
+        return snowflakeValue(value, bodyLength());
+    }
+    
+    private static boolean isGeneratedBody(String value, int end) {
+        return snowflakeValue(value, end) >= 0 || isTimestampBody(value, end);
+    }
+    
+    /**
+     * value[0, end) 是否为 generate() 生成的时间戳格式
+     */
+    private static boolean isTimestampBody(String value, int end) {
+        int timestampEnd = SNOWFLAKE_PREFIX.length() + TIMESTAMP_LENGTH;
+        return end == timestampEnd + 1 + TIMESTAMP_RANDOM_LENGTH
+                && value.startsWith(SNOWFLAKE_PREFIX)
+                && IdChars.isDigits(value, SNOWFLAKE_PREFIX.length(), timestampEnd)
+                && value.charAt(timestampEnd) == '-'
+                && IdChars.isUpperAlphanumeric(value, timestampEnd + 1, end);
+    }
+    
+    /**
+     * 解码 value[0, end) 的雪花格式，非雪花格式返回 -1
+     */
+    private static long snowflakeValue(String value, int end) {
+        if (end != SNOWFLAKE_PREFIX.length() + SNOWFLAKE_CODE_LENGTH || !value.startsWith(SNOWFLAKE_PREFIX)) {
+            return -1;
+        }
+        
+        long id = 0;
+        for (int i = SNOWFLAKE_PREFIX.length(); i < end; i++) {
+            int digit = crockfordDigit(value.charAt(i));
+            // 13 位共 65 位，首位超过 7 时超出 63 位正整数范围
+            if (digit < 0 || (i == SNOWFLAKE_PREFIX.length() && digit > 7)) {
+                return -1;
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+    
+    private static int crockfordDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        for (int i = 10; i < CROCKFORD.length; i++) {
+            if (CROCKFORD[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,5 +1,8 @@
 package com.ecommerce.order.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+
 import java.util.Objects;
 
 /**
@@ -9,6 +12,8 @@ import java.util.Objects;
  */
 public final class UserId {
     
+    private static final IdCache<UserId> CACHE = new IdCache<>(4096, UserId::new);
+    
     private final String value;
     
     private UserId(String value) {
@@ -21,7 +26,7 @@ public final class UserId {
         }
         
         // 用户ID格式验证：允许字母、数字、短横线和下划线
-        if (!value.matches("^[a-zA-Z0-9_-]+$")) {
+        if (!IdChars.isIdentifier(value)) {
             throw new IllegalArgumentException("用户ID只能包含字母、数字、短横线和下划线");
         }
         
@@ -32,7 +37,7 @@ public final class UserId {
      * 创建用户ID
      */
     public static UserId of(String value) {
-        return new UserId(value);
+        return CACHE.get(value);
     }
     
     public String getValue() {
@@ -0,0 +1,188 @@
+package com.ecommerce.order.infrastructure.archive;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.config.OrderArchiveProperties;
+import com.ecommerce.order.infrastructure.mapper.OrderArchiveMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 订单冷热分离归档 - 基础设施层
+ * 职责：把下单超过保留期的终态订单（已完成、已取消）连同订单项迁移到压缩的归档表，热表只保留近期订单
+ * 执行方式：
+ * 1. 分批迁移，每批一个 READ_COMMITTED 短事务：加锁（SKIP LOCKED）、库内 INSERT ... SELECT 复制、删除热表数据，
+ *    复制与删除行数不一致时整批回滚并中止本次归档
+ * 2. 令牌桶按订单数限流；单批耗时超过阈值说明存在竞争，按该批耗时额外暂停，让出资源给下单写入
+ * 3. 每次运行有最长时间，未迁完的留到下次
+ * 4. 分库时各分库依次归档，共用限流与最长运行时间
+ * 统计汇总不受影响：归档只是搬迁数据，订单状态与金额不变
+ */
+@Component
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private static final List<String> ARCHIVABLE_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isFinalState)
+            .map(OrderStatus::name)
+            .toList();
+
+    private final OrderArchiveMapper archiveMapper;
+    private final OrderArchiveProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final TransactionTemplate archiveTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private long nextPermitNanos;
+
+    public OrderArchiver(OrderArchiveMapper archiveMapper,
+                         OrderArchiveProperties properties,
+                         OrderShardRouter shardRouter,
+                         PlatformTransactionManager transactionManager) {
+        this.archiveMapper = archiveMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.archiveTransaction = new TransactionTemplate(transactionManager);
+        // READ_COMMITTED 下 INSERT ... SELECT 不对源表加间隙锁
+        this.archiveTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.archiveTransaction.setTimeout(properties.getTransactionTimeoutSeconds());
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 3 * * *}")
+    public void scheduledArchive() {
+        try {
+            archive();
+        } catch (IllegalStateException e) {
+            logger.warn("跳过订单归档: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 执行一次归档，同一时间只允许一个归档运行
+     */
+    public ArchiveResult archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("订单归档正在运行");
+        }
+        long startedAt = System.currentTimeMillis();
+        long stopAt = startedAt + TimeUnit.MINUTES.toMillis(properties.getMaxRunMinutes());
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getMinAgeDays());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long archived = 0;
+        int batches = 0;
+        boolean completed = false;
+        nextPermitNanos = System.nanoTime();
+
+        try {
+            int completedShards = 0;
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                int current = shard;
+                while (System.currentTimeMillis() < stopAt) {
+                    List<String> candidates = shardRouter.callOn(current,
+                            () -> archiveMapper.findArchivable(ARCHIVABLE_STATUSES, cutoff, batchSize));
+                    if (candidates.isEmpty()) {
+                        completedShards++;
+                        break;
+                    }
+
+                    long batchStartedAt = System.nanoTime();
+                    Integer moved = shardRouter.callOn(current,
+                            () -> archiveTransaction.execute(status -> moveBatch(candidates, cutoff)));
+                    long batchNanos = System.nanoTime() - batchStartedAt;
+                    if (moved == null || moved == 0) {
+                        // 候选订单全部被其他事务锁定，留到下次，避免空转
+                        break;
+                    }
+                    archived += moved;
+                    batches++;
+                    throttle(moved, batchNanos);
+                }
+            }
+            completed = completedShards == shardRouter.shardCount();
+        } finally {
+            running.set(false);
+        }
+
+        ArchiveResult result = new ArchiveResult(archived, batches, completed, System.currentTimeMillis() - startedAt);
+        logger.info("订单归档完成: 归档={}, 批次={}, 已迁完={}, 耗时={}ms",
+                result.getArchived(), result.getBatches(), result.isCompleted(), result.getElapsedMs());
+        return result;
+    }
+
+    private int moveBatch(List<String> candidates, LocalDateTime cutoff) {
+        List<String> locked = archiveMapper.lockArchivable(candidates, ARCHIVABLE_STATUSES, cutoff);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        // 复制与删除的行数必须一致，否则抛出异常回滚本批，热表数据保持不变
+        int copiedOrders = archiveMapper.copyOrders(locked, archivedAt);
+        int copiedItems = archiveMapper.copyItems(locked);
+        int deletedItems = archiveMapper.deleteItems(locked);
+        int deletedOrders = archiveMapper.deleteOrders(locked);
+        if (copiedOrders != locked.size() || deletedOrders != locked.size() || copiedItems != deletedItems) {
+            throw new IllegalStateException(String.format(
+                    "归档行数不一致，已回滚本批: 锁定订单=%d, 复制订单=%d, 删除订单=%d, 复制订单项=%d, 删除订单项=%d",
+                    locked.size(), copiedOrders, deletedOrders, copiedItems, deletedItems));
+        }
+        return locked.size();
+    }
+
+    /**
+     * 令牌桶限流：按本批订单数预约时间片；慢批次额外暂停与其耗时相同的时间
+     */
+    private void throttle(int orders, long batchNanos) {
+        long pauseNanos = 0;
+        if (batchNanos > TimeUnit.MILLISECONDS.toNanos(properties.getSlowBatchMs())) {
+            pauseNanos = batchNanos;
+        }
+        long rate = properties.getMaxOrdersPerSecond();
+        if (rate > 0) {
+            long now = System.nanoTime();
+            nextPermitNanos = Math.max(nextPermitNanos, now) + orders * 1_000_000_000L / rate;
+            pauseNanos = Math.max(pauseNanos, nextPermitNanos - now);
+        }
+        if (pauseNanos > 0) {
+            LockSupport.parkNanos(pauseNanos);
+        }
+    }
+
+    /**
+     * 归档结果
+     */
+    public static class ArchiveResult {
+        private final long archived;
+        private final int batches;
+        private final boolean completed;
+        private final long elapsedMs;
+
+        public ArchiveResult(long archived, int batches, boolean completed, long elapsedMs) {
+            this.archived = archived;
+            this.batches = batches;
+            this.completed = completed;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public long getArchived() { return archived; }
+        public int getBatches() { return batches; }
+
+        /**
+         * 是否已迁完全部满足条件的订单（因超时或锁竞争提前结束时为 false）
+         */
+        public boolean isCompleted() { return completed; }
+        public long getElapsedMs() { return elapsedMs; }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.order.infrastructure.client;
+
+import com.ecommerce.common.proto.CommonProto;
+import com.ecommerce.inventory.proto.InventoryServiceGrpc;
+import com.ecommerce.inventory.proto.InventoryServiceProto;
+import com.ecommerce.order.infrastructure.config.StockReleaseProperties;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 库存服务释放预占客户端 - 基础设施层
+ * 职责：以订单ID为关联ID调用库存服务 ReleaseStock；库存服务按 (操作, SKU, 仓库, 关联ID) 去重，重复投递不会重复释放
+ * 传输失败（不可用、超时）以 StatusRuntimeException 抛出，业务拒绝以响应状态返回
+ */
+@Component
+public class InventoryReleaseClient implements DisposableBean {
+
+    private final StockReleaseProperties properties;
+    private final ManagedChannel channel;
+    private final InventoryServiceGrpc.InventoryServiceBlockingStub blockingStub;
+
+    public InventoryReleaseClient(StockReleaseProperties properties) {
+        this.properties = properties;
+        this.channel = ManagedChannelBuilder.forAddress(properties.getInventoryHost(), properties.getInventoryPort())
+                .usePlaintext() // 在生产环境中应该使用TLS
+                .keepAliveTime(30, TimeUnit.SECONDS)
+                .keepAliveTimeout(5, TimeUnit.SECONDS)
+                .build();
+        this.blockingStub = InventoryServiceGrpc.newBlockingStub(channel);
+    }
+
+    /**
+     * 释放订单在指定SKU、仓库上的预占，返回库存服务的响应状态
+     * 仓库编码为空时不传，由库存服务按SKU定位库存（与未指定仓库的预占一致）
+     */
+    public CommonProto.ResponseStatus release(String orderId, String skuId, String warehouseCode, int quantity) {
+        InventoryServiceProto.ReleaseStockRequest.Builder request = InventoryServiceProto.ReleaseStockRequest.newBuilder()
+                .setSkuId(skuId)
+                .setReleaseQuantity(quantity)
+                .setReferenceId(orderId)
+                .setOperatorId(properties.getOperatorId());
+        if (warehouseCode != null && !warehouseCode.isEmpty()) {
+            request.setWarehouseCode(warehouseCode);
+        }
+        return blockingStub.withDeadlineAfter(properties.getRpcTimeoutMs(), TimeUnit.MILLISECONDS)
+                .releaseStock(request.build())
+                .getStatus();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        channel.shutdown();
+        if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+            channel.shutdownNow();
+        }
+    }
+}
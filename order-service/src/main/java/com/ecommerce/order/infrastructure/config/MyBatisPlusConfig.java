@@ -3,12 +3,13 @@ package com.ecommerce.order.infrastructure.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import org.apache.ibatis.annotations.Mapper;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@MapperScan("com.ecommerce.order.infrastructure.mapper")
+@MapperScan(basePackages = "com.ecommerce.order.infrastructure.mapper", annotationClass = Mapper.class)
 public class MyBatisPlusConfig {
 
     @Bean
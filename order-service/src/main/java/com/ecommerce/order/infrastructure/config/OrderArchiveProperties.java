@@ -0,0 +1,79 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单归档配置
+ * 职责：配置归档时间、订单保留期以及限流参数，保证归档不与下单写入争抢资源
+ */
+@Component
+@ConfigurationProperties(prefix = "order.archive")
+public class OrderArchiveProperties {
+
+    private String cron = "0 0 3 * * *";        // 定时归档表达式，"-" 表示不定时执行
+    private int minAgeDays = 180;               // 终态订单下单后超过该天数才归档
+    private int batchSize = 500;                // 每个归档事务迁移的最大订单数
+    private long maxOrdersPerSecond = 2000;     // 归档速率上限，0 表示不限流
+    private long slowBatchMs = 200;             // 单批耗时超过该值视为存在竞争，按耗时额外暂停
+    private long maxRunMinutes = 120;           // 单次归档的最长运行时间，超过后留到下次
+    private int transactionTimeoutSeconds = 10; // 单个归档事务的超时
+
+    // Getters and Setters
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getMinAgeDays() {
+        return minAgeDays;
+    }
+
+    public void setMinAgeDays(int minAgeDays) {
+        this.minAgeDays = minAgeDays;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getMaxOrdersPerSecond() {
+        return maxOrdersPerSecond;
+    }
+
+    public void setMaxOrdersPerSecond(long maxOrdersPerSecond) {
+        this.maxOrdersPerSecond = maxOrdersPerSecond;
+    }
+
+    public long getSlowBatchMs() {
+        return slowBatchMs;
+    }
+
+    public void setSlowBatchMs(long slowBatchMs) {
+        this.slowBatchMs = slowBatchMs;
+    }
+
+    public long getMaxRunMinutes() {
+        return maxRunMinutes;
+    }
+
+    public void setMaxRunMinutes(long maxRunMinutes) {
+        this.maxRunMinutes = maxRunMinutes;
+    }
+
+    public int getTransactionTimeoutSeconds() {
+        return transactionTimeoutSeconds;
+    }
+
+    public void setTransactionTimeoutSeconds(int transactionTimeoutSeconds) {
+        this.transactionTimeoutSeconds = transactionTimeoutSeconds;
+    }
+}
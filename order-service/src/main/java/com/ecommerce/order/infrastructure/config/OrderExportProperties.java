@@ -0,0 +1,43 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单导出配置
+ * 职责：配置 ExportOrders 流式导出的并发数、每条消息的订单数以及慢消费者超时
+ */
+@Component
+@ConfigurationProperties(prefix = "order.export")
+public class OrderExportProperties {
+
+    private int maxConcurrentExports = 4;       // 同时进行的导出数，每个导出占用一个线程和一个数据库连接
+    private int batchSize = 200;                // 每条流消息携带的订单数
+    private long readyTimeoutMs = 60000;        // 客户端持续不可写超过该时间时中止导出，客户端可凭检查点续传
+
+    // Getters and Setters
+
+    public int getMaxConcurrentExports() {
+        return maxConcurrentExports;
+    }
+
+    public void setMaxConcurrentExports(int maxConcurrentExports) {
+        this.maxConcurrentExports = maxConcurrentExports;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getReadyTimeoutMs() {
+        return readyTimeoutMs;
+    }
+
+    public void setReadyTimeoutMs(long readyTimeoutMs) {
+        this.readyTimeoutMs = readyTimeoutMs;
+    }
+}
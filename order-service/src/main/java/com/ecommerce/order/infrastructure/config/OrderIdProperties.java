@@ -0,0 +1,43 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单ID生成配置
+ * 职责：选择订单ID格式；雪花格式下每个实例必须配置不同的节点ID
+ */
+@Component
+@ConfigurationProperties(prefix = "order.id")
+public class OrderIdProperties {
+
+    private String strategy = "timestamp";      // 订单ID格式：timestamp / snowflake
+    private int workerId = 0;                   // 雪花节点ID（0-1023），同一集群内唯一
+    private long maxClockBackwardMs = 5000;     // 允许沿用上次时间戳继续发号的最大时钟回拨，超过后拒绝发号
+
+    // Getters and Setters
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(int workerId) {
+        this.workerId = workerId;
+    }
+
+    public long getMaxClockBackwardMs() {
+        return maxClockBackwardMs;
+    }
+
+    public void setMaxClockBackwardMs(long maxClockBackwardMs) {
+        this.maxClockBackwardMs = maxClockBackwardMs;
+    }
+}
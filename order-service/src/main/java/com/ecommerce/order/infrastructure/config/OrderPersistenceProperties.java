@@ -0,0 +1,52 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单持久化配置
+ * 职责：配置订单与订单项多行写入语句的行数、用户订单计数的精确统计上限、按ID批量查询的分片
+ */
+@Component
+@ConfigurationProperties(prefix = "order.persistence")
+public class OrderPersistenceProperties {
+
+    private int insertChunkSize = 500;      // 单条多行 INSERT 的最大行数
+    private int countEstimateCap = 10000;   // 用户订单数精确统计的上限，超过后使用优化器估算值
+    private int idQueryChunkSize = 500;     // 按订单ID批量查询时单条 IN 查询的最大ID数
+    private int idQueryParallelism = 4;     // 按订单ID批量查询时并行查询的分片数（线程数）
+
+    // Getters and Setters
+
+    public int getInsertChunkSize() {
+        return insertChunkSize;
+    }
+
+    public void setInsertChunkSize(int insertChunkSize) {
+        this.insertChunkSize = insertChunkSize;
+    }
+
+    public int getCountEstimateCap() {
+        return countEstimateCap;
+    }
+
+    public void setCountEstimateCap(int countEstimateCap) {
+        this.countEstimateCap = countEstimateCap;
+    }
+
+    public int getIdQueryChunkSize() {
+        return idQueryChunkSize;
+    }
+
+    public void setIdQueryChunkSize(int idQueryChunkSize) {
+        this.idQueryChunkSize = idQueryChunkSize;
+    }
+
+    public int getIdQueryParallelism() {
+        return idQueryParallelism;
+    }
+
+    public void setIdQueryParallelism(int idQueryParallelism) {
+        this.idQueryParallelism = idQueryParallelism;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单读模型配置
+ * 职责：配置读模型投影队列、本地缓存容量以及跨实例失效轮询
+ */
+@Component
+@ConfigurationProperties(prefix = "order.read-model")
+public class OrderReadModelProperties {
+
+    private int queueCapacity = 100000;         // 待投影订单队列容量，队列满时由补偿扫描兜底
+    private int projectionBatchSize = 200;      // 每批投影的最大订单数
+    private long cacheMaxEntries = 100000;      // 本地缓存最大订单数
+    private long cacheTtlMs = 300000;           // 本地缓存过期时间（失效轮询之外的兜底）
+    private long missCacheMaxEntries = 100000;  // 不存在的订单ID缓存的最大条数
+    private long missCacheTtlMs = 5000;         // 不存在的订单ID缓存时间，投影或失效轮询看到该订单时提前失效
+    private long invalidationPollMs = 1000;     // 轮询其他实例写入的读模型、失效本地旧版本的间隔
+    private long invalidationOverlapMs = 2000;  // 每次轮询回看的时间，覆盖提交晚于投影时间的行
+    private int invalidationPageSize = 1000;    // 失效轮询每页行数
+    private long catchUpIntervalMs = 60000;     // 补偿扫描间隔
+    private long catchUpWindowMs = 600000;      // 补偿扫描检查最近多长时间内更新的订单
+
+    // Getters and Setters
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getProjectionBatchSize() {
+        return projectionBatchSize;
+    }
+
+    public void setProjectionBatchSize(int projectionBatchSize) {
+        this.projectionBatchSize = projectionBatchSize;
+    }
+
+    public long getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(long cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public long getCacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    public void setCacheTtlMs(long cacheTtlMs) {
+        this.cacheTtlMs = cacheTtlMs;
+    }
+
+    public long getMissCacheMaxEntries() {
+        return missCacheMaxEntries;
+    }
+
+    public void setMissCacheMaxEntries(long missCacheMaxEntries) {
+        this.missCacheMaxEntries = missCacheMaxEntries;
+    }
+
+    public long getMissCacheTtlMs() {
+        return missCacheTtlMs;
+    }
+
+    public void setMissCacheTtlMs(long missCacheTtlMs) {
+        this.missCacheTtlMs = missCacheTtlMs;
+    }
+
+    public long getInvalidationPollMs() {
+        return invalidationPollMs;
+    }
+
+    public void setInvalidationPollMs(long invalidationPollMs) {
+        this.invalidationPollMs = invalidationPollMs;
+    }
+
+    public long getInvalidationOverlapMs() {
+        return invalidationOverlapMs;
+    }
+
+    public void setInvalidationOverlapMs(long invalidationOverlapMs) {
+        this.invalidationOverlapMs = invalidationOverlapMs;
+    }
+
+    public int getInvalidationPageSize() {
+        return invalidationPageSize;
+    }
+
+    public void setInvalidationPageSize(int invalidationPageSize) {
+        this.invalidationPageSize = invalidationPageSize;
+    }
+
+    public long getCatchUpIntervalMs() {
+        return catchUpIntervalMs;
+    }
+
+    public void setCatchUpIntervalMs(long catchUpIntervalMs) {
+        this.catchUpIntervalMs = catchUpIntervalMs;
+    }
+
+    public long getCatchUpWindowMs() {
+        return catchUpWindowMs;
+    }
+
+    public void setCatchUpWindowMs(long catchUpWindowMs) {
+        this.catchUpWindowMs = catchUpWindowMs;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 订单分库配置
+ * 职责：配置分片数据源；未启用时所有订单使用 spring.datasource 单库
+ * 分片按下标编号，上线后只能按 2 的倍数扩容（每个分片的虚拟桶区间一分为二），不能调整顺序
+ */
+@Component
+@ConfigurationProperties(prefix = "order.sharding")
+public class OrderShardingProperties {
+
+    private boolean enabled = false;                        // 是否启用按用户分库
+    private List<ShardDataSource> datasources = new ArrayList<>(); // 分片数据源，下标即分片号
+    private int scatterParallelism = 4;                     // 跨分片查询的并行线程数
+
+    // Getters and Setters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<ShardDataSource> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(List<ShardDataSource> datasources) {
+        this.datasources = datasources;
+    }
+
+    public int getScatterParallelism() {
+        return scatterParallelism;
+    }
+
+    public void setScatterParallelism(int scatterParallelism) {
+        this.scatterParallelism = scatterParallelism;
+    }
+
+    /**
+     * 单个分片的连接配置
+     */
+    public static class ShardDataSource {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName = "com.mysql.cj.jdbc.Driver";
+
+        // Getters and Setters
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+    }
+}
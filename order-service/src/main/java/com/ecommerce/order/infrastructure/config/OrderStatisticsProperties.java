@@ -0,0 +1,43 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单统计配置
+ * 职责：配置全局汇总的热点分散槽位数、当日统计缓存
+ */
+@Component
+@ConfigurationProperties(prefix = "order.statistics")
+public class OrderStatisticsProperties {
+
+    private int globalSlots = 16;               // 全局日汇总每个 (日期, 状态, 货币) 拆分的行数，按订单ID散列
+    private long todayCacheTtlMs = 5000;        // 当日统计缓存过期时间（全局统计只靠过期刷新）
+    private int todayCacheMaxEntries = 10000;   // 当日统计缓存最大条目数（用户数 + 1）
+
+    // Getters and Setters
+
+    public int getGlobalSlots() {
+        return globalSlots;
+    }
+
+    public void setGlobalSlots(int globalSlots) {
+        this.globalSlots = globalSlots;
+    }
+
+    public long getTodayCacheTtlMs() {
+        return todayCacheTtlMs;
+    }
+
+    public void setTodayCacheTtlMs(long todayCacheTtlMs) {
+        this.todayCacheTtlMs = todayCacheTtlMs;
+    }
+
+    public int getTodayCacheMaxEntries() {
+        return todayCacheMaxEntries;
+    }
+
+    public void setTodayCacheMaxEntries(int todayCacheMaxEntries) {
+        this.todayCacheMaxEntries = todayCacheMaxEntries;
+    }
+}
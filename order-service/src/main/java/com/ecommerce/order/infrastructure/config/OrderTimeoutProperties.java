@@ -0,0 +1,97 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 未支付订单超时取消配置
+ * 职责：配置支付时限、时间轮刻度、批量取消大小以及兜底扫描
+ */
+@Component
+@ConfigurationProperties(prefix = "order.timeout")
+public class OrderTimeoutProperties {
+
+    private boolean enabled = true;             // 是否自动取消超时未支付订单
+    private long paymentTimeoutMs = 1800000;    // 支付时限，从下单时间起算
+    private long tickMs = 1000;                 // 时间轮刻度
+    private int wheelSize = 4096;               // 时间轮槽位数，刻度 x 槽位数不小于支付时限时每个订单只被访问一次
+    private int batchSize = 200;                // 每个取消事务处理的最大订单数
+    private long retryDelayMs = 10000;          // 取消事务失败后重新登记的延迟
+    private int recoveryPageSize = 5000;        // 启动恢复与兜底扫描每页读取的订单数
+    private long sweepIntervalMs = 300000;      // 兜底扫描间隔，处理已停机实例登记的订单
+    private long sweepGraceMs = 60000;          // 超时超过该时长仍未取消的订单才由兜底扫描处理
+
+    // Getters and Setters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getPaymentTimeoutMs() {
+        return paymentTimeoutMs;
+    }
+
+    public void setPaymentTimeoutMs(long paymentTimeoutMs) {
+        this.paymentTimeoutMs = paymentTimeoutMs;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    public void setTickMs(long tickMs) {
+        this.tickMs = tickMs;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getRetryDelayMs() {
+        return retryDelayMs;
+    }
+
+    public void setRetryDelayMs(long retryDelayMs) {
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    public int getRecoveryPageSize() {
+        return recoveryPageSize;
+    }
+
+    public void setRecoveryPageSize(int recoveryPageSize) {
+        this.recoveryPageSize = recoveryPageSize;
+    }
+
+    public long getSweepIntervalMs() {
+        return sweepIntervalMs;
+    }
+
+    public void setSweepIntervalMs(long sweepIntervalMs) {
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    public long getSweepGraceMs() {
+        return sweepGraceMs;
+    }
+
+    public void setSweepGraceMs(long sweepGraceMs) {
+        this.sweepGraceMs = sweepGraceMs;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 释放库存命令投递配置
+ * 职责：配置库存服务地址、发件箱轮询节奏以及失败重试策略
+ */
+@Component
+@ConfigurationProperties(prefix = "order.stock-release")
+public class StockReleaseProperties {
+
+    private boolean enabled = true;                 // 是否投递释放库存命令
+    private String inventoryHost = "localhost";     // 库存服务 gRPC 地址
+    private int inventoryPort = 9083;               // 库存服务 gRPC 端口
+    private long rpcTimeoutMs = 3000;               // 单次 ReleaseStock 调用超时
+    private long relayIntervalMs = 5000;            // 发件箱轮询间隔
+    private int batchSize = 200;                    // 每个分库每批读取的命令数
+    private long retryBackoffMs = 5000;             // 投递失败后的初始重试间隔，按失败次数指数增长
+    private long maxRetryBackoffMs = 300000;        // 重试间隔上限
+    private int maxRejectedAttempts = 10;           // 库存服务拒绝（409）的最大重试次数，超过后标记为 FAILED
+    private String operatorId = "order-service";    // 调用库存服务时的操作人ID
+
+    // Getters and Setters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getInventoryHost() {
+        return inventoryHost;
+    }
+
+    public void setInventoryHost(String inventoryHost) {
+        this.inventoryHost = inventoryHost;
+    }
+
+    public int getInventoryPort() {
+        return inventoryPort;
+    }
+
+    public void setInventoryPort(int inventoryPort) {
+        this.inventoryPort = inventoryPort;
+    }
+
+    public long getRpcTimeoutMs() {
+        return rpcTimeoutMs;
+    }
+
+    public void setRpcTimeoutMs(long rpcTimeoutMs) {
+        this.rpcTimeoutMs = rpcTimeoutMs;
+    }
+
+    public long getRelayIntervalMs() {
+        return relayIntervalMs;
+    }
+
+    public void setRelayIntervalMs(long relayIntervalMs) {
+        this.relayIntervalMs = relayIntervalMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getRetryBackoffMs() {
+        return retryBackoffMs;
+    }
+
+    public void setRetryBackoffMs(long retryBackoffMs) {
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    public long getMaxRetryBackoffMs() {
+        return maxRetryBackoffMs;
+    }
+
+    public void setMaxRetryBackoffMs(long maxRetryBackoffMs) {
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+
+    public int getMaxRejectedAttempts() {
+        return maxRejectedAttempts;
+    }
+
+    public void setMaxRejectedAttempts(int maxRejectedAttempts) {
+        this.maxRejectedAttempts = maxRejectedAttempts;
+    }
+
+    public String getOperatorId() {
+        return operatorId;
+    }
+
+    public void setOperatorId(String operatorId) {
+        this.operatorId = operatorId;
+    }
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @TableName("order_item")
 public class OrderItemPO {
     
-    @TableId(type = IdType.AUTO)
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
     
     @TableField("order_id")
@@ -22,6 +22,9 @@ public class OrderItemPO {
     @TableField("sku_id")
     private String skuId;
     
+    @TableField("warehouse_code")
+    private String warehouseCode;
+    
     @TableField("quantity")
     private Integer quantity;
     
@@ -73,6 +76,14 @@ public class OrderItemPO {
         this.skuId = skuId;
     }
 
+    public String getWarehouseCode() {
+        return warehouseCode;
+    }
+
+    public void setWarehouseCode(String warehouseCode) {
+        this.warehouseCode = warehouseCode;
+    }
+
     public Integer getQuantity() {
         return quantity;
     }
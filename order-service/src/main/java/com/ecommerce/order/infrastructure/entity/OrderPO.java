@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @TableName("orders")
 public class OrderPO {
     
-    @TableId(type = IdType.AUTO)
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
     
     @TableField("order_id")
@@ -28,6 +28,9 @@ public class OrderPO {
     @TableField("status")
     private String status;
     
+    @TableField("order_type")
+    private String orderType;
+    
     @TableField("order_date")
     private LocalDateTime orderDate;
     
@@ -36,6 +39,9 @@ public class OrderPO {
     
     @TableField("updated_at")
     private LocalDateTime updatedAt;
+    
+    @TableField("version")
+    private Long version;
 
     // Constructors
     public OrderPO() {}
@@ -89,6 +95,14 @@ public class OrderPO {
         this.status = status;
     }
 
+    public String getOrderType() {
+        return orderType;
+    }
+
+    public void setOrderType(String orderType) {
+        this.orderType = orderType;
+    }
+
     public LocalDateTime getOrderDate() {
         return orderDate;
     }
@@ -112,4 +126,12 @@ public class OrderPO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.ecommerce.order.infrastructure.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 订单读模型行：order_read_model，payload 为订单文档 JSON，订单已删除时为 null
+ */
+public class OrderReadModelPO {
+
+    private String orderId;
+    private String userId;
+    private Long version;
+    private String payload;
+    private LocalDateTime projectedAt;
+
+    // Constructors
+    public OrderReadModelPO() {}
+
+    // Getters and Setters
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getProjectedAt() {
+        return projectedAt;
+    }
+
+    public void setProjectedAt(LocalDateTime projectedAt) {
+        this.projectedAt = projectedAt;
+    }
+}
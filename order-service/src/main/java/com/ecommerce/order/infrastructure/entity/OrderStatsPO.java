@@ -0,0 +1,79 @@
+package com.ecommerce.order.infrastructure.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 订单统计汇总行：写入时为增量，查询时为按 (状态, 货币) 合并后的结果
+ * 对应 order_stats_daily（全局，按槽位分散热点）与 order_stats_user_daily（按用户）
+ */
+public class OrderStatsPO {
+
+    private LocalDate statDate;
+    private String userId;
+    private Integer slot;
+    private String status;
+    private String currency;
+    private Long orderCount;
+    private BigDecimal totalAmount;
+
+    // Constructors
+    public OrderStatsPO() {}
+
+    // Getters and Setters
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.order.infrastructure.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 释放库存命令（发件箱）：订单取消时与订单状态在同一事务内写入，由 StockReleaseRelay 读取后调用库存服务释放预占
+ */
+public class StockReleaseCommandPO {
+
+    private Long id;
+    private String orderId;
+    private String skuId;
+    private String warehouseCode;
+    private Integer quantity;
+    private String status;
+    private Integer attempts;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StockReleaseCommandPO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(String skuId) {
+        this.skuId = skuId;
+    }
+
+    public String getWarehouseCode() {
+        return warehouseCode;
+    }
+
+    public void setWarehouseCode(String warehouseCode) {
+        this.warehouseCode = warehouseCode;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.order.infrastructure.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导出检查点：已导出到的分库以及该分库内最后一条订单的 (下单时间, 订单ID)
+ * 编号更小的分库已全部导出
+ */
+public class OrderExportPosition {
+
+    private final int shard;
+    private final LocalDateTime orderTime;
+    private final String orderId;
+
+    public OrderExportPosition(int shard, LocalDateTime orderTime, String orderId) {
+        if (shard < 0 || orderTime == null || orderId == null) {
+            throw new IllegalArgumentException("导出检查点不完整");
+        }
+        this.shard = shard;
+        this.orderTime = orderTime;
+        this.orderId = orderId;
+    }
+
+    // Getters
+    public int getShard() { return shard; }
+    public LocalDateTime getOrderTime() { return orderTime; }
+    public String getOrderId() { return orderId; }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.order.infrastructure.export;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.mapper.OrderDataMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderItemMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单导出读取 - 基础设施层
+ * 职责：按分库依次、分库内按 (下单时间, 订单ID) 升序流式读取符合条件的订单，分批交给调用方
+ * 1. 每个分库一个只读事务、一个数据库游标，按 EXPORT_FETCH_SIZE 从服务端分段取行，内存只保留当前一批
+ * 2. 需要订单项时每批再做一次 IN 查询（服务端游标打开期间同一连接可以执行其他语句）；
+ *    服务端游标会先把结果物化到临时表，取舍见 OrderPlusMapper.EXPORT_FETCH_SIZE
+ * 3. 分库按编号依次导出，启用分库时结果不是全局按下单时间排序；从检查点续传时跳过已完成的分库，并从检查点之后开始
+ * 只导出热表中的订单，已归档的订单不在导出范围内
+ */
+@Component
+public class OrderExportReader {
+
+    /**
+     * 接收一批订单；可以阻塞（等待客户端可写），抛出异常则中止导出
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        void accept(List<Order> orders, OrderExportPosition checkpoint);
+    }
+
+    private final OrderPlusMapper orderPlusMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderDataMapper orderDataMapper;
+    private final OrderShardRouter shardRouter;
+    private final TransactionTemplate exportTransaction;
+
+    public OrderExportReader(OrderPlusMapper orderPlusMapper,
+                             OrderItemMapper orderItemMapper,
+                             OrderDataMapper orderDataMapper,
+                             OrderShardRouter shardRouter,
+                             PlatformTransactionManager transactionManager) {
+        this.orderPlusMapper = orderPlusMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderDataMapper = orderDataMapper;
+        this.shardRouter = shardRouter;
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 导出订单，from 为空时从头开始；返回导出的订单数
+     */
+    public long export(OrderRepository.OrderSearchCriteria criteria, OrderExportPosition from,
+                       boolean includeItems, int batchSize, BatchSink sink) {
+        if (from != null && (from.getShard() < 0 || from.getShard() >= shardRouter.shardCount())) {
+            throw new IllegalArgumentException("导出检查点的分库不存在: " + from.getShard());
+        }
+
+        List<Integer> shards = new ArrayList<>();
+        if (criteria.getUserId() != null) {
+            shards.add(shardRouter.shardOfUser(criteria.getUserId().getValue()));
+        } else {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                shards.add(shard);
+            }
+        }
+
+        int size = Math.max(1, batchSize);
+        long exported = 0;
+        for (int shard : shards) {
+            if (from != null && shard < from.getShard()) {
+                continue;
+            }
+            OrderExportPosition after = from != null && shard == from.getShard() ? from : null;
+            Long count = shardRouter.callOn(shard, () -> exportTransaction.execute(
+                    status -> exportShard(shard, criteria, after, includeItems, size, sink)));
+            exported += count != null ? count : 0;
+        }
+        return exported;
+    }
+
+    private long exportShard(int shard, OrderRepository.OrderSearchCriteria criteria, OrderExportPosition after,
+                             boolean includeItems, int batchSize, BatchSink sink) {
+        long exported = 0;
+        List<OrderPO> batch = new ArrayList<>(batchSize);
+        try (Cursor<OrderPO> cursor = orderPlusMapper.exportCursor(
+                criteria.getOrderId() != null ? criteria.getOrderId().getValue() : null,
+                criteria.getUserId() != null ? criteria.getUserId().getValue() : null,
+                criteria.getStatus() != null ? criteria.getStatus().name() : null,
+                criteria.getType() != null ? criteria.getType().name() : null,
+                criteria.getStartTime(),
+                criteria.getEndTime(),
+                criteria.getAmountCurrency(),
+                criteria.getMinAmount() != null ? criteria.getMinAmount().getAmount() : null,
+                criteria.getMaxAmount() != null ? criteria.getMaxAmount().getAmount() : null,
+                after != null ? after.getOrderTime() : null,
+                after != null ? after.getOrderId() : null)) {
+            for (OrderPO orderPO : cursor) {
+                batch.add(orderPO);
+                if (batch.size() >= batchSize) {
+                    exported += emit(shard, batch, includeItems, sink);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                exported += emit(shard, batch, includeItems, sink);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return exported;
+    }
+
+    private int emit(int shard, List<OrderPO> batch, boolean includeItems, BatchSink sink) {
+        Map<String, List<OrderItemPO>> itemsByOrder = new HashMap<>();
+        if (includeItems) {
+            List<String> orderIds = new ArrayList<>(batch.size());
+            for (OrderPO orderPO : batch) {
+                orderIds.add(orderPO.getOrderId());
+            }
+            for (OrderItemPO itemPO : orderItemMapper.findByOrderIds(orderIds)) {
+                itemsByOrder.computeIfAbsent(itemPO.getOrderId(), id -> new ArrayList<>()).add(itemPO);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>(batch.size());
+        for (OrderPO orderPO : batch) {
+            orders.add(includeItems
+                    ? orderDataMapper.orderPOToOrder(orderPO,
+                        itemsByOrder.getOrDefault(orderPO.getOrderId(), Collections.emptyList()))
+                    : orderDataMapper.orderPOToOrder(orderPO));
+        }
+        OrderPO last = batch.get(batch.size() - 1);
+        sink.accept(orders, new OrderExportPosition(shard, last.getOrderDate(), last.getOrderId()));
+        return orders.size();
+    }
+}
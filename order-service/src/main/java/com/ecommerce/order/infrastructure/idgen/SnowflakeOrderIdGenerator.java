@@ -0,0 +1,86 @@
+package com.ecommerce.order.infrastructure.idgen;
+
+import com.ecommerce.order.domain.service.OrderIdGenerator;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.config.OrderIdProperties;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 雪花订单ID生成器
+ * 职责：按 时间戳 | 节点ID | 毫秒内序号 发号，同一节点内严格单调递增，编码为定长 Base32 订单号
+ * 实现：上次发号的 (逻辑时间戳, 序号) 打包在一个 AtomicLong 中，CAS 推进，无锁
+ * 1. 时钟前进：切换到新时间戳，序号归零
+ * 2. 同一毫秒或时钟回拨：沿用逻辑时间戳递增序号，序号用尽时借用下一毫秒
+ * 3. 逻辑时间戳领先系统时钟超过 maxClockBackwardMs（时钟大幅回拨）时拒绝发号，避免与回拨前的ID冲突
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.id", name = "strategy", havingValue = "snowflake")
+public class SnowflakeOrderIdGenerator implements OrderIdGenerator {
+
+    private static final int SEQUENCE_BITS = OrderId.SNOWFLAKE_SEQUENCE_BITS;
+    private static final int WORKER_BITS = OrderId.SNOWFLAKE_WORKER_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << (63 - WORKER_BITS - SEQUENCE_BITS)) - 1;
+
+    private final long workerId;
+    private final long maxClockBackwardMs;
+    private final AtomicLong lastState = new AtomicLong();
+    private final OrderShardRouter shardRouter;
+
+    public SnowflakeOrderIdGenerator(OrderIdProperties properties, OrderShardRouter shardRouter) {
+        if (properties.getWorkerId() < 0 || properties.getWorkerId() > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("雪花节点ID必须在0-" + MAX_WORKER_ID + "之间: " + properties.getWorkerId());
+        }
+        this.workerId = properties.getWorkerId();
+        this.maxClockBackwardMs = Math.max(0, properties.getMaxClockBackwardMs());
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public OrderId nextId() {
+        return OrderId.ofSnowflake(nextValue());
+    }
+
+    @Override
+    public OrderId nextId(UserId userId) {
+        return shardRouter.tag(nextId(), userId);
+    }
+
+    /**
+     * 下一个雪花整数
+     */
+    long nextValue() {
+        while (true) {
+            long now = System.currentTimeMillis() - OrderId.SNOWFLAKE_EPOCH_MILLIS;
+            long previous = lastState.get();
+            long previousTimestamp = previous >>> SEQUENCE_BITS;
+
+            long next;
+            if (now > previousTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = (previousTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            long timestamp = next >>> SEQUENCE_BITS;
+            if (timestamp - now > maxClockBackwardMs) {
+                throw new IllegalStateException("系统时钟回拨 " + (timestamp - now) + "ms，超过允许的 "
+                        + maxClockBackwardMs + "ms，暂停发号");
+            }
+            if (timestamp > MAX_TIMESTAMP) {
+                throw new IllegalStateException("雪花时间戳已耗尽");
+            }
+            if (lastState.compareAndSet(previous, next)) {
+                return (timestamp << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
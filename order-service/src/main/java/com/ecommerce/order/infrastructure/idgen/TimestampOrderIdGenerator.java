@@ -0,0 +1,32 @@
+package com.ecommerce.order.infrastructure.idgen;
+
+import com.ecommerce.order.domain.service.OrderIdGenerator;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 时间戳订单ID生成器（默认）：ORD-yyyyMMddHHmmss-随机后缀
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.id", name = "strategy", havingValue = "timestamp", matchIfMissing = true)
+public class TimestampOrderIdGenerator implements OrderIdGenerator {
+
+    private final OrderShardRouter shardRouter;
+
+    public TimestampOrderIdGenerator(OrderShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public OrderId nextId() {
+        return OrderId.generate();
+    }
+
+    @Override
+    public OrderId nextId(UserId userId) {
+        return shardRouter.tag(nextId(), userId);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.order.infrastructure.mapper;
+
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单归档表访问：orders_archive / order_item_archive（压缩行格式）
+ * 迁移语句在数据库内 INSERT ... SELECT，行数据不经过应用
+ * 复制不使用 INSERT IGNORE：归档表已有同一主键说明数据不一致，应报错回滚而不是静默丢行后删除热表数据
+ */
+@Mapper
+public interface OrderArchiveMapper {
+
+    /**
+     * 查找可归档的订单（idx_status_order_date）
+     */
+    @Select("<script>" +
+            "SELECT order_id FROM orders WHERE status IN " +
+            "<foreach collection='statuses' item='s' open='(' separator=',' close=')'>#{s}</foreach>" +
+            " AND order_date &lt; #{cutoff} LIMIT #{limit}" +
+            "</script>")
+    List<String> findArchivable(@Param("statuses") List<String> statuses,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                @Param("limit") int limit);
+
+    /**
+     * 锁定仍满足归档条件的订单，已被其他事务锁定的行直接跳过
+     */
+    @Select("<script>" +
+            "SELECT order_id FROM orders WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " AND status IN " +
+            "<foreach collection='statuses' item='s' open='(' separator=',' close=')'>#{s}</foreach>" +
+            " AND order_date &lt; #{cutoff} FOR UPDATE SKIP LOCKED" +
+            "</script>")
+    List<String> lockArchivable(@Param("orderIds") List<String> orderIds,
+                                @Param("statuses") List<String> statuses,
+                                @Param("cutoff") LocalDateTime cutoff);
+
+    @Insert("<script>" +
+            "INSERT INTO orders_archive (id, order_id, user_id, total_amount, currency, status, order_type, " +
+            "order_date, created_at, updated_at, version, archived_at) " +
+            "SELECT id, order_id, user_id, total_amount, currency, status, order_type, order_date, created_at, updated_at, version, " +
+            "#{archivedAt} FROM orders WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int copyOrders(@Param("orderIds") List<String> orderIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Insert("<script>" +
+            "INSERT INTO order_item_archive (id, order_id, product_id, sku_id, warehouse_code, quantity, unit_price, " +
+            "total_price, created_at, updated_at) " +
+            "SELECT id, order_id, product_id, sku_id, warehouse_code, quantity, unit_price, total_price, created_at, updated_at " +
+            "FROM order_item WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int copyItems(@Param("orderIds") List<String> orderIds);
+
+    @Delete("<script>" +
+            "DELETE FROM order_item WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteItems(@Param("orderIds") List<String> orderIds);
+
+    @Delete("<script>" +
+            "DELETE FROM orders WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteOrders(@Param("orderIds") List<String> orderIds);
+
+    @Select("SELECT id, order_id, user_id, total_amount, currency, status, order_type, order_date, created_at, updated_at, version " +
+            "FROM orders_archive WHERE order_id = #{orderId}")
+    OrderPO findOrderByOrderId(@Param("orderId") String orderId);
+
+    @Select("SELECT * FROM order_item_archive WHERE order_id = #{orderId} ORDER BY id")
+    List<OrderItemPO> findItemsByOrderId(@Param("orderId") String orderId);
+
+    @Select("<script>" +
+            "SELECT id, order_id, user_id, total_amount, currency, status, order_type, order_date, created_at, updated_at, version " +
+            "FROM orders_archive WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<OrderPO> findOrdersByOrderIds(@Param("orderIds") List<String> orderIds);
+
+    @Select("<script>" +
+            "SELECT * FROM order_item_archive WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " ORDER BY id" +
+            "</script>")
+    List<OrderItemPO> findItemsByOrderIds(@Param("orderIds") List<String> orderIds);
+
+    @Select("SELECT COUNT(*) FROM orders_archive WHERE order_id = #{orderId}")
+    int countByOrderId(@Param("orderId") String orderId);
+}
@@ -1,11 +1,24 @@
 package com.ecommerce.order.infrastructure.mapper;
 
 import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
 import com.ecommerce.order.infrastructure.entity.OrderPO;
 
+import java.util.List;
+
 public interface OrderDataMapper {
     
     OrderPO orderToOrderPO(Order order);
     
     Order orderPOToOrder(OrderPO orderPO);
-}
\ No newline at end of file
+    
+    /**
+     * 重建订单聚合（含订单项）
+     */
+    Order orderPOToOrder(OrderPO orderPO, List<OrderItemPO> itemPOs);
+    
+    OrderItemPO orderItemToOrderItemPO(OrderItem item, Order order);
+    
+    OrderItem orderItemPOToOrderItem(OrderItemPO itemPO, String currency);
+}
@@ -1,14 +1,19 @@
 package com.ecommerce.order.infrastructure.mapper;
 
 import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
 import com.ecommerce.order.domain.entity.OrderStatus;
-import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.domain.entity.OrderType;
+import com.ecommerce.order.domain.valueobject.CompactMoney;
 import com.ecommerce.order.domain.valueobject.OrderId;
 import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
 import com.ecommerce.order.infrastructure.entity.OrderPO;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
 
 @Component
 public class OrderDataMapperImpl implements OrderDataMapper {
@@ -22,41 +27,86 @@ public class OrderDataMapperImpl implements OrderDataMapper {
         OrderPO orderPO = new OrderPO();
         orderPO.setOrderId(order.getOrderId() != null ? order.getOrderId().getValue() : null);
         orderPO.setUserId(order.getUserId() != null ? order.getUserId().getValue() : null);
-        orderPO.setTotalAmount(order.getTotalAmount() != null ? order.getTotalAmount().getAmount() : null);
-        orderPO.setCurrency(order.getTotalAmount() != null ? order.getTotalAmount().getCurrency().getCurrencyCode() : null);
+        CompactMoney totalAmount = order.getCompactTotalAmount();
+        orderPO.setTotalAmount(totalAmount != null ? totalAmount.toAmount() : null);
+        orderPO.setCurrency(totalAmount != null ? totalAmount.getCurrency().getCurrencyCode() : null);
         orderPO.setStatus(order.getStatus() != null ? order.getStatus().name() : null);
-        orderPO.setOrderDate(LocalDateTime.now());
+        orderPO.setOrderType(order.getType() != null ? order.getType().name() : null);
+        orderPO.setOrderDate(order.getCreatedAt());
+        orderPO.setCreatedAt(order.getCreatedAt());
+        orderPO.setUpdatedAt(order.getUpdatedAt());
+        orderPO.setVersion(order.getVersion());
         
         return orderPO;
     }
 
     @Override
     public Order orderPOToOrder(OrderPO orderPO) {
+        return orderPOToOrder(orderPO, null);
+    }
+
+    @Override
+    public Order orderPOToOrder(OrderPO orderPO, List<OrderItemPO> itemPOs) {
         if (orderPO == null) {
             return null;
         }
         
-        // Use create method and reflection to set additional fields
-        java.util.Currency currency = java.util.Currency.getInstance(orderPO.getCurrency());
-        Order order = Order.create(
+        List<OrderItem> items = null;
+        if (itemPOs != null) {
+            items = new ArrayList<>(itemPOs.size());
+            for (OrderItemPO itemPO : itemPOs) {
+                items.add(orderItemPOToOrderItem(itemPO, orderPO.getCurrency()));
+            }
+        }
+        
+        return Order.restore(
+            OrderId.of(orderPO.getOrderId()),
             UserId.of(orderPO.getUserId()),
-            Money.of(orderPO.getTotalAmount(), currency)
+            CompactMoney.of(orderPO.getTotalAmount(), Currency.getInstance(orderPO.getCurrency())),
+            orderPO.getStatus() != null ? OrderStatus.valueOf(orderPO.getStatus()) : null,
+            orderPO.getOrderType() != null ? OrderType.valueOf(orderPO.getOrderType()) : null,
+            items,
+            orderPO.getCreatedAt() != null ? orderPO.getCreatedAt() : orderPO.getOrderDate(),
+            orderPO.getUpdatedAt(),
+            orderPO.getVersion()
         );
+    }
+
+    @Override
+    public OrderItemPO orderItemToOrderItemPO(OrderItem item, Order order) {
+        if (item == null) {
+            return null;
+        }
         
-        // Set additional fields using reflection
-        try {
-            java.lang.reflect.Field idField = Order.class.getDeclaredField("orderId");
-            idField.setAccessible(true);
-            idField.set(order, OrderId.of(orderPO.getOrderId()));
-            
-            java.lang.reflect.Field statusField = Order.class.getDeclaredField("status");
-            statusField.setAccessible(true);
-            statusField.set(order, OrderStatus.valueOf(orderPO.getStatus()));
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to map OrderPO to Order", e);
+        OrderItemPO itemPO = new OrderItemPO();
+        itemPO.setOrderId(order.getOrderId().getValue());
+        itemPO.setProductId(item.getProductId());
+        itemPO.setSkuId(item.getSkuId());
+        itemPO.setWarehouseCode(item.getWarehouseCode());
+        itemPO.setQuantity(item.getQuantity());
+        itemPO.setUnitPrice(item.getCompactUnitPrice().toAmount());
+        itemPO.setTotalPrice(item.getCompactTotalPrice().toAmount());
+        itemPO.setCreatedAt(order.getCreatedAt());
+        itemPO.setUpdatedAt(order.getUpdatedAt());
+        
+        return itemPO;
+    }
+
+    @Override
+    public OrderItem orderItemPOToOrderItem(OrderItemPO itemPO, String currency) {
+        if (itemPO == null) {
+            return null;
         }
         
-        return order;
+        // 订单项与订单使用同一币种
+        Currency itemCurrency = Currency.getInstance(currency);
+        return OrderItem.restore(
+            itemPO.getProductId(),
+            itemPO.getSkuId(),
+            itemPO.getQuantity(),
+            CompactMoney.of(itemPO.getUnitPrice(), itemCurrency),
+            CompactMoney.of(itemPO.getTotalPrice(), itemCurrency),
+            itemPO.getWarehouseCode()
+        );
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.ecommerce.order.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -18,4 +19,26 @@ public interface OrderItemMapper extends BaseMapper<OrderItemPO> {
     
     @Select("SELECT * FROM order_item WHERE sku_id = #{skuId}")
     List<OrderItemPO> findBySkuId(@Param("skuId") String skuId);
+    
+    /**
+     * 按订单ID批量查询订单项，按主键排序保持写入顺序
+     */
+    @Select("<script>" +
+            "SELECT * FROM order_item WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " ORDER BY id" +
+            "</script>")
+    List<OrderItemPO> findByOrderIds(@Param("orderIds") List<String> orderIds);
+    
+    /**
+     * 多行写入订单项，主键由调用方预先生成
+     */
+    @Insert("<script>" +
+            "INSERT INTO order_item (id, order_id, product_id, sku_id, warehouse_code, quantity, unit_price, total_price, created_at, updated_at) VALUES " +
+            "<foreach collection='items' item='i' separator=','>" +
+            "(#{i.id}, #{i.orderId}, #{i.productId}, #{i.skuId}, #{i.warehouseCode}, #{i.quantity}, #{i.unitPrice}, #{i.totalPrice}, " +
+            "#{i.createdAt}, #{i.updatedAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("items") List<OrderItemPO> items);
 }
\ No newline at end of file
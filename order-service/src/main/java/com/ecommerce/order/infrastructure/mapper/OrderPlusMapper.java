@@ -2,20 +2,198 @@ package com.ecommerce.order.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ecommerce.order.infrastructure.entity.OrderPO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface OrderPlusMapper extends BaseMapper<OrderPO> {
     
+    /**
+     * 订单搜索与导出的过滤条件，参数为空时不过滤
+     */
+    String ORDER_SEARCH_FILTER =
+            " WHERE 1 = 1" +
+            "<if test='orderId != null'> AND order_id = #{orderId}</if>" +
+            "<if test='userId != null'> AND user_id = #{userId}</if>" +
+            "<if test='status != null'> AND status = #{status}</if>" +
+            "<if test='orderType != null'> AND order_type = #{orderType}</if>" +
+            "<if test='startTime != null'> AND order_date &gt;= #{startTime}</if>" +
+            "<if test='endTime != null'> AND order_date &lt; #{endTime}</if>" +
+            "<if test='currency != null'> AND currency = #{currency}</if>" +
+            "<if test='minAmount != null'> AND total_amount &gt;= #{minAmount}</if>" +
+            "<if test='maxAmount != null'> AND total_amount &lt;= #{maxAmount}</if>";
+    
+    /**
+     * 导出游标每次从服务端取回的行数（需连接参数 useCursorFetch=true，否则驱动一次读入全部结果）
+     * useCursorFetch 的代价：
+     * 1. 驱动对所有语句改用服务端预编译，每条新 SQL 多一次 PREPARE 往返，连接参数同时开启 cachePrepStmts 复用
+     * 2. 服务端为游标把整个结果集物化到临时表（超过 tmp_table_size 落盘），导出打开游标时一次性付出，
+     *    之后按批取行；换来的是游标打开期间同一连接仍可执行订单项查询
+     * 不采用 fetchSize=Integer.MIN_VALUE 逐行流式：流未读完前连接不能执行其他语句，订单项需要第二个连接，
+     * 两个连接不在同一事务快照内
+     */
+    int EXPORT_FETCH_SIZE = 1000;
+    
+    /**
+     * 用户订单过滤条件：按状态过滤走 idx_user_status_time，否则走 idx_user_order_time
+     */
+    String USER_ORDER_FILTER =
+            " WHERE user_id = #{userId}" +
+            "<if test='status != null'> AND status = #{status}</if>" +
+            "<if test='orderType != null'> AND order_type = #{orderType}</if>";
+    
     @Select("SELECT * FROM orders WHERE user_id = #{userId}")
     List<OrderPO> findByUserId(@Param("userId") String userId);
     
+    /**
+     * 按订单ID批量查询订单
+     */
+    @Select("<script>" +
+            "SELECT * FROM orders WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<OrderPO> findByOrderIds(@Param("orderIds") List<String> orderIds);
+    
     @Select("SELECT * FROM orders WHERE status = #{status}")
     List<OrderPO> findByStatus(@Param("status") String status);
     
     @Select("SELECT * FROM orders WHERE user_id = #{userId} AND status = #{status}")
     List<OrderPO> findByUserIdAndStatus(@Param("userId") String userId, @Param("status") String status);
-}
\ No newline at end of file
+    
+    /**
+     * 多行写入订单，主键由调用方预先生成
+     */
+    @Insert("<script>" +
+            "INSERT INTO orders (id, order_id, user_id, total_amount, currency, status, order_type, order_date, " +
+            "created_at, updated_at) VALUES " +
+            "<foreach collection='orders' item='o' separator=','>" +
+            "(#{o.id}, #{o.orderId}, #{o.userId}, #{o.totalAmount}, #{o.currency}, #{o.status}, #{o.orderType}, #{o.orderDate}, " +
+            "#{o.createdAt}, #{o.updatedAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("orders") List<OrderPO> orders);
+    
+    /**
+     * 按 (order_date, order_id) 倒序的键集分页查询用户订单
+     */
+    @Select("<script>" +
+            "SELECT * FROM orders" + USER_ORDER_FILTER +
+            "<if test='cursorOrderDate != null'> AND (order_date &lt; #{cursorOrderDate} " +
+            "OR (order_date = #{cursorOrderDate} AND order_id &lt; #{cursorOrderId}))</if>" +
+            " ORDER BY order_date DESC, order_id DESC LIMIT #{limit}" +
+            "</script>")
+    List<OrderPO> findPageByUserId(@Param("userId") String userId,
+                                   @Param("status") String status,
+                                   @Param("orderType") String orderType,
+                                   @Param("cursorOrderDate") LocalDateTime cursorOrderDate,
+                                   @Param("cursorOrderId") String cursorOrderId,
+                                   @Param("limit") int limit);
+    
+    /**
+     * 统计用户订单数，最多扫描 cap 行索引
+     */
+    @Select("<script>" +
+            "SELECT COUNT(*) FROM (SELECT 1 FROM orders" + USER_ORDER_FILTER + " LIMIT #{cap}) t" +
+            "</script>")
+    long countByUserIdCapped(@Param("userId") String userId,
+                             @Param("status") String status,
+                             @Param("orderType") String orderType,
+                             @Param("cap") int cap);
+    
+    /**
+     * 用户订单查询的执行计划，rows 列为优化器按索引统计估算的行数
+     */
+    @Select("<script>" +
+            "EXPLAIN SELECT 1 FROM orders" + USER_ORDER_FILTER +
+            "</script>")
+    List<Map<String, Object>> explainByUserId(@Param("userId") String userId,
+                                              @Param("status") String status,
+                                              @Param("orderType") String orderType);
+    
+    /**
+     * 搜索第一步：只取排序键 (order_id, order_date)，按 (order_date, order_id) 倒序键集分页
+     * index 为 OrderSearchIndex 选出的索引名（不来自请求），各过滤列都在该索引内，不回表
+     * 参数由 OrderSearchIndex.searchKeysParams 组装
+     */
+    @Select("<script>" +
+            "SELECT order_id, order_date FROM orders" +
+            "<if test='index != null'> FORCE INDEX (${index})</if>" +
+            ORDER_SEARCH_FILTER +
+            "<if test='cursorOrderDate != null'> AND (order_date &lt; #{cursorOrderDate} " +
+            "OR (order_date = #{cursorOrderDate} AND order_id &lt; #{cursorOrderId}))</if>" +
+            " ORDER BY order_date DESC, order_id DESC LIMIT #{limit}" +
+            "</script>")
+    List<OrderPO> searchKeys(Map<String, Object> params);
+    
+    /**
+     * 导出游标：按 (order_date, order_id) 正序流式读取，游标非空时从其后开始；必须在事务内遍历并关闭
+     */
+    @Select("<script>" +
+            "SELECT * FROM orders" + ORDER_SEARCH_FILTER +
+            "<if test='cursorOrderDate != null'> AND (order_date &gt; #{cursorOrderDate} " +
+            "OR (order_date = #{cursorOrderDate} AND order_id &gt; #{cursorOrderId}))</if>" +
+            " ORDER BY order_date, order_id" +
+            "</script>")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = EXPORT_FETCH_SIZE)
+    Cursor<OrderPO> exportCursor(@Param("orderId") String orderId,
+                                 @Param("userId") String userId,
+                                 @Param("status") String status,
+                                 @Param("orderType") String orderType,
+                                 @Param("startTime") LocalDateTime startTime,
+                                 @Param("endTime") LocalDateTime endTime,
+                                 @Param("currency") String currency,
+                                 @Param("minAmount") BigDecimal minAmount,
+                                 @Param("maxAmount") BigDecimal maxAmount,
+                                 @Param("cursorOrderDate") LocalDateTime cursorOrderDate,
+                                 @Param("cursorOrderId") String cursorOrderId);
+    
+    /**
+     * 按 (order_date, order_id) 正序扫描指定状态的订单（idx_status_order_date），只取超时调度需要的列
+     * before 非空时只返回下单时间早于 before 的订单
+     */
+    @Select("<script>" +
+            "SELECT order_id, order_date FROM orders WHERE status = #{status}" +
+            "<if test='before != null'> AND order_date &lt; #{before}</if>" +
+            "<if test='cursorOrderDate != null'> AND (order_date &gt; #{cursorOrderDate} " +
+            "OR (order_date = #{cursorOrderDate} AND order_id &gt; #{cursorOrderId}))</if>" +
+            " ORDER BY order_date, order_id LIMIT #{limit}" +
+            "</script>")
+    List<OrderPO> scanByStatus(@Param("status") String status,
+                               @Param("before") LocalDateTime before,
+                               @Param("cursorOrderDate") LocalDateTime cursorOrderDate,
+                               @Param("cursorOrderId") String cursorOrderId,
+                               @Param("limit") int limit);
+    
+    /**
+     * 锁定指定状态且下单时间不晚于 cutoff 的订单，已被其他事务锁定的行直接跳过
+     */
+    @Select("<script>" +
+            "SELECT * FROM orders WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " AND status IN " +
+            "<foreach collection='statuses' item='s' open='(' separator=',' close=')'>#{s}</foreach>" +
+            " AND order_date &lt;= #{cutoff}" +
+            " FOR UPDATE SKIP LOCKED" +
+            "</script>")
+    List<OrderPO> lockByIdsAndStatus(@Param("orderIds") List<String> orderIds,
+                                     @Param("statuses") List<String> statuses,
+                                     @Param("cutoff") LocalDateTime cutoff);
+    
+    @Update("<script>" +
+            "UPDATE orders SET status = #{status}, updated_at = #{updatedAt}, version = version + 1 WHERE order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int updateStatusBatch(@Param("orderIds") List<String> orderIds,
+                          @Param("status") String status,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+}
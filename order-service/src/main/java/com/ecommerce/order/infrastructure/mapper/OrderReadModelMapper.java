@@ -0,0 +1,66 @@
+package com.ecommerce.order.infrastructure.mapper;
+
+import com.ecommerce.order.infrastructure.entity.OrderReadModelPO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单读模型表访问：order_read_model
+ * 写入只接受版本号更大的文档，多个投影并发或乱序写入时旧文档不会覆盖新文档
+ */
+@Mapper
+public interface OrderReadModelMapper {
+
+    /**
+     * 多行写入读模型，已存在的行只在新版本号更大时替换；version 必须最后赋值，前面的条件引用的是旧版本号
+     */
+    @Insert("<script>" +
+            "INSERT INTO order_read_model (order_id, user_id, version, payload, projected_at) VALUES " +
+            "<foreach collection='models' item='m' separator=','>" +
+            "(#{m.orderId}, #{m.userId}, #{m.version}, #{m.payload}, CURRENT_TIMESTAMP(3))" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE " +
+            "payload = IF(VALUES(version) &gt; version, VALUES(payload), payload), " +
+            "projected_at = IF(VALUES(version) &gt; version, VALUES(projected_at), projected_at), " +
+            "version = GREATEST(version, VALUES(version))" +
+            "</script>")
+    int upsertBatch(@Param("models") List<OrderReadModelPO> models);
+
+    /**
+     * 订单已删除：清空文档并升级版本号，其他实例据此失效缓存
+     */
+    @Update("<script>" +
+            "UPDATE order_read_model SET payload = NULL, version = version + 1, projected_at = CURRENT_TIMESTAMP(3) " +
+            "WHERE payload IS NOT NULL AND order_id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markDeleted(@Param("orderIds") List<String> orderIds);
+
+    @Select("SELECT order_id, user_id, version, payload, projected_at FROM order_read_model WHERE order_id = #{orderId}")
+    OrderReadModelPO findByOrderId(@Param("orderId") String orderId);
+
+    /**
+     * 按 (projected_at, order_id) 正序扫描游标之后写入的行，只取失效缓存需要的列（idx_projected_at）
+     */
+    @Select("SELECT order_id, version, projected_at FROM order_read_model " +
+            "WHERE projected_at > #{cursorProjectedAt} " +
+            "OR (projected_at = #{cursorProjectedAt} AND order_id > #{cursorOrderId}) " +
+            "ORDER BY projected_at, order_id LIMIT #{limit}")
+    List<OrderReadModelPO> findProjectedAfter(@Param("cursorProjectedAt") LocalDateTime cursorProjectedAt,
+                                              @Param("cursorOrderId") String cursorOrderId,
+                                              @Param("limit") int limit);
+
+    /**
+     * 查找 since 之后更新、读模型缺失或版本落后的订单（idx_updated_at）
+     */
+    @Select("SELECT o.order_id FROM orders o LEFT JOIN order_read_model r ON r.order_id = o.order_id " +
+            "WHERE o.updated_at >= #{since} AND (r.order_id IS NULL OR r.version < o.version) " +
+            "LIMIT #{limit}")
+    List<String> findStale(@Param("since") LocalDateTime since, @Param("limit") int limit);
+}
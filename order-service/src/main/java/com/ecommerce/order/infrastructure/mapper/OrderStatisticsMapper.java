@@ -0,0 +1,72 @@
+package com.ecommerce.order.infrastructure.mapper;
+
+import com.ecommerce.order.infrastructure.entity.OrderStatsPO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 订单统计汇总表访问
+ * 增量以 INSERT ... ON DUPLICATE KEY UPDATE 累加，调用方按主键顺序传入，保证加锁顺序一致
+ */
+@Mapper
+public interface OrderStatisticsMapper {
+
+    /**
+     * 累加全局日汇总
+     */
+    @Insert("<script>" +
+            "INSERT INTO order_stats_daily (stat_date, status, currency, slot, order_count, total_amount) VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>" +
+            "(#{d.statDate}, #{d.status}, #{d.currency}, #{d.slot}, #{d.orderCount}, #{d.totalAmount})" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+            "total_amount = total_amount + VALUES(total_amount)" +
+            "</script>")
+    int upsertDaily(@Param("deltas") List<OrderStatsPO> deltas);
+
+    /**
+     * 累加用户日汇总
+     */
+    @Insert("<script>" +
+            "INSERT INTO order_stats_user_daily (user_id, stat_date, status, currency, order_count, total_amount) VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>" +
+            "(#{d.userId}, #{d.statDate}, #{d.status}, #{d.currency}, #{d.orderCount}, #{d.totalAmount})" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+            "total_amount = total_amount + VALUES(total_amount)" +
+            "</script>")
+    int upsertUserDaily(@Param("deltas") List<OrderStatsPO> deltas);
+
+    /**
+     * 合并日期区间 [fromDate, toDate] 内的全局汇总，边界为空表示不限
+     */
+    @Select("<script>" +
+            "SELECT status, currency, SUM(order_count) AS orderCount, SUM(total_amount) AS totalAmount " +
+            "FROM order_stats_daily" +
+            "<where>" +
+            "<if test='fromDate != null'> AND stat_date &gt;= #{fromDate}</if>" +
+            "<if test='toDate != null'> AND stat_date &lt;= #{toDate}</if>" +
+            "</where>" +
+            " GROUP BY status, currency" +
+            "</script>")
+    List<OrderStatsPO> sumDaily(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * 合并指定用户在日期区间 [fromDate, toDate] 内的汇总，边界为空表示不限
+     */
+    @Select("<script>" +
+            "SELECT status, currency, SUM(order_count) AS orderCount, SUM(total_amount) AS totalAmount " +
+            "FROM order_stats_user_daily WHERE user_id = #{userId}" +
+            "<if test='fromDate != null'> AND stat_date &gt;= #{fromDate}</if>" +
+            "<if test='toDate != null'> AND stat_date &lt;= #{toDate}</if>" +
+            " GROUP BY status, currency" +
+            "</script>")
+    List<OrderStatsPO> sumUserDaily(@Param("userId") String userId,
+                                    @Param("fromDate") LocalDate fromDate,
+                                    @Param("toDate") LocalDate toDate);
+}
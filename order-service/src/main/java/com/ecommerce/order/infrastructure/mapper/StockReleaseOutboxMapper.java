@@ -0,0 +1,52 @@
+package com.ecommerce.order.infrastructure.mapper;
+
+import com.ecommerce.order.infrastructure.entity.StockReleaseCommandPO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface StockReleaseOutboxMapper {
+
+    /**
+     * 多行写入释放库存命令，主键由调用方预先生成
+     */
+    @Insert("<script>" +
+            "INSERT INTO stock_release_outbox (id, order_id, sku_id, warehouse_code, quantity, status, created_at) VALUES " +
+            "<foreach collection='commands' item='c' separator=','>" +
+            "(#{c.id}, #{c.orderId}, #{c.skuId}, #{c.warehouseCode}, #{c.quantity}, #{c.status}, #{c.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("commands") List<StockReleaseCommandPO> commands);
+
+    /**
+     * 按写入顺序读取待投递且已到重试时间的命令
+     */
+    @Select("SELECT id, order_id, sku_id, warehouse_code, quantity, status, attempts, created_at FROM stock_release_outbox " +
+            "WHERE status = 'NEW' AND (next_attempt_at IS NULL OR next_attempt_at <= #{now}) " +
+            "ORDER BY id LIMIT #{limit}")
+    List<StockReleaseCommandPO> findDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 标记为已投递
+     */
+    @Update("<script>" +
+            "UPDATE stock_release_outbox SET status = 'SENT' WHERE status = 'NEW' AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markSent(@Param("ids") List<Long> ids);
+
+    /**
+     * 记录一次投递失败：failed 为 true 时标记为 FAILED 不再投递，否则在 nextAttemptAt 之后重试
+     */
+    @Update("UPDATE stock_release_outbox SET attempts = attempts + 1, last_error = #{error}, " +
+            "next_attempt_at = #{nextAttemptAt}, status = IF(#{failed}, 'FAILED', status) " +
+            "WHERE id = #{id} AND status = 'NEW'")
+    int recordFailure(@Param("id") long id, @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("failed") boolean failed);
+}
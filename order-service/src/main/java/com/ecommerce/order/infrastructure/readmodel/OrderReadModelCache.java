@@ -0,0 +1,142 @@
+package com.ecommerce.order.infrastructure.readmodel;
+
+import com.ecommerce.order.infrastructure.config.OrderReadModelProperties;
+import com.ecommerce.order.infrastructure.entity.OrderReadModelPO;
+import com.ecommerce.order.infrastructure.mapper.OrderReadModelMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单读模型本地缓存 - 基础设施层
+ * 职责：按订单ID缓存读模型文档，容量有上限（LRU 淘汰）
+ * 1. 写入只接受版本号更大的文档，并发加载的旧文档不会覆盖新文档
+ * 2. 定期按 projected_at 轮询读模型表，其他实例投影了更新版本时失效本地旧版本
+ * 3. 每次轮询回看一小段时间，覆盖提交时间晚于投影时间的行；过期时间只是兜底
+ * 4. 分库时每个分库各自轮询，各自维护游标
+ * 5. 不存在的订单ID单独短时缓存，重复查询不再访问数据库；缓存文档或轮询看到该订单时失效
+ */
+@Component
+public class OrderReadModelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReadModelCache.class);
+
+    private final OrderReadModelMapper readModelMapper;
+    private final OrderReadModelProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final Cache<String, OrderReadModel> cache;
+    private final Cache<String, Boolean> missing;
+    private final LocalDateTime[] pollCursors;
+
+    public OrderReadModelCache(OrderReadModelMapper readModelMapper,
+                               OrderReadModelProperties properties,
+                               OrderShardRouter shardRouter) {
+        this.readModelMapper = readModelMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.pollCursors = new LocalDateTime[shardRouter.shardCount()];
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .expireAfterWrite(properties.getCacheTtlMs(), TimeUnit.MILLISECONDS)
+                .build();
+        this.missing = CacheBuilder.newBuilder()
+                .maximumSize(properties.getMissCacheMaxEntries())
+                .expireAfterWrite(properties.getMissCacheTtlMs(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public OrderReadModel get(String orderId) {
+        return cache.getIfPresent(orderId);
+    }
+
+    /**
+     * 缓存文档，已缓存的版本不旧于该文档时忽略
+     */
+    public void putIfNewer(OrderReadModel model) {
+        missing.invalidate(model.getOrderId());
+        cache.asMap().merge(model.getOrderId(), model,
+                (cached, loaded) -> loaded.getVersion() > cached.getVersion() ? loaded : cached);
+    }
+
+    /**
+     * 是否近期确认过订单不存在（或已删除）
+     */
+    public boolean isMissing(String orderId) {
+        return missing.getIfPresent(orderId) != null;
+    }
+
+    /**
+     * 记录订单不存在
+     */
+    public void putMissing(String orderId) {
+        missing.put(orderId, Boolean.TRUE);
+    }
+
+    /**
+     * 失效版本号小于 version 的缓存，返回是否有缓存被失效
+     */
+    public boolean evictOlderThan(String orderId, long version) {
+        OrderReadModel cached = cache.getIfPresent(orderId);
+        return cached != null && cached.getVersion() < version && cache.asMap().remove(orderId, cached);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    @Scheduled(fixedDelayString = "${order.read-model.invalidation-poll-ms:1000}")
+    public void pollInvalidations() {
+        for (int shard = 0; shard < pollCursors.length; shard++) {
+            int current = shard;
+            shardRouter.runOn(current, () -> pollShard(current));
+        }
+    }
+
+    private void pollShard(int shard) {
+        LocalDateTime pollCursor = pollCursors[shard];
+        LocalDateTime from = pollCursor != null
+                ? pollCursor.minusNanos(properties.getInvalidationOverlapMs() * 1_000_000L)
+                : LocalDateTime.now().minusNanos(properties.getInvalidationOverlapMs() * 1_000_000L);
+        int pageSize = Math.max(1, properties.getInvalidationPageSize());
+        LocalDateTime cursorProjectedAt = from;
+        String cursorOrderId = "";
+        long evicted = 0;
+        try {
+            while (true) {
+                List<OrderReadModelPO> page = readModelMapper.findProjectedAfter(cursorProjectedAt, cursorOrderId, pageSize);
+                for (OrderReadModelPO row : page) {
+                    missing.invalidate(row.getOrderId());
+                    if (evictOlderThan(row.getOrderId(), row.getVersion())) {
+                        evicted++;
+                    }
+                }
+                if (!page.isEmpty()) {
+                    OrderReadModelPO last = page.get(page.size() - 1);
+                    cursorProjectedAt = last.getProjectedAt();
+                    cursorOrderId = last.getOrderId();
+                }
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("订单读模型失效轮询失败，下次重试", e);
+            return;
+        }
+        // 游标取库中观察到的最新投影时间，与应用服务器时钟无关
+        if (pollCursor == null || cursorProjectedAt.isAfter(pollCursor)) {
+            pollCursors[shard] = cursorProjectedAt;
+        }
+        if (evicted > 0) {
+            logger.debug("订单读模型缓存失效: 分库={}, 失效={}", shard, evicted);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.order.infrastructure.readmodel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * 订单读模型文档的 JSON 编解码
+ * 时间按 ISO 字符串保存；解码忽略未知字段，文档增加字段后旧实例仍可读取
+ */
+@Component
+public class OrderReadModelCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public String write(OrderReadModel model) {
+        try {
+            return objectMapper.writeValueAsString(model);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("订单读模型序列化失败: " + model.getOrderId(), e);
+        }
+    }
+
+    public OrderReadModel read(String payload) {
+        try {
+            return objectMapper.readValue(payload, OrderReadModel.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("订单读模型解析失败", e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.ecommerce.order.infrastructure.readmodel;
+
+import com.ecommerce.order.infrastructure.config.OrderReadModelProperties;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.entity.OrderReadModelPO;
+import com.ecommerce.order.infrastructure.mapper.OrderArchiveMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderItemMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderReadModelMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单读模型投影 - 基础设施层
+ * 职责：订单写入提交后异步重建该订单的读模型文档（订单 + 订单项），查询订单只需按主键读一行
+ * 1. 写入方在事务提交后发布变更的订单ID，入队 O(1)；队列中尚未处理的同一订单只保留一份
+ * 2. 唯一的工作线程按批投影：订单、订单项各一次 IN 查询，读模型一条多行 upsert，版本号更大才覆盖
+ * 3. 投影总是重新读取订单的当前状态，不依赖事件内容，重复或乱序的事件不影响结果
+ * 4. 补偿扫描定期检查最近更新、读模型缺失或落后的订单，覆盖队列溢出和进程退出时未投影的订单
+ * 5. 读模型与订单在同一分库，投影按订单所在分库分组执行
+ */
+@Component
+public class OrderReadModelProjector implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReadModelProjector.class);
+
+    private final OrderPlusMapper orderPlusMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderArchiveMapper orderArchiveMapper;
+    private final OrderReadModelMapper readModelMapper;
+    private final OrderReadModelCodec codec;
+    private final OrderReadModelCache cache;
+    private final OrderReadModelProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final BlockingQueue<String> queue;
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderReadModelProjector(OrderPlusMapper orderPlusMapper,
+                                   OrderItemMapper orderItemMapper,
+                                   OrderArchiveMapper orderArchiveMapper,
+                                   OrderReadModelMapper readModelMapper,
+                                   OrderReadModelCodec codec,
+                                   OrderReadModelCache cache,
+                                   OrderReadModelProperties properties,
+                                   OrderShardRouter shardRouter) {
+        this.orderPlusMapper = orderPlusMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderArchiveMapper = orderArchiveMapper;
+        this.readModelMapper = readModelMapper;
+        this.codec = codec;
+        this.cache = cache;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    /**
+     * 发布变更的订单，在事务中调用时等事务提交后再入队
+     */
+    public void publish(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(orderIds);
+            return;
+        }
+        List<String> committed = new ArrayList<>(orderIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(committed);
+            }
+        });
+    }
+
+    /**
+     * 同步投影指定订单并返回文档，订单不存在（含归档表）时不包含在结果中
+     */
+    public Map<String, OrderReadModel> project(List<String> orderIds) {
+        Map<String, OrderReadModel> models = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return models;
+        }
+        for (Map.Entry<Integer, List<String>> group : shardRouter.groupByShard(orderIds).entrySet()) {
+            models.putAll(shardRouter.callOn(group.getKey(), () -> projectOnShard(group.getValue())));
+        }
+
+        // 所有分库都不存在的订单才视为已删除；历史订单ID在每个分库都标记，只有存在读模型的分库会更新
+        List<String> deletedIds = new ArrayList<>();
+        for (String orderId : new LinkedHashSet<>(orderIds)) {
+            if (!models.containsKey(orderId)) {
+                deletedIds.add(orderId);
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            for (Map.Entry<Integer, List<String>> group : shardRouter.groupByShard(deletedIds).entrySet()) {
+                shardRouter.runOn(group.getKey(), () -> readModelMapper.markDeleted(group.getValue()));
+            }
+            for (String orderId : deletedIds) {
+                cache.evictOlderThan(orderId, Long.MAX_VALUE);
+            }
+        }
+        return models;
+    }
+
+    /**
+     * 只读加载订单当前状态的文档（热表、归档表），不写读模型也不标记删除；订单不存在时返回 null
+     */
+    public OrderReadModel load(String orderId) {
+        for (int shard : shardRouter.groupByShard(List.of(orderId)).keySet()) {
+            OrderReadModel model = shardRouter.callOn(shard, () -> readOnShard(List.of(orderId)).get(orderId));
+            if (model != null) {
+                return model;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 投影当前分库中的订单，返回找到的订单的文档
+     */
+    private Map<String, OrderReadModel> projectOnShard(List<String> orderIds) {
+        Map<String, OrderReadModel> models = readOnShard(orderIds);
+        if (!models.isEmpty()) {
+            List<OrderReadModelPO> rows = new ArrayList<>(models.size());
+            for (OrderReadModel model : models.values()) {
+                rows.add(toRow(model));
+            }
+            readModelMapper.upsertBatch(rows);
+            for (OrderReadModel model : models.values()) {
+                cache.putIfNewer(model);
+            }
+        }
+        return models;
+    }
+
+    /**
+     * 读取当前分库中订单的当前状态并生成文档，按订单ID排序（投影写入时加锁顺序一致）
+     */
+    private Map<String, OrderReadModel> readOnShard(List<String> orderIds) {
+        Map<String, OrderReadModel> models = new LinkedHashMap<>();
+        List<OrderPO> orders = new ArrayList<>(orderPlusMapper.findByOrderIds(orderIds));
+        Map<String, List<OrderItemPO>> itemsByOrder = new HashMap<>();
+        if (!orders.isEmpty()) {
+            List<String> hotIds = new ArrayList<>(orders.size());
+            for (OrderPO order : orders) {
+                hotIds.add(order.getOrderId());
+            }
+            for (OrderItemPO itemPO : orderItemMapper.findByOrderIds(hotIds)) {
+                itemsByOrder.computeIfAbsent(itemPO.getOrderId(), id -> new ArrayList<>()).add(itemPO);
+            }
+        }
+
+        // 热表未命中的订单逐个回查归档表（只有读模型缺失时才会发生）
+        Set<String> missing = new LinkedHashSet<>(orderIds);
+        for (OrderPO order : orders) {
+            missing.remove(order.getOrderId());
+        }
+        for (String orderId : missing) {
+            OrderPO archived = orderArchiveMapper.findOrderByOrderId(orderId);
+            if (archived != null) {
+                orders.add(archived);
+                itemsByOrder.put(orderId, orderArchiveMapper.findItemsByOrderId(orderId));
+            }
+        }
+
+        orders.sort(Comparator.comparing(OrderPO::getOrderId));
+        for (OrderPO order : orders) {
+            models.put(order.getOrderId(), toReadModel(order,
+                    itemsByOrder.getOrDefault(order.getOrderId(), Collections.emptyList())));
+        }
+        return models;
+    }
+
+    /**
+     * 待投影的订单数
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * 补偿扫描：重新投影最近更新但读模型缺失或版本落后的订单
+     */
+    @Scheduled(fixedDelayString = "${order.read-model.catch-up-interval-ms:60000}",
+               initialDelayString = "${order.read-model.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        LocalDateTime since = LocalDateTime.now().minusNanos(properties.getCatchUpWindowMs() * 1_000_000L);
+        int batchSize = Math.max(1, properties.getProjectionBatchSize());
+        long projected = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int current = shard;
+            while (true) {
+                List<String> stale = shardRouter.callOn(current, () -> readModelMapper.findStale(since, batchSize));
+                if (stale.isEmpty()) {
+                    break;
+                }
+                projected += project(stale).size();
+                if (stale.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+        if (projected > 0) {
+            logger.info("补偿投影订单读模型: {}", projected);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "order-read-model-projector");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+        logger.info("订单读模型投影已停止: 未投影={}", queue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enqueue(Collection<String> orderIds) {
+        int dropped = 0;
+        for (String orderId : orderIds) {
+            if (queued.add(orderId) && !queue.offer(orderId)) {
+                queued.remove(orderId);
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("订单读模型投影队列已满，{} 个订单留给补偿扫描", dropped);
+        }
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, properties.getProjectionBatchSize());
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                // 出队即移除标记，投影期间再次变更的订单会重新入队
+                queued.removeAll(batch);
+                project(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                logger.error("订单读模型投影失败，{} 个订单由补偿扫描处理", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private OrderReadModel toReadModel(OrderPO order, List<OrderItemPO> itemPOs) {
+        OrderReadModel model = new OrderReadModel();
+        model.setOrderId(order.getOrderId());
+        model.setUserId(order.getUserId());
+        model.setVersion(order.getVersion() != null ? order.getVersion() : 0L);
+        model.setStatus(order.getStatus());
+        model.setOrderType(order.getOrderType());
+        model.setTotalAmount(order.getTotalAmount());
+        model.setCurrency(order.getCurrency());
+        model.setOrderDate(order.getOrderDate());
+        model.setCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt() : order.getOrderDate());
+        model.setUpdatedAt(order.getUpdatedAt());
+        List<OrderReadModel.Item> items = new ArrayList<>(itemPOs.size());
+        for (OrderItemPO itemPO : itemPOs) {
+            OrderReadModel.Item item = new OrderReadModel.Item();
+            item.setItemId(itemPO.getId());
+            item.setProductId(itemPO.getProductId());
+            item.setSkuId(itemPO.getSkuId());
+            item.setQuantity(itemPO.getQuantity());
+            item.setUnitPrice(itemPO.getUnitPrice());
+            item.setTotalPrice(itemPO.getTotalPrice());
+            items.add(item);
+        }
+        model.setItems(items);
+        return model;
+    }
+
+    private OrderReadModelPO toRow(OrderReadModel model) {
+        OrderReadModelPO row = new OrderReadModelPO();
+        row.setOrderId(model.getOrderId());
+        row.setUserId(model.getUserId());
+        row.setVersion(model.getVersion());
+        row.setPayload(codec.write(model));
+        return row;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.order.infrastructure.readmodel;
+
+import com.ecommerce.order.infrastructure.entity.OrderReadModelPO;
+import com.ecommerce.order.infrastructure.mapper.OrderReadModelMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 订单读模型查询 - 基础设施层
+ * 职责：按订单ID读取读模型文档：本地缓存 → 读模型表主键查询 → 尚未投影时只读回查订单表
+ * 1. 查询路径不写数据库：读模型缺失的订单交给投影线程补齐，不存在的订单只在本地短时缓存
+ * 2. 读模型表按订单ID携带的分库路由，历史订单ID依次查询各分库
+ */
+@Component
+public class OrderReadModelQuery {
+
+    private final OrderReadModelMapper readModelMapper;
+    private final OrderReadModelCodec codec;
+    private final OrderReadModelCache cache;
+    private final OrderReadModelProjector projector;
+    private final OrderShardRouter shardRouter;
+
+    public OrderReadModelQuery(OrderReadModelMapper readModelMapper,
+                               OrderReadModelCodec codec,
+                               OrderReadModelCache cache,
+                               OrderReadModelProjector projector,
+                               OrderShardRouter shardRouter) {
+        this.readModelMapper = readModelMapper;
+        this.codec = codec;
+        this.cache = cache;
+        this.projector = projector;
+        this.shardRouter = shardRouter;
+    }
+
+    public Optional<OrderReadModel> find(String orderId) {
+        OrderReadModel cached = cache.get(orderId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (cache.isMissing(orderId)) {
+            return Optional.empty();
+        }
+
+        OrderReadModelPO row = findRow(orderId);
+        if (row == null) {
+            // 刚提交尚未投影，或读模型上线前的历史订单：按订单表返回，读模型由投影线程补齐
+            OrderReadModel loaded = projector.load(orderId);
+            if (loaded == null) {
+                cache.putMissing(orderId);
+                return Optional.empty();
+            }
+            cache.putIfNewer(loaded);
+            projector.publish(List.of(orderId));
+            return Optional.of(loaded);
+        }
+        if (row.getPayload() == null) {
+            cache.putMissing(orderId);
+            return Optional.empty();
+        }
+
+        OrderReadModel model = codec.read(row.getPayload());
+        cache.putIfNewer(model);
+        return Optional.of(model);
+    }
+
+    private OrderReadModelPO findRow(String orderId) {
+        int shard = shardRouter.shardOfOrderId(orderId);
+        if (shard >= 0 || shardRouter.shardCount() == 1) {
+            return shardRouter.callOn(Math.max(shard, 0), () -> readModelMapper.findByOrderId(orderId));
+        }
+        for (int s = 0; s < shardRouter.shardCount(); s++) {
+            OrderReadModelPO row = shardRouter.callOn(s, () -> readModelMapper.findByOrderId(orderId));
+            if (row != null) {
+                return row;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.infrastructure.config.OrderPersistenceProperties;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.mapper.OrderDataMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderItemMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.readmodel.OrderReadModelProjector;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import com.ecommerce.order.infrastructure.statistics.OrderStatisticsRollup;
+import com.ecommerce.order.infrastructure.timeout.PaymentTimeoutScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单聚合写入器 - 基础设施层
+ * 职责：在一个事务内写入新订单及其全部订单项
+ * 1. 主键在客户端预先生成（雪花ID），写入无需等待数据库回填自增主键
+ * 2. 订单与订单项分别按分片执行多行 INSERT，每个分片一次往返，与订单项数量无关
+ * 3. 订单统计汇总在同一事务内累加；事务提交后登记未支付订单的支付超时，并投影订单读模型
+ */
+@Component
+public class OrderAggregateWriter {
+
+    private final OrderPlusMapper orderPlusMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderDataMapper orderDataMapper;
+    private final OrderStatisticsRollup statisticsRollup;
+    private final PaymentTimeoutScheduler paymentTimeoutScheduler;
+    private final OrderReadModelProjector readModelProjector;
+    private final OrderShardRouter shardRouter;
+    private final OrderPersistenceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderAggregateWriter(OrderPlusMapper orderPlusMapper,
+                                OrderItemMapper orderItemMapper,
+                                OrderDataMapper orderDataMapper,
+                                OrderStatisticsRollup statisticsRollup,
+                                PaymentTimeoutScheduler paymentTimeoutScheduler,
+                                OrderReadModelProjector readModelProjector,
+                                OrderShardRouter shardRouter,
+                                OrderPersistenceProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.orderPlusMapper = orderPlusMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderDataMapper = orderDataMapper;
+        this.statisticsRollup = statisticsRollup;
+        this.paymentTimeoutScheduler = paymentTimeoutScheduler;
+        this.readModelProjector = readModelProjector;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 写入新订单（含订单项），任一语句失败则整体回滚
+     * 分库时按用户所在分片分组，每个分片一个事务，跨分片的一批订单不保证原子性
+     */
+    public void insert(Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<Order>> ordersByShard = new LinkedHashMap<>();
+        for (Order order : orders) {
+            ordersByShard.computeIfAbsent(shardRouter.shardOfUser(order.getUserId().getValue()),
+                    shard -> new ArrayList<>()).add(order);
+        }
+        for (Map.Entry<Integer, List<Order>> entry : ordersByShard.entrySet()) {
+            shardRouter.runOn(entry.getKey(), () -> insertOnShard(entry.getValue()));
+        }
+    }
+
+    private void insertOnShard(List<Order> orders) {
+        List<OrderPO> orderPOs = new ArrayList<>(orders.size());
+        List<OrderItemPO> itemPOs = new ArrayList<>();
+        List<String> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderPO orderPO = orderDataMapper.orderToOrderPO(order);
+            orderPO.setId(IdWorker.getId());
+            orderPOs.add(orderPO);
+            orderIds.add(orderPO.getOrderId());
+            for (OrderItem item : order.getItems()) {
+                OrderItemPO itemPO = orderDataMapper.orderItemToOrderItemPO(item, order);
+                itemPO.setId(IdWorker.getId());
+                itemPOs.add(itemPO);
+            }
+        }
+
+        int chunkSize = Math.max(1, properties.getInsertChunkSize());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < orderPOs.size(); from += chunkSize) {
+                orderPlusMapper.insertBatch(orderPOs.subList(from, Math.min(from + chunkSize, orderPOs.size())));
+            }
+            for (int from = 0; from < itemPOs.size(); from += chunkSize) {
+                orderItemMapper.insertBatch(itemPOs.subList(from, Math.min(from + chunkSize, itemPOs.size())));
+            }
+            statisticsRollup.recordInserted(orderPOs);
+            afterCommit(() -> paymentTimeoutScheduler.track(orderPOs));
+            readModelProjector.publish(orderIds);
+        });
+    }
+
+    /**
+     * 加入外层事务时等外层提交后再执行
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.infrastructure.config.OrderPersistenceProperties;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.mapper.OrderArchiveMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderDataMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderItemMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订单批量加载器 - 基础设施层
+ * 职责：按订单ID批量重建订单聚合，查询次数与订单数无关
+ * 1. 订单ID先按所在分库分组，历史订单ID（不带分库标记）在每个分库都查询
+ * 2. 每批：订单一次 IN 查询，订单项一次 IN 查询，在内存中按订单ID分组
+ * 3. 热表未命中的订单再对归档表各做一次 IN 查询
+ * 4. 多批时并行查询，第一批在调用线程执行，线程池大小限制了并发查询数
+ */
+@Component
+public class OrderBatchLoader implements DisposableBean {
+
+    private final OrderPlusMapper orderPlusMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderArchiveMapper orderArchiveMapper;
+    private final OrderDataMapper orderDataMapper;
+    private final OrderPersistenceProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final ExecutorService executor;
+
+    public OrderBatchLoader(OrderPlusMapper orderPlusMapper,
+                            OrderItemMapper orderItemMapper,
+                            OrderArchiveMapper orderArchiveMapper,
+                            OrderDataMapper orderDataMapper,
+                            OrderPersistenceProperties properties,
+                            OrderShardRouter shardRouter) {
+        this.orderPlusMapper = orderPlusMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderArchiveMapper = orderArchiveMapper;
+        this.orderDataMapper = orderDataMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getIdQueryParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "order-batch-loader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 加载订单，orderIds 不能重复；返回按订单ID索引的订单，不存在的订单不在结果中
+     */
+    public Map<String, Order> load(List<String> orderIds, boolean includeItems) {
+        if (orderIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        int chunkSize = Math.max(1, properties.getIdQueryChunkSize());
+        List<Integer> chunkShards = new ArrayList<>();
+        List<List<String>> chunks = new ArrayList<>();
+        for (Map.Entry<Integer, List<String>> group : shardRouter.groupByShard(orderIds).entrySet()) {
+            List<String> shardIds = group.getValue();
+            for (int from = 0; from < shardIds.size(); from += chunkSize) {
+                chunkShards.add(group.getKey());
+                chunks.add(shardIds.subList(from, Math.min(from + chunkSize, shardIds.size())));
+            }
+        }
+        if (chunks.size() == 1) {
+            return shardRouter.callOn(chunkShards.get(0), () -> loadChunk(chunks.get(0), includeItems));
+        }
+
+        List<CompletableFuture<Map<String, Order>>> futures = new ArrayList<>();
+        for (int i = 1; i < chunks.size(); i++) {
+            int shard = chunkShards.get(i);
+            List<String> chunk = chunks.get(i);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> shardRouter.callOn(shard, () -> loadChunk(chunk, includeItems)), executor));
+        }
+        Map<String, Order> orders = shardRouter.callOn(chunkShards.get(0), () -> loadChunk(chunks.get(0), includeItems));
+        try {
+            for (CompletableFuture<Map<String, Order>> future : futures) {
+                orders.putAll(future.join());
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<Map<String, Order>> future : futures) {
+                future.cancel(false);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return orders;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private Map<String, Order> loadChunk(List<String> orderIds, boolean includeItems) {
+        List<OrderPO> hot = orderPlusMapper.findByOrderIds(orderIds);
+        List<OrderPO> archived = Collections.emptyList();
+        if (hot.size() < orderIds.size()) {
+            Set<String> missing = new HashSet<>(orderIds);
+            for (OrderPO orderPO : hot) {
+                missing.remove(orderPO.getOrderId());
+            }
+            archived = orderArchiveMapper.findOrdersByOrderIds(new ArrayList<>(missing));
+        }
+
+        Map<String, List<OrderItemPO>> itemsByOrder = new HashMap<>();
+        if (includeItems) {
+            if (!hot.isEmpty()) {
+                groupItems(orderItemMapper.findByOrderIds(orderIdsOf(hot)), itemsByOrder);
+            }
+            if (!archived.isEmpty()) {
+                groupItems(orderArchiveMapper.findItemsByOrderIds(orderIdsOf(archived)), itemsByOrder);
+            }
+        }
+
+        Map<String, Order> orders = new HashMap<>(hot.size() + archived.size());
+        for (List<OrderPO> orderPOs : List.of(hot, archived)) {
+            for (OrderPO orderPO : orderPOs) {
+                orders.put(orderPO.getOrderId(), orderDataMapper.orderPOToOrder(orderPO,
+                        itemsByOrder.getOrDefault(orderPO.getOrderId(), Collections.emptyList())));
+            }
+        }
+        return orders;
+    }
+
+    private static List<String> orderIdsOf(List<OrderPO> orderPOs) {
+        List<String> orderIds = new ArrayList<>(orderPOs.size());
+        for (OrderPO orderPO : orderPOs) {
+            orderIds.add(orderPO.getOrderId());
+        }
+        return orderIds;
+    }
+
+    private static void groupItems(List<OrderItemPO> itemPOs, Map<String, List<OrderItemPO>> itemsByOrder) {
+        for (OrderItemPO itemPO : itemPOs) {
+            itemsByOrder.computeIfAbsent(itemPO.getOrderId(), id -> new ArrayList<>()).add(itemPO);
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package com.ecommerce.order.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.ecommerce.order.domain.entity.Order;
 import com.ecommerce.order.domain.repository.OrderRepository;
 import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.infrastructure.config.OrderPersistenceProperties;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
 import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.mapper.OrderArchiveMapper;
 import com.ecommerce.order.infrastructure.mapper.OrderDataMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderItemMapper;
 import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.readmodel.OrderReadModelProjector;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import com.ecommerce.order.infrastructure.statistics.OrderStatisticsRollup;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Repository
 public class OrderRepositoryImpl implements OrderRepository {
@@ -20,42 +36,355 @@ public class OrderRepositoryImpl implements OrderRepository {
     @Autowired
     private OrderPlusMapper orderPlusMapper;
     
+    @Autowired
+    private OrderItemMapper orderItemMapper;
+    
     @Autowired
     private OrderDataMapper orderDataMapper;
 
+    @Autowired
+    private OrderAggregateWriter orderAggregateWriter;
+
+    @Autowired
+    private OrderPersistenceProperties persistenceProperties;
+
+    @Autowired
+    private OrderStatisticsRollup statisticsRollup;
+
+    @Autowired
+    private OrderArchiveMapper orderArchiveMapper;
+
+    @Autowired
+    private OrderReadModelProjector readModelProjector;
+
+    @Autowired
+    private OrderBatchLoader orderBatchLoader;
+
+    @Autowired
+    private OrderShardRouter shardRouter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 搜索结果顺序：下单时间倒序，同一时间按订单ID倒序
+     */
+    private static final Comparator<SearchKey> SEARCH_ORDER = Comparator
+            .comparing((SearchKey key) -> key.orderDate, Comparator.reverseOrder())
+            .thenComparing(key -> key.orderId, Comparator.reverseOrder());
+
+    @Override
+    public Order add(Order order) {
+        orderAggregateWriter.insert(List.of(order));
+        return order;
+    }
+
+    /**
+     * 订单按用户所在分片更新，整个事务只访问该分片
+     */
     @Override
     public Order save(Order order) {
+        int shard = shardRouter.shardOfUser(order.getUserId().getValue());
+        return shardRouter.callOn(shard, () -> transactionTemplate.execute(status -> saveOnShard(order)));
+    }
+
+    private Order saveOnShard(Order order) {
         OrderPO orderPO = orderDataMapper.orderToOrderPO(order);
-        if (orderPO.getId() == null) {
-            orderPlusMapper.insert(orderPO);
-        } else {
-            orderPlusMapper.updateById(orderPO);
+        // 领域对象不携带数据库主键，按业务主键 order_id 更新，不存在时按新订单写入
+        // 加锁读取变更前的行，统计汇总需要把订单从旧状态移到新状态
+        OrderPO current = selectForUpdate(orderPO.getOrderId());
+        if (current == null) {
+            if (orderArchiveMapper.countByOrderId(orderPO.getOrderId()) > 0) {
+                throw new IllegalStateException("已归档的订单不能修改");
+            }
+            orderAggregateWriter.insert(List.of(order));
+            return order;
+        }
+        
+        // 乐观锁：只有库中版本仍是加载时的版本才更新，防止并发的状态流转互相覆盖（如支付覆盖已取消）
+        LambdaUpdateWrapper<OrderPO> updateWrapper = new LambdaUpdateWrapper<>();
+        updateWrapper.eq(OrderPO::getOrderId, orderPO.getOrderId())
+                .eq(OrderPO::getVersion, order.getVersion())
+                .set(OrderPO::getStatus, orderPO.getStatus())
+                .set(OrderPO::getTotalAmount, orderPO.getTotalAmount())
+                .set(OrderPO::getUpdatedAt, orderPO.getUpdatedAt())
+                .setSql("version = version + 1");
+        if (orderPlusMapper.update(null, updateWrapper) == 0) {
+            throw new IllegalStateException("订单已被其他操作修改，请重新加载后重试");
         }
-        return orderDataMapper.orderPOToOrder(orderPO);
+        order.incrementVersion();
+        
+        // 下单时间、用户、币种不随更新变化，以库中的行为准归档
+        orderPO.setUserId(current.getUserId());
+        orderPO.setOrderDate(current.getOrderDate());
+        orderPO.setCurrency(current.getCurrency());
+        statisticsRollup.recordChanged(current, orderPO);
+        readModelProjector.publish(List.of(orderPO.getOrderId()));
+        return order;
     }
 
+    /**
+     * 订单ID携带分片时直接路由，历史订单ID依次查询各分片
+     */
     @Override
     public Optional<Order> findById(OrderId orderId) {
+        int shard = shardRouter.shardOfOrderId(orderId.getValue());
+        if (shard >= 0 || shardRouter.shardCount() == 1) {
+            return shardRouter.callOn(Math.max(shard, 0), () -> findOnShard(orderId));
+        }
+        for (int s = 0; s < shardRouter.shardCount(); s++) {
+            Optional<Order> order = shardRouter.callOn(s, () -> findOnShard(orderId));
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Order> findOnShard(OrderId orderId) {
         LambdaQueryWrapper<OrderPO> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(OrderPO::getOrderId, orderId.getValue());
         OrderPO orderPO = orderPlusMapper.selectOne(queryWrapper);
-        return orderPO != null ? 
-            Optional.of(orderDataMapper.orderPOToOrder(orderPO)) : 
+        if (orderPO != null) {
+            return Optional.of(orderDataMapper.orderPOToOrder(orderPO, orderItemMapper.findByOrderId(orderPO.getOrderId())));
+        }
+        
+        // 热表未命中时回查归档表，已归档的终态订单对调用方透明
+        OrderPO archived = orderArchiveMapper.findOrderByOrderId(orderId.getValue());
+        return archived != null ?
+            Optional.of(orderDataMapper.orderPOToOrder(archived, orderArchiveMapper.findItemsByOrderId(archived.getOrderId()))) :
             Optional.empty();
     }
 
+    @Override
+    public List<Order> findByIds(List<OrderId> orderIds, boolean includeItems) {
+        LinkedHashSet<String> distinctIds = new LinkedHashSet<>();
+        for (OrderId orderId : orderIds) {
+            distinctIds.add(orderId.getValue());
+        }
+        Map<String, Order> loaded = orderBatchLoader.load(new ArrayList<>(distinctIds), includeItems);
+        
+        List<Order> orders = new ArrayList<>(loaded.size());
+        for (String orderId : distinctIds) {
+            Order order = loaded.get(orderId);
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+
     @Override
     public List<Order> findByUserId(String userId) {
-        List<OrderPO> orderPOs = orderPlusMapper.findByUserId(userId);
-        return orderPOs.stream()
-            .map(orderDataMapper::orderPOToOrder)
-            .collect(Collectors.toList());
+        return shardRouter.callOn(shardRouter.shardOfUser(userId),
+            () -> toOrders(orderPlusMapper.findByUserId(userId)));
+    }
+
+    @Override
+    public List<Order> findPageByUserId(UserOrderCriteria criteria, OrderCursor cursor, int limit) {
+        return shardRouter.callOn(shardRouter.shardOfUser(criteria.getUserId().getValue()),
+            () -> toOrders(orderPlusMapper.findPageByUserId(
+                criteria.getUserId().getValue(),
+                criteria.getStatus() != null ? criteria.getStatus().name() : null,
+                criteria.getType() != null ? criteria.getType().name() : null,
+                cursor != null ? cursor.getOrderTime() : null,
+                cursor != null ? cursor.getOrderId() : null,
+                limit)));
     }
 
+    @Override
+    public long estimateCountByUserId(UserOrderCriteria criteria) {
+        return shardRouter.callOn(shardRouter.shardOfUser(criteria.getUserId().getValue()),
+            () -> estimateCountOnShard(criteria));
+    }
+
+    /**
+     * 跨分片搜索，分两步：
+     * 1. 按条件选定覆盖索引，每个分片只取排序键的前 limit + 1 条，多路归并后得到全局一页的订单ID，
+     *    多出的一条只用于判断是否有下一页，下一页游标取本页最后一个排序键
+     * 2. 按分片各用一次 IN 查询补齐这一页的订单行和订单项，再按第一步的顺序返回
+     * 指定用户或携带分片的订单ID时只查询一个分片
+     */
+    @Override
+    public OrderPage search(OrderSearchCriteria criteria, OrderCursor cursor, int limit) {
+        if (limit <= 0) {
+            return OrderPage.empty();
+        }
+        OrderSearchIndex index = OrderSearchIndex.choose(criteria);
+        List<Integer> shards = searchShards(criteria);
+        List<List<SearchKey>> perShard = shardRouter.scatter(shards,
+            shard -> searchKeysOnShard(shard, index, criteria, cursor, limit + 1));
+        List<SearchKey> page = OrderShardRouter.mergeSorted(perShard, SEARCH_ORDER, limit + 1);
+        if (page.isEmpty()) {
+            return OrderPage.empty();
+        }
+        OrderCursor nextCursor = null;
+        if (page.size() > limit) {
+            page = page.subList(0, limit);
+            SearchKey last = page.get(limit - 1);
+            nextCursor = new OrderCursor(last.orderDate, last.orderId);
+        }
+
+        Map<Integer, List<String>> idsByShard = new LinkedHashMap<>();
+        for (SearchKey key : page) {
+            idsByShard.computeIfAbsent(key.shard, s -> new ArrayList<>()).add(key.orderId);
+        }
+        List<Integer> pageShards = new ArrayList<>(idsByShard.keySet());
+        Map<String, Order> hydrated = new HashMap<>();
+        for (List<Order> orders : shardRouter.scatter(pageShards,
+                shard -> toOrders(orderPlusMapper.findByOrderIds(idsByShard.get(shard))))) {
+            for (Order order : orders) {
+                hydrated.put(order.getOrderId().getValue(), order);
+            }
+        }
+
+        // 两步之间被删除或归档的订单跳过，翻页仍按第一步的排序键进行
+        List<Order> orders = new ArrayList<>(page.size());
+        for (SearchKey key : page) {
+            Order order = hydrated.get(key.orderId);
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        return new OrderPage(orders, nextCursor);
+    }
+
+    private List<Integer> searchShards(OrderSearchCriteria criteria) {
+        if (criteria.getUserId() != null) {
+            return List.of(shardRouter.shardOfUser(criteria.getUserId().getValue()));
+        }
+        if (criteria.getOrderId() != null) {
+            return new ArrayList<>(shardRouter.groupByShard(List.of(criteria.getOrderId().getValue())).keySet());
+        }
+        List<Integer> shards = new ArrayList<>(shardRouter.shardCount());
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    private List<SearchKey> searchKeysOnShard(int shard, OrderSearchIndex index, OrderSearchCriteria criteria,
+                                              OrderCursor cursor, int limit) {
+        List<OrderPO> rows = orderPlusMapper.searchKeys(index.searchKeysParams(criteria, cursor, limit));
+        List<SearchKey> keys = new ArrayList<>(rows.size());
+        for (OrderPO row : rows) {
+            keys.add(new SearchKey(shard, row.getOrderDate(), row.getOrderId()));
+        }
+        return keys;
+    }
+
+    private long estimateCountOnShard(UserOrderCriteria criteria) {
+        String userId = criteria.getUserId().getValue();
+        String status = criteria.getStatus() != null ? criteria.getStatus().name() : null;
+        String orderType = criteria.getType() != null ? criteria.getType().name() : null;
+        
+        // 上限以内走覆盖索引精确计数，大账户不做全量 COUNT(*)
+        int cap = Math.max(1, persistenceProperties.getCountEstimateCap());
+        long counted = orderPlusMapper.countByUserIdCapped(userId, status, orderType, cap);
+        if (counted < cap) {
+            return counted;
+        }
+        
+        long estimated = 0;
+        for (Map<String, Object> plan : orderPlusMapper.explainByUserId(userId, status, orderType)) {
+            Object rows = plan.get("rows");
+            if (rows instanceof Number) {
+                estimated = Math.max(estimated, ((Number) rows).longValue());
+            }
+        }
+        return Math.max(counted, estimated);
+    }
+
+    /**
+     * 历史订单ID先定位所在分片，删除事务只访问该分片
+     */
     @Override
     public void delete(OrderId orderId) {
+        int shard = locateShard(orderId.getValue());
+        if (shard < 0) {
+            return;
+        }
+        shardRouter.runOn(shard, () -> transactionTemplate.executeWithoutResult(status -> deleteOnShard(orderId)));
+    }
+
+    /**
+     * 订单所在分片，历史订单ID在各分片的热表中查找，都不存在时返回 -1
+     */
+    private int locateShard(String orderId) {
+        int shard = shardRouter.shardOfOrderId(orderId);
+        if (shard >= 0 || shardRouter.shardCount() == 1) {
+            return Math.max(shard, 0);
+        }
+        for (int s = 0; s < shardRouter.shardCount(); s++) {
+            LambdaQueryWrapper<OrderPO> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(OrderPO::getOrderId, orderId);
+            if (shardRouter.callOn(s, () -> orderPlusMapper.selectCount(queryWrapper)) > 0) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    private void deleteOnShard(OrderId orderId) {
+        OrderPO current = selectForUpdate(orderId.getValue());
+        if (current == null) {
+            return;
+        }
+        
+        LambdaQueryWrapper<OrderItemPO> itemQueryWrapper = new LambdaQueryWrapper<>();
+        itemQueryWrapper.eq(OrderItemPO::getOrderId, orderId.getValue());
+        orderItemMapper.delete(itemQueryWrapper);
+        
         LambdaQueryWrapper<OrderPO> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(OrderPO::getOrderId, orderId.getValue());
         orderPlusMapper.delete(queryWrapper);
+        statisticsRollup.recordDeleted(current);
+        readModelProjector.publish(List.of(current.getOrderId()));
+    }
+
+    private OrderPO selectForUpdate(String orderId) {
+        LambdaQueryWrapper<OrderPO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(OrderPO::getOrderId, orderId).last("FOR UPDATE");
+        return orderPlusMapper.selectOne(queryWrapper);
+    }
+
+    /**
+     * 重建订单聚合：一次 IN 查询取回全部订单项，避免逐单查询
+     */
+    private List<Order> toOrders(List<OrderPO> orderPOs) {
+        if (orderPOs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> orderIds = new ArrayList<>(orderPOs.size());
+        for (OrderPO orderPO : orderPOs) {
+            orderIds.add(orderPO.getOrderId());
+        }
+        Map<String, List<OrderItemPO>> itemsByOrder = new HashMap<>();
+        for (OrderItemPO itemPO : orderItemMapper.findByOrderIds(orderIds)) {
+            itemsByOrder.computeIfAbsent(itemPO.getOrderId(), id -> new ArrayList<>()).add(itemPO);
+        }
+        
+        List<Order> orders = new ArrayList<>(orderPOs.size());
+        for (OrderPO orderPO : orderPOs) {
+            orders.add(orderDataMapper.orderPOToOrder(orderPO,
+                itemsByOrder.getOrDefault(orderPO.getOrderId(), Collections.emptyList())));
+        }
+        return orders;
+    }
+
+    /**
+     * 搜索第一步的结果：订单所在分片及其排序键
+     */
+    private static final class SearchKey {
+        private final int shard;
+        private final LocalDateTime orderDate;
+        private final String orderId;
+
+        private SearchKey(int shard, LocalDateTime orderDate, String orderId) {
+            this.shard = shard;
+            this.orderDate = orderDate;
+            this.orderId = orderId;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.domain.repository.OrderRepository.OrderCursor;
+import com.ecommerce.order.domain.repository.OrderRepository.OrderSearchCriteria;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 订单搜索索引选择
+ * 按搜索条件中的等值过滤选择索引：索引前缀为等值列，其后是排序键 (order_date, order_id)，
+ * 时间区间落在排序键上，类型、币种、金额作为索引尾部列在索引内过滤，第一步只取排序键时不回表
+ * 1. 指定订单号：唯一索引等值查询，不指定索引
+ * 2. 指定用户和状态：idx_user_status_time
+ * 3. 只指定用户：idx_user_order_time
+ * 4. 只指定状态：idx_status_order_date
+ * 5. 其他：idx_order_date_order_id，按时间倒序扫描到凑满一页为止；
+ *    此时按类型或金额过滤必须指定开始时间，否则匹配很少时会扫描整个索引
+ */
+public enum OrderSearchIndex {
+
+    ORDER_ID(null),
+    USER_STATUS("idx_user_status_time"),
+    USER("idx_user_order_time"),
+    STATUS("idx_status_order_date"),
+    ORDER_DATE("idx_order_date_order_id");
+
+    private final String indexName;
+
+    OrderSearchIndex(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public static OrderSearchIndex choose(OrderRepository.OrderSearchCriteria criteria) {
+        if (criteria.getOrderId() != null) {
+            return ORDER_ID;
+        }
+        if (criteria.getUserId() != null) {
+            return criteria.getStatus() != null ? USER_STATUS : USER;
+        }
+        if (criteria.getStatus() != null) {
+            return STATUS;
+        }
+        boolean filtered = criteria.getType() != null || criteria.getAmountCurrency() != null;
+        if (filtered && criteria.getStartTime() == null) {
+            throw new IllegalArgumentException("未指定用户和状态时，按类型或金额搜索必须指定开始时间");
+        }
+        return ORDER_DATE;
+    }
+
+    /**
+     * OrderPlusMapper.searchKeys 的参数：本索引名、搜索条件、游标与条数
+     */
+    public Map<String, Object> searchKeysParams(OrderSearchCriteria criteria, OrderCursor cursor, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("index", indexName);
+        params.put("orderId", criteria.getOrderId() != null ? criteria.getOrderId().getValue() : null);
+        params.put("userId", criteria.getUserId() != null ? criteria.getUserId().getValue() : null);
+        params.put("status", criteria.getStatus() != null ? criteria.getStatus().name() : null);
+        params.put("orderType", criteria.getType() != null ? criteria.getType().name() : null);
+        params.put("startTime", criteria.getStartTime());
+        params.put("endTime", criteria.getEndTime());
+        params.put("currency", criteria.getAmountCurrency());
+        params.put("minAmount", criteria.getMinAmount() != null ? criteria.getMinAmount().getAmount() : null);
+        params.put("maxAmount", criteria.getMaxAmount() != null ? criteria.getMaxAmount().getAmount() : null);
+        params.put("cursorOrderDate", cursor != null ? cursor.getOrderTime() : null);
+        params.put("cursorOrderId", cursor != null ? cursor.getOrderId() : null);
+        params.put("limit", limit);
+        return params;
+    }
+
+    /**
+     * FORCE INDEX 使用的索引名，null 表示交给优化器
+     */
+    public String getIndexName() {
+        return indexName;
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecommerce.order.infrastructure.sharding;
+
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.config.OrderShardingProperties;
+import com.google.common.hash.Hashing;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 订单分片路由 - 基础设施层
+ * 职责：按用户ID散列决定订单所在分片，并提供单分片执行、跨分片并行查询与有序合并
+ * 1. 用户ID散列到 1024 个虚拟桶，虚拟桶按连续区间映射到分片；扩容时区间一分为二，虚拟桶不变
+ * 2. 启用分库时订单ID末尾携带虚拟桶（-S + 2 位 Crockford Base32，见 OrderId.withShardBucket），按ID查询直接定位分片；
+ *    不带虚拟桶的历史订单ID、以及标记前不是生成订单ID格式的客户端输入需要查询所有分片
+ * 3. 同一用户的订单、订单项、统计汇总、读模型都在同一分片，单用户操作不跨库
+ * 未启用分库时只有一个分片，路由不改变任何行为
+ */
+@Component
+public class OrderShardRouter implements DisposableBean {
+
+    public static final int VIRTUAL_BUCKETS = OrderId.SHARD_BUCKETS;
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+
+    public OrderShardRouter(OrderShardingProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.shardCount = enabled ? properties.getDatasources().size() : 1;
+        if (shardCount < 1 || shardCount > VIRTUAL_BUCKETS) {
+            throw new IllegalArgumentException("分片数必须在1-" + VIRTUAL_BUCKETS + "之间: " + shardCount);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getScatterParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "order-shard-scatter-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int bucketOfUser(String userId) {
+        int hash = Hashing.murmur3_32_fixed().hashString(userId, StandardCharsets.UTF_8).asInt();
+        return Math.floorMod(hash, VIRTUAL_BUCKETS);
+    }
+
+    public int shardOfUser(String userId) {
+        return shardOfBucket(bucketOfUser(userId));
+    }
+
+    /**
+     * 订单ID所在分片，ID 未携带有效的虚拟桶（历史订单、非生成格式）时返回 -1
+     */
+    public int shardOfOrderId(String orderId) {
+        int bucket = OrderId.shardBucketOf(orderId);
+        return bucket < 0 ? -1 : shardOfBucket(bucket);
+    }
+
+    /**
+     * 启用分库时在订单ID末尾附加用户的虚拟桶
+     */
+    public OrderId tag(OrderId orderId, UserId userId) {
+        if (!enabled) {
+            return orderId;
+        }
+        return orderId.withShardBucket(bucketOfUser(userId.getValue()));
+    }
+
+    /**
+     * 按分片分组订单ID，保持组内顺序；未携带虚拟桶的ID放入每个分片
+     */
+    public Map<Integer, List<String>> groupByShard(Collection<String> orderIds) {
+        Map<Integer, List<String>> groups = new LinkedHashMap<>();
+        for (String orderId : orderIds) {
+            int shard = shardCount == 1 ? 0 : shardOfOrderId(orderId);
+            if (shard >= 0) {
+                groups.computeIfAbsent(shard, s -> new ArrayList<>()).add(orderId);
+                continue;
+            }
+            for (int s = 0; s < shardCount; s++) {
+                groups.computeIfAbsent(s, k -> new ArrayList<>()).add(orderId);
+            }
+        }
+        return groups;
+    }
+
+    public <T> T callOn(int shard, Supplier<T> action) {
+        return ShardContext.callOn(shard, action);
+    }
+
+    public void runOn(int shard, Runnable action) {
+        ShardContext.runOn(shard, action);
+    }
+
+    /**
+     * 在每个分片上依次执行
+     */
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardContext.runOn(shard, action);
+        }
+    }
+
+    /**
+     * 在指定分片上并行执行查询，结果按入参分片顺序返回；只有一个分片时在调用线程执行
+     */
+    public <T> List<T> scatter(Collection<Integer> shards, Function<Integer, T> query) {
+        List<T> results = new ArrayList<>(shards.size());
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            results.add(ShardContext.callOn(shard, () -> query.apply(shard)));
+            return results;
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.callOn(shard, () -> query.apply(shard)),
+                    scatterExecutor));
+        }
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<T> future : futures) {
+                future.cancel(false);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * 在所有分片上并行执行查询
+     */
+    public <T> List<T> scatterAll(Function<Integer, T> query) {
+        List<Integer> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(shard);
+        }
+        return scatter(shards, query);
+    }
+
+    /**
+     * 多路归并各分片已按 comparator 排好序的结果，取前 limit 条
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> comparator, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) ->
+                comparator.compare(sortedLists.get(a[0]).get(a[1]), sortedLists.get(b[0]).get(b[1])));
+        for (int i = 0; i < sortedLists.size(); i++) {
+            if (!sortedLists.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<T> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<T> source = sortedLists.get(head[0]);
+            merged.add(source.get(head[1]));
+            if (head[1] + 1 < source.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scatterExecutor.shutdown();
+        scatterExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 虚拟桶按连续区间映射到分片：分片数翻倍时每个区间一分为二
+     */
+    private int shardOfBucket(int bucket) {
+        return (int) ((long) bucket * shardCount / VIRTUAL_BUCKETS);
+    }
+}
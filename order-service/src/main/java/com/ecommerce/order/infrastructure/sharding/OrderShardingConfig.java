@@ -0,0 +1,74 @@
+package com.ecommerce.order.infrastructure.sharding;
+
+import com.ecommerce.order.infrastructure.config.OrderShardingProperties;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单分库数据源配置（order.sharding.enabled=true 时生效，替代 spring.datasource 单库）
+ * 路由数据源外包一层延迟连接代理：事务开始时不取连接，第一条语句执行时才按当前分片取连接，
+ * 因此在 @Transactional 方法内设置分片也能生效；一个事务只能访问一个分片
+ * 健康检查按分片逐个探测，替代 Spring Boot 默认对主数据源的检查（未指定分片时路由数据源拒绝取连接）
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "order.sharding", name = "enabled", havingValue = "true")
+public class OrderShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(OrderShardingProperties properties) {
+        List<OrderShardingProperties.ShardDataSource> shards = properties.getDatasources();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("已启用订单分库，但未配置 order.sharding.datasources");
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            OrderShardingProperties.ShardDataSource config = shards.get(shard);
+            targets.put(shard, DataSourceBuilder.create()
+                    .driverClassName(config.getDriverClassName())
+                    .url(config.getUrl())
+                    .username(config.getUsername())
+                    .password(config.getPassword())
+                    .build());
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        // 默认连接属性直接给定，不在启动时（未指定分片）取连接探测
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        lazy.setTargetDataSource(routing);
+        lazy.afterPropertiesSet();
+        return lazy;
+    }
+
+    /**
+     * 覆盖默认的 db 健康检查：每个分片一个 DataSourceHealthIndicator，任一分片不可用则整体 DOWN
+     */
+    @Bean(name = "dbHealthContributor")
+    public HealthContributor dbHealthContributor(DataSource dataSource) {
+        ShardRoutingDataSource routing = (ShardRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+        routing.getResolvedDataSources().forEach((shard, target) ->
+                contributors.put("shard" + shard, new DataSourceHealthIndicator(target)));
+        return CompositeHealthContributor.fromMap(contributors);
+    }
+}
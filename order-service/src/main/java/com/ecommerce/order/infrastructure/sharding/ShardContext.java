@@ -0,0 +1,43 @@
+package com.ecommerce.order.infrastructure.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的订单分片
+ * 分库时由路由数据源读取，决定事务或语句使用哪个分片的连接；嵌套调用结束后恢复外层分片
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 当前分片，未指定时为 null
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
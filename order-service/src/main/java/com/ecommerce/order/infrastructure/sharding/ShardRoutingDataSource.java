@@ -0,0 +1,19 @@
+package com.ecommerce.order.infrastructure.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 按 ShardContext 路由到分片数据源
+ * 未指定分片时拒绝获取连接，避免订单数据误写到错误的分片
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalStateException("未指定订单分片，访问订单库前必须经 OrderShardRouter 路由");
+        }
+        return shard;
+    }
+}
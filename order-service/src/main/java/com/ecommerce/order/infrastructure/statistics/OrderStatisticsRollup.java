@@ -0,0 +1,178 @@
+package com.ecommerce.order.infrastructure.statistics;
+
+import com.ecommerce.order.infrastructure.config.OrderStatisticsProperties;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.entity.OrderStatsPO;
+import com.ecommerce.order.infrastructure.mapper.OrderStatisticsMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 订单统计汇总写入 - 基础设施层
+ * 职责：在订单写入的同一事务内累加日汇总增量，汇总与订单始终一致
+ * 1. 汇总按订单创建日期归档：新增计入当前状态，状态或金额变更从旧状态移到新状态，删除时扣除
+ * 2. 同一批次的增量先在内存中合并，再按主键顺序多行 upsert，并发事务加锁顺序一致
+ * 3. 全局汇总按订单ID散列到多个槽位，避免所有下单事务争抢同一行
+ * 调用方必须已开启事务
+ */
+@Component
+public class OrderStatisticsRollup {
+
+    private static final Comparator<OrderStatsPO> DAILY_ORDER = Comparator
+            .comparing(OrderStatsPO::getStatDate)
+            .thenComparing(OrderStatsPO::getStatus)
+            .thenComparing(OrderStatsPO::getCurrency)
+            .thenComparing(OrderStatsPO::getSlot);
+
+    private static final Comparator<OrderStatsPO> USER_DAILY_ORDER = Comparator
+            .comparing(OrderStatsPO::getUserId)
+            .thenComparing(OrderStatsPO::getStatDate)
+            .thenComparing(OrderStatsPO::getStatus)
+            .thenComparing(OrderStatsPO::getCurrency);
+
+    private final OrderStatisticsMapper statisticsMapper;
+    private final OrderStatisticsService statisticsService;
+    private final OrderStatisticsProperties properties;
+
+    public OrderStatisticsRollup(OrderStatisticsMapper statisticsMapper,
+                                 OrderStatisticsService statisticsService,
+                                 OrderStatisticsProperties properties) {
+        this.statisticsMapper = statisticsMapper;
+        this.statisticsService = statisticsService;
+        this.properties = properties;
+    }
+
+    public void recordInserted(Collection<OrderPO> orders) {
+        Deltas deltas = new Deltas();
+        for (OrderPO order : orders) {
+            deltas.add(order, 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 记录订单变更，before 为变更前（已加锁读取）的数据库行
+     */
+    public void recordChanged(OrderPO before, OrderPO after) {
+        recordChanged(List.of(before), List.of(after));
+    }
+
+    /**
+     * 批量记录订单变更，befores 与 afters 按下标一一对应
+     */
+    public void recordChanged(List<OrderPO> befores, List<OrderPO> afters) {
+        Deltas deltas = new Deltas();
+        for (int i = 0; i < befores.size(); i++) {
+            OrderPO before = befores.get(i);
+            OrderPO after = afters.get(i);
+            if (before.getStatus().equals(after.getStatus())
+                    && before.getTotalAmount().compareTo(after.getTotalAmount()) == 0) {
+                continue;
+            }
+            deltas.add(before, -1);
+            deltas.add(after, 1);
+        }
+        apply(deltas);
+    }
+
+    public void recordDeleted(OrderPO before) {
+        Deltas deltas = new Deltas();
+        deltas.add(before, -1);
+        apply(deltas);
+    }
+
+    private void apply(Deltas deltas) {
+        List<OrderStatsPO> userDeltas = deltas.nonZero(deltas.userDaily.values());
+        if (userDeltas.isEmpty()) {
+            return;
+        }
+        userDeltas.sort(USER_DAILY_ORDER);
+        List<OrderStatsPO> dailyDeltas = deltas.nonZero(deltas.daily.values());
+        dailyDeltas.sort(DAILY_ORDER);
+
+        statisticsMapper.upsertUserDaily(userDeltas);
+        if (!dailyDeltas.isEmpty()) {
+            statisticsMapper.upsertDaily(dailyDeltas);
+        }
+
+        LocalDate today = LocalDate.now();
+        Set<String> touchedToday = new HashSet<>();
+        for (OrderStatsPO delta : userDeltas) {
+            if (delta.getStatDate().equals(today)) {
+                touchedToday.add(delta.getUserId());
+            }
+        }
+        if (touchedToday.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statisticsService.invalidateToday(touchedToday);
+                }
+            });
+        } else {
+            statisticsService.invalidateToday(touchedToday);
+        }
+    }
+
+    /**
+     * 一个批次内按汇总主键合并的增量
+     */
+    private final class Deltas {
+        private final Map<String, OrderStatsPO> daily = new LinkedHashMap<>();
+        private final Map<String, OrderStatsPO> userDaily = new LinkedHashMap<>();
+
+        private void add(OrderPO order, int sign) {
+            LocalDate statDate = (order.getOrderDate() != null ? order.getOrderDate() : order.getCreatedAt()).toLocalDate();
+            int slot = Math.floorMod(order.getOrderId().hashCode(), Math.max(1, properties.getGlobalSlots()));
+            BigDecimal amount = sign > 0 ? order.getTotalAmount() : order.getTotalAmount().negate();
+
+            accumulate(daily, statDate + "|" + order.getStatus() + "|" + order.getCurrency() + "|" + slot,
+                    statDate, null, slot, order, sign, amount);
+            accumulate(userDaily, order.getUserId() + "|" + statDate + "|" + order.getStatus() + "|" + order.getCurrency(),
+                    statDate, order.getUserId(), null, order, sign, amount);
+        }
+
+        private void accumulate(Map<String, OrderStatsPO> target, String key, LocalDate statDate, String userId,
+                                Integer slot, OrderPO order, int sign, BigDecimal amount) {
+            OrderStatsPO delta = target.get(key);
+            if (delta == null) {
+                delta = new OrderStatsPO();
+                delta.setStatDate(statDate);
+                delta.setUserId(userId);
+                delta.setSlot(slot);
+                delta.setStatus(order.getStatus());
+                delta.setCurrency(order.getCurrency());
+                delta.setOrderCount(0L);
+                delta.setTotalAmount(BigDecimal.ZERO);
+                target.put(key, delta);
+            }
+            delta.setOrderCount(delta.getOrderCount() + sign);
+            delta.setTotalAmount(delta.getTotalAmount().add(amount));
+        }
+
+        private List<OrderStatsPO> nonZero(Collection<OrderStatsPO> values) {
+            List<OrderStatsPO> result = new ArrayList<>(values.size());
+            for (OrderStatsPO delta : values) {
+                if (delta.getOrderCount() != 0 || delta.getTotalAmount().signum() != 0) {
+                    result.add(delta);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.order.infrastructure.statistics;
+
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.config.OrderStatisticsProperties;
+import com.ecommerce.order.infrastructure.mapper.OrderStatisticsMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 订单统计查询 - 基础设施层
+ * 职责：按订单创建日期合并日汇总回答任意日期区间的统计，不扫描订单表
+ * 1. 今天以前的日期直接合并汇总表中的行（每天每个状态至多几行）
+ * 2. 当天的统计缓存在内存中：用户统计在本实例提交变更后立即失效，全局统计变更频繁，只靠短TTL刷新
+ * 3. 汇总与订单在同一分库：用户统计只查用户所在分库，全局统计并行查询所有分库后合并
+ * 区间以天为粒度，包含起止两天
+ */
+@Component
+public class OrderStatisticsService {
+
+    private static final String GLOBAL_KEY = "";
+
+    private final OrderStatisticsMapper statisticsMapper;
+    private final OrderStatisticsProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final Map<String, Entry> todayEntries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    public OrderStatisticsService(OrderStatisticsMapper statisticsMapper,
+                                  OrderStatisticsProperties properties,
+                                  OrderShardRouter shardRouter) {
+        this.statisticsMapper = statisticsMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * 查询统计，userId 为空时为全部用户，起止日期为空时不限
+     */
+    public OrderStatisticsSnapshot query(UserId userId, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("开始时间不能晚于结束时间");
+        }
+
+        LocalDate today = LocalDate.now();
+        OrderStatisticsSnapshot snapshot = OrderStatisticsSnapshot.EMPTY;
+
+        LocalDate historyTo = toDate == null || !toDate.isBefore(today) ? today.minusDays(1) : toDate;
+        if (fromDate == null || !fromDate.isAfter(historyTo)) {
+            snapshot = snapshot.merge(load(userId, fromDate, historyTo));
+        }
+
+        boolean includesToday = (toDate == null || !toDate.isBefore(today))
+                && (fromDate == null || !fromDate.isAfter(today));
+        if (includesToday) {
+            snapshot = snapshot.merge(today(userId, today));
+        }
+        return snapshot;
+    }
+
+    /**
+     * 失效指定用户的当日统计，由汇总写入在事务提交后调用
+     */
+    public void invalidateToday(Collection<String> userIds) {
+        invalidationEpoch.incrementAndGet();
+        for (String userId : userIds) {
+            todayEntries.remove(userId);
+        }
+    }
+
+    private OrderStatisticsSnapshot today(UserId userId, LocalDate today) {
+        String key = userId != null ? userId.getValue() : GLOBAL_KEY;
+        long now = System.currentTimeMillis();
+        Entry entry = todayEntries.get(key);
+        if (entry != null && entry.date.equals(today) && entry.expiresAt > now) {
+            return entry.snapshot;
+        }
+
+        long epoch = invalidationEpoch.get();
+        OrderStatisticsSnapshot snapshot = load(userId, today, today);
+        // 加载期间发生过失效的结果不回填，避免旧数据覆盖
+        if (invalidationEpoch.get() == epoch) {
+            put(key, new Entry(today, snapshot, System.currentTimeMillis() + properties.getTodayCacheTtlMs()));
+        }
+        return snapshot;
+    }
+
+    private OrderStatisticsSnapshot load(UserId userId, LocalDate fromDate, LocalDate toDate) {
+        if (userId != null) {
+            return shardRouter.callOn(shardRouter.shardOfUser(userId.getValue()),
+                    () -> OrderStatisticsSnapshot.of(statisticsMapper.sumUserDaily(userId.getValue(), fromDate, toDate)));
+        }
+        OrderStatisticsSnapshot snapshot = OrderStatisticsSnapshot.EMPTY;
+        for (OrderStatisticsSnapshot shardSnapshot : shardRouter.scatterAll(
+                shard -> OrderStatisticsSnapshot.of(statisticsMapper.sumDaily(fromDate, toDate)))) {
+            snapshot = snapshot.merge(shardSnapshot);
+        }
+        return snapshot;
+    }
+
+    private void put(String key, Entry entry) {
+        if (todayEntries.size() >= properties.getTodayCacheMaxEntries()) {
+            long now = System.currentTimeMillis();
+            LocalDate today = entry.date;
+            todayEntries.values().removeIf(e -> e.expiresAt <= now || !e.date.equals(today));
+            if (todayEntries.size() >= properties.getTodayCacheMaxEntries()) {
+                return;
+            }
+        }
+        todayEntries.put(key, entry);
+    }
+
+    private static final class Entry {
+        private final LocalDate date;
+        private final OrderStatisticsSnapshot snapshot;
+        private final long expiresAt;
+
+        private Entry(LocalDate date, OrderStatisticsSnapshot snapshot, long expiresAt) {
+            this.date = date;
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.order.infrastructure.statistics;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.infrastructure.entity.OrderStatsPO;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单统计快照：按状态的订单数与按货币的订单金额，不可变，可与其他区间的快照合并
+ */
+public final class OrderStatisticsSnapshot {
+
+    public static final OrderStatisticsSnapshot EMPTY =
+            new OrderStatisticsSnapshot(new long[OrderStatus.values().length], Map.of());
+
+    private static final Currency DEFAULT_CURRENCY = Currency.getInstance("CNY");
+
+    private final long[] counts;
+    private final Map<String, BigDecimal> amounts;
+
+    private OrderStatisticsSnapshot(long[] counts, Map<String, BigDecimal> amounts) {
+        this.counts = counts;
+        this.amounts = amounts;
+    }
+
+    /**
+     * 由汇总查询结果构建
+     */
+    public static OrderStatisticsSnapshot of(List<OrderStatsPO> rows) {
+        long[] counts = new long[OrderStatus.values().length];
+        Map<String, BigDecimal> amounts = new HashMap<>();
+        for (OrderStatsPO row : rows) {
+            counts[OrderStatus.valueOf(row.getStatus()).ordinal()] += row.getOrderCount() != null ? row.getOrderCount() : 0;
+            if (row.getTotalAmount() != null) {
+                amounts.merge(row.getCurrency(), row.getTotalAmount(), BigDecimal::add);
+            }
+        }
+        return new OrderStatisticsSnapshot(counts, Map.copyOf(amounts));
+    }
+
+    public OrderStatisticsSnapshot merge(OrderStatisticsSnapshot other) {
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        Map<String, BigDecimal> mergedAmounts = new HashMap<>(amounts);
+        other.amounts.forEach((currency, amount) -> mergedAmounts.merge(currency, amount, BigDecimal::add));
+        return new OrderStatisticsSnapshot(merged, Map.copyOf(mergedAmounts));
+    }
+
+    public long getCount(OrderStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 订单总金额，区间内没有订单时为零；包含多种货币时无法合计
+     */
+    public Money getTotalAmount() {
+        if (amounts.isEmpty()) {
+            return Money.zero(DEFAULT_CURRENCY);
+        }
+        if (amounts.size() > 1) {
+            throw new IllegalStateException("统计范围内包含多种货币: " + amounts.keySet());
+        }
+        Map.Entry<String, BigDecimal> entry = amounts.entrySet().iterator().next();
+        return Money.of(entry.getValue(), Currency.getInstance(entry.getKey()));
+    }
+
+    /**
+     * 指定状态订单数占总订单数的比例，没有订单时为 0
+     */
+    public double rateOf(OrderStatus status) {
+        long total = getTotalCount();
+        return total == 0 ? 0.0 : (double) getCount(status) / total;
+    }
+}
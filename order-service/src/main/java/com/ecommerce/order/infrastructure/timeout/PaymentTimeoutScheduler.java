@@ -0,0 +1,212 @@
+package com.ecommerce.order.infrastructure.timeout;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.config.OrderTimeoutProperties;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 未支付订单超时调度 - 基础设施层
+ * 职责：在时间轮中登记每个待支付订单的支付截止时间，到期后批量取消
+ * 1. 新订单在写入事务提交后登记，登记 O(1)；订单被支付后不摘除，到期时由取消规则跳过
+ * 2. 启动时按 (status, order_date, order_id) 索引分页扫描待支付订单重新登记，已超时的在下一个刻度取消
+ * 3. 兜底扫描定期取消超时已久的订单，覆盖已停机实例登记在内存中的订单
+ * 多实例同时取消同一订单时由行锁与状态规则保证只取消一次
+ */
+@Component
+public class PaymentTimeoutScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentTimeoutScheduler.class);
+
+    private final UnpaidOrderCanceller canceller;
+    private final OrderPlusMapper orderPlusMapper;
+    private final OrderTimeoutProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final TimingWheel<String> wheel;
+    private final AtomicBoolean recovering = new AtomicBoolean();
+
+    private volatile boolean running;
+
+    public PaymentTimeoutScheduler(UnpaidOrderCanceller canceller,
+                                   OrderPlusMapper orderPlusMapper,
+                                   OrderTimeoutProperties properties,
+                                   OrderShardRouter shardRouter) {
+        this.canceller = canceller;
+        this.orderPlusMapper = orderPlusMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.wheel = new TimingWheel<>("order-payment-timeout", properties.getTickMs(), properties.getWheelSize(),
+                properties.getBatchSize(), this::onExpired);
+    }
+
+    /**
+     * 登记新写入的订单，只登记可取消（未支付）状态的订单
+     */
+    public void track(Collection<OrderPO> orders) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (OrderPO order : orders) {
+            if (OrderStatus.valueOf(order.getStatus()).canBeCancelled()) {
+                wheel.schedule(order.getOrderId(), deadlineOf(order.getOrderDate()));
+            }
+        }
+    }
+
+    /**
+     * 时间轮中等待到期的订单数
+     */
+    public long pending() {
+        return wheel.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!properties.isEnabled() || !recovering.compareAndSet(false, true)) {
+            return;
+        }
+        Thread recovery = new Thread(() -> {
+            try {
+                long[] recovered = {0};
+                scan(null, page -> {
+                    for (OrderPO order : page) {
+                        wheel.schedule(order.getOrderId(), deadlineOf(order.getOrderDate()));
+                    }
+                    recovered[0] += page.size();
+                });
+                logger.info("待支付订单已重新登记: {}", recovered[0]);
+            } catch (RuntimeException e) {
+                logger.error("待支付订单恢复失败，由兜底扫描处理", e);
+            } finally {
+                recovering.set(false);
+            }
+        }, "order-payment-timeout-recovery");
+        recovery.setDaemon(true);
+        recovery.start();
+    }
+
+    /**
+     * 兜底扫描：直接取消超时超过宽限期仍未取消的订单
+     */
+    @Scheduled(fixedDelayString = "${order.timeout.sweep-interval-ms:300000}",
+               initialDelayString = "${order.timeout.sweep-interval-ms:300000}")
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long[] cancelled = {0};
+        LocalDateTime before = LocalDateTime.now()
+                .minusNanos((properties.getPaymentTimeoutMs() + properties.getSweepGraceMs()) * 1_000_000L);
+        scan(before, page -> {
+            List<String> orderIds = new ArrayList<>(page.size());
+            for (OrderPO order : page) {
+                orderIds.add(order.getOrderId());
+            }
+            int batchSize = Math.max(1, properties.getBatchSize());
+            for (int from = 0; from < orderIds.size(); from += batchSize) {
+                cancelled[0] += canceller.cancelExpired(orderIds.subList(from, Math.min(from + batchSize, orderIds.size())));
+            }
+        });
+        if (cancelled[0] > 0) {
+            logger.info("兜底扫描取消超时订单: {}", cancelled[0]);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        wheel.start();
+        logger.info("订单支付超时调度已启动: paymentTimeoutMs={}, tickMs={}, wheelSize={}",
+                properties.getPaymentTimeoutMs(), properties.getTickMs(), properties.getWheelSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wheel.stop();
+        logger.info("订单支付超时调度已停止: 未到期={}", wheel.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 到期批次：取消失败时整批延后重新登记
+     */
+    private void onExpired(List<String> orderIds) {
+        try {
+            int cancelled = canceller.cancelExpired(orderIds);
+            logger.debug("超时订单批次: 到期={}, 取消={}", orderIds.size(), cancelled);
+        } catch (RuntimeException e) {
+            logger.warn("超时订单取消失败，{}ms 后重试: {} 个订单", properties.getRetryDelayMs(), orderIds.size(), e);
+            long retryAt = System.currentTimeMillis() + properties.getRetryDelayMs();
+            for (String orderId : orderIds) {
+                wheel.schedule(orderId, retryAt);
+            }
+        }
+    }
+
+    /**
+     * 按索引分页扫描全部可取消状态的订单，before 非空时只扫描下单时间早于它的订单；各分库依次扫描
+     */
+    private void scan(LocalDateTime before, Consumer<List<OrderPO>> pageHandler) {
+        shardRouter.forEachShard(() -> scanShard(before, pageHandler));
+    }
+
+    private void scanShard(LocalDateTime before, Consumer<List<OrderPO>> pageHandler) {
+        int pageSize = Math.max(1, properties.getRecoveryPageSize());
+        for (OrderStatus status : OrderStatus.values()) {
+            if (!status.canBeCancelled()) {
+                continue;
+            }
+            LocalDateTime cursorOrderDate = null;
+            String cursorOrderId = null;
+            while (true) {
+                List<OrderPO> page = orderPlusMapper.scanByStatus(status.name(), before,
+                        cursorOrderDate, cursorOrderId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                pageHandler.accept(page);
+                OrderPO last = page.get(page.size() - 1);
+                cursorOrderDate = last.getOrderDate();
+                cursorOrderId = last.getOrderId();
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 下单时间在库中按秒取整，截止时间多留一秒，避免到期时库中时间尚未超时而被跳过
+     */
+    private long deadlineOf(LocalDateTime orderDate) {
+        return orderDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                + properties.getPaymentTimeoutMs() + 1000;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.order.infrastructure.timeout;
+
+import com.ecommerce.common.proto.CommonProto;
+import com.ecommerce.order.infrastructure.client.InventoryReleaseClient;
+import com.ecommerce.order.infrastructure.config.StockReleaseProperties;
+import com.ecommerce.order.infrastructure.entity.StockReleaseCommandPO;
+import com.ecommerce.order.infrastructure.mapper.StockReleaseOutboxMapper;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 释放库存命令投递 - 基础设施层
+ * 职责：轮询各分库发件箱中待投递的释放库存命令，以订单ID为关联ID、订单项的预占仓库调用库存服务 ReleaseStock
+ * 1. 库存服务成功（含重复释放）后标记为 SENT；库存服务按关联ID去重，投递成功但标记前宕机重投也不会重复释放
+ * 2. 参数错误（400）不会因重试而改变，直接标记为 FAILED；业务拒绝（409）按退避重试，超过次数后标记为 FAILED
+ * 3. 库存服务不可用或超时时按退避重试，并停止本轮对该分库的投递，避免逐条等待超时
+ */
+@Component
+public class StockReleaseRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReleaseRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final StockReleaseOutboxMapper outboxMapper;
+    private final InventoryReleaseClient releaseClient;
+    private final StockReleaseProperties properties;
+    private final OrderShardRouter shardRouter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StockReleaseRelay(StockReleaseOutboxMapper outboxMapper,
+                             InventoryReleaseClient releaseClient,
+                             StockReleaseProperties properties,
+                             OrderShardRouter shardRouter) {
+        this.outboxMapper = outboxMapper;
+        this.releaseClient = releaseClient;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+    }
+
+    @Scheduled(fixedDelayString = "${order.stock-release.relay-interval-ms:5000}")
+    public void scheduledRelay() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                try {
+                    int sent = shardRouter.callOn(shard, this::relayShard);
+                    if (sent > 0) {
+                        logger.info("分库 {} 投递释放库存命令 {} 条", shard, sent);
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("分库 {} 投递释放库存命令失败", shard, e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 投递当前分库一批到期的命令，返回投递成功的条数
+     */
+    int relayShard() {
+        List<StockReleaseCommandPO> commands = outboxMapper.findDue(LocalDateTime.now(),
+                Math.max(1, properties.getBatchSize()));
+        List<Long> sentIds = new ArrayList<>(commands.size());
+        try {
+            for (StockReleaseCommandPO command : commands) {
+                CommonProto.ResponseStatus status;
+                try {
+                    status = releaseClient.release(command.getOrderId(), command.getSkuId(),
+                            command.getWarehouseCode(), command.getQuantity());
+                } catch (StatusRuntimeException e) {
+                    // 库存服务不可用：本条退避重试，本轮不再投递该分库
+                    recordFailure(command, e.getStatus().getCode() + ": " + e.getStatus().getDescription(), false);
+                    logger.warn("库存服务不可用，暂停投递释放库存命令: {}", e.getStatus());
+                    break;
+                }
+                if (status.getSuccess()) {
+                    sentIds.add(command.getId());
+                } else if (status.getCode() == 400) {
+                    recordFailure(command, status.getMessage(), true);
+                    logger.error("释放库存命令参数错误，不再投递: orderId={}, skuId={}, {}",
+                            command.getOrderId(), command.getSkuId(), status.getMessage());
+                } else {
+                    int attempts = command.getAttempts() != null ? command.getAttempts() : 0;
+                    boolean failed = attempts + 1 >= properties.getMaxRejectedAttempts();
+                    recordFailure(command, status.getMessage(), failed);
+                    if (failed) {
+                        logger.error("释放库存命令多次被拒绝，不再投递: orderId={}, skuId={}, {}",
+                                command.getOrderId(), command.getSkuId(), status.getMessage());
+                    }
+                }
+            }
+        } finally {
+            if (!sentIds.isEmpty()) {
+                outboxMapper.markSent(sentIds);
+            }
+        }
+        return sentIds.size();
+    }
+
+    private void recordFailure(StockReleaseCommandPO command, String error, boolean failed) {
+        int attempts = command.getAttempts() != null ? command.getAttempts() : 0;
+        long backoffMs = properties.getRetryBackoffMs() << Math.min(attempts, 16);
+        backoffMs = Math.min(backoffMs, properties.getMaxRetryBackoffMs());
+        String reason = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        outboxMapper.recordFailure(command.getId(), reason,
+                LocalDateTime.now().plusNanos(backoffMs * 1_000_000L), failed);
+    }
+}
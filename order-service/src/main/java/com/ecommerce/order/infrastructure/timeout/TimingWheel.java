@@ -0,0 +1,162 @@
+package com.ecommerce.order.infrastructure.timeout;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 哈希时间轮
+ * 职责：按到期时间批量触发任务，登记为 O(1)，与待触发任务总数无关
+ * 1. 登记只写入无锁队列，由唯一的工作线程在每个刻度转入对应槽位，槽位无需加锁
+ * 2. 每个刻度只处理一个槽位：到期的任务按批交给 handler，未到期（后续轮次）的留在槽位
+ * 3. 槽位数覆盖常见超时时长时，每个任务只被访问一次
+ * 工作线程落后（handler 较慢）时按实际时间补处理错过的刻度，任务只会延后不会丢失
+ */
+public final class TimingWheel<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickNanos;
+    private final int mask;
+    private final int batchSize;
+    private final Consumer<List<T>> handler;
+    private final ArrayDeque<Timeout<T>>[] slots;
+    private final ConcurrentLinkedQueue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicLong size = new AtomicLong();
+    private final long startNanos;
+    private final Thread worker;
+
+    private volatile boolean running;
+    private long currentTick;
+
+    /**
+     * @param tickMillis 刻度
+     * @param wheelSize  槽位数，向上取整为 2 的幂
+     * @param batchSize  每次交给 handler 的最大任务数
+     * @param handler    到期任务处理器，在工作线程中调用；需自行重试失败的任务，抛出的异常只记录日志
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(String name, long tickMillis, int wheelSize, int batchSize, Consumer<List<T>> handler) {
+        if (tickMillis <= 0 || wheelSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("时间轮参数必须为正数");
+        }
+        int normalizedSize = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = normalizedSize - 1;
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.slots = new ArrayDeque[normalizedSize];
+        for (int i = 0; i < normalizedSize; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * 登记任务，deadlineMillis 为墙钟时间，已过期的任务在下一个刻度触发
+     */
+    public void schedule(T task, long deadlineMillis) {
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, deadlineMillis - System.currentTimeMillis()));
+        incoming.add(new Timeout<>(task, System.nanoTime() - startNanos + delayNanos));
+        size.incrementAndGet();
+    }
+
+    /**
+     * 尚未触发的任务数
+     */
+    public long size() {
+        return size.get();
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            long deadline = (currentTick + 1) * tickNanos;
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            currentTick++;
+            transferIncoming();
+            expire(slots[(int) (currentTick & mask)], batch);
+        }
+    }
+
+    /**
+     * 新任务转入槽位：已到期或落在当前刻度的放入当前槽位，本刻度立即处理
+     */
+    private void transferIncoming() {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            long tick = Math.max(currentTick, (timeout.deadlineNanos + tickNanos - 1) / tickNanos);
+            timeout.tick = tick;
+            slots[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout<T>> slot, List<T> batch) {
+        // 逐个出队：到期的触发，后续轮次的重新入队，每个任务 O(1)
+        for (int remaining = slot.size(); remaining > 0; remaining--) {
+            Timeout<T> timeout = slot.poll();
+            if (timeout.tick > currentTick) {
+                slot.add(timeout);
+                continue;
+            }
+            size.decrementAndGet();
+            batch.add(timeout.task);
+            if (batch.size() >= batchSize) {
+                flush(batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<T> batch) {
+        try {
+            handler.accept(new ArrayList<>(batch));
+        } catch (RuntimeException e) {
+            logger.error("时间轮任务处理失败，丢弃 {} 个任务", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static final class Timeout<T> {
+        private final T task;
+        private final long deadlineNanos;
+        private long tick;
+
+        private Timeout(T task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.order.infrastructure.timeout;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.config.OrderPersistenceProperties;
+import com.ecommerce.order.infrastructure.config.OrderTimeoutProperties;
+import com.ecommerce.order.infrastructure.entity.OrderItemPO;
+import com.ecommerce.order.infrastructure.entity.OrderPO;
+import com.ecommerce.order.infrastructure.entity.StockReleaseCommandPO;
+import com.ecommerce.order.infrastructure.mapper.OrderDataMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderItemMapper;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import com.ecommerce.order.infrastructure.mapper.StockReleaseOutboxMapper;
+import com.ecommerce.order.infrastructure.readmodel.OrderReadModelProjector;
+import com.ecommerce.order.infrastructure.sharding.OrderShardRouter;
+import com.ecommerce.order.infrastructure.statistics.OrderStatisticsRollup;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 超时未支付订单批量取消 - 基础设施层
+ * 职责：一个事务内取消一批订单，并写入对应的释放库存命令
+ * 1. 按订单ID批量加锁（SKIP LOCKED），正在被支付等其他事务处理的订单本批跳过，由兜底扫描再次检查
+ * 2. 逐单重建聚合并经 OrderStatus 规则判断能否取消，状态更新、统计汇总、释放库存命令各一条多行语句
+ * 3. 释放库存命令写入发件箱，与订单状态同时提交，由 StockReleaseRelay 调用库存服务（以订单ID为关联ID）释放预占
+ * 4. 分库时按订单所在分库拆批，每个分库一个事务
+ */
+@Component
+public class UnpaidOrderCanceller {
+
+    private static final List<String> CANCELLABLE_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::canBeCancelled)
+            .map(OrderStatus::name)
+            .toList();
+
+    private final OrderPlusMapper orderPlusMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderDataMapper orderDataMapper;
+    private final StockReleaseOutboxMapper outboxMapper;
+    private final OrderStatisticsRollup statisticsRollup;
+    private final OrderReadModelProjector readModelProjector;
+    private final OrderTimeoutProperties timeoutProperties;
+    private final OrderPersistenceProperties persistenceProperties;
+    private final OrderShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public UnpaidOrderCanceller(OrderPlusMapper orderPlusMapper,
+                                OrderItemMapper orderItemMapper,
+                                OrderDataMapper orderDataMapper,
+                                StockReleaseOutboxMapper outboxMapper,
+                                OrderStatisticsRollup statisticsRollup,
+                                OrderReadModelProjector readModelProjector,
+                                OrderTimeoutProperties timeoutProperties,
+                                OrderPersistenceProperties persistenceProperties,
+                                OrderShardRouter shardRouter,
+                                PlatformTransactionManager transactionManager) {
+        this.orderPlusMapper = orderPlusMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderDataMapper = orderDataMapper;
+        this.outboxMapper = outboxMapper;
+        this.statisticsRollup = statisticsRollup;
+        this.readModelProjector = readModelProjector;
+        this.timeoutProperties = timeoutProperties;
+        this.persistenceProperties = persistenceProperties;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 取消已超过支付时限且仍未支付的订单，返回实际取消的订单数；已支付、已取消或未超时的订单忽略
+     */
+    public int cancelExpired(List<String> orderIds) {
+        int cancelled = 0;
+        for (Map.Entry<Integer, List<String>> group : shardRouter.groupByShard(orderIds).entrySet()) {
+            cancelled += shardRouter.callOn(group.getKey(), () -> cancelExpiredOnShard(group.getValue()));
+        }
+        return cancelled;
+    }
+
+    private int cancelExpiredOnShard(List<String> orderIds) {
+        Integer cancelled = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minusNanos(timeoutProperties.getPaymentTimeoutMs() * 1_000_000L);
+            List<OrderPO> befores = orderPlusMapper.lockByIdsAndStatus(orderIds, CANCELLABLE_STATUSES, cutoff);
+            if (befores.isEmpty()) {
+                return 0;
+            }
+
+            List<String> lockedIds = new ArrayList<>(befores.size());
+            for (OrderPO before : befores) {
+                lockedIds.add(before.getOrderId());
+            }
+            Map<String, List<OrderItemPO>> itemsByOrder = new HashMap<>();
+            for (OrderItemPO itemPO : orderItemMapper.findByOrderIds(lockedIds)) {
+                itemsByOrder.computeIfAbsent(itemPO.getOrderId(), id -> new ArrayList<>()).add(itemPO);
+            }
+
+            List<OrderPO> changedBefores = new ArrayList<>(befores.size());
+            List<OrderPO> afters = new ArrayList<>(befores.size());
+            List<String> cancelledIds = new ArrayList<>(befores.size());
+            List<StockReleaseCommandPO> commands = new ArrayList<>();
+            for (OrderPO before : befores) {
+                Order order = orderDataMapper.orderPOToOrder(before,
+                        itemsByOrder.getOrDefault(before.getOrderId(), Collections.emptyList()));
+                if (!order.getStatus().canBeCancelled()) {
+                    continue;
+                }
+                order.cancel();
+
+                OrderPO after = orderDataMapper.orderToOrderPO(order);
+                after.setOrderDate(before.getOrderDate());
+                changedBefores.add(before);
+                afters.add(after);
+                cancelledIds.add(before.getOrderId());
+                for (OrderItem item : order.getItems()) {
+                    commands.add(toReleaseCommand(before.getOrderId(), item, now));
+                }
+            }
+            if (cancelledIds.isEmpty()) {
+                return 0;
+            }
+
+            orderPlusMapper.updateStatusBatch(cancelledIds, OrderStatus.CANCELLED.name(), now);
+            statisticsRollup.recordChanged(changedBefores, afters);
+            readModelProjector.publish(cancelledIds);
+            int chunkSize = Math.max(1, persistenceProperties.getInsertChunkSize());
+            for (int from = 0; from < commands.size(); from += chunkSize) {
+                outboxMapper.insertBatch(commands.subList(from, Math.min(from + chunkSize, commands.size())));
+            }
+            return cancelledIds.size();
+        });
+        return cancelled != null ? cancelled : 0;
+    }
+
+    private StockReleaseCommandPO toReleaseCommand(String orderId, OrderItem item, LocalDateTime now) {
+        StockReleaseCommandPO command = new StockReleaseCommandPO();
+        command.setId(IdWorker.getId());
+        command.setOrderId(orderId);
+        command.setSkuId(item.getSkuId());
+        command.setWarehouseCode(item.getWarehouseCode());
+        command.setQuantity(item.getQuantity());
+        command.setStatus("NEW");
+        command.setCreatedAt(now);
+        return command;
+    }
+}
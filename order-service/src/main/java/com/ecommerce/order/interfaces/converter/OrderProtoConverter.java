@@ -1,27 +1,281 @@
 package com.ecommerce.order.interfaces.converter;
 
-import com.ecommerce.order.proto.OrderServiceProto.*;
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.entity.OrderType;
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.domain.valueobject.CompactMoney;
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.infrastructure.export.OrderExportPosition;
+import com.ecommerce.order.infrastructure.readmodel.OrderReadModel;
+import com.ecommerce.order.infrastructure.statistics.OrderStatisticsSnapshot;
+import com.ecommerce.order.proto.OrderServiceProto;
 import com.ecommerce.common.proto.CommonProto;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Currency;
+
 /**
- * 订单Proto转换器 - 最小可编译版本
- * 暂时提供基础的转换功能
+ * 订单Proto转换器
+ * 职责：领域对象与Proto消息互转、用户订单分页令牌与导出检查点编解码
  */
 @Component
 public class OrderProtoConverter {
-    
+
     public CommonProto.ResponseStatus createSuccessStatus() {
         return CommonProto.ResponseStatus.newBuilder()
                 .setCode(200)
                 .setMessage("SUCCESS")
                 .build();
     }
-    
+
     public CommonProto.ResponseStatus createErrorStatus(int code, String message) {
         return CommonProto.ResponseStatus.newBuilder()
                 .setCode(code)
                 .setMessage(message)
                 .build();
     }
-}
\ No newline at end of file
+
+    public OrderServiceProto.Order toProtoOrder(Order order) {
+        OrderServiceProto.Order.Builder builder = OrderServiceProto.Order.newBuilder()
+                .setOrderId(order.getOrderId().getValue())
+                .setOrderNumber(order.getOrderId().getValue())
+                .setUserId(order.getUserId().getValue())
+                .setStatus(toProtoStatus(order.getStatus()))
+                .setType(toProtoType(order.getType()))
+                .setTotalAmount(toProtoMoney(order.getCompactTotalAmount()))
+                .setOrderTime(toProtoTimestamp(order.getCreatedAt()))
+                .setCreatedAt(toProtoTimestamp(order.getCreatedAt()))
+                .setUpdatedAt(toProtoTimestamp(order.getUpdatedAt()));
+        for (OrderItem item : order.getItems()) {
+            builder.addItems(OrderServiceProto.OrderItem.newBuilder()
+                    .setOrderId(order.getOrderId().getValue())
+                    .setSkuId(item.getSkuId())
+                    .setQuantity(item.getQuantity())
+                    .setUnitPrice(toProtoMoney(item.getCompactUnitPrice()))
+                    .setTotalPrice(toProtoMoney(item.getCompactTotalPrice())));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 读模型文档转换为Proto订单，includeItems 为 false 时不输出订单项
+     */
+    public OrderServiceProto.Order toProtoOrder(OrderReadModel model, boolean includeItems) {
+        Currency currency = Currency.getInstance(model.getCurrency());
+        OrderServiceProto.Order.Builder builder = OrderServiceProto.Order.newBuilder()
+                .setOrderId(model.getOrderId())
+                .setOrderNumber(model.getOrderId())
+                .setUserId(model.getUserId())
+                .setStatus(toProtoStatus(OrderStatus.valueOf(model.getStatus())))
+                .setType(toProtoType(model.getOrderType() != null ? OrderType.valueOf(model.getOrderType()) : OrderType.NORMAL))
+                .setTotalAmount(toProtoMoney(CompactMoney.of(model.getTotalAmount(), currency)))
+                .setOrderTime(toProtoTimestamp(model.getCreatedAt()))
+                .setCreatedAt(toProtoTimestamp(model.getCreatedAt()))
+                .setUpdatedAt(toProtoTimestamp(model.getUpdatedAt()));
+        if (includeItems) {
+            for (OrderReadModel.Item item : model.getItems()) {
+                builder.addItems(OrderServiceProto.OrderItem.newBuilder()
+                        .setOrderItemId(String.valueOf(item.getItemId()))
+                        .setOrderId(model.getOrderId())
+                        .setSkuId(item.getSkuId())
+                        .setQuantity(item.getQuantity())
+                        .setUnitPrice(toProtoMoney(CompactMoney.of(item.getUnitPrice(), currency)))
+                        .setTotalPrice(toProtoMoney(CompactMoney.of(item.getTotalPrice(), currency))));
+            }
+        }
+        return builder.build();
+    }
+
+    public OrderServiceProto.OrderStatus toProtoStatus(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> OrderServiceProto.OrderStatus.ORDER_PENDING;
+            case CONFIRMED -> OrderServiceProto.OrderStatus.ORDER_CONFIRMED;
+            case PAID -> OrderServiceProto.OrderStatus.ORDER_PAID;
+            case SHIPPED -> OrderServiceProto.OrderStatus.ORDER_SHIPPED;
+            case COMPLETED -> OrderServiceProto.OrderStatus.ORDER_COMPLETED;
+            case CANCELLED -> OrderServiceProto.OrderStatus.ORDER_CANCELLED;
+        };
+    }
+
+    /**
+     * Proto订单状态转换为领域状态，领域模型中没有的状态（已送达、已退款）视为参数错误
+     */
+    public OrderStatus fromProtoStatus(OrderServiceProto.OrderStatus status) {
+        return switch (status) {
+            case ORDER_PENDING -> OrderStatus.PENDING;
+            case ORDER_CONFIRMED -> OrderStatus.CONFIRMED;
+            case ORDER_PAID -> OrderStatus.PAID;
+            case ORDER_SHIPPED -> OrderStatus.SHIPPED;
+            case ORDER_COMPLETED -> OrderStatus.COMPLETED;
+            case ORDER_CANCELLED -> OrderStatus.CANCELLED;
+            default -> throw new IllegalArgumentException("不支持的订单状态: " + status);
+        };
+    }
+
+    public OrderServiceProto.OrderType toProtoType(OrderType type) {
+        return switch (type) {
+            case NORMAL -> OrderServiceProto.OrderType.NORMAL_ORDER;
+            case PRE_ORDER -> OrderServiceProto.OrderType.PRE_ORDER;
+            case GROUP -> OrderServiceProto.OrderType.GROUP_ORDER;
+            case FLASH_SALE -> OrderServiceProto.OrderType.FLASH_SALE_ORDER;
+        };
+    }
+
+    public OrderType fromProtoType(OrderServiceProto.OrderType type) {
+        return switch (type) {
+            case NORMAL_ORDER -> OrderType.NORMAL;
+            case PRE_ORDER -> OrderType.PRE_ORDER;
+            case GROUP_ORDER -> OrderType.GROUP;
+            case FLASH_SALE_ORDER -> OrderType.FLASH_SALE;
+            default -> throw new IllegalArgumentException("不支持的订单类型: " + type);
+        };
+    }
+
+    /**
+     * 统计快照转换：领域中的待确认、已确认均计为待付款
+     */
+    public OrderServiceProto.OrderStatistics toProtoStatistics(OrderStatisticsSnapshot snapshot) {
+        return OrderServiceProto.OrderStatistics.newBuilder()
+                .setTotalCount(snapshot.getTotalCount())
+                .setTotalAmount(toProtoMoney(snapshot.getTotalAmount()))
+                .setPendingCount(snapshot.getCount(OrderStatus.PENDING) + snapshot.getCount(OrderStatus.CONFIRMED))
+                .setPaidCount(snapshot.getCount(OrderStatus.PAID))
+                .setShippedCount(snapshot.getCount(OrderStatus.SHIPPED))
+                .setCompletedCount(snapshot.getCount(OrderStatus.COMPLETED))
+                .setCancelledCount(snapshot.getCount(OrderStatus.CANCELLED))
+                .setCompletionRate(snapshot.rateOf(OrderStatus.COMPLETED))
+                .setCancellationRate(snapshot.rateOf(OrderStatus.CANCELLED))
+                .build();
+    }
+
+    /**
+     * 金额转换为最小货币单位（人民币为分）
+     */
+    public CommonProto.Money toProtoMoney(Money money) {
+        return CommonProto.Money.newBuilder()
+                .setAmount(money.getAmount().movePointRight(money.getCurrency().getDefaultFractionDigits()).longValueExact())
+                .setCurrency(money.getCurrency().getCurrencyCode())
+                .build();
+    }
+
+    /**
+     * 聚合内的金额已是最小货币单位，直接输出
+     */
+    public CommonProto.Money toProtoMoney(CompactMoney money) {
+        return CommonProto.Money.newBuilder()
+                .setAmount(money.getMinorUnits())
+                .setCurrency(money.getCurrency().getCurrencyCode())
+                .build();
+    }
+
+    /**
+     * 最小货币单位转换为金额
+     */
+    public Money fromProtoMoney(CommonProto.Money money) {
+        Currency currency = Currency.getInstance(money.getCurrency());
+        return Money.of(BigDecimal.valueOf(money.getAmount(), currency.getDefaultFractionDigits()), currency);
+    }
+
+    public CommonProto.Timestamp toProtoTimestamp(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return CommonProto.Timestamp.newBuilder().build();
+        }
+        return CommonProto.Timestamp.newBuilder()
+                .setSeconds(dateTime.toEpochSecond(ZoneOffset.UTC))
+                .setNanos(dateTime.getNano())
+                .build();
+    }
+
+    public LocalDateTime toLocalDateTime(CommonProto.Timestamp timestamp) {
+        if (timestamp.getSeconds() == 0 && timestamp.getNanos() == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+    }
+
+    /**
+     * 编码用户订单分页令牌：base64url("orderTimeMillis:page:estimatedTotal:orderId")
+     * 首页估算的总数随令牌传递，后续翻页不再重复统计
+     */
+    public String encodePageToken(UserOrderPageToken token) {
+        OrderRepository.OrderCursor cursor = token.getCursor();
+        String raw = cursor.getOrderTime().toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + token.getPage()
+                + ":" + token.getEstimatedTotal() + ":" + cursor.getOrderId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码用户订单分页令牌，空令牌返回 null
+     */
+    public UserOrderPageToken decodePageToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String[] fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 4);
+            LocalDateTime orderTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(fields[0])), ZoneOffset.UTC);
+            return new UserOrderPageToken(new OrderRepository.OrderCursor(orderTime, fields[3]),
+                    Integer.parseInt(fields[1]), Long.parseLong(fields[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页令牌: " + token);
+        }
+    }
+
+    /**
+     * 编码导出检查点：base64url("shard:orderTimeMillis:orderId")
+     */
+    public String encodeExportToken(OrderExportPosition position) {
+        String raw = position.getShard() + ":" + position.getOrderTime().toInstant(ZoneOffset.UTC).toEpochMilli()
+                + ":" + position.getOrderId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码导出检查点，空令牌返回 null
+     */
+    public OrderExportPosition decodeExportToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String[] fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            LocalDateTime orderTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(fields[1])), ZoneOffset.UTC);
+            return new OrderExportPosition(Integer.parseInt(fields[0]), orderTime, fields[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的续传令牌: " + token);
+        }
+    }
+
+    /**
+     * 用户订单分页令牌内容：游标、令牌指向的页码、首页估算的总数
+     */
+    public static class UserOrderPageToken {
+        private final OrderRepository.OrderCursor cursor;
+        private final int page;
+        private final long estimatedTotal;
+
+        public UserOrderPageToken(OrderRepository.OrderCursor cursor, int page, long estimatedTotal) {
+            if (page < 1 || estimatedTotal < 0) {
+                throw new IllegalArgumentException("分页令牌不完整");
+            }
+            this.cursor = cursor;
+            this.page = page;
+            this.estimatedTotal = estimatedTotal;
+        }
+
+        // Getters
+        public OrderRepository.OrderCursor getCursor() { return cursor; }
+        public int getPage() { return page; }
+        public long getEstimatedTotal() { return estimatedTotal; }
+    }
+}
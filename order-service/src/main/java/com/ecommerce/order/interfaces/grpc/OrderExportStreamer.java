@@ -0,0 +1,203 @@
+package com.ecommerce.order.interfaces.grpc;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.config.OrderExportProperties;
+import com.ecommerce.order.infrastructure.export.OrderExportPosition;
+import com.ecommerce.order.infrastructure.export.OrderExportReader;
+import com.ecommerce.order.interfaces.converter.OrderProtoConverter;
+import com.ecommerce.order.proto.OrderServiceProto.ExportOrdersResponse;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订单导出推送 - 接口层
+ * 职责：执行 ExportOrders 流式导出，按 gRPC 流控推送
+ * 特性：
+ * 1. 每个导出在独立线程上遍历数据库游标（游标必须留在打开它的事务线程上），并发数有上限
+ * 2. 每批推送前等待 isReady，客户端读得慢时读取线程在 onReady 通知前停住，不继续从游标取行，内存不随导出量增长
+ * 3. 客户端持续不可写超过上限时以 DEADLINE_EXCEEDED 中止并释放连接，客户端凭最后收到的检查点续传
+ */
+@Component
+public class OrderExportStreamer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportStreamer.class);
+
+    private final OrderExportReader exportReader;
+    private final OrderProtoConverter protoConverter;
+    private final OrderExportProperties properties;
+    private final Set<Export> exports = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    public OrderExportStreamer(OrderExportReader exportReader,
+                               OrderProtoConverter protoConverter,
+                               OrderExportProperties properties) {
+        this.exportReader = exportReader;
+        this.protoConverter = protoConverter;
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrentExports()), runnable -> {
+            Thread thread = new Thread(runnable, "order-export-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 开始导出，已达并发上限时抛出 IllegalStateException
+     */
+    public void start(OrderRepository.OrderSearchCriteria criteria, OrderExportPosition from, boolean includeItems,
+                      ServerCallStreamObserver<ExportOrdersResponse> observer) {
+        Export export = new Export(observer);
+        synchronized (exports) {
+            if (exports.size() >= Math.max(1, properties.getMaxConcurrentExports())) {
+                throw new IllegalStateException("订单导出数已达上限，请稍后重试");
+            }
+            exports.add(export);
+        }
+        observer.setOnCancelHandler(export::cancel);
+        observer.setOnReadyHandler(export::signalReady);
+        try {
+            executor.execute(() -> export.run(criteria, from, includeItems));
+        } catch (RuntimeException e) {
+            exports.remove(export);
+            throw new IllegalStateException("订单导出服务正在关闭");
+        }
+    }
+
+    public int activeExports() {
+        return exports.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (Export export : exports) {
+            export.abort(Status.UNAVAILABLE.withDescription("订单服务正在关闭，请凭检查点续传"));
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 中止导出：携带要返回给客户端的状态，客户端已取消时为 null
+     */
+    private static final class ExportAbortedException extends RuntimeException {
+        private final Status status;
+
+        private ExportAbortedException(Status status) {
+            super(status != null ? status.getDescription() : "客户端已取消", null, false, false);
+            this.status = status;
+        }
+    }
+
+    /**
+     * 单个导出：所有对 observer 的调用都在导出线程中执行
+     */
+    private final class Export {
+        private final ServerCallStreamObserver<ExportOrdersResponse> observer;
+        private final Object readyLock = new Object();
+        private volatile boolean cancelled;
+        private volatile Status abortStatus;
+
+        private Export(ServerCallStreamObserver<ExportOrdersResponse> observer) {
+            this.observer = observer;
+        }
+
+        private void run(OrderRepository.OrderSearchCriteria criteria, OrderExportPosition from, boolean includeItems) {
+            long startedAt = System.currentTimeMillis();
+            try {
+                long exported = exportReader.export(criteria, from, includeItems, properties.getBatchSize(), this::send);
+                observer.onCompleted();
+                logger.info("订单导出完成: 订单数={}, 续传={}, 耗时={}ms",
+                        exported, from != null, System.currentTimeMillis() - startedAt);
+            } catch (ExportAbortedException e) {
+                if (e.status != null && !cancelled) {
+                    logger.warn("订单导出中止: {}", e.status.getDescription());
+                    observer.onError(e.status.asRuntimeException());
+                }
+            } catch (IllegalArgumentException e) {
+                observer.onError(Status.INVALID_ARGUMENT
+                        .withDescription("参数错误: " + e.getMessage())
+                        .asRuntimeException());
+            } catch (RuntimeException e) {
+                logger.error("订单导出失败", e);
+                if (!cancelled) {
+                    observer.onError(Status.INTERNAL
+                            .withDescription("订单导出失败: " + e.getMessage())
+                            .asRuntimeException());
+                }
+            } finally {
+                exports.remove(this);
+            }
+        }
+
+        private void send(List<Order> orders, OrderExportPosition checkpoint) {
+            awaitReady();
+            ExportOrdersResponse.Builder response = ExportOrdersResponse.newBuilder()
+                    .setCheckpointToken(protoConverter.encodeExportToken(checkpoint));
+            for (Order order : orders) {
+                response.addOrders(protoConverter.toProtoOrder(order));
+            }
+            observer.onNext(response.build());
+        }
+
+        /**
+         * 等待客户端可写；期间取消、中止或超时都以 ExportAbortedException 结束导出
+         */
+        private void awaitReady() {
+            long deadline = System.currentTimeMillis() + properties.getReadyTimeoutMs();
+            synchronized (readyLock) {
+                while (true) {
+                    if (cancelled) {
+                        throw new ExportAbortedException(null);
+                    }
+                    if (abortStatus != null) {
+                        throw new ExportAbortedException(abortStatus);
+                    }
+                    if (observer.isReady()) {
+                        return;
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new ExportAbortedException(Status.DEADLINE_EXCEEDED
+                                .withDescription("客户端读取过慢，请凭检查点续传"));
+                    }
+                    try {
+                        readyLock.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ExportAbortedException(Status.UNAVAILABLE.withDescription("订单导出被中断，请凭检查点续传"));
+                    }
+                }
+            }
+        }
+
+        private void signalReady() {
+            synchronized (readyLock) {
+                readyLock.notifyAll();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            signalReady();
+        }
+
+        private void abort(Status status) {
+            abortStatus = status;
+            signalReady();
+        }
+    }
+}
@@ -1,23 +1,64 @@
 package com.ecommerce.order.interfaces.grpc;
 
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.export.OrderExportPosition;
+import com.ecommerce.order.infrastructure.readmodel.OrderReadModel;
+import com.ecommerce.order.infrastructure.readmodel.OrderReadModelQuery;
+import com.ecommerce.order.infrastructure.statistics.OrderStatisticsService;
+import com.ecommerce.order.infrastructure.statistics.OrderStatisticsSnapshot;
+import com.ecommerce.order.interfaces.converter.OrderProtoConverter;
 import com.ecommerce.order.proto.OrderServiceGrpc;
 import com.ecommerce.order.proto.OrderServiceProto.*;
 import com.ecommerce.common.proto.CommonProto;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 /**
- * 订单gRPC服务实现 - 最小可编译版本
- * 暂时返回默认响应，后续需要完善业务逻辑
+ * 订单gRPC服务实现
+ * 订单查询（读模型）、批量订单查询、用户订单查询（键集分页）、订单搜索（跨分库归并）、订单统计（日汇总）、订单导出（服务端流）已接入，其余接口暂时返回默认响应，后续需要完善业务逻辑
  */
 @GrpcService
 public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderGrpcServiceImpl.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_ORDER_IDS = 10000;
+
+    private final OrderRepository orderRepository;
+    private final OrderStatisticsService statisticsService;
+    private final OrderReadModelQuery readModelQuery;
+    private final OrderProtoConverter protoConverter;
+    private final OrderExportStreamer exportStreamer;
+
+    public OrderGrpcServiceImpl(OrderRepository orderRepository,
+                                OrderStatisticsService statisticsService,
+                                OrderReadModelQuery readModelQuery,
+                                OrderProtoConverter protoConverter,
+                                OrderExportStreamer exportStreamer) {
+        this.orderRepository = orderRepository;
+        this.statisticsService = statisticsService;
+        this.readModelQuery = readModelQuery;
+        this.protoConverter = protoConverter;
+        this.exportStreamer = exportStreamer;
+    }
+
     @Override
     public void createOrder(CreateOrderRequest request, StreamObserver<OrderResponse> responseObserver) {
         try {
@@ -38,11 +79,27 @@ public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
     @Override
     public void getOrder(GetOrderRequest request, StreamObserver<OrderResponse> responseObserver) {
         try {
-            OrderResponse response = OrderResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            if (request.getOrderId().isEmpty()) {
+                throw new IllegalArgumentException("订单ID不能为空");
+            }
 
-            responseObserver.onNext(response);
+            // 按主键读取读模型文档（订单项内嵌），不再关联查询订单项
+            Optional<OrderReadModel> model = readModelQuery.find(request.getOrderId());
+            OrderResponse.Builder response = OrderResponse.newBuilder();
+            if (model.isPresent()) {
+                response.setOrder(protoConverter.toProtoOrder(model.get(), request.getIncludeItems()))
+                        .setStatus(protoConverter.createSuccessStatus());
+            } else {
+                response.setStatus(protoConverter.createErrorStatus(404, "订单不存在: " + request.getOrderId()));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取订单参数错误: {}", e.getMessage());
+            responseObserver.onNext(OrderResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("获取订单失败", e);
@@ -55,11 +112,39 @@ public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
     @Override
     public void getOrdersByIds(GetOrdersByIdsRequest request, StreamObserver<GetOrdersByIdsResponse> responseObserver) {
         try {
-            GetOrdersByIdsResponse response = GetOrdersByIdsResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            if (request.getOrderIdsCount() > MAX_BATCH_ORDER_IDS) {
+                throw new IllegalArgumentException("订单ID数量不能超过 " + MAX_BATCH_ORDER_IDS);
+            }
+            LinkedHashSet<String> requestedIds = new LinkedHashSet<>(request.getOrderIdsList());
+            List<OrderId> orderIds = new ArrayList<>(requestedIds.size());
+            for (String orderId : requestedIds) {
+                orderIds.add(OrderId.of(orderId));
+            }
 
-            responseObserver.onNext(response);
+            // 订单、订单项各一次 IN 查询（ID 较多时分片并行），结果已按请求顺序排列
+            List<com.ecommerce.order.domain.entity.Order> orders =
+                    orderRepository.findByIds(orderIds, request.getIncludeItems());
+
+            GetOrdersByIdsResponse.Builder response = GetOrdersByIdsResponse.newBuilder()
+                    .setStatus(protoConverter.createSuccessStatus());
+            Set<String> foundIds = new HashSet<>(orders.size());
+            for (com.ecommerce.order.domain.entity.Order order : orders) {
+                foundIds.add(order.getOrderId().getValue());
+                response.addOrders(protoConverter.toProtoOrder(order));
+            }
+            for (String orderId : requestedIds) {
+                if (!foundIds.contains(orderId)) {
+                    response.addMissingOrderIds(orderId);
+                }
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("批量获取订单参数错误: {}", e.getMessage());
+            responseObserver.onNext(GetOrdersByIdsResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("批量获取订单失败", e);
@@ -72,11 +157,62 @@ public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
     @Override
     public void getUserOrders(GetUserOrdersRequest request, StreamObserver<GetUserOrdersResponse> responseObserver) {
         try {
-            GetUserOrdersResponse response = GetUserOrdersResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            OrderRepository.UserOrderCriteria criteria = new OrderRepository.UserOrderCriteria(
+                    UserId.of(request.getUserId()),
+                    request.hasStatus() ? protoConverter.fromProtoStatus(request.getStatus()) : null,
+                    request.hasType() ? protoConverter.fromProtoType(request.getType()) : null);
+            OrderProtoConverter.UserOrderPageToken token =
+                    protoConverter.decodePageToken(request.getPageRequest().getPageToken());
+            int pageSize = normalizePageSize(request.getPageRequest().getPageSize());
+            int currentPage = token != null ? token.getPage() : 1;
 
-            responseObserver.onNext(response);
+            // 多取一条判断是否存在下一页
+            List<com.ecommerce.order.domain.entity.Order> orders = orderRepository.findPageByUserId(
+                    criteria, token != null ? token.getCursor() : null, pageSize + 1);
+            boolean hasNext = orders.size() > pageSize;
+            if (hasNext) {
+                orders = orders.subList(0, pageSize);
+            }
+
+            // 总数只在首页估算一次（首页即全部时无需统计），随令牌带到后续页；估算偏小时以已翻过的条数为下限
+            long estimatedTotal;
+            if (token != null) {
+                estimatedTotal = token.getEstimatedTotal();
+            } else if (hasNext) {
+                estimatedTotal = orderRepository.estimateCountByUserId(criteria);
+            } else {
+                estimatedTotal = orders.size();
+            }
+            long seen = (long) (currentPage - 1) * pageSize + orders.size() + (hasNext ? 1 : 0);
+            estimatedTotal = Math.max(estimatedTotal, seen);
+
+            CommonProto.PageResponse.Builder pageResponse = CommonProto.PageResponse.newBuilder()
+                    .setTotalElements((int) Math.min(estimatedTotal, Integer.MAX_VALUE))
+                    .setTotalPages((int) Math.min((estimatedTotal + pageSize - 1) / pageSize, Integer.MAX_VALUE))
+                    .setCurrentPage(currentPage)
+                    .setPageSize(pageSize)
+                    .setHasNext(hasNext)
+                    .setHasPrevious(token != null);
+            if (hasNext) {
+                pageResponse.setNextPageToken(protoConverter.encodePageToken(new OrderProtoConverter.UserOrderPageToken(
+                        OrderRepository.OrderCursor.after(orders.get(orders.size() - 1)),
+                        currentPage + 1, estimatedTotal)));
+            }
+
+            GetUserOrdersResponse.Builder response = GetUserOrdersResponse.newBuilder()
+                    .setPageResponse(pageResponse)
+                    .setStatus(protoConverter.createSuccessStatus());
+            for (com.ecommerce.order.domain.entity.Order order : orders) {
+                response.addOrders(protoConverter.toProtoOrder(order));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取用户订单参数错误: {}", e.getMessage());
+            responseObserver.onNext(GetUserOrdersResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("获取用户订单失败", e);
@@ -123,11 +259,56 @@ public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
     @Override
     public void searchOrders(SearchOrdersRequest request, StreamObserver<SearchOrdersResponse> responseObserver) {
         try {
-            SearchOrdersResponse response = SearchOrdersResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
-                    .build();
+            OrderRepository.OrderSearchCriteria criteria = new OrderRepository.OrderSearchCriteria(
+                    request.hasOrderNumber() && !request.getOrderNumber().isEmpty() ? OrderId.of(request.getOrderNumber()) : null,
+                    request.hasUserId() && !request.getUserId().isEmpty() ? UserId.of(request.getUserId()) : null,
+                    request.hasStatus() ? protoConverter.fromProtoStatus(request.getStatus()) : null,
+                    request.hasType() ? protoConverter.fromProtoType(request.getType()) : null,
+                    request.hasStartTime() ? protoConverter.toLocalDateTime(request.getStartTime()) : null,
+                    request.hasEndTime() ? protoConverter.toLocalDateTime(request.getEndTime()) : null,
+                    request.hasMinAmount() ? protoConverter.fromProtoMoney(request.getMinAmount()) : null,
+                    request.hasMaxAmount() ? protoConverter.fromProtoMoney(request.getMaxAmount()) : null);
+            OrderProtoConverter.UserOrderPageToken token =
+                    protoConverter.decodePageToken(request.getPageRequest().getPageToken());
+            int pageSize = normalizePageSize(request.getPageRequest().getPageSize());
+            int currentPage = token != null ? token.getPage() : 1;
 
-            responseObserver.onNext(response);
+            // 未指定用户时各分库并行查询后归并；是否有下一页按排序键判断，不受本页被跳过的订单影响
+            OrderRepository.OrderPage page = orderRepository.search(
+                    criteria, token != null ? token.getCursor() : null, pageSize);
+            List<com.ecommerce.order.domain.entity.Order> orders = page.getOrders();
+            boolean hasNext = page.hasNext();
+
+            // 跨分库不做全量计数，总数为已翻过的条数（有下一页时再加一），随翻页增长
+            long seen = (long) (currentPage - 1) * pageSize + orders.size() + (hasNext ? 1 : 0);
+            long estimatedTotal = Math.max(token != null ? token.getEstimatedTotal() : 0, seen);
+
+            CommonProto.PageResponse.Builder pageResponse = CommonProto.PageResponse.newBuilder()
+                    .setTotalElements((int) Math.min(estimatedTotal, Integer.MAX_VALUE))
+                    .setTotalPages((int) Math.min((estimatedTotal + pageSize - 1) / pageSize, Integer.MAX_VALUE))
+                    .setCurrentPage(currentPage)
+                    .setPageSize(pageSize)
+                    .setHasNext(hasNext)
+                    .setHasPrevious(token != null);
+            if (hasNext) {
+                pageResponse.setNextPageToken(protoConverter.encodePageToken(new OrderProtoConverter.UserOrderPageToken(
+                        page.getNextCursor(), currentPage + 1, estimatedTotal)));
+            }
+
+            SearchOrdersResponse.Builder response = SearchOrdersResponse.newBuilder()
+                    .setPageResponse(pageResponse)
+                    .setStatus(protoConverter.createSuccessStatus());
+            for (com.ecommerce.order.domain.entity.Order order : orders) {
+                response.addOrders(protoConverter.toProtoOrder(order));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("搜索订单参数错误: {}", e.getMessage());
+            responseObserver.onNext(SearchOrdersResponse.newBuilder()
+                    .setStatus(protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage()))
+                    .build());
             responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("搜索订单失败", e);
@@ -140,12 +321,28 @@ public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
     @Override
     public void getOrderStatistics(GetOrderStatisticsRequest request, StreamObserver<GetOrderStatisticsResponse> responseObserver) {
         try {
+            // 统计按订单创建日期汇总，时间范围按天对齐（包含起止两天）
+            LocalDateTime startTime = request.hasStartTime() ? protoConverter.toLocalDateTime(request.getStartTime()) : null;
+            LocalDateTime endTime = request.hasEndTime() ? protoConverter.toLocalDateTime(request.getEndTime()) : null;
+            LocalDate fromDate = startTime != null ? startTime.toLocalDate() : null;
+            LocalDate toDate = endTime != null ? endTime.toLocalDate() : null;
+
+            OrderStatisticsSnapshot snapshot = statisticsService.query(
+                    request.hasUserId() ? UserId.of(request.getUserId()) : null, fromDate, toDate);
+
             GetOrderStatisticsResponse response = GetOrderStatisticsResponse.newBuilder()
-                    .setStatus(createSuccessStatus())
+                    .setStatistics(protoConverter.toProtoStatistics(snapshot))
+                    .setStatus(protoConverter.createSuccessStatus())
                     .build();
 
             responseObserver.onNext(response);
             responseObserver.onCompleted();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("获取订单统计被拒绝: {}", e.getMessage());
+            responseObserver.onNext(GetOrderStatisticsResponse.newBuilder()
+                    .setStatus(toErrorStatus(e))
+                    .build());
+            responseObserver.onCompleted();
         } catch (Exception e) {
             logger.error("获取订单统计失败", e);
             responseObserver.onError(Status.INTERNAL
@@ -154,6 +351,62 @@ public class OrderGrpcServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
         }
     }
 
+    /**
+     * 流式导出订单：单个数据库游标顺序读取，按客户端读取速度推送
+     */
+    @Override
+    public void exportOrders(ExportOrdersRequest request, StreamObserver<ExportOrdersResponse> responseObserver) {
+        try {
+            OrderRepository.OrderSearchCriteria criteria = new OrderRepository.OrderSearchCriteria(
+                    null,
+                    request.hasUserId() && !request.getUserId().isEmpty() ? UserId.of(request.getUserId()) : null,
+                    request.hasStatus() ? protoConverter.fromProtoStatus(request.getStatus()) : null,
+                    request.hasType() ? protoConverter.fromProtoType(request.getType()) : null,
+                    request.hasStartTime() ? protoConverter.toLocalDateTime(request.getStartTime()) : null,
+                    request.hasEndTime() ? protoConverter.toLocalDateTime(request.getEndTime()) : null,
+                    null,
+                    null);
+            OrderExportPosition from = request.hasResumeToken()
+                    ? protoConverter.decodeExportToken(request.getResumeToken())
+                    : null;
+
+            exportStreamer.start(criteria, from, request.getIncludeItems(),
+                    (ServerCallStreamObserver<ExportOrdersResponse>) responseObserver);
+        } catch (IllegalArgumentException e) {
+            logger.warn("导出订单参数错误: {}", e.getMessage());
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("参数错误: " + e.getMessage())
+                    .asRuntimeException());
+        } catch (IllegalStateException e) {
+            logger.warn("导出订单被拒绝: {}", e.getMessage());
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (Exception e) {
+            logger.error("导出订单失败", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("导出订单失败: " + e.getMessage())
+                    .asRuntimeException());
+        }
+    }
+
+    private int normalizePageSize(int pageSize) {
+        if (pageSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 参数错误返回400，状态不满足（如统计范围内包含多种货币）返回409
+     */
+    private CommonProto.ResponseStatus toErrorStatus(RuntimeException e) {
+        if (e instanceof IllegalStateException) {
+            return protoConverter.createErrorStatus(409, e.getMessage());
+        }
+        return protoConverter.createErrorStatus(400, "参数错误: " + e.getMessage());
+    }
+
     private CommonProto.ResponseStatus createSuccessStatus() {
         return CommonProto.ResponseStatus.newBuilder()
                 .setCode(200)
@@ -0,0 +1,190 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.entity.OrderType;
+import com.ecommerce.order.domain.repository.OrderRepository.OrderCursor;
+import com.ecommerce.order.domain.repository.OrderRepository.OrderSearchCriteria;
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.mapper.OrderPlusMapper;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 订单搜索执行计划：对 OrderPlusMapper.searchKeys 生成的 SQL 执行 EXPLAIN
+ * 每种 OrderSearchIndex 都必须走选定的覆盖索引（Using index，不回表）且不排序（无 filesort）
+ * 表结构取自 sql/order_service.sql，需要 Docker，不可用时跳过
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderSearchExplainTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final OrderStatus[] STATUSES = {OrderStatus.PENDING, OrderStatus.PAID, OrderStatus.CANCELLED};
+    private static final OrderType[] TYPES = OrderType.values();
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("ecommerce_order")
+            .withCopyFileToContainer(MountableFile.forHostPath("../sql/order_service.sql"),
+                    "/docker-entrypoint-initdb.d/order_service.sql");
+
+    private static MybatisConfiguration configuration;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(OrderPlusMapper.class);
+
+        try (Connection connection = connect();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO orders (order_id, user_id, total_amount, currency, status, order_type, order_date) " +
+                     "VALUES (?, ?, ?, 'CNY', ?, ?, ?)")) {
+            for (int i = 0; i < 2000; i++) {
+                insert.setString(1, String.format("ORD-20240601000000-%06d", i));
+                insert.setString(2, "USER-" + (i % 20));
+                insert.setBigDecimal(3, BigDecimal.valueOf(1000 + i * 37L % 50000, 2));
+                insert.setString(4, STATUSES[i % STATUSES.length].name());
+                insert.setString(5, TYPES[i % TYPES.length].name());
+                insert.setTimestamp(6, Timestamp.valueOf(BASE_TIME.plusMinutes(i * 43L)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE orders");
+            }
+        }
+    }
+
+    @Test
+    void orderIdUsesUniqueKey() throws SQLException {
+        Map<String, Object> plan = explainSearch(criteria(OrderId.of("ORD-20240601000000-000042"), null, null,
+                null, null, null, null), null);
+
+        assertThat(plan.get("key")).isEqualTo("order_id");
+        assertThat(plan.get("type")).isEqualTo("const");
+    }
+
+    @Test
+    void userAndStatusUseUserStatusIndex() throws SQLException {
+        OrderSearchCriteria criteria = criteria(null, UserId.of("USER-3"), OrderStatus.PAID, null, null, null, null);
+
+        assertCoveringWithoutSort(explainSearch(criteria, null), "idx_user_status_time");
+        assertCoveringWithoutSort(explainSearch(criteria, cursor()), "idx_user_status_time");
+    }
+
+    @Test
+    void userWithTypeAndAmountUsesUserIndex() throws SQLException {
+        OrderSearchCriteria criteria = criteria(null, UserId.of("USER-3"), null, OrderType.NORMAL,
+                null, Money.of("50.00", Currency.getInstance("CNY")), null);
+
+        assertCoveringWithoutSort(explainSearch(criteria, null), "idx_user_order_time");
+        assertCoveringWithoutSort(explainSearch(criteria, cursor()), "idx_user_order_time");
+    }
+
+    @Test
+    void statusWithTimeRangeUsesStatusIndex() throws SQLException {
+        OrderSearchCriteria criteria = criteria(null, null, OrderStatus.CANCELLED, null,
+                BASE_TIME.plusDays(10), null, BASE_TIME.plusDays(20));
+
+        assertCoveringWithoutSort(explainSearch(criteria, null), "idx_status_order_date");
+        assertCoveringWithoutSort(explainSearch(criteria, cursor()), "idx_status_order_date");
+    }
+
+    @Test
+    void typeWithStartTimeScansOrderDateRange() throws SQLException {
+        OrderSearchCriteria criteria = criteria(null, null, null, OrderType.NORMAL,
+                BASE_TIME.plusDays(30), null, null);
+
+        Map<String, Object> plan = explainSearch(criteria, null);
+        assertCoveringWithoutSort(plan, "idx_order_date_order_id");
+        assertThat(plan.get("type")).isEqualTo("range");
+        assertCoveringWithoutSort(explainSearch(criteria, cursor()), "idx_order_date_order_id");
+    }
+
+    @Test
+    void latestOrdersScanOrderDateIndexWithoutFilters() throws SQLException {
+        assertCoveringWithoutSort(explainSearch(criteria(null, null, null, null, null, null, null), null),
+                "idx_order_date_order_id");
+    }
+
+    @Test
+    void typeWithoutStartTimeIsRejected() {
+        assertThatThrownBy(() -> OrderSearchIndex.choose(criteria(null, null, null, OrderType.NORMAL,
+                null, null, BASE_TIME.plusDays(30))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertCoveringWithoutSort(Map<String, Object> plan, String index) {
+        assertThat(plan.get("key")).isEqualTo(index);
+        assertThat(String.valueOf(plan.get("Extra")))
+                .contains("Using index")
+                .doesNotContain("Using filesort");
+    }
+
+    private static OrderSearchCriteria criteria(OrderId orderId, UserId userId, OrderStatus status, OrderType type,
+                                                LocalDateTime startTime, Money minAmount, LocalDateTime endTime) {
+        return new OrderSearchCriteria(orderId, userId, status, type, startTime, endTime, minAmount, null);
+    }
+
+    private static OrderCursor cursor() {
+        return new OrderCursor(BASE_TIME.plusDays(15), "ORD-20240601000000-000500");
+    }
+
+    /**
+     * 用 OrderRepositoryImpl 相同的参数组装 searchKeys，返回 EXPLAIN 的唯一一行
+     */
+    private static Map<String, Object> explainSearch(OrderSearchCriteria criteria, OrderCursor cursor) throws SQLException {
+        Map<String, Object> params = OrderSearchIndex.choose(criteria).searchKeysParams(criteria, cursor, 21);
+
+        MappedStatement statement = configuration.getMappedStatement(OrderPlusMapper.class.getName() + ".searchKeys");
+        BoundSql boundSql = statement.getBoundSql(params);
+        try (Connection connection = connect();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            new DefaultParameterHandler(statement, params, boundSql).setParameters(explain);
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int column = 1; column <= resultSet.getMetaData().getColumnCount(); column++) {
+                        row.put(resultSet.getMetaData().getColumnLabel(column), resultSet.getObject(column));
+                    }
+                    rows.add(row);
+                }
+            }
+            assertThat(rows).as("执行计划: %s", boundSql.getSql()).hasSize(1);
+            return rows.get(0);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.order.infrastructure.sharding;
+
+import com.ecommerce.common.id.IdGenerator;
+import com.ecommerce.order.domain.valueobject.OrderId;
+import com.ecommerce.order.domain.valueobject.UserId;
+import com.ecommerce.order.infrastructure.config.OrderIdProperties;
+import com.ecommerce.order.infrastructure.config.OrderShardingProperties;
+import com.ecommerce.order.infrastructure.idgen.SnowflakeOrderIdGenerator;
+import com.ecommerce.order.infrastructure.idgen.TimestampOrderIdGenerator;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 分片标记往返：生成 → 附加虚拟桶 → 解码雪花时间戳、日期与分片
+ */
+class OrderShardRouterTest {
+
+    private static final UserId USER = UserId.of("USER-10001");
+
+    private OrderShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        OrderShardingProperties properties = new OrderShardingProperties();
+        properties.setEnabled(true);
+        properties.setDatasources(List.of(new OrderShardingProperties.ShardDataSource(),
+                new OrderShardingProperties.ShardDataSource(), new OrderShardingProperties.ShardDataSource()));
+        properties.setScatterParallelism(1);
+        router = new OrderShardRouter(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        router.destroy();
+    }
+
+    @Test
+    void taggedSnowflakeIdKeepsSnowflakeDecoding() {
+        OrderIdProperties properties = new OrderIdProperties();
+        properties.setStrategy("snowflake");
+        properties.setWorkerId(1);
+        SnowflakeOrderIdGenerator generator = new SnowflakeOrderIdGenerator(properties, router);
+
+        String today = IdGenerator.compactTimestamp(LocalDateTime.now()).substring(0, 8);
+        OrderId tagged = generator.nextId(USER);
+
+        assertThat(tagged.getValue()).hasSize(21);
+        assertThat(tagged.isSnowflake()).isTrue();
+        assertThat(tagged.getSnowflakeTimestamp()).isCloseTo(System.currentTimeMillis(),
+                Offset.offset(60_000L));
+        assertThat(tagged.getDatePart()).isEqualTo(today);
+        assertThat(tagged.getShardBucket()).isEqualTo(router.bucketOfUser(USER.getValue()));
+        assertThat(router.shardOfOrderId(tagged.getValue())).isEqualTo(router.shardOfUser(USER.getValue()));
+    }
+
+    @Test
+    void taggedTimestampIdKeepsDatePart() {
+        TimestampOrderIdGenerator generator = new TimestampOrderIdGenerator(router);
+
+        String today = IdGenerator.compactTimestamp(LocalDateTime.now()).substring(0, 8);
+        OrderId tagged = generator.nextId(USER);
+
+        assertThat(tagged.isSnowflake()).isFalse();
+        assertThat(tagged.getDatePart()).isEqualTo(today);
+        assertThat(tagged.getUserPrefix()).isNull();
+        assertThat(router.shardOfOrderId(tagged.getValue())).isEqualTo(router.shardOfUser(USER.getValue()));
+    }
+
+    @Test
+    void suffixWithoutGeneratedBodyIsNotRouted() {
+        assertThat(router.shardOfOrderId("ORD-ANYTHING-S00")).isEqualTo(-1);
+        assertThat(router.shardOfOrderId("CLIENT-SUPPLIED-S1F")).isEqualTo(-1);
+        assertThat(router.shardOfOrderId("ORD-20240601000000-ABCDEF")).isEqualTo(-1);
+        assertThat(router.shardOfOrderId("ORD-0000000000001-S1f")).isEqualTo(-1);
+        assertThat(OrderId.of("ORD-ANYTHING-S00").getShardBucket()).isEqualTo(-1);
+    }
+
+    @Test
+    void tagIsAppliedOnlyOnce() {
+        OrderId tagged = OrderId.ofSnowflake(42).withShardBucket(1023);
+
+        assertThat(tagged.getValue()).isEqualTo("ORD-000000000001A-SZZ");
+        assertThat(tagged.getShardBucket()).isEqualTo(1023);
+        assertThatThrownBy(() -> tagged.withShardBucket(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderId.of("ORD-ANYTHING-1").withShardBucket(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
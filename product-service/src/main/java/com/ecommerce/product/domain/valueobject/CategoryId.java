@@ -1,5 +1,8 @@
 package com.ecommerce.product.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+
 import java.util.Objects;
 
 /**
@@ -9,6 +12,8 @@ import java.util.Objects;
  */
 public final class CategoryId {
     
+    private static final IdCache<CategoryId> CACHE = new IdCache<>(1024, CategoryId::new);
+    
     private final String value;
     
     private CategoryId(String value) {
@@ -21,7 +26,7 @@ public final class CategoryId {
         }
         
         // 分类ID格式验证：支持层级路径 /category/subcategory
-        if (!value.matches("^(/[a-zA-Z0-9_-]+)+$")) {
+        if (!IdChars.isPath(value)) {
             throw new IllegalArgumentException("分类ID必须为路径格式，如：/electronics/phones");
         }
         
@@ -32,7 +37,7 @@ public final class CategoryId {
      * 创建分类ID
      */
     public static CategoryId of(String value) {
-        return new CategoryId(value);
+        return CACHE.get(value);
     }
     
     /**
@@ -43,7 +48,7 @@ public final class CategoryId {
             throw new IllegalArgumentException("根分类名称不能为空");
         }
         
-        String cleanName = name.toLowerCase().replaceAll("[^a-zA-Z0-9_-]", "");
+        String cleanName = IdChars.retainIdentifier(name.toLowerCase());
         return new CategoryId("/" + cleanName);
     }
     
@@ -55,7 +60,7 @@ public final class CategoryId {
             throw new IllegalArgumentException("子分类名称不能为空");
         }
         
-        String cleanName = childName.toLowerCase().replaceAll("[^a-zA-Z0-9_-]", "");
+        String cleanName = IdChars.retainIdentifier(childName.toLowerCase());
         return new CategoryId(this.value + "/" + cleanName);
     }
     
@@ -1,7 +1,10 @@
 package com.ecommerce.product.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+import com.ecommerce.common.id.IdGenerator;
+
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 商品标识符 - 值对象
@@ -10,6 +13,8 @@ import java.util.UUID;
  */
 public final class ProductId {
     
+    private static final IdCache<ProductId> CACHE = new IdCache<>(4096, ProductId::new);
+    
     private final String value;
     
     private ProductId(String value) {
@@ -22,7 +27,7 @@ public final class ProductId {
         }
         
         // 商品ID格式验证：允许字母、数字、短横线
-        if (!value.matches("^[a-zA-Z0-9-]+$")) {
+        if (!IdChars.isAlphanumericDash(value)) {
             throw new IllegalArgumentException("商品ID只能包含字母、数字和短横线");
         }
         
@@ -33,14 +38,14 @@ public final class ProductId {
      * 创建商品ID
      */
     public static ProductId of(String value) {
-        return new ProductId(value);
+        return CACHE.get(value);
     }
     
     /**
      * 生成新的商品ID
      */
     public static ProductId generate() {
-        return new ProductId("PROD-" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase());
+        return new ProductId("PROD-" + IdGenerator.randomHex(12));
     }
     
     /**
@@ -51,8 +56,8 @@ public final class ProductId {
             return generate();
         }
         
-        String cleanCode = categoryCode.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
-        String randomPart = UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
+        String cleanCode = IdChars.retainAlphanumeric(categoryCode).toUpperCase();
+        String randomPart = IdGenerator.randomHex(8);
         return new ProductId(cleanCode + "-" + randomPart);
     }
     
@@ -61,10 +66,13 @@ public final class ProductId {
     }
     
     /**
-     * 检查是否为生成的ID格式
+     * 检查是否为生成的ID格式：[A-Z]+-[A-Z0-9]+
      */
     public boolean isGenerated() {
-        return value.matches("^[A-Z]+-[A-Z0-9]+$");
+        int dashIndex = value.indexOf('-');
+        return dashIndex > 0
+                && IdChars.isUpperAlpha(value, 0, dashIndex)
+                && IdChars.isUpperAlphanumeric(value, dashIndex + 1, value.length());
     }
     
     /**
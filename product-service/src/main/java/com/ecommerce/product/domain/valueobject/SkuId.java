@@ -1,7 +1,10 @@
 package com.ecommerce.product.domain.valueobject;
 
+import com.ecommerce.common.id.IdCache;
+import com.ecommerce.common.id.IdChars;
+import com.ecommerce.common.id.IdGenerator;
+
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * SKU标识符 - 值对象
@@ -10,6 +13,8 @@ import java.util.UUID;
  */
 public final class SkuId {
     
+    private static final IdCache<SkuId> CACHE = new IdCache<>(4096, SkuId::new);
+    
     private final String value;
     
     private SkuId(String value) {
@@ -22,7 +27,7 @@ public final class SkuId {
         }
         
         // SKU ID格式验证：允许字母、数字、短横线和下划线
-        if (!value.matches("^[a-zA-Z0-9_-]+$")) {
+        if (!IdChars.isIdentifier(value)) {
             throw new IllegalArgumentException("SKU ID只能包含字母、数字、短横线和下划线");
         }
         
@@ -33,14 +38,14 @@ public final class SkuId {
      * 创建SKU ID
      */
     public static SkuId of(String value) {
-        return new SkuId(value);
+        return CACHE.get(value);
     }
     
     /**
      * 生成新的SKU ID
      */
     public static SkuId generate() {
-        return new SkuId("SKU-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase());
+        return new SkuId("SKU-" + IdGenerator.randomHex(16));
     }
     
     /**
@@ -51,7 +56,7 @@ public final class SkuId {
             return new SkuId(productId.getValue() + "-DEFAULT");
         }
         
-        String cleanSpec = specification.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        String cleanSpec = IdChars.retainAlphanumeric(specification).toUpperCase();
         return new SkuId(productId.getValue() + "-" + cleanSpec);
     }
     
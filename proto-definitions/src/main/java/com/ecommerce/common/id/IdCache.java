@@ -0,0 +1,56 @@
+package com.ecommerce.common.id;
+
+import java.util.function.Function;
+
+/**
+ * 热点标识符缓存
+ * 职责：相同字符串重复构造 ID 值对象时（映射查询结果行、批量请求）直接复用已校验的实例，跳过校验与分配
+ * 实现：固定容量的直接映射表，按字符串哈希定位槽位，冲突时覆盖；无锁，内存占用与容量成正比
+ * 值对象必须不可变（final 字段），并发读到的要么是旧条目要么是新条目
+ * 工厂抛出的校验异常原样传播，非法值不会进入缓存
+ */
+public final class IdCache<T> {
+
+    private final Entry<T>[] entries;
+    private final int mask;
+    private final Function<String, T> factory;
+
+    @SuppressWarnings("unchecked")
+    public IdCache(int capacity, Function<String, T> factory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = (Entry<T>[]) new Entry[Math.max(size, 1)];
+        this.mask = entries.length - 1;
+        this.factory = factory;
+    }
+
+    /**
+     * 返回缓存的实例，未命中时构造并放入缓存；null 直接交给工厂处理
+     */
+    public T get(String value) {
+        if (value == null) {
+            return factory.apply(null);
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        Entry<T> entry = entries[index];
+        if (entry != null && entry.key.equals(value)) {
+            return entry.value;
+        }
+        T created = factory.apply(value);
+        entries[index] = new Entry<>(value, created);
+        return created;
+    }
+
+    private static final class Entry<T> {
+        private final String key;
+        private final T value;
+
+        private Entry(String key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.common.id;
+
+/**
+ * 标识符字符校验与清洗
+ * 职责：用查表扫描代替正则（String.matches 每次调用都会重新编译 Pattern），供各服务的 ID 值对象在构造时使用
+ * 只接受 ASCII 字母、数字及指定的分隔符，不分配任何对象
+ */
+public final class IdChars {
+
+    // 0-63 与 64-127 两段 ASCII 位图
+    private static final long DIGITS_LOW = 0x03FF_0000_0000_0000L;
+    private static final long UPPER_HIGH = 0x0000_0000_07FF_FFFEL;
+    private static final long LOWER_HIGH = 0x07FF_FFFE_0000_0000L;
+    private static final long DASH_LOW = 1L << '-';
+    private static final long UNDERSCORE_HIGH = 1L << ('_' - 64);
+
+    private static final long ALNUM_LOW = DIGITS_LOW;
+    private static final long ALNUM_HIGH = UPPER_HIGH | LOWER_HIGH;
+
+    private IdChars() {
+    }
+
+    /**
+     * [a-zA-Z0-9]
+     */
+    public static boolean isAlphanumeric(char c) {
+        return matches(c, ALNUM_LOW, ALNUM_HIGH);
+    }
+
+    /**
+     * 非空且只包含 [a-zA-Z0-9-]
+     */
+    public static boolean isAlphanumericDash(CharSequence value) {
+        return scan(value, 0, value.length(), ALNUM_LOW | DASH_LOW, ALNUM_HIGH);
+    }
+
+    /**
+     * 非空且只包含 [a-zA-Z0-9_-]
+     */
+    public static boolean isIdentifier(CharSequence value) {
+        return scan(value, 0, value.length(), ALNUM_LOW | DASH_LOW, ALNUM_HIGH | UNDERSCORE_HIGH);
+    }
+
+    /**
+     * 非空且只包含 [0-9]
+     */
+    public static boolean isDigits(CharSequence value) {
+        return scan(value, 0, value.length(), DIGITS_LOW, 0L);
+    }
+
+    /**
+     * value[from, to) 非空且只包含 [0-9]
+     */
+    public static boolean isDigits(CharSequence value, int from, int to) {
+        return scan(value, from, to, DIGITS_LOW, 0L);
+    }
+
+    /**
+     * value[from, to) 非空且只包含 [A-Z]
+     */
+    public static boolean isUpperAlpha(CharSequence value, int from, int to) {
+        return scan(value, from, to, 0L, UPPER_HIGH);
+    }
+
+    /**
+     * value[from, to) 非空且只包含 [A-Z0-9]
+     */
+    public static boolean isUpperAlphanumeric(CharSequence value, int from, int to) {
+        return scan(value, from, to, DIGITS_LOW, UPPER_HIGH);
+    }
+
+    /**
+     * 层级路径：(/[a-zA-Z0-9_-]+)+
+     */
+    public static boolean isPath(CharSequence value) {
+        int length = value.length();
+        if (length < 2 || value.charAt(0) != '/') {
+            return false;
+        }
+        int segmentStart = 1;
+        for (int i = 1; i <= length; i++) {
+            if (i == length || value.charAt(i) == '/') {
+                if (!scan(value, segmentStart, i, ALNUM_LOW | DASH_LOW, ALNUM_HIGH | UNDERSCORE_HIGH)) {
+                    return false;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 去掉 [a-zA-Z0-9] 以外的字符，已满足时返回原字符串
+     */
+    public static String retainAlphanumeric(String value) {
+        return retain(value, ALNUM_LOW, ALNUM_HIGH);
+    }
+
+    /**
+     * 去掉 [a-zA-Z0-9_-] 以外的字符，已满足时返回原字符串
+     */
+    public static String retainIdentifier(String value) {
+        return retain(value, ALNUM_LOW | DASH_LOW, ALNUM_HIGH | UNDERSCORE_HIGH);
+    }
+
+    private static boolean scan(CharSequence value, int from, int to, long low, long high) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!matches(value.charAt(i), low, high)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String retain(String value, long low, long high) {
+        int length = value.length();
+        int first = 0;
+        while (first < length && matches(value.charAt(first), low, high)) {
+            first++;
+        }
+        if (first == length) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(length - 1).append(value, 0, first);
+        for (int i = first + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (matches(c, low, high)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean matches(char c, long low, long high) {
+        if (c < 64) {
+            return (low & (1L << c)) != 0;
+        }
+        return c < 128 && (high & (1L << (c - 64))) != 0;
+    }
+}
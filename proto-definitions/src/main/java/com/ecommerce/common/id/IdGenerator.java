@@ -0,0 +1,89 @@
+package com.ecommerce.common.id;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 标识符生成辅助
+ * 职责：生成 ID 的随机部分与时间部分，避免 UUID.randomUUID()（SecureRandom 争用）和每次解析 DateTimeFormatter 模式
+ * randomHex / randomUuid 只用于区分同一时刻生成的 ID，不具备不可预测性，不能用作令牌或密钥；
+ * 对客户端可见、不应被猜测的 ID（如订单号）使用 secureRandomHex
+ */
+public final class IdGenerator {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private IdGenerator() {
+    }
+
+    /**
+     * 指定长度的大写十六进制随机串
+     */
+    public static String randomHex(int length) {
+        if (length <= 0 || length > 32) {
+            throw new IllegalArgumentException("随机串长度必须在1-32之间");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[length];
+        long bits = random.nextLong();
+        for (int i = 0; i < length; i++) {
+            if (i == 16) {
+                bits = random.nextLong();
+            }
+            chars[i] = HEX[(int) (bits & 0xF)];
+            bits >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 指定长度的大写十六进制随机串，来自 SecureRandom，不可预测
+     */
+    public static String secureRandomHex(int length) {
+        if (length <= 0 || length > 32) {
+            throw new IllegalArgumentException("随机串长度必须在1-32之间");
+        }
+        byte[] bytes = new byte[(length + 1) / 2];
+        SECURE_RANDOM.nextBytes(bytes);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i >> 1];
+            chars[i] = HEX[(i & 1) == 0 ? (b >> 4) & 0xF : b & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 随机 UUID 字符串（版本 4 格式）
+     */
+    public static String randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & 0xFFFF_FFFF_FFFF_0FFFL) | 0x0000_0000_0000_4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * yyyyMMddHHmmss 格式的时间串
+     */
+    public static String compactTimestamp(LocalDateTime time) {
+        char[] chars = new char[14];
+        writeDigits(chars, 0, time.getYear(), 4);
+        writeDigits(chars, 4, time.getMonthValue(), 2);
+        writeDigits(chars, 6, time.getDayOfMonth(), 2);
+        writeDigits(chars, 8, time.getHour(), 2);
+        writeDigits(chars, 10, time.getMinute(), 2);
+        writeDigits(chars, 12, time.getSecond(), 2);
+        return new String(chars);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
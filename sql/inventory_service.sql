@@ -12,42 +12,97 @@ CREATE TABLE IF NOT EXISTS inventory (
     available_quantity INT NOT NULL DEFAULT 0 COMMENT '可用库存数量',
     reserved_quantity INT NOT NULL DEFAULT 0 COMMENT '预留库存数量',
     total_quantity INT NOT NULL DEFAULT 0 COMMENT '总库存数量',
+    frozen_quantity INT NOT NULL DEFAULT 0 COMMENT '冻结库存数量',
+    safety_stock_quantity INT NOT NULL DEFAULT 0 COMMENT '安全库存数量',
     status VARCHAR(32) NOT NULL COMMENT '库存状态',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     
     INDEX idx_sku_id (sku_id),
     INDEX idx_warehouse_id (warehouse_id),
-    INDEX idx_sku_warehouse (sku_id, warehouse_id),
+    UNIQUE KEY uk_sku_warehouse (sku_id, warehouse_id),
+    INDEX idx_warehouse_sku (warehouse_id, sku_id),
     INDEX idx_status (status),
     INDEX idx_available_quantity (available_quantity)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='库存表';
 
--- Inventory operation table
-CREATE TABLE IF NOT EXISTS inventory_operation (
+-- Stock record table (库存流水，异步批量写入，按 (created_at, id) 键集分页)
+CREATE TABLE IF NOT EXISTS stock_records (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    operation_id VARCHAR(64) NOT NULL UNIQUE COMMENT '操作ID',
+    record_id VARCHAR(64) NOT NULL UNIQUE COMMENT '流水ID',
     inventory_id VARCHAR(64) NOT NULL COMMENT '库存ID',
-    operation_type VARCHAR(32) NOT NULL COMMENT '操作类型',
-    quantity INT NOT NULL COMMENT '操作数量',
-    reference_id VARCHAR(64) COMMENT '关联单据ID',
-    reference_type VARCHAR(32) COMMENT '关联单据类型',
-    description VARCHAR(255) COMMENT '操作描述',
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    sku_id VARCHAR(64) NOT NULL COMMENT 'SKU ID',
+    warehouse_code VARCHAR(64) NOT NULL COMMENT '仓库编码',
+    inventory_version BIGINT NOT NULL DEFAULT 0 COMMENT '写入后的库存版本号',
+    version_seq INT NOT NULL DEFAULT 0 COMMENT '同一次写入内的流水序号',
+    change_type VARCHAR(32) NOT NULL COMMENT '变更类型',
+    change_quantity INT NOT NULL COMMENT '变更数量(正数增加,负数减少)',
+    before_quantity INT NOT NULL COMMENT '变更前可用数量',
+    after_quantity INT NOT NULL COMMENT '变更后可用数量',
+    reason VARCHAR(500) COMMENT '变更原因',
+    reference_id VARCHAR(64) COMMENT '关联ID',
+    operator_id VARCHAR(64) COMMENT '操作人ID',
+    created_at DATETIME(3) NOT NULL COMMENT '创建时间',
+    
+    INDEX idx_created_id (created_at, id),
+    INDEX idx_sku_created_id (sku_id, created_at, id),
+    INDEX idx_inventory_created_id (inventory_id, created_at, id),
+    INDEX idx_inventory_version (inventory_id, inventory_version, version_seq),
+    INDEX idx_reference_id (reference_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='库存流水表';
+
+-- Stock record outbox (库存流水发件箱，与库存变更同事务写入，转写到 stock_records 后删除)
+CREATE TABLE IF NOT EXISTS stock_record_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    record_id VARCHAR(64) NOT NULL UNIQUE COMMENT '流水ID',
+    inventory_id VARCHAR(64) NOT NULL COMMENT '库存ID',
+    sku_id VARCHAR(64) NOT NULL COMMENT 'SKU ID',
+    warehouse_code VARCHAR(64) NOT NULL COMMENT '仓库编码',
+    inventory_version BIGINT NOT NULL DEFAULT 0 COMMENT '写入后的库存版本号',
+    version_seq INT NOT NULL DEFAULT 0 COMMENT '同一次写入内的流水序号',
+    change_type VARCHAR(32) NOT NULL COMMENT '变更类型',
+    change_quantity INT NOT NULL COMMENT '变更数量(正数增加,负数减少)',
+    before_quantity INT NOT NULL COMMENT '变更前可用数量',
+    after_quantity INT NOT NULL COMMENT '变更后可用数量',
+    reason VARCHAR(500) COMMENT '变更原因',
+    reference_id VARCHAR(64) COMMENT '关联ID',
+    operator_id VARCHAR(64) COMMENT '操作人ID',
+    created_at DATETIME(3) NOT NULL COMMENT '创建时间',
+    
+    INDEX idx_created_at (created_at),
+    INDEX idx_inventory_id (inventory_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='库存流水发件箱';
+
+-- Reservation operation dedupe table (预占操作去重，保留期后清理)
+CREATE TABLE IF NOT EXISTS inventory_reservation_ops (
+    op_key VARCHAR(200) NOT NULL PRIMARY KEY COMMENT '操作键: 操作类型:仓库:SKU:关联ID',
+    created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
     
-    INDEX idx_inventory_id (inventory_id),
-    INDEX idx_operation_type (operation_type),
-    INDEX idx_reference_id (reference_id),
     INDEX idx_created_at (created_at)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='库存操作记录表';
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='库存预占操作去重表';
+
+-- Reservation dead letter table: write-backs rejected by the inventory table
+CREATE TABLE IF NOT EXISTS inventory_reservation_dead_letters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    op_type VARCHAR(20) NOT NULL COMMENT '操作类型: RESERVE/RELEASE/CONFIRM',
+    sku_id VARCHAR(64) NOT NULL COMMENT 'SKU ID',
+    warehouse_id VARCHAR(64) NOT NULL COMMENT '仓库ID',
+    quantity INT NOT NULL COMMENT '数量',
+    reference_id VARCHAR(100) COMMENT '关联ID',
+    operator_id VARCHAR(64) COMMENT '操作人ID',
+    reason VARCHAR(500) COMMENT '最近一次拒绝原因',
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT '状态: PENDING/RESOLVED/COMPENSATED/FAILED',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '补偿重试次数',
+    created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+    updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间',
+    
+    INDEX idx_status_id (status, id),
+    INDEX idx_reference (reference_id, sku_id, warehouse_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='库存预占回写死信表';
 
 -- Sample data
 INSERT INTO inventory (inventory_id, sku_id, warehouse_id, available_quantity, reserved_quantity, total_quantity, status) VALUES
 ('INV_001', 'SKU_001', 'WH_001', 100, 10, 110, 'ACTIVE'),
 ('INV_002', 'SKU_002', 'WH_001', 50, 5, 55, 'ACTIVE'),
 ('INV_003', 'SKU_001', 'WH_002', 200, 20, 220, 'ACTIVE');
-
-INSERT INTO inventory_operation (operation_id, inventory_id, operation_type, quantity, reference_id, reference_type, description) VALUES
-('OP_001', 'INV_001', 'RESERVE', 1, 'ORD_001', 'ORDER', '订单预留库存'),
-('OP_002', 'INV_002', 'RESERVE', 2, 'ORD_002', 'ORDER', '订单预留库存'),
-('OP_003', 'INV_001', 'DEDUCT', 1, 'ORD_001', 'ORDER', '订单扣减库存');
\ No newline at end of file
@@ -11,14 +11,19 @@ CREATE TABLE IF NOT EXISTS orders (
     total_amount DECIMAL(10,2) NOT NULL COMMENT '订单总金额',
     currency VARCHAR(3) NOT NULL DEFAULT 'CNY' COMMENT '货币类型',
     status VARCHAR(32) NOT NULL COMMENT '订单状态',
+    order_type VARCHAR(32) NOT NULL DEFAULT 'NORMAL' COMMENT '订单类型',
     order_date TIMESTAMP NOT NULL COMMENT '订单日期',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（每次更新加一，读模型据此判断新旧）',
     
-    INDEX idx_user_id (user_id),
-    INDEX idx_status (status),
-    INDEX idx_order_date (order_date),
-    INDEX idx_created_at (created_at)
+    -- 搜索用覆盖索引：等值列 + 排序键 (order_date, order_id)，尾部为类型、币种、金额，第一步取订单ID不回表
+    INDEX idx_user_order_time (user_id, order_date DESC, order_id DESC, order_type, currency, total_amount),
+    INDEX idx_user_status_time (user_id, status, order_date DESC, order_id DESC, order_type, currency, total_amount),
+    INDEX idx_status_order_date (status, order_date, order_id, order_type, currency, total_amount),
+    INDEX idx_order_date_order_id (order_date, order_id, order_type, currency, total_amount),
+    INDEX idx_created_at (created_at),
+    INDEX idx_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单表';
 
 -- Order item table
@@ -27,6 +32,7 @@ CREATE TABLE IF NOT EXISTS order_item (
     order_id VARCHAR(64) NOT NULL COMMENT '订单ID',
     product_id VARCHAR(64) NOT NULL COMMENT '商品ID',
     sku_id VARCHAR(64) NOT NULL COMMENT 'SKU ID',
+    warehouse_code VARCHAR(64) NULL COMMENT '预占库存的仓库编码，为空时由库存服务按SKU选择仓库',
     quantity INT NOT NULL COMMENT '商品数量',
     unit_price DECIMAL(10,2) NOT NULL COMMENT '商品单价',
     total_price DECIMAL(10,2) NOT NULL COMMENT '商品总价',
@@ -38,6 +44,94 @@ CREATE TABLE IF NOT EXISTS order_item (
     INDEX idx_sku_id (sku_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单商品表';
 
+-- Order statistics daily rollup (all users)
+CREATE TABLE IF NOT EXISTS order_stats_daily (
+    stat_date DATE NOT NULL COMMENT '订单创建日期',
+    status VARCHAR(32) NOT NULL COMMENT '订单状态',
+    currency VARCHAR(3) NOT NULL COMMENT '货币类型',
+    slot INT NOT NULL COMMENT '热点分散槽位（订单ID散列）',
+    order_count BIGINT NOT NULL DEFAULT 0 COMMENT '订单数',
+    total_amount DECIMAL(18,2) NOT NULL DEFAULT 0 COMMENT '订单金额合计',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    
+    PRIMARY KEY (stat_date, status, currency, slot)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单日统计汇总表';
+
+-- Order statistics daily rollup per user
+CREATE TABLE IF NOT EXISTS order_stats_user_daily (
+    user_id VARCHAR(64) NOT NULL COMMENT '用户ID',
+    stat_date DATE NOT NULL COMMENT '订单创建日期',
+    status VARCHAR(32) NOT NULL COMMENT '订单状态',
+    currency VARCHAR(3) NOT NULL COMMENT '货币类型',
+    order_count BIGINT NOT NULL DEFAULT 0 COMMENT '订单数',
+    total_amount DECIMAL(18,2) NOT NULL DEFAULT 0 COMMENT '订单金额合计',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    
+    PRIMARY KEY (user_id, stat_date, status, currency)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户订单日统计汇总表';
+
+-- Stock release outbox
+CREATE TABLE IF NOT EXISTS stock_release_outbox (
+    id BIGINT PRIMARY KEY COMMENT '主键（雪花ID）',
+    order_id VARCHAR(64) NOT NULL COMMENT '订单ID（库存预占的关联ID）',
+    sku_id VARCHAR(64) NOT NULL COMMENT 'SKU ID',
+    warehouse_code VARCHAR(64) NULL COMMENT '预占库存的仓库编码，为空时不指定仓库',
+    quantity INT NOT NULL COMMENT '释放数量',
+    status VARCHAR(16) NOT NULL DEFAULT 'NEW' COMMENT '投递状态：NEW / SENT / FAILED',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '投递失败次数',
+    next_attempt_at TIMESTAMP NULL COMMENT '下次重试时间，为空时立即投递',
+    last_error VARCHAR(500) NULL COMMENT '最近一次投递失败原因',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    
+    INDEX idx_status_id (status, id),
+    INDEX idx_order_id (order_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='释放库存命令发件箱';
+
+-- Order read model (denormalized document per order, items embedded)
+CREATE TABLE IF NOT EXISTS order_read_model (
+    order_id VARCHAR(64) PRIMARY KEY COMMENT '订单ID',
+    user_id VARCHAR(64) NOT NULL COMMENT '用户ID',
+    version BIGINT NOT NULL COMMENT '投影时订单的版本号',
+    payload JSON NULL COMMENT '订单文档（含订单项），订单已删除时为 NULL',
+    projected_at TIMESTAMP(3) NOT NULL COMMENT '投影时间',
+    
+    INDEX idx_projected_at (projected_at, order_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单读模型';
+
+-- Order archive table (terminal orders past retention, compressed)
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY COMMENT '原订单表主键',
+    order_id VARCHAR(64) NOT NULL UNIQUE COMMENT '订单ID',
+    user_id VARCHAR(64) NOT NULL COMMENT '用户ID',
+    total_amount DECIMAL(10,2) NOT NULL COMMENT '订单总金额',
+    currency VARCHAR(3) NOT NULL COMMENT '货币类型',
+    status VARCHAR(32) NOT NULL COMMENT '订单状态',
+    order_type VARCHAR(32) NOT NULL COMMENT '订单类型',
+    order_date TIMESTAMP NOT NULL COMMENT '订单日期',
+    created_at TIMESTAMP NULL COMMENT '创建时间',
+    updated_at TIMESTAMP NULL COMMENT '更新时间',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '版本号',
+    archived_at TIMESTAMP NOT NULL COMMENT '归档时间',
+    
+    INDEX idx_user_order_time (user_id, order_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 COMMENT='订单归档表';
+
+-- Order item archive table
+CREATE TABLE IF NOT EXISTS order_item_archive (
+    id BIGINT PRIMARY KEY COMMENT '原订单商品表主键',
+    order_id VARCHAR(64) NOT NULL COMMENT '订单ID',
+    product_id VARCHAR(64) NOT NULL COMMENT '商品ID',
+    sku_id VARCHAR(64) NOT NULL COMMENT 'SKU ID',
+    warehouse_code VARCHAR(64) NULL COMMENT '预占库存的仓库编码，为空时由库存服务按SKU选择仓库',
+    quantity INT NOT NULL COMMENT '商品数量',
+    unit_price DECIMAL(10,2) NOT NULL COMMENT '商品单价',
+    total_price DECIMAL(10,2) NOT NULL COMMENT '商品总价',
+    created_at TIMESTAMP NULL COMMENT '创建时间',
+    updated_at TIMESTAMP NULL COMMENT '更新时间',
+    
+    INDEX idx_order_id (order_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 COMMENT='订单商品归档表';
+
 -- Sample data
 INSERT INTO orders (order_id, user_id, total_amount, currency, status, order_date) VALUES
 ('ORD_001', 'USER_001', 299.99, 'CNY', 'COMPLETED', NOW()),
@@ -45,4 +139,12 @@ INSERT INTO orders (order_id, user_id, total_amount, currency, status, order_dat
 
 INSERT INTO order_item (order_id, product_id, sku_id, quantity, unit_price, total_price) VALUES
 ('ORD_001', 'PROD_001', 'SKU_001', 1, 299.99, 299.99),
-('ORD_002', 'PROD_002', 'SKU_002', 2, 299.99, 599.98);
\ No newline at end of file
+('ORD_002', 'PROD_002', 'SKU_002', 2, 299.99, 599.98);
+
+INSERT INTO order_stats_daily (stat_date, status, currency, slot, order_count, total_amount)
+SELECT DATE(order_date), status, currency, 0, COUNT(*), SUM(total_amount) FROM orders
+GROUP BY DATE(order_date), status, currency;
+
+INSERT INTO order_stats_user_daily (user_id, stat_date, status, currency, order_count, total_amount)
+SELECT user_id, DATE(order_date), status, currency, COUNT(*), SUM(total_amount) FROM orders
+GROUP BY user_id, DATE(order_date), status, currency;
\ No newline at end of file
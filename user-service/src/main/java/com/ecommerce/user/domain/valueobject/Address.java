@@ -1,5 +1,7 @@
 package com.ecommerce.user.domain.valueobject;
 
+import com.ecommerce.common.id.IdChars;
+
 import java.util.Objects;
 
 /**
@@ -62,7 +64,7 @@ public final class Address {
         
         // 验证邮政编码格式 (中国)
         if ("中国".equals(country) && postalCode != null) {
-            if (!postalCode.matches("\\d{6}")) {
+            if (postalCode.length() != 6 || !IdChars.isDigits(postalCode)) {
                 throw new IllegalArgumentException("中国邮政编码必须为6位数字");
             }
         }